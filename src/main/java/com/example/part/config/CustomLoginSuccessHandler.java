@@ -31,11 +31,16 @@ public class CustomLoginSuccessHandler extends SimpleUrlAuthenticationSuccessHan
         String userAgent = request.getHeader("User-Agent");
         String sessionId = request.getSession().getId();
 
-        // 사용자 ID 조회
-        UserDTO user = userMapper.findByUsername(username);
-        Integer userId = user != null ? user.getUserId() : null;
+        // 사용자 ID는 인증 시 조회한 값 사용 (다른 인증 방식이면 조회)
+        Integer userId;
+        if (authentication.getPrincipal() instanceof LoginUser loginUser) {
+            userId = loginUser.getUserId();
+        } else {
+            UserDTO user = userMapper.findByUsername(username);
+            userId = user != null ? user.getUserId() : null;
+        }
 
-        // 접속 로그 기록
+        // 접속 로그 기록 (비동기 저장)
         accessLogService.logLogin(userId, username, ipAddress, userAgent, sessionId);
 
         // 기본 성공 처리
@@ -3,7 +3,6 @@ package com.example.part.config;
 import java.util.Collections;
 
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -28,10 +27,8 @@ public class CustomUserDetailsService implements UserDetailsService {
             throw new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + username);
         }
 
-        return User.builder()
-                .username(user.getUsername())
-                .password(user.getPassword())
-                .authorities(Collections.singleton(new SimpleGrantedAuthority("ROLE_" + user.getUserRole())))
-                .build();
+        // user_id를 함께 담아 로그인 성공 처리에서 사용자를 다시 조회하지 않음
+        return new LoginUser(user.getUserId(), user.getUsername(), user.getPassword(),
+                Collections.singleton(new SimpleGrantedAuthority("ROLE_" + user.getUserRole())));
     }
 }
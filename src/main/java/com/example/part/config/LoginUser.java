@@ -0,0 +1,25 @@
+package com.example.part.config;
+
+import java.util.Collection;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * 인증 사용자 (로그인 시 조회한 user_id를 함께 보관해 접속 로그 기록 시 재조회하지 않음)
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class LoginUser extends User {
+
+    private final Integer userId;
+
+    public LoginUser(Integer userId, String username, String password,
+            Collection<? extends GrantedAuthority> authorities) {
+        super(username, password, authorities);
+        this.userId = userId;
+    }
+}
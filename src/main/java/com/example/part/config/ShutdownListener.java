@@ -1,12 +1,9 @@
 package com.example.part.config;
 
-import java.util.List;
-
 import org.springframework.context.event.ContextClosedEvent;
 import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
-import com.example.part.dto.AccessLogDTO;
 import com.example.part.service.AccessLogService;
 
 import lombok.RequiredArgsConstructor;
@@ -24,25 +21,10 @@ public class ShutdownListener {
         log.info("서버 종료 감지 - 활성 세션 로그아웃 처리 시작");
 
         try {
-            // 로그아웃 시간이 null인 활성 세션들 조회
-            List<AccessLogDTO> activeSessions = accessLogService.getActiveSessions();
-
-            if (activeSessions != null && !activeSessions.isEmpty()) {
-                log.info("활성 세션 {}개 발견 - 자동 로그아웃 처리", activeSessions.size());
-
-                for (AccessLogDTO session : activeSessions) {
-                    try {
-                        // 서버 종료로 인한 로그아웃 기록
-                        accessLogService.logLogout(session.getSessionId(), "SERVER_SHUTDOWN");
-                        log.info("서버 종료로 인한 로그아웃 기록 - User ID: {}, Session ID: {}",
-                                session.getUserId(), session.getSessionId());
-                    } catch (Exception e) {
-                        log.error("로그아웃 처리 실패 - Session ID: {}, Error: {}",
-                                session.getSessionId(), e.getMessage());
-                    }
-                }
-
-                log.info("서버 종료 로그아웃 처리 완료");
+            // 이 서버의 열린 세션을 UPDATE 한 번으로 종료 (세션 수와 무관하게 종료 대기 시간 일정)
+            int closed = accessLogService.closeOpenSessions("SERVER_SHUTDOWN");
+            if (closed > 0) {
+                log.info("서버 종료로 인한 로그아웃 기록 - 활성 세션 {}개", closed);
             } else {
                 log.info("활성 세션 없음");
             }
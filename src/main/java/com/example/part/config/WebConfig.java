@@ -1,11 +1,21 @@
 package com.example.part.config;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.PathResourceResolver;
+
+import com.example.part.service.ContentStore;
+import com.example.part.service.FileServingService;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
@@ -13,6 +23,12 @@ public class WebConfig implements WebMvcConfigurer {
     @Value("${file.upload-dir:/var/livewalk/uploads/images}")
     private String uploadDir;
 
+    @Autowired
+    private ContentStore contentStore;
+
+    @Autowired
+    private FileServingService fileServingService;
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // 업로드된 이미지 파일에 접근할 수 있도록 설정
@@ -25,11 +41,35 @@ public class WebConfig implements WebMvcConfigurer {
         System.out.println("Location: " + location);
         System.out.println("================================");
 
+        // 저장소 키(SHA-256 + 확장자)는 저장소의 분산 디렉터리에서, 기존 UUID 파일명은 업로드 디렉토리에서 찾음
+        // 파일명이 바뀌지 않는 한 내용도 바뀌지 않으므로 1년 캐시, 재검증은 /livewalk 파일 응답과 같은 ETag로 304 처리
         registry.addResourceHandler("/uploads/images/**")
-                .addResourceLocations(location);
+                .addResourceLocations(location)
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePrivate().immutable())
+                .setUseLastModified(true)
+                .setEtagGenerator(this::etagOf)
+                .resourceChain(false)
+                .addResolver(new PathResourceResolver() {
+                    @Override
+                    protected Resource getResource(String resourcePath, Resource resourceLocation) throws IOException {
+                        if (contentStore.isKey(resourcePath)) {
+                            Resource stored = new FileSystemResource(contentStore.resolve(resourcePath));
+                            return stored.isReadable() ? stored : null;
+                        }
+                        return super.getResource(resourcePath, resourceLocation);
+                    }
+                });
 
         registry.addResourceHandler("/favicon.ico")
                 .addResourceLocations("classpath:/static/images/");
     }
 
+    private String etagOf(Resource resource) {
+        try {
+            return resource.isFile() ? fileServingService.etag(resource.getFile().toPath()) : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
 }
@@ -1,16 +1,19 @@
 package com.example.part.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.part.dto.AccessLogDTO;
 import com.example.part.service.AccessLogService;
+import com.example.part.service.AccessLogWriter;
 
 import lombok.RequiredArgsConstructor;
 
@@ -20,6 +23,7 @@ import lombok.RequiredArgsConstructor;
 public class AccessLogController {
 
     private final AccessLogService accessLogService;
+    private final AccessLogWriter accessLogWriter;
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -28,6 +32,30 @@ public class AccessLogController {
         return ResponseEntity.ok(logs);
     }
 
+    /**
+     * 기간별 접속 로그 (from이 보관 기간 이전이거나 includeArchive=true면 보관 파일까지 조회)
+     * GET /livewalk/access-logs/range?from=2024-01-01&to=2024-03-31&limit=1000
+     */
+    @GetMapping("/range")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<AccessLogDTO>> getAccessLogsByRange(
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "to", required = false) String to,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "includeArchive", defaultValue = "false") boolean includeArchive) {
+        return ResponseEntity.ok(accessLogService.getAccessLogsByRange(from, to, limit, includeArchive));
+    }
+
+    /**
+     * 로그인/로그아웃 기록기 지표 (큐 적재량, 기록/유실 건수, 동기 대체 횟수)
+     * GET /livewalk/access-logs/writer-stats
+     */
+    @GetMapping("/writer-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getWriterStats() {
+        return ResponseEntity.ok(accessLogWriter.getStats());
+    }
+
     @GetMapping("/user/{userId}")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<AccessLogDTO>> getAccessLogsByUserId(@PathVariable Integer userId) {
@@ -1,6 +1,8 @@
 package com.example.part.controller;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -9,7 +11,9 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.part.dto.ActionAuditDTO;
+import com.example.part.dto.PageResponseDTO;
 import com.example.part.service.ActionAuditService;
+import com.example.part.service.AuditWriter;
 
 import lombok.RequiredArgsConstructor;
 
@@ -19,10 +23,50 @@ import lombok.RequiredArgsConstructor;
 public class ActionAuditController {
 
     private final ActionAuditService actionAuditService;
+    private final AuditWriter auditWriter;
 
     @GetMapping
     public ResponseEntity<List<ActionAuditDTO>> getRecentAudits(
             @RequestParam(value = "limit", defaultValue = "200") int limit) {
         return ResponseEntity.ok(actionAuditService.getRecent(limit));
     }
+
+    /**
+     * 감사 로그 키셋 페이지 조회 (최신순)
+     * 조건: entityType(part_incoming 등) + entityId, performedBy, action, from/to(yyyy-MM-dd 또는 ISO 일시)
+     * 보관 파일은 from이 보관 기간 이전이거나 includeArchive=true일 때만 조회
+     * GET /livewalk/action-audit/page?entityType=part_incoming&entityId=12&limit=100&after={nextCursor}
+     */
+    @GetMapping("/page")
+    public ResponseEntity<PageResponseDTO<ActionAuditDTO>> getAuditPage(
+            @RequestParam(value = "entityType", required = false) String entityType,
+            @RequestParam(value = "entityId", required = false) String entityId,
+            @RequestParam(value = "performedBy", required = false) String performedBy,
+            @RequestParam(value = "action", required = false) String action,
+            @RequestParam(value = "from", required = false) String from,
+            @RequestParam(value = "to", required = false) String to,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "includeArchive", defaultValue = "false") boolean includeArchive) {
+
+        Map<String, Object> filters = new HashMap<>();
+        filters.put("entityType", entityType);
+        filters.put("entityId", entityId);
+        filters.put("performedBy", performedBy);
+        filters.put("action", action);
+        filters.put("from", from);
+        filters.put("to", to);
+        filters.put("includeArchive", includeArchive);
+
+        return ResponseEntity.ok(actionAuditService.getPage(filters, limit, after));
+    }
+
+    /**
+     * 감사 로그 기록기 지표 (큐 적재량, 기록/유실 건수, 동기 대체 횟수)
+     * GET /livewalk/action-audit/writer-stats
+     */
+    @GetMapping("/writer-stats")
+    public ResponseEntity<Map<String, Object>> getWriterStats() {
+        return ResponseEntity.ok(auditWriter.getStats());
+    }
 }
@@ -0,0 +1,57 @@
+package com.example.part.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.part.service.CsvBackupService;
+import com.example.part.service.CsvRestoreService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/livewalk/backup")
+@RequiredArgsConstructor
+public class CsvBackupController {
+
+    private final CsvBackupService csvBackupService;
+    private final CsvRestoreService csvRestoreService;
+
+    /**
+     * CSV 백업 즉시 실행 (관리자) - full=false면 마지막 백업 이후 변경분만
+     * POST /livewalk/backup/run?full=true
+     */
+    @PostMapping("/run")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> run(@RequestParam(defaultValue = "false") boolean full) {
+        return ResponseEntity.ok(csvBackupService.backup(full));
+    }
+
+    /**
+     * 복원 가능한 백업 목록 (관리자)
+     * GET /livewalk/backup/manifests
+     */
+    @GetMapping("/manifests")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<List<Map<String, Object>>> getManifests() {
+        return ResponseEntity.ok(csvRestoreService.listManifests());
+    }
+
+    /**
+     * 백업 복원 (관리자) - 입고/출고/위치정보를 원래 ID로 적재하고 파일별 처리량을 반환
+     * POST /livewalk/backup/restore?manifest=backup_2025-01-05_020000_full_manifest.json&dryRun=true
+     */
+    @PostMapping("/restore")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> restore(@RequestParam String manifest,
+            @RequestParam(defaultValue = "false") boolean dryRun) {
+        return ResponseEntity.ok(csvRestoreService.restore(manifest, dryRun));
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.part.controller;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -9,6 +12,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -17,11 +21,20 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.part.dto.DocumentBatchRequestDTO;
+import com.example.part.dto.GeneralImageDTO;
 import com.example.part.dto.GeneratedDocumentDTO;
 import com.example.part.dto.UserDTO;
 import com.example.part.mapper.UserMapper;
+import com.example.part.service.DocumentBatchService;
 import com.example.part.service.DocumentService;
+import com.example.part.service.DocumentTemplateCache;
+import com.example.part.service.FileServingService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 import lombok.RequiredArgsConstructor;
 
@@ -32,6 +45,9 @@ public class DocumentController {
 
     private final DocumentService documentService;
     private final UserMapper userMapper;
+    private final DocumentTemplateCache templateCache;
+    private final DocumentBatchService documentBatchService;
+    private final FileServingService fileServingService;
 
     @GetMapping("/incoming/{incomingId}")
     public ResponseEntity<List<GeneratedDocumentDTO>> getDocumentsByIncomingId(@PathVariable Integer incomingId) {
@@ -76,6 +92,31 @@ public class DocumentController {
         }
     }
 
+    /**
+     * 입고 내역 일괄 문서 생성 (렌더링되는 대로 ZIP으로 전송, 각 문서는 generated_document에 기록)
+     * POST /livewalk/documents/generate-batch
+     * { "templateId": 1, "title": "납품서", "incomingIds": [1, 2, 3] }
+     */
+    @PostMapping("/generate-batch")
+    public ResponseEntity<StreamingResponseBody> generateBatch(
+            @RequestBody DocumentBatchRequestDTO request,
+            Authentication authentication) {
+
+        GeneralImageDTO template = documentBatchService.validate(request);
+
+        UserDTO user = userMapper.findByUsername(authentication.getName());
+        Integer createdBy = user != null ? user.getUserId() : null;
+
+        String zipName = "documents_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"))
+                + ".zip";
+        StreamingResponseBody body = out -> documentBatchService.generateZip(template, request, createdBy, out);
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + zipName + "\"")
+                .body(body);
+    }
+
     @DeleteMapping("/{documentId}")
     public ResponseEntity<Map<String, Object>> deleteDocument(@PathVariable Long documentId) {
         Map<String, Object> response = new HashMap<>();
@@ -93,32 +134,39 @@ public class DocumentController {
         }
     }
 
-    @GetMapping("/download/{fileName}")
-    public ResponseEntity<Resource> downloadDocument(@PathVariable String fileName) {
-        try {
-            Resource resource = documentService.loadDocumentAsResource(fileName);
+    /**
+     * 문서 템플릿 / 폰트 캐시 지표
+     * GET /livewalk/documents/template-cache-stats
+     */
+    @GetMapping("/template-cache-stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getTemplateCacheStats() {
+        return ResponseEntity.ok(templateCache.getStats());
+    }
 
-            return ResponseEntity.ok()
-                    .contentType(MediaType.APPLICATION_PDF)
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
-                    .body(resource);
-        } catch (Exception e) {
-            return ResponseEntity.notFound().build();
-        }
+    @GetMapping("/download/{fileName}")
+    public void downloadDocument(@PathVariable String fileName, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        serveDocument(fileName, "attachment", request, response);
     }
 
     @GetMapping("/view/{fileName}")
-    public ResponseEntity<Resource> viewDocument(@PathVariable String fileName) {
-        try {
-            Resource resource = documentService.loadDocumentAsResource(fileName);
+    public void viewDocument(@PathVariable String fileName, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        serveDocument(fileName, "inline", request, response);
+    }
 
-            return ResponseEntity.ok()
-                    .contentType(MediaType.APPLICATION_PDF)
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"" + fileName + "\"")
-                    .body(resource);
+    // PDF 뷰어의 Range 요청(페이지 단위 로딩)과 재요청 시 304 응답 지원
+    private void serveDocument(String fileName, String disposition, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Resource resource;
+        try {
+            resource = documentService.loadDocumentAsResource(fileName);
         } catch (Exception e) {
-            return ResponseEntity.notFound().build();
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
         }
+        fileServingService.serve(resource, MediaType.APPLICATION_PDF, disposition, fileName, request, response);
     }
 
     @PostMapping(value = "/generate-canvas", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
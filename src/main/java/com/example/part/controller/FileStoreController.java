@@ -0,0 +1,77 @@
+package com.example.part.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.part.service.ContentStore;
+import com.example.part.service.FileStoreMigrationService;
+import com.example.part.service.StorageOffloadService;
+import com.example.part.service.StorageReconcileService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/livewalk/file-store")
+@RequiredArgsConstructor
+public class FileStoreController {
+
+    private final ContentStore contentStore;
+    private final FileStoreMigrationService migrationService;
+    private final StorageOffloadService offloadService;
+    private final StorageReconcileService reconcileService;
+
+    /**
+     * 기존 업로드 파일을 내용 기반 저장소로 이전 (관리자, 중복 파일 정리)
+     * POST /livewalk/file-store/migrate
+     */
+    @PostMapping("/migrate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> migrate() {
+        return ResponseEntity.ok(migrationService.migrate());
+    }
+
+    /**
+     * 저장소 지표 (내용 수, 저장 용량, 중복 제거로 절약한 용량, 최근 이전 결과)
+     * GET /livewalk/file-store/stats
+     */
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>(contentStore.getStats());
+        stats.put("lastMigration", migrationService.getLastResult());
+        stats.put("offload", offloadService.getStats());
+        stats.put("lastReconcile", reconcileService.getLastResult());
+        return ResponseEntity.ok(stats);
+    }
+
+    /**
+     * 디렉토리와 DB 참조 대조 즉시 실행 (관리자) - 고아 파일 격리, 파일이 없는 행 보고
+     * POST /livewalk/file-store/reconcile?dryRun=true  (dryRun이면 옮기지 않고 집계만)
+     */
+    @PostMapping("/reconcile")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> reconcile(
+            @RequestParam(value = "dryRun", defaultValue = "false") boolean dryRun) {
+        return ResponseEntity.ok(reconcileService.reconcile(dryRun));
+    }
+
+    /**
+     * 원격 저장소 복제에 실패해 재시도를 멈춘 파일 다시 시도 (관리자)
+     * POST /livewalk/file-store/offload/retry
+     */
+    @PostMapping("/offload/retry")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> retryOffload() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("requeued", offloadService.retryFailed());
+        return ResponseEntity.ok(result);
+    }
+}
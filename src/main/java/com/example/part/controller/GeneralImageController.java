@@ -1,5 +1,6 @@
 package com.example.part.controller;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,10 +18,16 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.example.part.dto.GeneralImageDTO;
+import com.example.part.dto.PageResponseDTO;
 import com.example.part.dto.UserDTO;
+import com.example.part.exception.ValidationException;
 import com.example.part.mapper.UserMapper;
+import com.example.part.service.FileServingService;
 import com.example.part.service.GeneralImageService;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
 import lombok.RequiredArgsConstructor;
 
 @RestController
@@ -30,6 +37,7 @@ public class GeneralImageController {
 
     private final GeneralImageService generalImageService;
     private final UserMapper userMapper;
+    private final FileServingService fileServingService;
 
     @GetMapping
     public ResponseEntity<List<GeneralImageDTO>> getAllImages() {
@@ -37,6 +45,17 @@ public class GeneralImageController {
         return ResponseEntity.ok(images);
     }
 
+    /**
+     * 자료실 키셋 페이지 조회 (최신 업로드순)
+     * GET /livewalk/library/page?limit=50&after={nextCursor}
+     */
+    @GetMapping("/page")
+    public ResponseEntity<PageResponseDTO<GeneralImageDTO>> getImagePage(
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after) {
+        return ResponseEntity.ok(generalImageService.getImagePage(limit, after));
+    }
+
     @GetMapping("/{imageId}")
     public ResponseEntity<GeneralImageDTO> getImageById(@PathVariable Long imageId) {
         GeneralImageDTO image = generalImageService.getImageById(imageId);
@@ -76,6 +95,43 @@ public class GeneralImageController {
         }
     }
 
+    /**
+     * 요청 본문 스트리밍 업로드 (multipart 10MB 제한보다 큰 도면/PDF)
+     * POST /livewalk/library/stream?title=..&fileName=..  (본문: 파일 내용 그대로)
+     */
+    @PostMapping("/stream")
+    public ResponseEntity<Map<String, Object>> uploadImageStream(
+            @RequestParam("title") String title,
+            @RequestParam(value = "description", required = false) String description,
+            @RequestParam("fileName") String fileName,
+            HttpServletRequest request,
+            Authentication authentication) {
+
+        Map<String, Object> response = new HashMap<>();
+
+        try {
+            UserDTO user = userMapper.findByUsername(authentication.getName());
+            Integer uploadedBy = user != null ? user.getUserId() : null;
+
+            GeneralImageDTO uploaded = generalImageService.uploadImageStream(title, description, fileName,
+                    request.getInputStream(), request.getContentLengthLong(), uploadedBy);
+
+            response.put("success", true);
+            response.put("message", "자료가 업로드되었습니다.");
+            response.put("data", uploaded);
+            return ResponseEntity.ok(response);
+
+        } catch (ValidationException e) {
+            response.put("success", false);
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        } catch (Exception e) {
+            response.put("success", false);
+            response.put("message", "업로드 실패: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
+        }
+    }
+
     @DeleteMapping("/{imageId}")
     public ResponseEntity<Map<String, Object>> deleteImage(
             @PathVariable Long imageId,
@@ -145,23 +201,25 @@ public class GeneralImageController {
     }
 
     @GetMapping("/image/{fileName}")
-    public ResponseEntity<org.springframework.core.io.Resource> serveImage(@PathVariable String fileName) {
+    public void serveImage(@PathVariable String fileName, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        org.springframework.core.io.Resource resource;
         try {
-            org.springframework.core.io.Resource resource = generalImageService.loadImageAsResource(fileName);
-
-            // 파일 확장자에 따라 MIME 타입 결정
-            org.springframework.http.MediaType mediaType = org.springframework.http.MediaType.IMAGE_JPEG;
-            if (fileName.toLowerCase().endsWith(".pdf")) {
-                mediaType = org.springframework.http.MediaType.APPLICATION_PDF;
-            } else if (fileName.toLowerCase().endsWith(".png")) {
-                mediaType = org.springframework.http.MediaType.IMAGE_PNG;
-            }
-
-            return ResponseEntity.ok()
-                    .contentType(mediaType)
-                    .body(resource);
+            resource = generalImageService.loadImageAsResource(fileName);
         } catch (Exception e) {
-            return ResponseEntity.notFound().build();
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
         }
+
+        // 파일 확장자에 따라 MIME 타입 결정
+        org.springframework.http.MediaType mediaType = org.springframework.http.MediaType.IMAGE_JPEG;
+        if (fileName.toLowerCase().endsWith(".pdf")) {
+            mediaType = org.springframework.http.MediaType.APPLICATION_PDF;
+        } else if (fileName.toLowerCase().endsWith(".png")) {
+            mediaType = org.springframework.http.MediaType.IMAGE_PNG;
+        }
+
+        // ETag / Range 처리 후 전송
+        fileServingService.serve(resource, mediaType, null, null, request, response);
     }
 }
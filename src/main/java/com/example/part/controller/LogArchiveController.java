@@ -0,0 +1,42 @@
+package com.example.part.controller;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.part.service.LogArchiveService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/livewalk/log-archive")
+@RequiredArgsConstructor
+public class LogArchiveController {
+
+    private final LogArchiveService logArchiveService;
+
+    /**
+     * 보관 기간이 지난 감사/접속 로그 즉시 보관 처리 (관리자)
+     * POST /livewalk/log-archive/run
+     */
+    @PostMapping("/run")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> run() {
+        return ResponseEntity.ok(logArchiveService.archive());
+    }
+
+    /**
+     * 보관 지표 (보관 기준일, 이동 건수, 파일 수, 최근 실행 결과)
+     * GET /livewalk/log-archive/stats
+     */
+    @GetMapping("/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(logArchiveService.getStats());
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.part.controller;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -14,8 +18,13 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.example.part.dto.PartImageDTO;
+import com.example.part.service.FileServingService;
+import com.example.part.service.PartImageDerivativeService;
 import com.example.part.service.PartImageService;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
 @RestController
 @RequestMapping("/livewalk/part-images")
 public class PartImageController {
@@ -23,6 +32,12 @@ public class PartImageController {
     @Autowired
     private PartImageService partImageService;
 
+    @Autowired
+    private PartImageDerivativeService derivativeService;
+
+    @Autowired
+    private FileServingService fileServingService;
+
     /**
      * 이미지 업로드
      */
@@ -57,6 +72,44 @@ public class PartImageController {
         return ResponseEntity.ok(partImageService.getImagesByType(incomingId, imageType));
     }
 
+    /**
+     * 이미지 파일 (목록은 thumb, 확대 보기는 medium, 다운로드는 original)
+     * GET /livewalk/part-images/{imageId}/content?size=thumb
+     * 파생 이미지가 아직 없으면 원본을 반환
+     */
+    @GetMapping("/{imageId}/content")
+    public void getImageContent(
+            @PathVariable Integer imageId,
+            @RequestParam(value = "size", defaultValue = "original") String size,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        Resource resource = partImageService.loadImageAsResource(imageId, size);
+        fileServingService.serve(resource, null, null, null, request, response);
+    }
+
+    /**
+     * 파생 이미지가 없는 기존 사진 백필 즉시 실행 (관리자)
+     * POST /livewalk/part-images/derivatives/backfill
+     */
+    @PostMapping("/derivatives/backfill")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> backfillDerivatives() {
+        boolean started = derivativeService.startBackfill();
+        return ResponseEntity.ok(Map.of(
+                "started", started,
+                "message", started ? "백필을 시작했습니다." : "이미 백필이 진행 중입니다."));
+    }
+
+    /**
+     * 파생 이미지 지표
+     * GET /livewalk/part-images/derivatives/stats
+     */
+    @GetMapping("/derivatives/stats")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> getDerivativeStats() {
+        return ResponseEntity.ok(derivativeService.getStats());
+    }
+
     /**
      * 전체 이미지 목록
      */
@@ -1,10 +1,17 @@
 package com.example.part.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -13,9 +20,18 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.part.dto.PageResponseDTO;
 import com.example.part.dto.PartIncomingDTO;
+import com.example.part.exception.ValidationException;
+import com.example.part.service.ExportService;
+import com.example.part.service.InventoryCache;
 import com.example.part.service.PartIncomingService;
+import com.example.part.service.PartStockService;
+import com.example.part.service.StockAlertService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,6 +46,16 @@ public class PartIncomingController {
 
     private final PartIncomingService partIncomingService;
 
+    private final PartStockService partStockService;
+
+    private final InventoryCache inventoryCache;
+
+    private final StockAlertService stockAlertService;
+
+    private final ObjectMapper objectMapper;
+
+    private final ExportService exportService;
+
     /**
      * 입고 등록 (부품번호 자동 생성)
      * POST /livewalk/incoming
@@ -68,6 +94,28 @@ public class PartIncomingController {
         return ResponseEntity.ok(incomingList);
     }
 
+    /**
+     * 전체 입고 내역 스트리밍 조회 (DB에서 읽는 즉시 한 건씩 JSON 배열로 전송)
+     * GET /livewalk/incoming/stream
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllIncoming() {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.writeStartArray();
+                partIncomingService.streamAllIncoming(row -> {
+                    try {
+                        generator.writeObject(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     /**
      * 단일 입고 내역 조회
      * GET /livewalk/incoming/{id}
@@ -110,61 +158,48 @@ public class PartIncomingController {
             @RequestParam(required = false) String sortColumn,
             @RequestParam(required = false) String order) {
 
-        Map<String, Object> params = new HashMap<>();
+        Map<String, Object> params = buildAdvancedParams(keyword, column, sortColumn, order);
 
-        // ===== 키워드 전처리 (기본 검색어 / +포함 / -제외 분리) =====
-        List<String> includeList = new java.util.ArrayList<>();
-        List<String> excludeList = new java.util.ArrayList<>();
-        String cleanedKeyword = null;
-
-        if (keyword != null) {
-            String trimmedKeyword = keyword.trim();
-
-            if (!trimmedKeyword.isEmpty()) {
-                StringBuilder baseKeywordBuilder = new StringBuilder();
-                String[] tokens = trimmedKeyword.split("\\s+");
-
-                for (String t : tokens) {
-                    String payload = t.length() > 1 ? t.substring(1) : "";
-
-                    if (t.startsWith("+") && t.length() > 1) {
-                        includeList.add(payload); // +센서 → 센서, +2 → 2
-                    } else if (t.startsWith("-") && t.length() > 1) {
-                        // -키워드는 모두 제외 리스트로 (숫자도 동일하게 제외)
-                        excludeList.add(payload); // -불량 → 불량, -21 → 21 포함 데이터 제외
-                    } else if (!t.isEmpty()) {
-                        if (baseKeywordBuilder.length() > 0) {
-                            baseKeywordBuilder.append(" ");
-                        }
-                        baseKeywordBuilder.append(t);
-                    }
-                }
-
-                if (baseKeywordBuilder.length() > 0) {
-                    cleanedKeyword = baseKeywordBuilder.toString();
-                }
-            }
-        }
+        return ResponseEntity.ok(partIncomingService.searchAdvanced(params));
+    }
 
-        params.put("keyword", cleanedKeyword);
+    /**
+     * 입고 목록 내보내기 (고급 검색 조건 그대로, 선택 컬럼만 CSV/XLSX로 스트리밍)
+     * GET /livewalk/incoming/export?format=xlsx&columns=부품번호,부품명&keyword=...
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportIncoming(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String column,
+            @RequestParam(required = false) String sortColumn,
+            @RequestParam(required = false) String order,
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) List<String> columns,
+            @RequestParam(required = false) String fileName) {
 
-        params.put("includeList", includeList);
-        params.put("excludeList", excludeList);
+        Map<String, Object> params = buildAdvancedParams(keyword, column, sortColumn, order);
 
-        // ===== 컬럼 클릭 검색 =====
-        params.put("column", column);
+        ExportService.Export export = exportService.export("입고목록", fileName, format, columns,
+                ExportService.INCOMING_COLUMNS,
+                consumer -> partIncomingService.streamSearchAdvanced(params, consumer));
+        return download(export);
+    }
 
-        // ===== 정렬 컬럼 (sortColumn이 있으면 우선, 없으면 column 사용) =====
-        String orderColumn = (sortColumn != null && !sortColumn.trim().isEmpty()) ? sortColumn : column;
-        params.put("sortColumn", orderColumn);
+    /**
+     * 입고 내역 키셋 페이지 조회 (고급 검색 조건 사용 가능, 최신 등록순)
+     * GET /livewalk/incoming/page?limit=100&after={nextCursor}
+     */
+    @GetMapping("/page")
+    public ResponseEntity<PageResponseDTO<PartIncomingDTO>> getIncomingPage(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String column,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
 
-        // ===== 정렬 추가 =====
-        if (order == null || (!order.equals("asc") && !order.equals("desc"))) {
-            order = "asc"; // 기본값
-        }
-        params.put("order", order);
+        Map<String, Object> params = buildKeywordParams(keyword);
+        params.put("column", column);
 
-        return ResponseEntity.ok(partIncomingService.searchAdvanced(params));
+        return ResponseEntity.ok(partIncomingService.getIncomingPage(params, limit, after));
     }
 
     /**
@@ -187,6 +222,36 @@ public class PartIncomingController {
         return ResponseEntity.ok(inventory);
     }
 
+    /**
+     * 현재 재고 키셋 페이지 조회 (부품번호순)
+     * GET /livewalk/incoming/inventory/page?limit=100&after={nextCursor}
+     */
+    @GetMapping("/inventory/page")
+    public ResponseEntity<PageResponseDTO<Map<String, Object>>> getInventoryPage(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
+        return ResponseEntity.ok(partIncomingService.getInventoryPage(limit, after));
+    }
+
+    /**
+     * 재고 원장 정합성 점검 및 보정 (관리자)
+     * POST /livewalk/incoming/inventory/reconcile
+     */
+    @PostMapping("/inventory/reconcile")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> reconcileInventory() {
+        return ResponseEntity.ok(partStockService.reconcile());
+    }
+
+    /**
+     * 재고 캐시 지표 (적중/미스, 재적재 시간)
+     * GET /livewalk/incoming/inventory/cache-stats
+     */
+    @GetMapping("/inventory/cache-stats")
+    public ResponseEntity<Map<String, Object>> getInventoryCacheStats() {
+        return ResponseEntity.ok(inventoryCache.getStats());
+    }
+
     /**
      * 현재 재고 고급 검색
      * GET /livewalk/incoming/inventory/search-advanced
@@ -197,70 +262,72 @@ public class PartIncomingController {
             @RequestParam(required = false) String column,
             @RequestParam(required = false) String order) {
 
-        Map<String, Object> params = new HashMap<>();
-        String columnParam = (column != null && !column.trim().isEmpty()) ? column.trim() : null;
-
-        List<String> includeList = new java.util.ArrayList<>();
-        List<String> excludeList = new java.util.ArrayList<>();
-        String cleanedKeyword = null;
-
-        if (keyword != null) {
-            String trimmedKeyword = keyword.trim();
-
-            if (!trimmedKeyword.isEmpty()) {
-                StringBuilder baseKeywordBuilder = new StringBuilder();
-                String[] tokens = trimmedKeyword.split("\\s+");
-
-                for (String token : tokens) {
-                    String payload = token.length() > 1 ? token.substring(1) : "";
-
-                    if (token.startsWith("+") && token.length() > 1) {
-                        includeList.add(payload);
-                    } else if (token.startsWith("-") && token.length() > 1) {
-                        excludeList.add(payload); // 숫자/텍스트 동일하게 제외 처리
-                    } else if (!token.isEmpty()) {
-                        if (baseKeywordBuilder.length() > 0) {
-                            baseKeywordBuilder.append(" ");
-                        }
-                        baseKeywordBuilder.append(token);
-                    }
-                }
-
-                if (baseKeywordBuilder.length() > 0) {
-                    cleanedKeyword = baseKeywordBuilder.toString();
-                }
-            }
-        }
+        Map<String, Object> params = buildInventoryParams(keyword, column, order);
 
-        params.put("keyword", cleanedKeyword);
-        params.put("includeList", includeList);
-        params.put("excludeList", excludeList);
-
-        String filterColumnKey = (columnParam != null && isInventoryTextColumn(columnParam)) ? columnParam : null;
-        params.put("columnKey", filterColumnKey);
+        return ResponseEntity.ok(partIncomingService.searchInventoryAdvanced(params));
+    }
 
-        String resolvedOrderColumn = resolveInventoryOrderColumn(columnParam);
-        params.put("orderColumn", resolvedOrderColumn);
+    /**
+     * 현재 재고 내보내기 (재고 고급 검색 조건 그대로)
+     * GET /livewalk/incoming/inventory/export?format=csv&columns=...
+     */
+    @GetMapping("/inventory/export")
+    public ResponseEntity<StreamingResponseBody> exportInventory(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String column,
+            @RequestParam(required = false) String order,
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) List<String> columns,
+            @RequestParam(required = false) String fileName) {
 
-        if (order == null || (!order.equalsIgnoreCase("asc") && !order.equalsIgnoreCase("desc"))) {
-            order = "asc";
-        }
-        params.put("order", order.toLowerCase());
+        Map<String, Object> params = buildInventoryParams(keyword, column, order);
 
-        return ResponseEntity.ok(partIncomingService.searchInventoryAdvanced(params));
+        ExportService.Export export = exportService.export("재고목록", fileName, format, columns,
+                ExportService.INVENTORY_COLUMNS,
+                consumer -> partIncomingService.streamInventoryAdvanced(params, consumer));
+        return download(export);
     }
 
     /**
      * 재고 부족 조회
-     * GET /livewalk/incoming/low-stock?threshold=10
+     * GET /livewalk/incoming/low-stock?threshold=10 (지정 수량 이하)
+     * GET /livewalk/incoming/low-stock (부품별/카테고리별 적정재고 기준 진행 중 알림, 설정이 없는 부품은 기본 10개)
      */
     @GetMapping("/low-stock")
     public ResponseEntity<List<Map<String, Object>>> getLowStock(
-            @RequestParam(value = "threshold", defaultValue = "10") int threshold) {
+            @RequestParam(value = "threshold", required = false) Integer threshold) {
+        if (threshold == null) {
+            return ResponseEntity.ok(stockAlertService.getOpenAlertInventory());
+        }
         List<Map<String, Object>> lowStock = partIncomingService.getLowStock(threshold);
         return ResponseEntity.ok(lowStock);
     }
 
+    /**
+     * 재고 부족 내보내기
+     * GET /livewalk/incoming/low-stock/export?threshold=10&format=xlsx
+     * GET /livewalk/incoming/low-stock/export (진행 중 재고 부족 알림 기준)
+     */
+    @GetMapping("/low-stock/export")
+    public ResponseEntity<StreamingResponseBody> exportLowStock(
+            @RequestParam(value = "threshold", required = false) Integer threshold,
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) List<String> columns,
+            @RequestParam(required = false) String fileName) {
+
+        ExportService.Export export = exportService.export("재고부족목록", fileName, format, columns,
+                ExportService.LOW_STOCK_COLUMNS,
+                consumer -> {
+                    if (threshold == null) {
+                        // 진행 중 알림 목록은 부품 수 이내로 제한되어 있어 조회 결과를 그대로 사용
+                        stockAlertService.getOpenAlertInventory().forEach(consumer);
+                    } else {
+                        partIncomingService.streamLowStock(threshold, consumer);
+                    }
+                });
+        return download(export);
+    }
+
     /**
      * 입고 정보 수정
      * PUT /livewalk/incoming/{id}
@@ -298,81 +365,116 @@ public class PartIncomingController {
         return ResponseEntity.ok(partIncomingService.searchWithSort(keyword, column, order));
     }
 
+    /**
+     * 입고 일괄 등록 (엑셀 붙여넣기)
+     * POST /livewalk/incoming/bulk
+     */
     @PostMapping("/bulk")
-    public ResponseEntity<?> bulkInsert(@RequestBody List<PartIncomingDTO> incomingList) {
-        int successCount = 0;
-        int failCount = 0;
-        int skippedCount = 0;
-        List<Integer> successIndices = new java.util.ArrayList<>();
-        List<Integer> failIndices = new java.util.ArrayList<>();
-        List<Integer> skippedIndices = new java.util.ArrayList<>();
-        List<Map<String, Object>> failDetails = new java.util.ArrayList<>();
-
-        for (int i = 0; i < incomingList.size(); i++) {
-            PartIncomingDTO dto = incomingList.get(i);
-
-            // 필수 필드 체크: 부품명과 카테고리가 없으면 건너뛰기 (입력하다 만 행)
-            if (isEmptyOrIncomplete(dto)) {
-                skippedCount++;
-                skippedIndices.add(i);
-                continue;
+    public ResponseEntity<?> bulkInsert(@RequestBody List<PartIncomingDTO> incomingList,
+            org.springframework.security.core.Authentication authentication) {
+        if (authentication != null) {
+            for (PartIncomingDTO dto : incomingList) {
+                if (dto.getCreatedBy() == null) {
+                    dto.setCreatedBy(authentication.getName());
+                }
             }
+        }
+        return ResponseEntity.ok(partIncomingService.registerIncomingBulk(incomingList));
+    }
 
-            try {
-                // 입고 등록 (내부에서 기존 부품 체크 후 번호 생성 또는 재사용)
-                partIncomingService.registerIncoming(dto);
-                successCount++;
-                successIndices.add(i);
-            } catch (Exception e) {
-                failCount++;
-                failIndices.add(i);
-
-                // 에러 메시지 처리
-                String errorMessage = e.getMessage();
-
-                // 중복 키 오류 감지
-                if (e.getCause() != null && e.getCause().getMessage() != null) {
-                    String causeMessage = e.getCause().getMessage();
-                    if (causeMessage.contains("Duplicate entry") && causeMessage.contains("uniq_part_purchase")) {
-                        errorMessage = "동일한 부품번호가 같은 시간에 이미 등록되어 있습니다. 잠시 후 다시 시도하거나 구매일자를 변경하세요.";
-                    }
-                }
+    /**
+     * 내보내기 다운로드 응답 (파일명은 RFC 5987 형식으로 한글 그대로 전달)
+     */
+    private ResponseEntity<StreamingResponseBody> download(ExportService.Export export) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(export.fileName(), StandardCharsets.UTF_8).build().toString())
+                .contentType(MediaType.parseMediaType(export.contentType()))
+                .body(export.body());
+    }
 
-                // 실패 상세 정보 저장
-                Map<String, Object> failDetail = new HashMap<>();
-                failDetail.put("index", i);
-                failDetail.put("partNumber", dto.getPartNumber());
-                failDetail.put("partName", dto.getPartName());
-                failDetail.put("error", errorMessage);
-                failDetails.add(failDetail);
-            }
+    /**
+     * 입고 고급 검색 조건 (검색어 전처리 + 컬럼 검색 + 정렬)
+     */
+    private Map<String, Object> buildAdvancedParams(String keyword, String column, String sortColumn, String order) {
+        Map<String, Object> params = buildKeywordParams(keyword);
+
+        // ===== 컬럼 클릭 검색 =====
+        params.put("column", requireColumnName(column));
+
+        // ===== 정렬 컬럼 (sortColumn이 있으면 우선, 없으면 column 사용) =====
+        String orderColumn = (sortColumn != null && !sortColumn.trim().isEmpty()) ? sortColumn : column;
+        params.put("sortColumn", requireColumnName(orderColumn));
+
+        // ===== 정렬 추가 =====
+        if (order == null || (!order.equals("asc") && !order.equals("desc"))) {
+            order = "asc"; // 기본값
         }
+        params.put("order", order);
+        return params;
+    }
 
-        Map<String, Object> result = new HashMap<>();
-        result.put("success", successCount);
-        result.put("fail", failCount);
-        result.put("skipped", skippedCount);
-        result.put("successIndices", successIndices);
-        result.put("failIndices", failIndices);
-        result.put("skippedIndices", skippedIndices);
-        result.put("failDetails", failDetails);
+    /**
+     * 현재 재고 고급 검색 조건 (텍스트 검색 컬럼 / 정렬 컬럼은 허용 목록만)
+     */
+    private Map<String, Object> buildInventoryParams(String keyword, String column, String order) {
+        Map<String, Object> params = buildKeywordParams(keyword);
+        String columnParam = (column != null && !column.trim().isEmpty()) ? column.trim() : null;
+
+        String filterColumnKey = (columnParam != null && isInventoryTextColumn(columnParam)) ? columnParam : null;
+        params.put("columnKey", filterColumnKey);
+
+        String resolvedOrderColumn = resolveInventoryOrderColumn(columnParam);
+        params.put("orderColumn", resolvedOrderColumn);
 
-        return ResponseEntity.ok(result);
+        if (order == null || (!order.equalsIgnoreCase("asc") && !order.equalsIgnoreCase("desc"))) {
+            order = "asc";
+        }
+        params.put("order", order.toLowerCase());
+        return params;
     }
 
     /**
-     * 빈 행이거나 필수 데이터가 없는 불완전한 행인지 체크
+     * 정렬/검색 컬럼은 SQL에 그대로 들어가므로 컬럼명 형식(영문, 숫자, _, .)만 허용
      */
-    private boolean isEmptyOrIncomplete(PartIncomingDTO dto) {
-        // 부품명이 없으면 불완전한 행으로 간주
-        if (dto.getPartName() == null || dto.getPartName().trim().isEmpty()) {
-            return true;
+    private String requireColumnName(String column) {
+        if (column == null || column.trim().isEmpty()) {
+            return column;
+        }
+        if (!column.matches("[A-Za-z_][A-Za-z0-9_.]*")) {
+            throw new ValidationException("잘못된 컬럼명입니다: " + column);
         }
-        // 카테고리가 없으면 불완전한 행으로 간주
-        if (dto.getCategoryId() == null) {
-            return true;
+        return column;
+    }
+
+    /**
+     * 검색어 전처리 (기본 검색어 / +포함 / -제외 분리)
+     */
+    private Map<String, Object> buildKeywordParams(String keyword) {
+        Map<String, Object> params = new HashMap<>();
+        List<String> includeList = new java.util.ArrayList<>();
+        List<String> excludeList = new java.util.ArrayList<>();
+        StringBuilder baseKeywordBuilder = new StringBuilder();
+
+        if (keyword != null && !keyword.trim().isEmpty()) {
+            for (String token : keyword.trim().split("\\s+")) {
+                if (token.startsWith("+") && token.length() > 1) {
+                    includeList.add(token.substring(1));
+                } else if (token.startsWith("-") && token.length() > 1) {
+                    excludeList.add(token.substring(1));
+                } else if (!token.isEmpty()) {
+                    if (baseKeywordBuilder.length() > 0) {
+                        baseKeywordBuilder.append(" ");
+                    }
+                    baseKeywordBuilder.append(token);
+                }
+            }
         }
-        return false;
+
+        params.put("keyword", baseKeywordBuilder.length() > 0 ? baseKeywordBuilder.toString() : null);
+        params.put("includeList", includeList);
+        params.put("excludeList", excludeList);
+        return params;
     }
 
     private boolean isInventoryTextColumn(String column) {
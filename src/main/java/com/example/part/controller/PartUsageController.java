@@ -1,11 +1,17 @@
 package com.example.part.controller;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -15,9 +21,15 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.example.part.dto.PageResponseDTO;
 import com.example.part.dto.PartUsageDTO;
+import com.example.part.exception.ValidationException;
+import com.example.part.service.ExportService;
 import com.example.part.service.PartUsageService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -30,6 +42,10 @@ public class PartUsageController {
 
     private final PartUsageService partUsageService;
 
+    private final ObjectMapper objectMapper;
+
+    private final ExportService exportService;
+
     /**
      * 출고 등록
      * POST /livewalk/part-usage
@@ -88,6 +104,28 @@ public class PartUsageController {
         return ResponseEntity.ok(usageList);
     }
 
+    /**
+     * 전체 사용 내역 스트리밍 조회 (DB에서 읽는 즉시 한 건씩 JSON 배열로 전송)
+     * GET /livewalk/part-usage/stream
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamAllUsage() {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+                generator.writeStartArray();
+                partUsageService.streamAllUsage(row -> {
+                    try {
+                        generator.writeObject(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
     /**
      * 통합 검색 (부품명, 사용처, 부품번호)
      * GET /livewalk/part-usage/search?keyword=저항
@@ -108,49 +146,47 @@ public class PartUsageController {
             @RequestParam(required = false) String column,
             @RequestParam(required = false) String order) {
 
-        Map<String, Object> params = new HashMap<>();
+        Map<String, Object> params = buildAdvancedParams(keyword, column, order);
 
-        List<String> includeList = new java.util.ArrayList<>();
-        List<String> excludeList = new java.util.ArrayList<>();
-        String cleanedKeyword = null;
-
-        if (keyword != null) {
-            String trimmedKeyword = keyword.trim();
-
-            if (!trimmedKeyword.isEmpty()) {
-                StringBuilder baseKeywordBuilder = new StringBuilder();
-                String[] tokens = trimmedKeyword.split("\\s+");
-
-                for (String token : tokens) {
-                    if (token.startsWith("+") && token.length() > 1) {
-                        includeList.add(token.substring(1));
-                    } else if (token.startsWith("-") && token.length() > 1) {
-                        excludeList.add(token.substring(1));
-                    } else if (!token.isEmpty()) {
-                        if (baseKeywordBuilder.length() > 0) {
-                            baseKeywordBuilder.append(" ");
-                        }
-                        baseKeywordBuilder.append(token);
-                    }
-                }
+        return ResponseEntity.ok(partUsageService.searchAdvanced(params));
+    }
 
-                if (baseKeywordBuilder.length() > 0) {
-                    cleanedKeyword = baseKeywordBuilder.toString();
-                }
-            }
-        }
+    /**
+     * 출고 목록 내보내기 (고급 검색 조건 그대로, 선택 컬럼만 CSV/XLSX로 스트리밍)
+     * GET /livewalk/part-usage/export?format=xlsx&columns=부품번호,출고수량&keyword=...
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportUsage(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String column,
+            @RequestParam(required = false) String order,
+            @RequestParam(required = false) String format,
+            @RequestParam(required = false) List<String> columns,
+            @RequestParam(required = false) String fileName) {
 
-        params.put("keyword", cleanedKeyword);
-        params.put("includeList", includeList);
-        params.put("excludeList", excludeList);
-        params.put("column", column);
+        Map<String, Object> params = buildAdvancedParams(keyword, column, order);
 
-        if (order == null || (!order.equalsIgnoreCase("asc") && !order.equalsIgnoreCase("desc"))) {
-            order = "asc";
-        }
-        params.put("order", order.toLowerCase());
+        ExportService.Export export = exportService.export("출고목록", fileName, format, columns,
+                ExportService.USAGE_COLUMNS,
+                consumer -> partUsageService.streamSearchAdvanced(params, consumer));
+        return download(export);
+    }
 
-        return ResponseEntity.ok(partUsageService.searchAdvanced(params));
+    /**
+     * 출고 내역 키셋 페이지 조회 (고급 검색 조건 사용 가능, 최신 사용일순)
+     * GET /livewalk/part-usage/page?limit=100&after={nextCursor}
+     */
+    @GetMapping("/page")
+    public ResponseEntity<PageResponseDTO<PartUsageDTO>> getUsagePage(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) String column,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String after) {
+
+        Map<String, Object> params = buildKeywordParams(keyword);
+        params.put("column", column);
+
+        return ResponseEntity.ok(partUsageService.getUsagePage(params, limit, after));
     }
 
     /**
@@ -224,4 +260,65 @@ public class PartUsageController {
             @RequestParam String order) {
         return ResponseEntity.ok(partUsageService.searchWithSort(keyword, column, order));
     }
+
+    /**
+     * 내보내기 다운로드 응답 (파일명은 RFC 5987 형식으로 한글 그대로 전달)
+     */
+    private ResponseEntity<StreamingResponseBody> download(ExportService.Export export) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(export.fileName(), StandardCharsets.UTF_8).build().toString())
+                .contentType(MediaType.parseMediaType(export.contentType()))
+                .body(export.body());
+    }
+
+    /**
+     * 출고 고급 검색 조건 (검색어 전처리 + 컬럼 검색 + 정렬)
+     */
+    private Map<String, Object> buildAdvancedParams(String keyword, String column, String order) {
+        Map<String, Object> params = buildKeywordParams(keyword);
+
+        // 검색 컬럼은 SQL에 그대로 들어가므로 컬럼명 형식(영문, 숫자, _, .)만 허용
+        if (column != null && !column.trim().isEmpty() && !column.matches("[A-Za-z_][A-Za-z0-9_.]*")) {
+            throw new ValidationException("잘못된 컬럼명입니다: " + column);
+        }
+        params.put("column", column);
+
+        if (order == null || (!order.equalsIgnoreCase("asc") && !order.equalsIgnoreCase("desc"))) {
+            order = "asc";
+        }
+        params.put("order", order.toLowerCase());
+
+        return params;
+    }
+
+    /**
+     * 검색어 전처리 (기본 검색어 / +포함 / -제외 분리)
+     */
+    private Map<String, Object> buildKeywordParams(String keyword) {
+        Map<String, Object> params = new HashMap<>();
+        List<String> includeList = new java.util.ArrayList<>();
+        List<String> excludeList = new java.util.ArrayList<>();
+        StringBuilder baseKeywordBuilder = new StringBuilder();
+
+        if (keyword != null && !keyword.trim().isEmpty()) {
+            for (String token : keyword.trim().split("\\s+")) {
+                if (token.startsWith("+") && token.length() > 1) {
+                    includeList.add(token.substring(1));
+                } else if (token.startsWith("-") && token.length() > 1) {
+                    excludeList.add(token.substring(1));
+                } else if (!token.isEmpty()) {
+                    if (baseKeywordBuilder.length() > 0) {
+                        baseKeywordBuilder.append(" ");
+                    }
+                    baseKeywordBuilder.append(token);
+                }
+            }
+        }
+
+        params.put("keyword", baseKeywordBuilder.length() > 0 ? baseKeywordBuilder.toString() : null);
+        params.put("includeList", includeList);
+        params.put("excludeList", excludeList);
+        return params;
+    }
 }
@@ -0,0 +1,61 @@
+package com.example.part.controller;
+
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.part.service.SearchIndex;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/livewalk/search-index")
+@RequiredArgsConstructor
+public class SearchIndexController {
+
+    private final SearchIndex searchIndex;
+
+    /**
+     * 입고/출고 검색 색인 전체 재구성 (관리자)
+     * POST /livewalk/search-index/reindex
+     */
+    @PostMapping("/reindex")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> reindex() {
+        return ResponseEntity.ok(searchIndex.rebuild());
+    }
+
+    /**
+     * 검색 색인과 DB 정합성 점검 (관리자, 누락/변경/잔여 문서 수만 보고)
+     * GET /livewalk/search-index/check
+     */
+    @GetMapping("/check")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> check() {
+        return ResponseEntity.ok(searchIndex.check(false));
+    }
+
+    /**
+     * 검색 색인 정합성 점검 후 어긋난 문서만 보정 (관리자)
+     * POST /livewalk/search-index/repair
+     */
+    @PostMapping("/repair")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> repair() {
+        return ResponseEntity.ok(searchIndex.check(true));
+    }
+
+    /**
+     * 검색 색인 지표 (문서 수, gram 수, 색인/SQL 처리 건수)
+     * GET /livewalk/search-index/stats
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats() {
+        return ResponseEntity.ok(searchIndex.getStats());
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.part.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.part.dto.ReorderPointDTO;
+import com.example.part.dto.StockAlertDTO;
+import com.example.part.service.StockAlertService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/livewalk/stock-alerts")
+@RequiredArgsConstructor
+public class StockAlertController {
+
+    private final StockAlertService stockAlertService;
+
+    /**
+     * 재고 부족 알림 목록 (status=open: 진행 중만, all: 해제 포함 최근 순)
+     * GET /livewalk/stock-alerts?status=open&limit=200
+     */
+    @GetMapping
+    public ResponseEntity<List<StockAlertDTO>> getAlerts(
+            @RequestParam(defaultValue = "open") String status,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(stockAlertService.getAlerts(!"all".equalsIgnoreCase(status), limit));
+    }
+
+    /**
+     * 진행 중 알림 수 (화면 배지용)
+     * GET /livewalk/stock-alerts/count
+     */
+    @GetMapping("/count")
+    public ResponseEntity<Integer> countOpenAlerts() {
+        return ResponseEntity.ok(stockAlertService.countOpenAlerts());
+    }
+
+    /**
+     * 전체 부품 재평가 (관리자)
+     * POST /livewalk/stock-alerts/evaluate
+     */
+    @PostMapping("/evaluate")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Object>> evaluateAll() {
+        return ResponseEntity.ok(stockAlertService.evaluateAll());
+    }
+
+    /**
+     * 부품별 적정재고 목록
+     * GET /livewalk/stock-alerts/reorder-points
+     */
+    @GetMapping("/reorder-points")
+    public ResponseEntity<List<ReorderPointDTO>> getReorderPoints() {
+        return ResponseEntity.ok(stockAlertService.getReorderPoints());
+    }
+
+    /**
+     * 부품별 적정재고 설정
+     * PUT /livewalk/stock-alerts/reorder-points/{partNumber}
+     */
+    @PutMapping("/reorder-points/{partNumber}")
+    public ResponseEntity<String> setPartReorderPoint(@PathVariable String partNumber,
+            @RequestBody ReorderPointDTO reorderPointDTO,
+            Authentication authentication) {
+        String username = authentication != null ? authentication.getName() : null;
+        stockAlertService.setPartReorderPoint(partNumber, reorderPointDTO.getReorderPoint(), username);
+        return ResponseEntity.ok("적정재고 설정 완료: " + partNumber);
+    }
+
+    /**
+     * 부품별 적정재고 해제 (카테고리 기본값 적용)
+     * DELETE /livewalk/stock-alerts/reorder-points/{partNumber}
+     */
+    @DeleteMapping("/reorder-points/{partNumber}")
+    public ResponseEntity<String> clearPartReorderPoint(@PathVariable String partNumber,
+            Authentication authentication) {
+        String username = authentication != null ? authentication.getName() : null;
+        stockAlertService.setPartReorderPoint(partNumber, null, username);
+        return ResponseEntity.ok("적정재고 해제 완료: " + partNumber);
+    }
+
+    /**
+     * 카테고리 기본 적정재고 설정 (reorderPoint 생략 시 해제)
+     * PUT /livewalk/stock-alerts/categories/{categoryId}/reorder-point
+     */
+    @PutMapping("/categories/{categoryId}/reorder-point")
+    public ResponseEntity<String> setCategoryReorderPoint(@PathVariable int categoryId,
+            @RequestBody ReorderPointDTO reorderPointDTO) {
+        stockAlertService.setCategoryReorderPoint(categoryId, reorderPointDTO.getReorderPoint());
+        return ResponseEntity.ok("카테고리 기본 적정재고 설정 완료: " + categoryId);
+    }
+}
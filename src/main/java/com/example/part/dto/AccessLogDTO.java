@@ -22,4 +22,5 @@ public class AccessLogDTO {
     private String logoutIp;
     private String userAgent;
     private String sessionId;
+    private String serverNode; // 로그인을 처리한 서버 (서버 종료 시 해당 서버의 세션만 일괄 종료)
 }
@@ -10,6 +10,7 @@ public class CategoryDTO {
     private String categoryName;
     private String description;
     private Boolean isActive;
+    private Integer defaultReorderPoint;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 }
@@ -0,0 +1,16 @@
+package com.example.part.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class DocumentBatchRequestDTO {
+    private Long templateId;
+    private String title; // 문서 제목 (입고별로 " - 부품번호"가 붙음)
+    private List<Integer> incomingIds;
+
+    // 표 시작 위치 좌표 (PDF 좌표계: 왼쪽 아래가 원점) - 없으면 단건 생성과 같은 기본값
+    private Float tableX;
+    private Float tableY;
+}
@@ -0,0 +1,49 @@
+package com.example.part.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.example.part.exception.ValidationException;
+
+/**
+ * 키셋 페이지 커서 인코딩/디코딩
+ * 정렬 키와 PK를 묶어 URL-safe Base64 문자열로 전달한다. (예: "2024-05-01T10:00:00|123")
+ */
+public final class PageCursor {
+
+    private static final String SEPARATOR = "|";
+
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 500;
+
+    private PageCursor() {
+    }
+
+    public static String encode(Object sortKey, Object id) {
+        String raw = (sortKey != null ? sortKey.toString() : "") + SEPARATOR + (id != null ? id.toString() : "");
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return [정렬 키, PK]
+     */
+    public static String[] decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idx = raw.lastIndexOf(SEPARATOR);
+            if (idx < 0) {
+                throw new ValidationException("잘못된 페이지 커서입니다.");
+            }
+            return new String[] { raw.substring(0, idx), raw.substring(idx + 1) };
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("잘못된 페이지 커서입니다.", e);
+        }
+    }
+
+    public static int resolveLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.part.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import lombok.Data;
+
+/**
+ * 키셋(커서) 페이지 응답
+ */
+@Data
+public class PageResponseDTO<T> {
+    private List<T> items;
+    private String nextCursor; // 다음 페이지 요청 시 after 로 전달 (마지막 페이지면 null)
+    private boolean hasMore;
+    private Long approximateTotal; // 통계 기반 대략적인 전체 건수 (필터 검색 시 null)
+
+    /**
+     * limit + 1 건으로 조회한 결과를 페이지로 변환
+     */
+    public static <T> PageResponseDTO<T> of(List<T> rows, int limit, Function<T, String> cursorOf,
+            Long approximateTotal) {
+        PageResponseDTO<T> page = new PageResponseDTO<>();
+        boolean hasMore = rows.size() > limit;
+        List<T> items = hasMore ? new ArrayList<>(rows.subList(0, limit)) : rows;
+        page.setItems(items);
+        page.setHasMore(hasMore);
+        page.setNextCursor(hasMore && !items.isEmpty() ? cursorOf.apply(items.get(items.size() - 1)) : null);
+        page.setApproximateTotal(approximateTotal);
+        return page;
+    }
+}
@@ -8,6 +8,9 @@ public class PartImageDTO {
     private Integer incomingId;
     private String imageType; // delivery, part, etc
     private String imageUrl;
+    private String thumbUrl; // 목록용 썸네일 (생성 전이면 null)
+    private String mediumUrl; // 상세 보기용 중간 크기 (생성 전이면 null)
+    private String derivativeStatus; // pending, ready, failed
     private String storageType; // local, cloudinary, s3
     private String fileName;
     private Long fileSize;
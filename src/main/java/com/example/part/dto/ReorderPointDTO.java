@@ -0,0 +1,16 @@
+package com.example.part.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+@Data
+public class ReorderPointDTO {
+    private String partNumber;
+    private String partName;
+    private String categoryName;
+    private Integer reorderPoint; // NULL이면 부품별 설정 해제 (카테고리 기본값 적용)
+    private Integer currentStock;
+    private String updatedBy;
+    private LocalDateTime updatedAt;
+}
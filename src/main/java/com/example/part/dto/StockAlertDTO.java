@@ -0,0 +1,20 @@
+package com.example.part.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Data;
+
+@Data
+public class StockAlertDTO {
+    private Long alertId;
+    private String partNumber;
+    private String partName;
+    private String categoryName;
+    private String unit;
+    private Integer reorderPoint; // 알림 발생 시 적정재고
+    private Integer stockAtAlert; // 알림 발생 시 재고
+    private Integer currentStock; // 조회 시점 재고
+    private LocalDateTime openedAt;
+    private LocalDateTime resolvedAt; // NULL이면 진행 중
+    private Integer resolvedStock;
+}
@@ -0,0 +1,17 @@
+package com.example.part.dto;
+
+import lombok.Data;
+
+@Data
+public class StorageOffloadDTO {
+    private String blobKey;
+    private String status; // pending, uploading, done, failed
+    private Integer attempts;
+    private String nextAttemptAt;
+    private String remoteType; // cloudinary, local
+    private String remoteId;
+    private String remoteUrl;
+    private String lastError;
+    private String createdAt;
+    private String updatedAt;
+}
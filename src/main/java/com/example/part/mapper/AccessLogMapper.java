@@ -13,6 +13,13 @@ public interface AccessLogMapper {
 
     void insertAccessLog(AccessLogDTO accessLog);
 
+    void insertAccessLogBatch(List<AccessLogDTO> accessLogs);
+
+    int updateLogoutTimeBatch(List<AccessLogDTO> logouts);
+
+    int closeOpenSessions(@Param("serverNode") String serverNode, @Param("logoutTime") LocalDateTime logoutTime,
+            @Param("logoutIp") String logoutIp);
+
     void updateLogoutTime(@Param("sessionId") String sessionId, @Param("logoutTime") LocalDateTime logoutTime, @Param("logoutIp") String logoutIp);
 
     List<AccessLogDTO> selectAllAccessLogs();
@@ -22,4 +29,11 @@ public interface AccessLogMapper {
     AccessLogDTO selectAccessLogBySessionId(@Param("sessionId") String sessionId);
 
     List<AccessLogDTO> selectActiveSessions();
+
+    List<AccessLogDTO> selectAccessLogsByRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+            @Param("limit") int limit);
+
+    List<AccessLogDTO> selectArchiveBatch(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    int deleteByIds(@Param("ids") List<Long> ids);
 }
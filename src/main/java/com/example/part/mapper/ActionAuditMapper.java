@@ -10,5 +10,16 @@ public interface ActionAuditMapper {
 
     void insertAudit(ActionAuditDTO audit);
 
+    void insertAuditBatch(java.util.List<ActionAuditDTO> audits);
+
     java.util.List<ActionAuditDTO> selectRecent(@Param("limit") int limit);
+
+    java.util.List<ActionAuditDTO> selectPage(java.util.Map<String, Object> params);
+
+    Long selectApproximateCount();
+
+    java.util.List<ActionAuditDTO> selectArchiveBatch(@Param("cutoff") java.time.LocalDateTime cutoff,
+            @Param("limit") int limit);
+
+    int deleteByIds(@Param("ids") java.util.List<Long> ids);
 }
@@ -0,0 +1,31 @@
+package com.example.part.mapper;
+
+import java.util.Map;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+@Mapper
+public interface FileBlobMapper {
+
+    // 참조 추가 (처음 저장되는 내용이면 참조 1로 등록)
+    void acquire(@Param("blobKey") String blobKey, @Param("fileSize") long fileSize);
+
+    // 이미 등록된 내용의 참조 추가 (등록되지 않았으면 0 반환)
+    int incrementRef(@Param("blobKey") String blobKey);
+
+    // 참조 해제
+    int decrementRef(@Param("blobKey") String blobKey);
+
+    // 현재 참조 수 (행 잠금)
+    Integer selectRefCountForUpdate(@Param("blobKey") String blobKey);
+
+    // 현재 참조 수 (잠금 없이 조회)
+    Integer selectRefCount(@Param("blobKey") String blobKey);
+
+    // 참조가 없는 내용 삭제
+    int deleteUnreferenced(@Param("blobKey") String blobKey);
+
+    // 저장소 요약 (내용 수, 총 크기, 총 참조 수)
+    Map<String, Object> selectSummary();
+}
@@ -1,5 +1,6 @@
 package com.example.part.mapper;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.apache.ibatis.annotations.Mapper;
@@ -14,9 +15,21 @@ public interface GeneralImageMapper {
 
     List<GeneralImageDTO> selectAllImages();
 
+    List<GeneralImageDTO> selectImagePage(@Param("afterUploadedAt") LocalDateTime afterUploadedAt,
+            @Param("afterId") Long afterId, @Param("limit") int limit);
+
+    Long selectApproximateCount();
+
     GeneralImageDTO selectImageById(@Param("imageId") Long imageId);
 
     void deleteImage(@Param("imageId") Long imageId);
 
     void updateFieldCoordinates(@Param("imageId") Long imageId, @Param("fieldCoordinates") String fieldCoordinates);
+
+    // 전체 자료 (image_id 기준 키셋 페이지, 저장소 이전용)
+    List<GeneralImageDTO> selectImagesAfter(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    // 파일 경로 변경 (저장소 이전)
+    int updateFile(@Param("imageId") Long imageId, @Param("fileName") String fileName,
+            @Param("filePath") String filePath);
 }
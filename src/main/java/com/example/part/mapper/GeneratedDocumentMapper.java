@@ -3,6 +3,7 @@ package com.example.part.mapper;
 import java.util.List;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
 import com.example.part.dto.GeneratedDocumentDTO;
 
@@ -16,4 +17,11 @@ public interface GeneratedDocumentMapper {
     GeneratedDocumentDTO selectDocumentById(Long documentId);
 
     void deleteDocument(Long documentId);
+
+    // 전체 문서 (document_id 기준 키셋 페이지, 저장소 이전용)
+    List<GeneratedDocumentDTO> selectDocumentsAfter(@Param("afterId") Long afterId, @Param("limit") int limit);
+
+    // 파일 경로 변경 (저장소 이전)
+    int updateFile(@Param("documentId") Long documentId, @Param("fileName") String fileName,
+            @Param("filePath") String filePath);
 }
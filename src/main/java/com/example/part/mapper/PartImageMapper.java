@@ -26,6 +26,23 @@ public interface PartImageMapper {
     // 전체 조회
     List<PartImageDTO> selectAllImages();
 
+    // 파생 이미지(썸네일/중간 크기) 생성 결과 반영
+    int updateDerivatives(@Param("imageId") Integer imageId, @Param("thumbUrl") String thumbUrl,
+            @Param("mediumUrl") String mediumUrl, @Param("derivativeStatus") String derivativeStatus);
+
+    // 같은 원본을 가진 다른 사진 중 파생 이미지가 있는 사진 (파생 이미지 재사용)
+    PartImageDTO selectReadySibling(@Param("imageUrl") String imageUrl, @Param("imageId") Integer imageId);
+
+    // 파생 이미지가 없는 로컬 사진 (image_id 기준 키셋 페이지)
+    List<PartImageDTO> selectMissingDerivatives(@Param("afterId") Integer afterId, @Param("limit") int limit);
+
+    // 로컬 사진 (image_id 기준 키셋 페이지, 저장소 이전용)
+    List<PartImageDTO> selectLocalImagesAfter(@Param("afterId") Integer afterId, @Param("limit") int limit);
+
+    // 파일 경로 변경 (저장소 이전)
+    int updateImageFiles(@Param("imageId") Integer imageId, @Param("imageUrl") String imageUrl,
+            @Param("thumbUrl") String thumbUrl, @Param("mediumUrl") String mediumUrl);
+
     // 이미지 삭제
     void deleteImage(Integer imageId);
 }
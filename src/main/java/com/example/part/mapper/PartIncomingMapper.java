@@ -1,10 +1,12 @@
 package com.example.part.mapper;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import com.example.part.dto.PartIncomingDTO;
 
@@ -14,9 +16,30 @@ public interface PartIncomingMapper {
         // 입고 등록
         int insertIncoming(PartIncomingDTO partIncomingDTO);
 
+        // 입고 일괄 등록 (다중 행 INSERT, incomingId 채워짐)
+        int insertIncomingBatch(List<PartIncomingDTO> list);
+
+        // CSV 복원용 일괄 등록 (입고ID 유지, 있으면 덮어씀)
+        int restoreIncomingBatch(List<PartIncomingDTO> list);
+
         // 전체 입고 내역 조회
         List<PartIncomingDTO> selectAllIncoming();
 
+        // 전체 입고 내역 스트리밍 조회 (행 단위 콜백)
+        void streamAllIncoming(ResultHandler<PartIncomingDTO> handler);
+
+        // CSV 백업용 스트리밍 조회 (since 이후 등록/수정분, null이면 전체)
+        void streamIncomingForBackup(@Param("since") LocalDateTime since, ResultHandler<PartIncomingDTO> handler);
+
+        // 검색 색인 원본 전체 스트리밍 조회
+        void streamSearchSource(ResultHandler<Map<String, Object>> handler);
+
+        // 검색 색인 원본 조회 (입고ID 목록)
+        List<Map<String, Object>> selectSearchSourceByIds(@Param("ids") List<Integer> ids);
+
+        // 검색 색인 원본 단건 조회
+        Map<String, Object> selectSearchSourceById(@Param("incomingId") int incomingId);
+
         // incoming_id로 단건 조회
         PartIncomingDTO findById(@Param("incomingId") int incomingId);
 
@@ -32,11 +55,20 @@ public interface PartIncomingMapper {
         // 부품별 현재 재고 집계
         List<Map<String, Object>> getCurrentInventory();
 
+        // 단일 부품 현재 재고 조회 (재고 캐시 갱신용)
+        Map<String, Object> selectInventoryByPartNumber(@Param("partNumber") String partNumber);
+
         // 재고 부족 조회
         List<Map<String, Object>> selectLowStock(@Param("threshold") int threshold);
 
         List<Map<String, Object>> searchInventoryAdvanced(Map<String, Object> params);
 
+        // 현재 재고 고급 검색 스트리밍 (내보내기용)
+        void streamInventoryAdvanced(Map<String, Object> params, ResultHandler<Map<String, Object>> handler);
+
+        // 재고 부족 스트리밍 (내보내기용)
+        void streamLowStock(@Param("threshold") int threshold, ResultHandler<Map<String, Object>> handler);
+
         // 입고 정보 수정
         int updateIncoming(PartIncomingDTO partIncomingDTO);
 
@@ -53,4 +85,16 @@ public interface PartIncomingMapper {
                         @Param("order") String order);
 
         List<PartIncomingDTO> searchAdvanced(Map<String, Object> params);
+
+        // 고급 검색 스트리밍 (내보내기용, 행 단위로 handler 호출)
+        void streamSearchAdvanced(Map<String, Object> params, ResultHandler<PartIncomingDTO> handler);
+
+        // 키셋 페이지 조회 (created_at DESC, incoming_id DESC)
+        List<PartIncomingDTO> selectIncomingPage(Map<String, Object> params);
+
+        // 대략적인 전체 건수 (테이블 통계)
+        Long selectApproximateCount();
+
+        // 재고 키셋 페이지 조회 (part_number 오름차순)
+        List<Map<String, Object>> selectInventoryPage(@Param("after") String after, @Param("limit") int limit);
 }
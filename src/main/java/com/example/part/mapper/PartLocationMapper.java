@@ -1,9 +1,11 @@
 package com.example.part.mapper;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import com.example.part.dto.PartLocationDTO;
 
@@ -11,6 +13,9 @@ import com.example.part.dto.PartLocationDTO;
 public interface PartLocationMapper {
     List<PartLocationDTO> selectAllLocations();
 
+    // CSV 백업용 스트리밍 조회 (since 이후 수정분, null이면 전체)
+    void streamLocationsForBackup(@Param("since") LocalDateTime since, ResultHandler<PartLocationDTO> handler);
+
     PartLocationDTO findByCode(String locationCode);
 
     PartLocationDTO findByPartNumber(String partNumber);
@@ -21,6 +26,11 @@ public interface PartLocationMapper {
 
     int insertLocation(PartLocationDTO dto);
 
+    int insertLocationBatch(List<PartLocationDTO> list);
+
+    // CSV 복원용 일괄 등록 (위치ID 유지, 있으면 덮어씀)
+    int restoreLocationBatch(List<PartLocationDTO> list);
+
     int updateLocation(PartLocationDTO dto);
 
     int updateLocationByIncomingId(PartLocationDTO dto);
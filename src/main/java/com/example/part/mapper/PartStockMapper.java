@@ -0,0 +1,39 @@
+package com.example.part.mapper;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
+
+import com.example.part.dto.PartIncomingDTO;
+
+@Mapper
+public interface PartStockMapper {
+
+    // 입고 1건 반영 (없으면 원장 행 생성)
+    int applyIncoming(PartIncomingDTO partIncomingDTO);
+
+    // 입고 일괄 반영 (부품번호별 합산 행: partNumber, partName, categoryId, unit, quantity, count)
+    int applyIncomingBatch(@Param("rows") List<Map<String, Object>> rows);
+
+    // 출고 수량 증감 반영
+    int applyUsageDelta(@Param("partNumber") String partNumber, @Param("delta") int delta);
+
+    // 단일 부품 현재 재고 조회 + 행 잠금 (SELECT ... FOR UPDATE)
+    Integer selectCurrentStockForUpdate(@Param("partNumber") String partNumber);
+
+    // 단일 부품 원장 재계산 (원본 테이블 기준)
+    int refreshStock(@Param("partNumber") String partNumber);
+
+    // 입고 내역이 없는 원장 행 삭제
+    int deleteOrphanStock(@Param("partNumber") String partNumber);
+
+    // 원본 집계와 원장이 어긋난 부품번호 조회
+    List<String> selectDriftedPartNumbers();
+
+    // CSV 백업용 재고 스트리밍 조회 (since 이후 갱신분, null이면 전체)
+    void streamInventoryForBackup(@Param("since") LocalDateTime since, ResultHandler<Map<String, Object>> handler);
+}
@@ -1,11 +1,13 @@
 package com.example.part.mapper;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.session.ResultHandler;
 
 import com.example.part.dto.PartUsageDTO;
 
@@ -15,6 +17,9 @@ public interface PartUsageMapper {
     // 출고(사용) 등록
     int insertPartUsage(PartUsageDTO partUsageDTO);
 
+    // CSV 복원용 일괄 등록 (사용ID 유지, 있으면 덮어씀)
+    int restoreUsageBatch(List<PartUsageDTO> list);
+
     // 출고 수정
     int updatePartUsage(PartUsageDTO partUsageDTO);
 
@@ -24,6 +29,21 @@ public interface PartUsageMapper {
     // 전체 사용 내역
     List<PartUsageDTO> selectAllUsage();
 
+    // 전체 사용 내역 스트리밍 조회 (행 단위 콜백)
+    void streamAllUsage(ResultHandler<PartUsageDTO> handler);
+
+    // CSV 백업용 스트리밍 조회 (since 이후 등록/수정분, null이면 전체)
+    void streamUsageForBackup(@Param("since") LocalDateTime since, ResultHandler<PartUsageDTO> handler);
+
+    // 검색 색인 원본 전체 스트리밍 조회
+    void streamSearchSource(ResultHandler<Map<String, Object>> handler);
+
+    // 검색 색인 원본 단건 조회
+    Map<String, Object> selectSearchSourceById(@Param("usageId") int usageId);
+
+    // 검색 색인 원본 조회 (입고ID 기준)
+    List<Map<String, Object>> selectSearchSourceByIncomingId(@Param("incomingId") int incomingId);
+
     // 검색 기능 (부품명, 사용처, 부품번호 동시 검색)
     List<PartUsageDTO> searchUsage(@Param("keyword") String keyword);
 
@@ -52,4 +72,13 @@ public interface PartUsageMapper {
             @Param("order") String order);
 
     List<PartUsageDTO> searchAdvanced(Map<String, Object> params);
+
+    // 고급 검색 스트리밍 (내보내기용, 행 단위로 handler 호출)
+    void streamSearchAdvanced(Map<String, Object> params, ResultHandler<PartUsageDTO> handler);
+
+    // 키셋 페이지 조회 (used_datetime DESC, usage_id DESC)
+    List<PartUsageDTO> selectUsagePage(Map<String, Object> params);
+
+    // 대략적인 전체 건수 (테이블 통계)
+    Long selectApproximateCount();
 }
@@ -0,0 +1,59 @@
+package com.example.part.mapper;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import com.example.part.dto.ReorderPointDTO;
+import com.example.part.dto.StockAlertDTO;
+
+@Mapper
+public interface StockAlertMapper {
+
+    // 단일 부품 현재 재고 / 적용 적정재고 / 진행 중 알림ID (defaultReorderPoint: 설정이 없는 부품의 기준, null이면 알림 없음)
+    Map<String, Object> selectStockState(@Param("partNumber") String partNumber,
+            @Param("defaultReorderPoint") Integer defaultReorderPoint);
+
+    // 진행 중 알림ID (원장 행이 없는 부품용)
+    Long selectOpenAlertId(@Param("partNumber") String partNumber);
+
+    // 알림 생성 (진행 중 알림이 있으면 무시)
+    int insertAlert(@Param("partNumber") String partNumber,
+            @Param("reorderPoint") int reorderPoint,
+            @Param("stock") int stock);
+
+    // 알림 해제
+    int resolveAlert(@Param("alertId") long alertId, @Param("stock") Integer stock);
+
+    // 전체 평가 - 적정재고 이하 부품 알림 생성
+    int openAlertsForAll(@Param("defaultReorderPoint") Integer defaultReorderPoint);
+
+    // 전체 평가 - 회복된 부품 알림 해제
+    int resolveRecoveredAll(@Param("defaultReorderPoint") Integer defaultReorderPoint);
+
+    // 알림 목록
+    List<StockAlertDTO> selectAlerts(@Param("openOnly") boolean openOnly, @Param("limit") int limit);
+
+    // 진행 중 알림 수
+    int countOpenAlerts();
+
+    // 진행 중 알림 부품의 재고 행
+    List<Map<String, Object>> selectOpenAlertInventory();
+
+    // 부품별 적정재고 목록
+    List<ReorderPointDTO> selectReorderPoints();
+
+    // 부품별 적정재고 저장
+    int upsertReorderPoint(@Param("partNumber") String partNumber,
+            @Param("reorderPoint") int reorderPoint,
+            @Param("updatedBy") String updatedBy);
+
+    // 부품별 적정재고 해제
+    int deleteReorderPoint(@Param("partNumber") String partNumber);
+
+    // 카테고리 기본 적정재고 저장
+    int updateCategoryReorderPoint(@Param("categoryId") int categoryId,
+            @Param("reorderPoint") Integer reorderPoint);
+}
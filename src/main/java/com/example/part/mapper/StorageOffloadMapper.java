@@ -0,0 +1,49 @@
+package com.example.part.mapper;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import com.example.part.dto.StorageOffloadDTO;
+
+@Mapper
+public interface StorageOffloadMapper {
+
+    // 복제 대기 등록 (이미 있으면 무시)
+    int enqueue(@Param("blobKey") String blobKey);
+
+    // 큐에 없는 저장소 내용 등록 (기능 도입 전 파일, 등록 누락분)
+    int enqueueMissing(@Param("limit") int limit);
+
+    // 시도 시각이 된 대기 건
+    List<StorageOffloadDTO> selectDue(@Param("limit") int limit);
+
+    // 처리 선점 (pending → uploading, 다른 서버가 먼저 가져갔으면 0)
+    int claim(@Param("blobKey") String blobKey);
+
+    // 복제 완료
+    int markDone(@Param("blobKey") String blobKey, @Param("remoteType") String remoteType,
+            @Param("remoteId") String remoteId, @Param("remoteUrl") String remoteUrl);
+
+    // 실패 기록 (재시도 대기 또는 failed)
+    int markFailed(@Param("blobKey") String blobKey, @Param("status") String status,
+            @Param("attempts") int attempts, @Param("delaySeconds") long delaySeconds,
+            @Param("lastError") String lastError);
+
+    // 전송 중에 서버가 멈춘 건을 대기로 되돌림 (서버 시작 시)
+    int resetInterrupted();
+
+    // 재시도 횟수를 넘긴 건 다시 대기로
+    int retryFailed();
+
+    // 저장소에서 삭제된 내용의 복제 건 (원격 파일 삭제 대상)
+    List<StorageOffloadDTO> selectOrphans(@Param("limit") int limit);
+
+    // 저장소에서 삭제된 내용의 복제 건 제거 (그사이 다시 저장됐으면 0)
+    int deleteOrphan(@Param("blobKey") String blobKey);
+
+    // 상태별 건수
+    List<Map<String, Object>> selectStatusCounts();
+}
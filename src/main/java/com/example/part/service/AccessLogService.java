@@ -10,9 +10,13 @@ public interface AccessLogService {
 
     void logLogout(String sessionId, String logoutIp);
 
+    int closeOpenSessions(String logoutIp);
+
     List<AccessLogDTO> getAllAccessLogs();
 
     List<AccessLogDTO> getAccessLogsByUserId(Integer userId);
 
     List<AccessLogDTO> getActiveSessions();
+
+    List<AccessLogDTO> getAccessLogsByRange(String from, String to, Integer limit, boolean includeArchive);
 }
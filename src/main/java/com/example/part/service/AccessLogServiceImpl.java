@@ -1,24 +1,48 @@
 package com.example.part.service;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Predicate;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import com.example.part.dto.AccessLogDTO;
+import com.example.part.exception.ValidationException;
 import com.example.part.mapper.AccessLogMapper;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class AccessLogServiceImpl implements AccessLogService {
 
+    private static final int DEFAULT_RANGE_LIMIT = 1000;
+    private static final int MAX_RANGE_LIMIT = 5000;
+
+    // 접속 시각 최신순 (login_time DESC, log_id DESC)
+    private static final Comparator<AccessLogDTO> NEWEST_FIRST = Comparator
+            .comparing(AccessLogDTO::getLoginTime)
+            .thenComparing(AccessLogDTO::getLogId)
+            .reversed();
+
     private final AccessLogMapper accessLogMapper;
+    private final LogArchiveService logArchiveService;
+    private final AccessLogWriter accessLogWriter;
 
+    // 이 서버 식별자 (여러 서버가 같은 DB를 쓸 때 종료 처리 범위 구분)
+    @Value("${access-log.node-id:local}")
+    private String serverNode;
+
+    /**
+     * 로그인 기록 - 시각은 요청 시점으로 확정하고 저장은 비동기 기록기에 맡김
+     */
     @Override
-    @Transactional
     public void logLogin(Integer userId, String username, String ipAddress, String userAgent, String sessionId) {
         AccessLogDTO accessLog = new AccessLogDTO();
         accessLog.setUserId(userId);
@@ -27,18 +51,35 @@ public class AccessLogServiceImpl implements AccessLogService {
         accessLog.setIpAddress(ipAddress);
         accessLog.setUserAgent(userAgent);
         accessLog.setSessionId(sessionId);
+        accessLog.setServerNode(serverNode);
 
-        accessLogMapper.insertAccessLog(accessLog);
+        accessLogWriter.login(accessLog);
     }
 
+    /**
+     * 로그아웃 기록 - 시각은 요청 시점으로 확정하고 저장은 비동기 기록기에 맡김
+     */
     @Override
-    @Transactional
     public void logLogout(String sessionId, String logoutIp) {
         if (sessionId != null && !sessionId.isEmpty()) {
-            accessLogMapper.updateLogoutTime(sessionId, LocalDateTime.now(), logoutIp);
+            AccessLogDTO logout = new AccessLogDTO();
+            logout.setSessionId(sessionId);
+            logout.setLogoutTime(LocalDateTime.now());
+            logout.setLogoutIp(logoutIp);
+
+            accessLogWriter.logout(logout);
         }
     }
 
+    /**
+     * 이 서버의 열린 세션 일괄 종료 - 대기 중인 로그인/로그아웃을 먼저 저장한 뒤 UPDATE 한 번으로 처리
+     */
+    @Override
+    public int closeOpenSessions(String logoutIp) {
+        accessLogWriter.drain();
+        return accessLogMapper.closeOpenSessions(serverNode, LocalDateTime.now(), logoutIp);
+    }
+
     @Override
     public List<AccessLogDTO> getAllAccessLogs() {
         return accessLogMapper.selectAllAccessLogs();
@@ -53,4 +94,47 @@ public class AccessLogServiceImpl implements AccessLogService {
     public List<AccessLogDTO> getActiveSessions() {
         return accessLogMapper.selectActiveSessions();
     }
+
+    /**
+     * 기간별 접속 로그 - DB에서 모자라고 기간이 보관 기간 밖까지 닿으면(또는 includeArchive) 보관 파일에서 이어서 조회
+     */
+    @Override
+    public List<AccessLogDTO> getAccessLogsByRange(String fromText, String toText, Integer limit,
+            boolean includeArchive) {
+        int size = limit == null || limit <= 0 ? DEFAULT_RANGE_LIMIT : Math.min(limit, MAX_RANGE_LIMIT);
+        LocalDateTime from = LogArchiveService.parseRangeTime(fromText, false);
+        LocalDateTime to = LogArchiveService.parseRangeTime(toText, true);
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ValidationException("조회 시작일시는 종료일시보다 이전이어야 합니다.");
+        }
+
+        List<AccessLogDTO> rows = new ArrayList<>(accessLogMapper.selectAccessLogsByRange(from, to, size));
+        if (rows.size() >= size || !logArchiveService.reachesArchive(from, includeArchive)) {
+            return rows;
+        }
+
+        // 보관 파일의 행은 DB에 남은 가장 오래된 행보다 이전
+        AccessLogDTO oldest = rows.isEmpty() ? null : rows.get(rows.size() - 1);
+        Predicate<AccessLogDTO> filter = dto -> {
+            LocalDateTime at = dto.getLoginTime();
+            if (at == null || (from != null && at.isBefore(from)) || (to != null && !at.isBefore(to))) {
+                return false;
+            }
+            if (oldest != null) {
+                int compare = at.compareTo(oldest.getLoginTime());
+                return compare < 0 || (compare == 0 && dto.getLogId() < oldest.getLogId());
+            }
+            return true;
+        };
+
+        LocalDate toDate = oldest != null ? oldest.getLoginTime().toLocalDate()
+                : (to != null ? to.minusNanos(1).toLocalDate() : null);
+        try {
+            rows.addAll(logArchiveService.scan(LogArchiveService.ACCESS_TABLE, AccessLogDTO.class,
+                    from != null ? from.toLocalDate() : null, toDate, filter, NEWEST_FIRST, size - rows.size()));
+        } catch (RuntimeException e) {
+            log.warn("접속 로그 보관 파일 조회 실패: {}", e.getMessage(), e);
+        }
+        return rows;
+    }
 }
@@ -0,0 +1,97 @@
+package com.example.part.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.part.dto.AccessLogDTO;
+import com.example.part.mapper.AccessLogMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 로그인/로그아웃 기록 비동기 기록기
+ * 로그인은 다중 행 INSERT, 로그아웃은 세션별 값을 묶은 UPDATE 한 번으로 반영한다.
+ * 같은 묶음 안에서는 로그인을 먼저 저장해 바로 뒤따르는 로그아웃도 누락되지 않게 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AccessLogWriter extends AsyncBatchWriter<AccessLogWriter.AccessEvent> {
+
+    private final AccessLogMapper accessLogMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${access-log.writer.queue-capacity:5000}")
+    private int queueCapacity;
+
+    @Value("${access-log.writer.batch-size:100}")
+    private int batchSize;
+
+    @Value("${access-log.writer.flush-ms:500}")
+    private long flushMs;
+
+    /**
+     * 로그인(login=true, INSERT) 또는 로그아웃(login=false, session_id 기준 UPDATE) 이벤트
+     */
+    public record AccessEvent(boolean login, AccessLogDTO row) {
+    }
+
+    @PostConstruct
+    public void start() {
+        startWriter("access-log-writer", queueCapacity, batchSize, flushMs, transactionManager);
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopWriter();
+    }
+
+    public void login(AccessLogDTO row) {
+        enqueue(new AccessEvent(true, row));
+    }
+
+    public void logout(AccessLogDTO row) {
+        enqueue(new AccessEvent(false, row));
+    }
+
+    @Override
+    protected void writeBatch(List<AccessEvent> batch) {
+        List<AccessLogDTO> logins = new ArrayList<>();
+        List<AccessLogDTO> logouts = new ArrayList<>();
+        // 로그아웃 처리기·세션 만료가 같은 세션을 여러 번 보내므로 첫 기록만 반영 (기존 logout_time IS NULL 조건과 동일)
+        Set<String> loggedOut = new HashSet<>();
+
+        for (AccessEvent event : batch) {
+            if (event.login()) {
+                logins.add(event.row());
+            } else if (loggedOut.add(event.row().getSessionId())) {
+                logouts.add(event.row());
+            }
+        }
+
+        // 묶음 저장은 한 트랜잭션이므로 실패 시 건별 재시도에서 로그인이 중복 저장되지 않음
+        if (!logins.isEmpty()) {
+            accessLogMapper.insertAccessLogBatch(logins);
+        }
+        if (!logouts.isEmpty()) {
+            accessLogMapper.updateLogoutTimeBatch(logouts);
+        }
+    }
+
+    @Override
+    protected void writeOne(AccessEvent event) {
+        AccessLogDTO row = event.row();
+        if (event.login()) {
+            accessLogMapper.insertAccessLog(row);
+        } else {
+            accessLogMapper.updateLogoutTime(row.getSessionId(), row.getLogoutTime(), row.getLogoutIp());
+        }
+    }
+}
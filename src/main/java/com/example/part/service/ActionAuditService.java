@@ -1,10 +1,13 @@
 package com.example.part.service;
 
+import java.util.Map;
+
 import com.example.part.dto.ActionAuditDTO;
+import com.example.part.dto.PageResponseDTO;
 
 public interface ActionAuditService {
 
-    void log(ActionAuditDTO audit);
-
     java.util.List<ActionAuditDTO> getRecent(int limit);
+
+    PageResponseDTO<ActionAuditDTO> getPage(Map<String, Object> filters, Integer limit, String after);
 }
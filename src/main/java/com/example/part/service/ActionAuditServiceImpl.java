@@ -1,8 +1,22 @@
 package com.example.part.service;
 
+import java.time.LocalDateTime;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Predicate;
+
 import org.springframework.stereotype.Service;
 
 import com.example.part.dto.ActionAuditDTO;
+import com.example.part.dto.PageCursor;
+import com.example.part.dto.PageResponseDTO;
+import com.example.part.exception.ValidationException;
 import com.example.part.mapper.ActionAuditMapper;
 
 import lombok.RequiredArgsConstructor;
@@ -13,25 +27,169 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class ActionAuditServiceImpl implements ActionAuditService {
 
+    // 페이지 정렬과 동일 (created_at DESC, audit_id DESC)
+    private static final Comparator<ActionAuditDTO> NEWEST_FIRST = Comparator
+            .comparing(ActionAuditDTO::getCreatedAt)
+            .thenComparing(ActionAuditDTO::getAuditId)
+            .reversed();
+
     private final ActionAuditMapper actionAuditMapper;
+    private final AuditLogger auditLogger;
+    private final LogArchiveService logArchiveService;
 
     @Override
-    public void log(ActionAuditDTO audit) {
+    public List<ActionAuditDTO> getRecent(int limit) {
+        int resolvedLimit = (limit > 0 && limit <= 1000) ? limit : 200;
         try {
-            actionAuditMapper.insertAudit(audit);
+            return actionAuditMapper.selectRecent(resolvedLimit);
         } catch (Exception e) {
-            log.warn("감사 로그 저장 실패: {}", e.getMessage(), e);
+            log.warn("감사 로그 조회 실패: {}", e.getMessage(), e);
+            return Collections.emptyList();
         }
     }
 
     @Override
-    public java.util.List<ActionAuditDTO> getRecent(int limit) {
-        int resolvedLimit = (limit > 0 && limit <= 1000) ? limit : 200;
+    public PageResponseDTO<ActionAuditDTO> getPage(Map<String, Object> filters, Integer limit, String after) {
+        int size = PageCursor.resolveLimit(limit);
+        Map<String, Object> params = buildFilterParams(filters);
+        boolean filtered = !params.isEmpty();
+
+        if (after != null && !after.isEmpty()) {
+            String[] cursor = PageCursor.decode(after);
+            try {
+                params.put("afterCreatedAt", LocalDateTime.parse(cursor[0]));
+                params.put("afterId", Long.valueOf(cursor[1]));
+            } catch (RuntimeException e) {
+                throw new ValidationException("잘못된 페이지 커서입니다.", e);
+            }
+        }
+
+        // 다음 페이지 존재 여부 확인용으로 1건 더 조회
+        params.put("limit", size + 1);
+
+        List<ActionAuditDTO> rows = new ArrayList<>(actionAuditMapper.selectPage(params));
+
+        // DB에서 페이지를 다 못 채웠고 조회 기간이 보관 기간 밖까지 닿으면(또는 includeArchive) 보관 파일에서 이어서 조회
+        // (보관은 오래된 순으로 옮기므로 보관 파일의 행은 항상 DB에 남은 행보다 이전)
+        boolean includeArchive = filters != null && Boolean.parseBoolean(asText(filters.get("includeArchive")));
+        if (rows.size() <= size
+                && logArchiveService.reachesArchive((LocalDateTime) params.get("from"), includeArchive)) {
+            rows.addAll(scanArchive(params, rows, size + 1 - rows.size()));
+        }
+
+        return PageResponseDTO.of(rows, size,
+                dto -> PageCursor.encode(dto.getCreatedAt(), dto.getAuditId()),
+                filtered ? null : actionAuditMapper.selectApproximateCount());
+    }
+
+    private List<ActionAuditDTO> scanArchive(Map<String, Object> params, List<ActionAuditDTO> dbRows, int limit) {
+        LocalDateTime cursorTime;
+        Long cursorId;
+        if (!dbRows.isEmpty()) {
+            ActionAuditDTO last = dbRows.get(dbRows.size() - 1);
+            cursorTime = last.getCreatedAt();
+            cursorId = last.getAuditId();
+        } else {
+            cursorTime = (LocalDateTime) params.get("afterCreatedAt");
+            cursorId = (Long) params.get("afterId");
+        }
+
+        String entityType = (String) params.get("entityType");
+        Long entityId = (Long) params.get("entityId");
+        String performedBy = (String) params.get("performedBy");
+        String action = (String) params.get("action");
+        LocalDateTime from = (LocalDateTime) params.get("from");
+        LocalDateTime to = (LocalDateTime) params.get("to");
+
+        Predicate<ActionAuditDTO> filter = dto -> {
+            LocalDateTime at = dto.getCreatedAt();
+            if (at == null) {
+                return false;
+            }
+            if ((entityType != null && !entityType.equals(dto.getEntityType()))
+                    || (entityId != null && !entityId.equals(dto.getEntityId()))
+                    || (performedBy != null && !performedBy.equals(dto.getPerformedBy()))
+                    || (action != null && !action.equals(dto.getAction()))
+                    || (from != null && at.isBefore(from))
+                    || (to != null && !at.isBefore(to))) {
+                return false;
+            }
+            if (cursorTime != null && cursorId != null) {
+                int compare = at.compareTo(cursorTime);
+                return compare < 0 || (compare == 0 && dto.getAuditId() < cursorId);
+            }
+            return true;
+        };
+
+        LocalDate toDate = to != null ? to.minusNanos(1).toLocalDate() : null;
+        if (cursorTime != null && (toDate == null || cursorTime.toLocalDate().isBefore(toDate))) {
+            toDate = cursorTime.toLocalDate();
+        }
+
         try {
-            return actionAuditMapper.selectRecent(resolvedLimit);
-        } catch (Exception e) {
-            log.warn("감사 로그 조회 실패: {}", e.getMessage(), e);
-            return java.util.Collections.emptyList();
+            return logArchiveService.scan(LogArchiveService.AUDIT_TABLE, ActionAuditDTO.class,
+                    from != null ? from.toLocalDate() : null, toDate, filter, NEWEST_FIRST, limit);
+        } catch (RuntimeException e) {
+            log.warn("감사 로그 보관 파일 조회 실패: {}", e.getMessage(), e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 검색 조건 정리 - 빈 값 제거, 엔티티 타입은 저장 형식(한글)으로 변환, 기간은 [from, to)
+     */
+    private Map<String, Object> buildFilterParams(Map<String, Object> filters) {
+        Map<String, Object> params = new HashMap<>();
+        if (filters == null) {
+            return params;
+        }
+
+        String entityType = asText(filters.get("entityType"));
+        if (entityType != null) {
+            params.put("entityType", auditLogger.translateEntityType(entityType));
+        }
+
+        String entityId = asText(filters.get("entityId"));
+        if (entityId != null) {
+            if (entityType == null) {
+                throw new ValidationException("대상 ID로 검색하려면 엔티티 타입이 필요합니다.");
+            }
+            try {
+                params.put("entityId", Long.valueOf(entityId));
+            } catch (NumberFormatException e) {
+                throw new ValidationException("대상 ID는 숫자여야 합니다: " + entityId);
+            }
+        }
+
+        String performedBy = asText(filters.get("performedBy"));
+        if (performedBy != null) {
+            params.put("performedBy", performedBy);
+        }
+
+        String action = asText(filters.get("action"));
+        if (action != null) {
+            params.put("action", action.toUpperCase(Locale.ROOT));
+        }
+
+        LocalDateTime from = LogArchiveService.parseRangeTime(asText(filters.get("from")), false);
+        LocalDateTime to = LogArchiveService.parseRangeTime(asText(filters.get("to")), true);
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new ValidationException("조회 시작일시는 종료일시보다 이전이어야 합니다.");
+        }
+        if (from != null) {
+            params.put("from", from);
+        }
+        if (to != null) {
+            params.put("to", to);
+        }
+        return params;
+    }
+
+    private static String asText(Object value) {
+        if (value == null) {
+            return null;
         }
+        String text = value.toString().trim();
+        return text.isEmpty() ? null : text;
     }
 }
@@ -0,0 +1,225 @@
+package com.example.part.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 비동기 일괄 기록기 공통 구현
+ * 호출 스레드는 제한된 크기의 큐에 넣기만 하고, 전용 스레드가 batchSize 건 또는 flushMs 경과 시점에 모아서 writeBatch 한다.
+ * 큐가 가득 찼거나 기록기가 멈춘 뒤에는 호출 스레드에서 큐에 남은 항목과 함께 순서대로 바로 저장하고,
+ * 묶음 저장이 실패하면 건별로 다시 시도해 한 건의 오류로 묶음 전체가 유실되지 않게 한다.
+ * 묶음 / 건별 저장은 각각 새 트랜잭션(REQUIRES_NEW)으로 실행해 호출 스레드의 트랜잭션 상태와 섞이지 않는다.
+ */
+@Slf4j
+public abstract class AsyncBatchWriter<T> {
+
+    private String name;
+    private int batchSize;
+    private long flushMs;
+    private int queueCapacity;
+
+    private BlockingQueue<T> queue;
+    private Thread worker;
+    private volatile boolean running = false;
+
+    // 기록 순서 보장용 - 큐에서 꺼내 저장하는 구간(전용 스레드, drain(), 동기 대체 저장)이 겹치지 않게 함
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // 저장은 항상 별도 트랜잭션 - 호출 스레드에서 저장할 때 afterCommit 안이면 끝난 트랜잭션의 연결이 묶여 있어
+    // 그대로 쓰면 커밋되지 않고 유실되므로 새 트랜잭션으로 분리 (전용 스레드에서는 트랜잭션 하나를 새로 여는 것과 같음)
+    private TransactionTemplate writeTransaction;
+    // 큐 적재 알림 - 전용 스레드는 항목을 꺼내지 않고 이 신호로 대기
+    private final Semaphore available = new Semaphore(0);
+
+    private final AtomicLong enqueuedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong batchCount = new AtomicLong();
+    private final AtomicLong fallbackCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private volatile long lastFlushMs = -1;
+    private volatile long lastFlushAt = 0;
+
+    /**
+     * 여러 건을 한 번에 저장 (예외 시 건별 재시도)
+     */
+    protected abstract void writeBatch(List<T> batch);
+
+    /**
+     * 한 건 저장 (묶음 저장 실패 시 재시도용)
+     */
+    protected abstract void writeOne(T item);
+
+    /**
+     * 기록기 시작
+     *
+     * @param transactionManager 저장마다 새 트랜잭션을 여는 데 사용 (아래 writeTransaction 참고)
+     */
+    protected void startWriter(String writerName, int capacity, int size, long intervalMs,
+            PlatformTransactionManager transactionManager) {
+        name = writerName;
+        writeTransaction = new TransactionTemplate(transactionManager);
+        writeTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        queueCapacity = Math.max(capacity, 1);
+        batchSize = Math.max(size, 1);
+        flushMs = Math.max(intervalMs, 1);
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        running = true;
+        worker = new Thread(this::run, writerName);
+        worker.setDaemon(true);
+        worker.start();
+        log.info("{} 시작: 큐 {}건, 배치 {}건, 주기 {}ms", name, queueCapacity, batchSize, flushMs);
+    }
+
+    /**
+     * 기록기 종료 - 진행 중인 INSERT가 끊기지 않도록 interrupt 대신 플래그로 멈추고 남은 항목을 모두 저장
+     */
+    protected void stopWriter() {
+        running = false;
+        available.release();
+        try {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        drain();
+        log.info("{} 종료: 누적 기록 {}건, 유실 {}건", name, writtenCount.get(), droppedCount.get());
+    }
+
+    /**
+     * 큐 적재 - 큐가 가득 찼거나 기록기가 멈춘 상태면 호출 스레드에서 바로 저장
+     * (먼저 들어온 항목보다 앞서 저장되지 않도록 큐에 남은 항목을 함께 순서대로 저장)
+     */
+    public void enqueue(T item) {
+        enqueuedCount.incrementAndGet();
+        if (running && queue.offer(item)) {
+            available.release();
+            // 종료 처리가 큐를 비운 직후에 들어간 경우 직접 저장
+            if (running || !queue.remove(item)) {
+                return;
+            }
+        }
+
+        fallbackCount.incrementAndGet();
+        writeLock.lock();
+        try {
+            List<T> pending = new ArrayList<>();
+            queue.drainTo(pending);
+            pending.add(item);
+            flushAll(pending);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * 큐에 남은 항목을 호출 스레드에서 즉시 저장 (전용 스레드가 저장 중이면 끝날 때까지 대기)
+     */
+    public void drain() {
+        writeLock.lock();
+        try {
+            List<T> remaining = new ArrayList<>();
+            queue.drainTo(remaining);
+            flushAll(remaining);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // 항목을 큐에 둔 채 잠금 밖에서 기다리고, 저장할 때만 잠금을 잡고 꺼냄
+    // (대기 중에도 drain()과 동기 대체 저장이 막히지 않고, 큐에서 꺼내는 순서가 곧 저장 순서)
+    private void run() {
+        List<T> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                if (queue.isEmpty() && !available.tryAcquire(flushMs, TimeUnit.MILLISECONDS)) {
+                    continue;
+                }
+
+                // 첫 건 이후 flushMs 안에 들어온 항목을 batchSize까지 모음
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushMs);
+                while (running && queue.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0 || !available.tryAcquire(remaining, TimeUnit.NANOSECONDS)) {
+                        break;
+                    }
+                }
+                available.drainPermits();
+            } catch (InterruptedException e) {
+                // 큐에 남은 항목은 종료 처리(drain)나 동기 대체 저장이 순서대로 저장
+                Thread.currentThread().interrupt();
+                running = false;
+                break;
+            }
+
+            writeLock.lock();
+            try {
+                queue.drainTo(batch, batchSize);
+                if (!batch.isEmpty()) {
+                    flush(batch);
+                }
+            } finally {
+                batch.clear();
+                writeLock.unlock();
+            }
+        }
+    }
+
+    private void flushAll(List<T> items) {
+        for (int from = 0; from < items.size(); from += batchSize) {
+            flush(items.subList(from, Math.min(from + batchSize, items.size())));
+        }
+    }
+
+    private void flush(List<T> batch) {
+        long start = System.currentTimeMillis();
+        try {
+            writeTransaction.executeWithoutResult(status -> writeBatch(batch));
+            writtenCount.addAndGet(batch.size());
+        } catch (Exception e) {
+            log.warn("{} 일괄 저장 실패 - 건별 재시도 ({}건): {}", name, batch.size(), e.getMessage());
+            for (T item : batch) {
+                try {
+                    writeTransaction.executeWithoutResult(status -> writeOne(item));
+                    writtenCount.incrementAndGet();
+                } catch (Exception rowError) {
+                    droppedCount.incrementAndGet();
+                    log.warn("{} 저장 실패 - 유실: {} ({})", name, item, rowError.getMessage());
+                }
+            }
+        }
+        batchCount.incrementAndGet();
+        lastFlushMs = System.currentTimeMillis() - start;
+        lastFlushAt = System.currentTimeMillis();
+    }
+
+    /**
+     * 기록기 지표
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("running", running);
+        stats.put("queueDepth", queue.size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("enqueued", enqueuedCount.get());
+        stats.put("written", writtenCount.get());
+        stats.put("batches", batchCount.get());
+        stats.put("syncFallbacks", fallbackCount.get());
+        stats.put("dropped", droppedCount.get());
+        stats.put("lastFlushMs", lastFlushMs);
+        stats.put("lastFlushAt", lastFlushAt);
+        return stats;
+    }
+}
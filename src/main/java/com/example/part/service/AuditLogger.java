@@ -1,13 +1,18 @@
 package com.example.part.service;
 
+import java.time.LocalDateTime;
+
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import com.example.part.dto.ActionAuditDTO;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
@@ -16,8 +21,13 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class AuditLogger {
 
-    private final ActionAuditService actionAuditService;
+    private final AuditWriter auditWriter;
 
+    /**
+     * 감사 로그 기록
+     * 요청 스레드에서 사용자/IP/User-Agent/시각을 확정한 뒤, 트랜잭션이 커밋되면 비동기 기록기 큐에 넣는다.
+     * (롤백된 작업은 기록하지 않음 - 기존 동기 INSERT와 동일)
+     */
     public void log(String entityType, Long entityId, String action, String summary, String changedFields,
             String performedBy) {
         ActionAuditDTO audit = new ActionAuditDTO();
@@ -27,18 +37,34 @@ public class AuditLogger {
         audit.setSummary(summary);
         audit.setChangedFields(changedFields);
         audit.setPerformedBy(performedBy != null ? performedBy : resolveCurrentUsername());
+        audit.setCreatedAt(LocalDateTime.now());
+
+        HttpServletRequest request = currentRequest();
+        if (request != null) {
+            audit.setPerformedIp(truncate(resolveClientIp(request), 64));
+            audit.setUserAgent(truncate(request.getHeader("User-Agent"), 255));
+        }
 
         try {
-            actionAuditService.log(audit);
+            if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        auditWriter.enqueue(audit);
+                    }
+                });
+            } else {
+                auditWriter.enqueue(audit);
+            }
         } catch (Exception e) {
             log.warn("감사 로그 기록 실패: {}", e.getMessage(), e);
         }
     }
 
     /**
-     * 엔티티 타입을 한글로 변환
+     * 엔티티 타입을 한글로 변환 (감사 로그 검색 조건에도 사용)
      */
-    private String translateEntityType(String entityType) {
+    public String translateEntityType(String entityType) {
         if (entityType == null) {
             return null;
         }
@@ -139,6 +165,14 @@ public class AuditLogger {
             case "paymentMethodId":
             case "payment_method_id":
                 return "결제수단";
+            case "cabinetLocation":
+                return "캐비넷 위치";
+            case "mapLocation":
+                return "도면 위치";
+            case "location":
+                return "위치";
+            case "overrideCabinet":
+                return "캐비넷 위치 덮어쓰기";
             case "incomingQuantity":
             case "incoming_quantity":
                 return "입고수량";
@@ -203,10 +237,17 @@ public class AuditLogger {
                 return "캐비넷명";
             case "rowNumber":
             case "row_number":
+            case "posX":
+            case "pos_x":
                 return "행";
             case "columnNumber":
             case "column_number":
+            case "posY":
+            case "pos_y":
                 return "열";
+            case "locationCode":
+            case "location_code":
+                return "위치코드";
             case "partNumber":
             case "part_number":
                 return "부품번호";
@@ -225,7 +266,16 @@ public class AuditLogger {
             case "password":
                 return "비밀번호";
             case "role":
+            case "userRole":
+            case "user_role":
                 return "권한";
+            case "fullName":
+            case "full_name":
+                return "이름";
+            case "position":
+                return "직위";
+            case "department":
+                return "부서";
             case "email":
                 return "이메일";
             default:
@@ -251,4 +301,38 @@ public class AuditLogger {
     public String currentUserOrSystem() {
         return resolveCurrentUsername();
     }
+
+    private HttpServletRequest currentRequest() {
+        try {
+            ServletRequestAttributes attrs = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
+            return attrs != null ? attrs.getRequest() : null;
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // 프록시 헤더 우선 (X-Forwarded-For는 첫 번째 주소가 원 클라이언트)
+    private String resolveClientIp(HttpServletRequest request) {
+        String ip = request.getHeader("X-Forwarded-For");
+        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
+            ip = request.getHeader("Proxy-Client-IP");
+        }
+        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
+            ip = request.getHeader("WL-Proxy-Client-IP");
+        }
+        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
+            ip = request.getRemoteAddr();
+        }
+        if (ip != null && ip.contains(",")) {
+            ip = ip.substring(0, ip.indexOf(',')).trim();
+        }
+        return ip;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        return value.substring(0, maxLength);
+    }
 }
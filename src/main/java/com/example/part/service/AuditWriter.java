@@ -0,0 +1,59 @@
+package com.example.part.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.part.dto.ActionAuditDTO;
+import com.example.part.mapper.ActionAuditMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 감사 로그 비동기 기록기
+ * 업무 트랜잭션은 큐에 넣기만 하고, 전용 스레드가 건수(batch-size) 또는 시간(flush-ms) 기준으로 모아 다중 행 INSERT 한다.
+ * 큐가 가득 차면 호출 스레드(커밋 후 콜백)에서 새 트랜잭션으로 바로 저장하고, 서버 종료 시 남은 로그를 모두 기록한 뒤 멈춘다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuditWriter extends AsyncBatchWriter<ActionAuditDTO> {
+
+    private final ActionAuditMapper actionAuditMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${audit.writer.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${audit.writer.batch-size:200}")
+    private int batchSize;
+
+    @Value("${audit.writer.flush-ms:500}")
+    private long flushMs;
+
+    @PostConstruct
+    public void start() {
+        startWriter("audit-writer", queueCapacity, batchSize, flushMs, transactionManager);
+    }
+
+    /**
+     * 서버 종료 시 큐에 남은 로그를 모두 기록 (DB 연결이 닫히기 전에 실행됨)
+     */
+    @PreDestroy
+    public void stop() {
+        stopWriter();
+    }
+
+    @Override
+    protected void writeBatch(List<ActionAuditDTO> batch) {
+        actionAuditMapper.insertAuditBatch(batch);
+    }
+
+    @Override
+    protected void writeOne(ActionAuditDTO audit) {
+        actionAuditMapper.insertAudit(audit);
+    }
+}
@@ -1,9 +1,18 @@
 package com.example.part.service;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.example.part.dto.CategoryDTO;
 import com.example.part.mapper.CategoryMapper;
@@ -16,8 +25,19 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class CategoryServiceImpl implements CategoryService {
 
+    // 감사 로그 비교 필드 (isActive 등 미입력 값은 변경으로 보지 않음)
+    private static final FieldDiff.Spec<CategoryDTO> AUDIT_FIELDS = FieldDiff.spec(CategoryDTO.class,
+            FieldDiff.NullPolicy.IGNORE_NULL_AFTER, "categoryName", "description", "isActive");
+
     private final CategoryMapper categoryMapper;
     private final AuditLogger auditLogger;
+    private final FieldDiff fieldDiff;
+    private final InventoryCache inventoryCache;
+    private final SearchIndex searchIndex;
+    private final PlatformTransactionManager transactionManager;
+
+    // 카테고리명 → 카테고리 (입고 등록 시 이름으로 찾기/생성 결과 캐시)
+    private final ConcurrentHashMap<String, CompletableFuture<CategoryDTO>> categoryByName = new ConcurrentHashMap<>();
 
     // last_number 동기화 로직 제거됨 - 부품번호가 더 이상 카테고리별로 생성되지 않음
 
@@ -47,9 +67,41 @@ public class CategoryServiceImpl implements CategoryService {
 
     // getCategoryByCode 메서드 제거됨 - 더 이상 카테고리 코드를 사용하지 않음
 
+    /**
+     * 이름으로 카테고리 조회, 없으면 생성
+     * 같은 이름을 동시에 요청하면 한 요청만 조회/생성하고 나머지는 그 결과를 기다린다 (single-flight).
+     * 생성은 별도 트랜잭션으로 바로 커밋하므로 호출한 입고 트랜잭션이 롤백돼도 캐시된 ID는 유효하다.
+     */
     @Override
-    @Transactional
     public CategoryDTO findOrCreateCategoryByName(String categoryName) {
+        CompletableFuture<CategoryDTO> cached = categoryByName.get(categoryName);
+        if (cached == null) {
+            CompletableFuture<CategoryDTO> created = new CompletableFuture<>();
+            cached = categoryByName.putIfAbsent(categoryName, created);
+            if (cached == null) {
+                try {
+                    created.complete(loadOrCreateCategory(categoryName));
+                } catch (RuntimeException e) {
+                    // 실패한 결과는 캐시하지 않음 (대기 중인 요청에는 같은 예외 전달)
+                    categoryByName.remove(categoryName, created);
+                    created.completeExceptionally(e);
+                    throw e;
+                }
+                return created.join();
+            }
+        }
+
+        try {
+            return cached.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private CategoryDTO loadOrCreateCategory(String categoryName) {
         // 1. 이름으로 카테고리 조회
         CategoryDTO category = categoryMapper.findByName(categoryName);
 
@@ -57,16 +109,48 @@ public class CategoryServiceImpl implements CategoryService {
             return category;
         }
 
-        // 2. 없으면 새로 생성
-        CategoryDTO newCategory = new CategoryDTO();
-        newCategory.setCategoryName(categoryName);
-        newCategory.setDescription("자동 생성된 카테고리");
+        // 2. 없으면 새로 생성 (별도 트랜잭션)
+        // 호출한 입고 트랜잭션은 위 조회로 스냅샷(REPEATABLE READ)과 MyBatis 로컬 캐시에 "없음"이 남아 있으므로
+        // 생성한 행은 반드시 새 트랜잭션 안에서 다시 읽는다.
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        try {
+            category = requiresNew.execute(status -> {
+                CategoryDTO newCategory = new CategoryDTO();
+                newCategory.setCategoryName(categoryName);
+                newCategory.setDescription("자동 생성된 카테고리");
+
+                categoryMapper.insertCategory(newCategory);
+                return categoryMapper.findByName(categoryName);
+            });
+            log.info("새 카테고리 자동 생성: {}", categoryName);
+        } catch (DuplicateKeyException e) {
+            // 다른 서버/프로세스가 먼저 생성한 경우 그 카테고리 사용 (커밋된 행이 보이도록 새 트랜잭션에서 조회)
+            log.info("카테고리가 이미 생성됨 - 기존 카테고리 사용: {}", categoryName);
+            category = requiresNew.execute(status -> categoryMapper.findByName(categoryName));
+        }
 
-        categoryMapper.insertCategory(newCategory);
-        log.info("새 카테고리 자동 생성: {}", categoryName);
+        if (category == null) {
+            throw new RuntimeException("카테고리를 생성할 수 없습니다 (비활성화된 동일 카테고리 존재): " + categoryName);
+        }
+        return category;
+    }
 
-        // 생성된 카테고리 반환
-        return categoryMapper.findByName(categoryName);
+    /**
+     * 이름 캐시 비우기 - 트랜잭션 커밋 후 (이름 변경/비활성화/삭제)
+     */
+    private void invalidateNameCache() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    categoryByName.clear();
+                }
+            });
+        } else {
+            categoryByName.clear();
+        }
     }
 
     @Override
@@ -119,44 +203,19 @@ public class CategoryServiceImpl implements CategoryService {
         }
         log.info("카테고리 수정 완료: ID {}", categoryDTO.getCategoryId());
 
-        // 변경 필드 추적
-        StringBuilder changedFields = new StringBuilder("{");
-        boolean hasChanges = false;
+        invalidateNameCache();
 
+        // 재고 캐시·검색 색인의 카테고리명 갱신
         if (!before.getCategoryName().equals(categoryDTO.getCategoryName())) {
-            changedFields.append(String.format("\"%s\": {\"변경전\": \"%s\", \"변경후\": \"%s\"}",
-                    auditLogger.translateFieldName("category", "categoryName"),
-                    before.getCategoryName(),
-                    categoryDTO.getCategoryName()));
-            hasChanges = true;
-        }
-
-        if (!before.getDescription().equals(categoryDTO.getDescription())) {
-            if (hasChanges) changedFields.append(", ");
-            changedFields.append(String.format("\"%s\": {\"변경전\": \"%s\", \"변경후\": \"%s\"}",
-                    auditLogger.translateFieldName("category", "description"),
-                    before.getDescription(),
-                    categoryDTO.getDescription()));
-            hasChanges = true;
+            inventoryCache.invalidateAll();
+            searchIndex.invalidateAll();
         }
 
-        if (before.getIsActive() != null && categoryDTO.getIsActive() != null
-                && !before.getIsActive().equals(categoryDTO.getIsActive())) {
-            if (hasChanges) changedFields.append(", ");
-            changedFields.append(String.format("\"%s\": {\"변경전\": %s, \"변경후\": %s}",
-                    auditLogger.translateFieldName("category", "isActive"),
-                    before.getIsActive(),
-                    categoryDTO.getIsActive()));
-            hasChanges = true;
-        }
-
-        changedFields.append("}");
-
         auditLogger.log("category",
                 categoryDTO.getCategoryId() != null ? categoryDTO.getCategoryId().longValue() : null,
                 "UPDATE",
                 "카테고리 수정: " + categoryDTO.getCategoryName(),
-                hasChanges ? changedFields.toString() : null,
+                fieldDiff.changedFields("category", AUDIT_FIELDS, before, categoryDTO),
                 null);
     }
 
@@ -171,6 +230,8 @@ public class CategoryServiceImpl implements CategoryService {
         }
         log.info("카테고리 비활성화 완료: ID {}", categoryId);
 
+        invalidateNameCache();
+
         auditLogger.log("category",
                 (long) categoryId,
                 "UPDATE",
@@ -192,6 +253,8 @@ public class CategoryServiceImpl implements CategoryService {
         }
         log.info("카테고리 삭제 완료: ID {} ({})", categoryId, categoryName);
 
+        invalidateNameCache();
+
         auditLogger.log("category",
                 (long) categoryId,
                 "DELETE",
@@ -1,9 +1,13 @@
 package com.example.part.service;
 
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
@@ -11,13 +15,21 @@ import com.cloudinary.Cloudinary;
 import com.cloudinary.utils.ObjectUtils;
 
 @Service
-public class CloudinaryService {
+@ConditionalOnProperty(name = "storage.remote.type", havingValue = "cloudinary")
+public class CloudinaryService implements RemoteStorage {
+
+    // 이 크기를 넘는 파일은 분할 업로드 (Cloudinary 단일 요청 권장 크기)
+    private static final long LARGE_FILE_SIZE = 20L * 1024 * 1024;
 
     @Autowired
     private Cloudinary cloudinary;
 
+    @Value("${storage.remote.folder:livewalk}")
+    private String remoteFolder;
+
     /**
      * 이미지 업로드
+     * 업로드 파일을 임시 파일로 옮긴 뒤 파일에서 읽어 보내므로 내용 전체를 힙에 올리지 않음
      *
      * @param file   업로드할 파일
      * @param folder Cloudinary 폴더명 (예: "parts", "delivery")
@@ -25,11 +37,17 @@ public class CloudinaryService {
      */
     @SuppressWarnings("unchecked")
     public Map<String, Object> uploadImage(MultipartFile file, String folder) throws IOException {
-        return cloudinary.uploader().upload(
-                file.getBytes(),
-                ObjectUtils.asMap(
-                        "folder", folder,
-                        "resource_type", "image"));
+        Path temp = Files.createTempFile("cloudinary-", ".tmp");
+        try {
+            file.transferTo(temp);
+            return cloudinary.uploader().upload(
+                    temp.toFile(),
+                    ObjectUtils.asMap(
+                            "folder", folder,
+                            "resource_type", "image"));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
     }
 
     /**
@@ -41,4 +59,31 @@ public class CloudinaryService {
     public void deleteImage(String publicId) throws IOException {
         cloudinary.uploader().destroy(publicId, ObjectUtils.emptyMap());
     }
+
+    @Override
+    public String getType() {
+        return "cloudinary";
+    }
+
+    /**
+     * 저장소 파일 복제 - 변환 없이 보관만 하므로 raw로 올리고, 저장소 키를 public_id로 써서 재시도 시 덮어씀
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public RemoteObject upload(Path file, String objectName) throws IOException {
+        Map<String, Object> options = ObjectUtils.asMap(
+                "folder", remoteFolder,
+                "public_id", objectName,
+                "resource_type", "raw",
+                "overwrite", true);
+        Map<String, Object> result = Files.size(file) > LARGE_FILE_SIZE
+                ? cloudinary.uploader().uploadLarge(file.toFile(), options)
+                : cloudinary.uploader().upload(file.toFile(), options);
+        return new RemoteObject((String) result.get("public_id"), (String) result.get("secure_url"));
+    }
+
+    @Override
+    public void delete(String objectId) throws IOException {
+        cloudinary.uploader().destroy(objectId, ObjectUtils.asMap("resource_type", "raw", "invalidate", true));
+    }
 }
@@ -0,0 +1,427 @@
+package com.example.part.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.part.exception.ValidationException;
+import com.example.part.mapper.FileBlobMapper;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 내용 기반(SHA-256) 파일 저장소
+ * 같은 내용은 파일 하나로 저장하고 file_blob의 참조 수로 공유한다. 키는 해시 + 확장자(예: 3fa1...c9.pdf)이고
+ * 실제 파일은 키 앞 2자리/다음 2자리 디렉터리에 나눠 두어 한 디렉터리의 항목 수가 수백 개를 넘지 않는다.
+ *
+ * 참조 추가는 DB 참조를 먼저 올린 뒤 파일을 확보하고, 참조 해제는 행을 잠근 채 참조를 내린 뒤 커밋된 후에
+ * 별도 트랜잭션에서 행을 다시 잠가 참조가 여전히 0일 때만 파일을 지운다.
+ * 같은 내용의 업로드와 삭제가 겹쳐도 삭제 쪽이 끝난 뒤에 업로드 쪽이 파일을 다시 쓰고,
+ * 해제한 트랜잭션이 롤백되면 파일을 지우지 않으므로 참조 중인 파일이 사라지지 않는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ContentStore {
+
+    private static final Pattern KEY_PATTERN = Pattern.compile("[0-9a-f]{64}(\\.[a-z0-9]{1,10})?");
+    private static final Pattern EXTENSION_PATTERN = Pattern.compile("[a-z0-9]{1,10}");
+
+    private final FileBlobMapper fileBlobMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${file.store-dir:/var/livewalk/uploads/store}")
+    private String storeDir;
+
+    private Path root;
+    private Path tempDir;
+
+    private final AtomicLong storedCount = new AtomicLong();
+    private final AtomicLong deduplicatedCount = new AtomicLong();
+    private final AtomicLong deduplicatedBytes = new AtomicLong();
+    private final AtomicLong deletedCount = new AtomicLong();
+
+    /**
+     * 저장 결과
+     *
+     * @param key          저장소 키 (DB에 기록하는 파일명)
+     * @param path         실제 파일 경로
+     * @param size         파일 크기
+     * @param deduplicated 같은 내용이 이미 있어 새로 쓰지 않았으면 true
+     */
+    public record StoredFile(String key, Path path, long size, boolean deduplicated) {
+    }
+
+    @PostConstruct
+    public void init() {
+        root = Paths.get(storeDir).toAbsolutePath().normalize();
+        tempDir = root.resolve("tmp");
+        try {
+            Files.createDirectories(tempDir);
+        } catch (IOException e) {
+            throw new RuntimeException("파일 저장소 디렉토리 생성 실패: " + storeDir, e);
+        }
+        log.info("파일 저장소 경로: {}", root);
+    }
+
+    /**
+     * 스트림 저장 - 임시 파일에 쓰면서 해시를 계산하므로 내용을 한 번만 읽음
+     */
+    public StoredFile put(InputStream in, String extension) throws IOException {
+        return put(in, extension, Long.MAX_VALUE);
+    }
+
+    /**
+     * 크기 제한이 있는 스트림 저장 (요청 본문 업로드) - 제한을 넘으면 임시 파일을 지우고 ValidationException
+     */
+    public StoredFile put(InputStream in, String extension, long maxSize) throws IOException {
+        Path temp = Files.createTempFile(tempDir, "put-", ".tmp");
+        try {
+            MessageDigest digest = sha256();
+            long size = 0;
+            try (InputStream digestIn = new DigestInputStream(in, digest);
+                    OutputStream out = Files.newOutputStream(temp)) {
+                byte[] buffer = new byte[64 * 1024];
+                int read;
+                while ((read = digestIn.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxSize) {
+                        throw new ValidationException("파일 크기가 제한(" + maxSize / (1024 * 1024) + "MB)을 넘었습니다.");
+                    }
+                    out.write(buffer, 0, read);
+                }
+            }
+            String key = HexFormat.of().formatHex(digest.digest()) + normalizeExtension(extension);
+            return commit(key, size, temp);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * 메모리에 있는 내용 저장 (생성 문서, 파생 이미지) - 같은 내용이 있으면 디스크에 쓰지 않음
+     */
+    public StoredFile put(byte[] data, String extension) throws IOException {
+        String key = HexFormat.of().formatHex(sha256().digest(data)) + normalizeExtension(extension);
+        fileBlobMapper.acquire(key, data.length);
+        try {
+            Path target = resolve(key);
+            if (isComplete(target, data.length)) {
+                return deduplicated(key, target, data.length);
+            }
+            Path temp = Files.createTempFile(tempDir, "put-", ".tmp");
+            try {
+                Files.write(temp, data);
+                return place(key, temp, target, data.length);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException | RuntimeException e) {
+            release(key);
+            throw e;
+        }
+    }
+
+    /**
+     * 기존 파일을 저장소로 편입 (마이그레이션용) - 같은 파일 시스템이면 하드 링크로 복사 없이 편입
+     * 원본 파일은 호출한 쪽에서 DB 경로를 바꾼 뒤 지운다.
+     */
+    public StoredFile adopt(Path file, String extension) throws IOException {
+        MessageDigest digest = sha256();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        String key = HexFormat.of().formatHex(digest.digest()) + normalizeExtension(extension);
+        long size = Files.size(file);
+
+        fileBlobMapper.acquire(key, size);
+        try {
+            Path target = resolve(key);
+            if (isComplete(target, size)) {
+                return deduplicated(key, target, size);
+            }
+            Files.createDirectories(target.getParent());
+            try {
+                Files.createLink(target, file);
+                storedCount.incrementAndGet();
+                return new StoredFile(key, target, size, false);
+            } catch (FileAlreadyExistsException e) {
+                return deduplicated(key, target, size);
+            } catch (IOException | UnsupportedOperationException e) {
+                // 다른 파일 시스템이면 복사
+                Path temp = Files.createTempFile(tempDir, "adopt-", ".tmp");
+                try {
+                    Files.copy(file, temp, StandardCopyOption.REPLACE_EXISTING);
+                    return place(key, temp, target, size);
+                } finally {
+                    Files.deleteIfExists(temp);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            release(key);
+            throw e;
+        }
+    }
+
+    /**
+     * 이미 저장된 내용의 참조 추가 (같은 원본의 파생 이미지 공유 등)
+     *
+     * @return 등록된 내용이 없으면 false
+     */
+    public boolean retain(String key) {
+        return isKey(key) && fileBlobMapper.incrementRef(key) > 0;
+    }
+
+    /**
+     * 참조 해제 - 마지막 참조였으면 커밋 후 파일 삭제
+     * 호출한 쪽 트랜잭션이 있으면 참여하고(없으면 새로 시작), 롤백되면 참조도 파일도 그대로 남는다.
+     */
+    public void release(String key) {
+        if (!isKey(key)) {
+            return;
+        }
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            // UPDATE로 행을 잠근 채 트랜잭션 끝까지 유지
+            fileBlobMapper.decrementRef(key);
+            Integer refCount = fileBlobMapper.selectRefCountForUpdate(key);
+            if (refCount == null || refCount > 0) {
+                return;
+            }
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    deleteIfUnreferenced(key);
+                }
+            });
+        });
+    }
+
+    /**
+     * 참조가 없는 저장소 파일을 target으로 이동 (정리 작업의 격리용)
+     * file_blob 행을 잠근 채 참조가 없을 때만 행을 지우고 파일을 옮기므로, 같은 내용의 업로드는 이동이 끝난 뒤 파일을 새로 쓴다.
+     *
+     * @return 옮겼으면 true, 참조 중이면 false
+     */
+    public boolean quarantine(String key, Path target) throws IOException {
+        try {
+            return Boolean.TRUE.equals(new TransactionTemplate(transactionManager).execute(status -> {
+                Integer refCount = fileBlobMapper.selectRefCountForUpdate(key);
+                if (refCount != null && refCount > 0) {
+                    return false;
+                }
+                // 행을 먼저 지우고 옮김 - 옮기다 실패하면 행 삭제도 롤백
+                if (refCount != null) {
+                    fileBlobMapper.deleteUnreferenced(key);
+                }
+                try {
+                    Files.createDirectories(target.getParent());
+                    Files.move(resolve(key), target, StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                return true;
+            }));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 격리된 파일을 제자리로 복원 (정리 작업용) - 참조 행이 없거나 0이면 참조 1로 되돌림
+     */
+    public void restore(String key, Path quarantined) throws IOException {
+        long size = Files.size(quarantined);
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                Integer refCount = fileBlobMapper.selectRefCountForUpdate(key);
+                if (refCount == null) {
+                    fileBlobMapper.acquire(key, size);
+                } else if (refCount <= 0) {
+                    fileBlobMapper.incrementRef(key);
+                }
+                try {
+                    Path target = resolve(key);
+                    Files.createDirectories(target.getParent());
+                    Files.move(quarantined, target, StandardCopyOption.REPLACE_EXISTING);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * 현재 참조 수 (정리 작업 dry-run용, 행이 없으면 0)
+     */
+    public int refCount(String key) {
+        Integer refCount = fileBlobMapper.selectRefCount(key);
+        return refCount != null ? refCount : 0;
+    }
+
+    /**
+     * 저장소 키 여부 (기존 UUID 파일명과 구분)
+     */
+    public boolean isKey(String name) {
+        return name != null && KEY_PATTERN.matcher(name).matches();
+    }
+
+    /**
+     * 키 → 실제 파일 경로 (앞 2자리/다음 2자리 디렉터리)
+     */
+    public Path resolve(String key) {
+        if (!isKey(key)) {
+            throw new IllegalArgumentException("저장소 키가 아닙니다: " + key);
+        }
+        return root.resolve(key.substring(0, 2)).resolve(key.substring(2, 4)).resolve(key);
+    }
+
+    /**
+     * DB에 기록된 파일명 → 실제 경로 (저장소 키면 저장소, 아니면 기존 디렉토리)
+     */
+    public Path locate(String legacyDir, String fileName) {
+        return isKey(fileName) ? resolve(fileName) : Paths.get(legacyDir, fileName);
+    }
+
+    /**
+     * 저장소 루트 (정리 작업용)
+     */
+    public Path getRoot() {
+        return root;
+    }
+
+    /**
+     * 저장 중 임시 파일 디렉토리 (정리 작업용)
+     */
+    public Path getTempDir() {
+        return tempDir;
+    }
+
+    /**
+     * 원본 파일명에서 확장자 추출 (예: "사진.JPG" → ".jpg", 없거나 쓸 수 없는 문자면 "")
+     */
+    public static String extensionOf(String fileName) {
+        if (fileName == null || fileName.lastIndexOf('.') < 0) {
+            return "";
+        }
+        return normalizeExtension(fileName.substring(fileName.lastIndexOf('.')));
+    }
+
+    /**
+     * 저장소 지표
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("root", root.toString());
+        Map<String, Object> summary = fileBlobMapper.selectSummary();
+        if (summary != null) {
+            stats.putAll(summary);
+        }
+        stats.put("stored", storedCount.get());
+        stats.put("deduplicated", deduplicatedCount.get());
+        stats.put("deduplicatedBytes", deduplicatedBytes.get());
+        stats.put("deleted", deletedCount.get());
+        return stats;
+    }
+
+    // 커밋된 뒤 행을 다시 잠가 그 사이 참조가 생기지 않았을 때만 파일 삭제
+    // (행을 잠근 채 지우므로 같은 내용을 올리는 쪽은 이 트랜잭션이 끝난 뒤 파일을 다시 씀)
+    private void deleteIfUnreferenced(String key) {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            requiresNew.executeWithoutResult(status -> {
+                Integer refCount = fileBlobMapper.selectRefCountForUpdate(key);
+                if (refCount == null || refCount > 0) {
+                    return;
+                }
+                try {
+                    Files.deleteIfExists(resolve(key));
+                } catch (IOException e) {
+                    log.warn("저장소 파일 삭제 실패: {} - {}", key, e.getMessage());
+                }
+                fileBlobMapper.deleteUnreferenced(key);
+                deletedCount.incrementAndGet();
+            });
+        } catch (RuntimeException e) {
+            // 참조 0인 행은 남으므로 저장소 점검(StorageReconcileService)이 파일을 격리하면서 함께 정리
+            log.warn("저장소 파일 정리 실패: {} - {}", key, e.getMessage());
+        }
+    }
+
+    // 참조를 올린 뒤 임시 파일을 제자리로 옮김 (같은 내용이 이미 있으면 임시 파일은 버림)
+    private StoredFile commit(String key, long size, Path temp) throws IOException {
+        fileBlobMapper.acquire(key, size);
+        try {
+            Path target = resolve(key);
+            if (isComplete(target, size)) {
+                return deduplicated(key, target, size);
+            }
+            return place(key, temp, target, size);
+        } catch (IOException | RuntimeException e) {
+            release(key);
+            throw e;
+        }
+    }
+
+    private StoredFile place(String key, Path temp, Path target, long size) throws IOException {
+        Files.createDirectories(target.getParent());
+        // 같은 내용을 동시에 쓰더라도 결과가 같으므로 덮어써도 무방
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        storedCount.incrementAndGet();
+        return new StoredFile(key, target, size, false);
+    }
+
+    private StoredFile deduplicated(String key, Path target, long size) {
+        deduplicatedCount.incrementAndGet();
+        deduplicatedBytes.addAndGet(size);
+        return new StoredFile(key, target, size, true);
+    }
+
+    // 크기가 다르면 쓰다 만 파일로 보고 다시 씀
+    private static boolean isComplete(Path target, long size) throws IOException {
+        return Files.exists(target) && Files.size(target) == size;
+    }
+
+    private static String normalizeExtension(String extension) {
+        if (extension == null) {
+            return "";
+        }
+        String value = extension.startsWith(".") ? extension.substring(1) : extension;
+        value = value.toLowerCase();
+        return EXTENSION_PATTERN.matcher(value).matches() ? "." + value : "";
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,17 +1,40 @@
 package com.example.part.service;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
 
+import org.apache.ibatis.session.ResultHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -23,24 +46,60 @@ import com.example.part.dto.PartLocationDTO;
 import com.example.part.dto.PartUsageDTO;
 import com.example.part.mapper.PartIncomingMapper;
 import com.example.part.mapper.PartLocationMapper;
+import com.example.part.mapper.PartStockMapper;
 import com.example.part.mapper.PartUsageMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 
+/**
+ * CSV 백업
+ * 테이블별로 DB 결과를 행 단위 스트리밍으로 읽어 바로 파일에 쓰므로 백업 크기와 관계없이 힙 사용량이 일정하고,
+ * 네 개 목록(입고/출고/재고/위치)은 각자 커넥션을 잡고 병렬로 내보낸다.
+ * 증분 백업은 마지막 백업 워터마크 이후 등록/수정된 행(updated_at 기준)만 쓰며, 삭제는 전체 백업에서만 반영된다.
+ * 매 실행마다 파일별 행 수, 크기, SHA-256을 담은 manifest를 함께 남긴다.
+ */
 @Service
 @RequiredArgsConstructor
 public class CsvBackupService {
 
     private static final Logger logger = LoggerFactory.getLogger(CsvBackupService.class);
 
+    private static final String STATE_FILE = "backup_state.json";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // 백업 시작 시점에 커밋 전이던 트랜잭션의 행이 다음 증분에서 빠지지 않도록 워터마크를 앞당기는 여유 시간
+    private static final long WATERMARK_OVERLAP_MINUTES = 5;
+
     private final PartIncomingMapper incomingMapper;
     private final PartUsageMapper usageMapper;
     private final PartLocationMapper locationMapper;
+    private final PartStockMapper stockMapper;
+    private final ObjectMapper objectMapper;
 
     @Value("${file.backup-dir:/var/livewalk/backups/csv}")
     private String backupDir;
 
+    @Value("${backup.csv.incremental:true}")
+    private boolean incrementalEnabled;
+
+    @Value("${backup.csv.full-backup-day:SUNDAY}")
+    private DayOfWeek fullBackupDay;
+
+    @Value("${backup.csv.gzip:true}")
+    private boolean gzip;
+
+    @Value("${backup.csv.threads:4}")
+    private int threads;
+
+    /**
+     * 백업 대상 목록 정의 (목록 이름, CSV 헤더, 스트리밍 조회, 행 → 셀 값 변환)
+     */
+    private record BackupTable<T>(String listName, String[] headers,
+            BiConsumer<LocalDateTime, ResultHandler<T>> source, Function<T, Object[]> row) {
+    }
+
     @PostConstruct
     public void init() {
         try {
@@ -56,213 +115,248 @@ public class CsvBackupService {
     }
 
     /**
-     * 매일 오전 12시에 CSV 백업 실행
+     * 매일 오전 12시에 CSV 백업 실행 (full-backup-day 요일에는 전체, 나머지는 증분)
      * cron: 초 분 시 일 월 요일
      */
-    @Scheduled(cron = "0 0 0 * * *")
+    @Scheduled(cron = "${backup.csv.cron:0 0 0 * * *}")
     public void dailyBackup() {
         logger.info("=== CSV 자동 백업 시작 ===");
 
         try {
-            backupIncoming();
-            backupUsage();
-            backupInventory();
-            backupLocation();
-
-            logger.info("=== CSV 자동 백업 완료 ===");
+            boolean full = !incrementalEnabled || LocalDate.now().getDayOfWeek() == fullBackupDay;
+            Map<String, Object> manifest = backup(full);
+            logger.info("=== CSV 자동 백업 완료: {} ===", manifest.get("mode"));
         } catch (Exception e) {
             logger.error("CSV 자동 백업 중 오류 발생", e);
         }
     }
 
     /**
-     * 입고목록 백업 - 모든 컬럼 포함
+     * 백업 실행 - full=false여도 이전 워터마크가 없으면 전체 백업
+     * @return manifest (목록별 파일명, 행 수, 크기, SHA-256, 오류)
      */
-    private void backupIncoming() {
+    public synchronized Map<String, Object> backup(boolean full) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDateTime since = full ? null : readWatermark();
+        String mode = since != null ? "incremental" : "full";
+        String date = startedAt.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+        // 같은 날 다시 실행해도 이전 백업 파일을 덮어쓰지 않도록 시작 시각까지 포함
+        String time = startedAt.format(DateTimeFormatter.ofPattern("HHmmss"));
+
+        List<BackupTable<?>> tables = backupTables();
+        AtomicInteger threadNo = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, tables.size())), r -> {
+            Thread t = new Thread(r, "csv-backup-" + threadNo.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        List<Map<String, Object>> files = new ArrayList<>();
+        boolean success = true;
         try {
-            List<PartIncomingDTO> dtoList = incomingMapper.selectAllIncoming();
-            List<Map<String, Object>> data = dtoList.stream()
-                    .map(dto -> {
-                        Map<String, Object> map = new HashMap<>();
-                        map.put("incoming_id", dto.getIncomingId());
-                        map.put("part_number", dto.getPartNumber());
-                        map.put("category_id", dto.getCategoryId());
-                        map.put("category_name", dto.getCategoryName());
-                        map.put("part_name", dto.getPartName());
-                        map.put("cabinet_location", dto.getCabinetLocation());
-                        map.put("map_location", dto.getMapLocation());
-                        map.put("description", dto.getDescription());
-                        map.put("project_name", dto.getProjectName());
-                        map.put("unit", dto.getUnit());
-                        map.put("payment_method_id", dto.getPaymentMethodId());
-                        map.put("payment_method_name", dto.getPaymentMethodName());
-                        map.put("incoming_quantity", dto.getIncomingQuantity());
-                        map.put("purchase_price", dto.getPurchasePrice());
-                        map.put("currency", dto.getCurrency());
-                        map.put("exchange_rate", dto.getExchangeRate());
-                        map.put("original_price", dto.getOriginalPrice());
-                        map.put("purchase_datetime", dto.getPurchaseDatetime());
-                        map.put("supplier", dto.getSupplier());
-                        map.put("purchaser", dto.getPurchaser());
-                        map.put("invoice_number", dto.getInvoiceNumber());
-                        map.put("note", dto.getNote());
-                        map.put("created_by", dto.getCreatedBy());
-                        map.put("created_at", dto.getCreatedAt());
-                        return map;
-                    })
-                    .collect(Collectors.toList());
-
-            String fileName = generateFileName("입고목록");
-            writeCsvFile(fileName, data, new String[] {
-                    "입고번호", "부품번호", "카테고리ID", "카테고리명", "부품명", "캐비넷위치", "도면위치",
-                    "설명", "프로젝트명", "단위", "결제방법ID", "결제방법명", "입고수량",
-                    "구매단가", "통화", "환율", "원화금액", "구매일시", "공급업체", "구매자",
-                    "송장번호", "비고", "등록자", "등록일시"
-            }, new String[] {
-                    "incoming_id", "part_number", "category_id", "category_name", "part_name",
-                    "cabinet_location", "map_location", "description", "project_name", "unit",
-                    "payment_method_id", "payment_method_name", "incoming_quantity", "purchase_price",
-                    "currency", "exchange_rate", "original_price", "purchase_datetime", "supplier",
-                    "purchaser", "invoice_number", "note", "created_by", "created_at"
-            });
-            logger.info("입고목록 백업 완료: {}", fileName);
-        } catch (Exception e) {
-            logger.error("입고목록 백업 실패", e);
+            List<Future<Map<String, Object>>> futures = new ArrayList<>();
+            for (BackupTable<?> table : tables) {
+                String fileName = generateFileName(table.listName(), date, time, mode);
+                futures.add(pool.submit(() -> exportTable(table, since, fileName)));
+            }
+            for (Future<Map<String, Object>> future : futures) {
+                Map<String, Object> file = future.get();
+                success &= !file.containsKey("error");
+                files.add(file);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("CSV 백업이 중단되었습니다", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("CSV 백업 실패", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        LocalDateTime watermark = startedAt.minusMinutes(WATERMARK_OVERLAP_MINUTES);
+        Map<String, Object> manifest = new LinkedHashMap<>();
+        manifest.put("date", date);
+        manifest.put("mode", mode);
+        manifest.put("since", since != null ? since.toString() : null);
+        manifest.put("watermark", watermark.toString());
+        manifest.put("gzip", gzip);
+        manifest.put("startedAt", startedAt.toString());
+        manifest.put("finishedAt", LocalDateTime.now().toString());
+        manifest.put("success", success);
+        manifest.put("files", files);
+
+        String manifestName = "backup_" + date + "_" + time + "_" + mode + "_manifest.json";
+        writeJson(manifestName, manifest);
+
+        // 하나라도 실패하면 워터마크를 유지해 다음 증분이 같은 구간부터 다시 백업
+        if (success) {
+            Map<String, Object> state = new LinkedHashMap<>();
+            state.put("watermark", watermark.toString());
+            state.put("manifest", manifestName);
+            writeJson(STATE_FILE, state);
         }
+
+        logger.info("CSV 백업 manifest 저장: {} (성공: {})", manifestName, success);
+        return manifest;
+    }
+
+    private List<BackupTable<?>> backupTables() {
+        return List.of(
+                // 입고목록 - 모든 컬럼 포함
+                new BackupTable<PartIncomingDTO>("입고목록", new String[] {
+                        "입고번호", "부품번호", "카테고리ID", "카테고리명", "부품명", "캐비넷위치", "도면위치",
+                        "설명", "프로젝트명", "단위", "결제방법ID", "결제방법명", "입고수량",
+                        "구매단가", "통화", "환율", "원화금액", "구매일시", "공급업체", "구매자",
+                        "송장번호", "비고", "등록자", "등록일시"
+                }, incomingMapper::streamIncomingForBackup, dto -> new Object[] {
+                        dto.getIncomingId(), dto.getPartNumber(), dto.getCategoryId(), dto.getCategoryName(),
+                        dto.getPartName(), dto.getCabinetLocation(), dto.getMapLocation(), dto.getDescription(),
+                        dto.getProjectName(), dto.getUnit(), dto.getPaymentMethodId(), dto.getPaymentMethodName(),
+                        dto.getIncomingQuantity(), dto.getPurchasePrice(), dto.getCurrency(), dto.getExchangeRate(),
+                        dto.getOriginalPrice(), dto.getPurchaseDatetime(), dto.getSupplier(), dto.getPurchaser(),
+                        dto.getInvoiceNumber(), dto.getNote(), dto.getCreatedBy(), dto.getCreatedAt()
+                }),
+                // 출고목록 - 모든 컬럼 포함
+                new BackupTable<PartUsageDTO>("출고목록", new String[] {
+                        "출고번호", "입고번호", "부품번호", "부품명", "카테고리", "단위",
+                        "출고수량", "사용위치", "사용일시", "비고", "등록자", "등록일시"
+                }, usageMapper::streamUsageForBackup, dto -> new Object[] {
+                        dto.getUsageId(), dto.getIncomingId(), dto.getPartNumber(), dto.getPartName(),
+                        dto.getCategoryName(), dto.getUnit(), dto.getQuantityUsed(), dto.getUsageLocation(),
+                        dto.getUsedDatetime(), dto.getNote(), dto.getCreatedBy(), dto.getCreatedAt()
+                }),
+                // 재고목록 (part_stock 원장)
+                new BackupTable<Map<String, Object>>("재고목록", new String[] {
+                        "부품번호", "부품명", "카테고리", "현재재고", "단위", "총입고",
+                        "총출고", "입고횟수"
+                }, stockMapper::streamInventoryForBackup, map -> new Object[] {
+                        map.get("part_number"), map.get("part_name"), map.get("category_name"),
+                        map.get("current_stock"), map.get("unit"), map.get("total_incoming"),
+                        map.get("total_used"), map.get("incoming_count")
+                }),
+                // 위치정보
+                new BackupTable<PartLocationDTO>("위치정보", new String[] {
+                        "위치ID", "입고번호", "위치코드", "부품번호", "부품명", "위치X", "위치Y", "비고", "수정일시"
+                }, locationMapper::streamLocationsForBackup, dto -> new Object[] {
+                        dto.getLocationId(), dto.getIncomingId(), dto.getLocationCode(), dto.getPartNumber(),
+                        dto.getPartName(), dto.getPosX(), dto.getPosY(), dto.getNote(), dto.getUpdatedAt()
+                }));
     }
 
     /**
-     * 출고목록 백업 - 모든 컬럼 포함
+     * 목록 하나를 임시 파일에 스트리밍으로 쓰고 완료되면 원래 이름으로 교체 (실패해도 이전 백업 파일은 유지)
      */
-    private void backupUsage() {
+    private <T> Map<String, Object> exportTable(BackupTable<T> table, LocalDateTime since, String fileName) {
+        long start = System.currentTimeMillis();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("list", table.listName());
+        result.put("file", fileName);
+
         try {
-            List<PartUsageDTO> dtoList = usageMapper.selectAllUsage();
-            List<Map<String, Object>> data = dtoList.stream()
-                    .map(dto -> {
-                        Map<String, Object> map = new HashMap<>();
-                        map.put("usage_id", dto.getUsageId());
-                        map.put("incoming_id", dto.getIncomingId());
-                        map.put("part_number", dto.getPartNumber());
-                        map.put("part_name", dto.getPartName());
-                        map.put("category_name", dto.getCategoryName());
-                        map.put("unit", dto.getUnit());
-                        map.put("quantity_used", dto.getQuantityUsed());
-                        map.put("usage_location", dto.getUsageLocation());
-                        map.put("used_datetime", dto.getUsedDatetime());
-                        map.put("note", dto.getNote());
-                        map.put("created_by", dto.getCreatedBy());
-                        map.put("created_at", dto.getCreatedAt());
-                        return map;
-                    })
-                    .collect(Collectors.toList());
-
-            String fileName = generateFileName("출고목록");
-            writeCsvFile(fileName, data, new String[] {
-                    "출고번호", "입고번호", "부품번호", "부품명", "카테고리", "단위",
-                    "출고수량", "사용위치", "사용일시", "비고", "등록자", "등록일시"
-            }, new String[] {
-                    "usage_id", "incoming_id", "part_number", "part_name", "category_name", "unit",
-                    "quantity_used", "usage_location", "used_datetime", "note", "created_by", "created_at"
-            });
-            logger.info("출고목록 백업 완료: {}", fileName);
-        } catch (Exception e) {
-            logger.error("출고목록 백업 실패", e);
+            Path target = Paths.get(backupDir, fileName);
+            Path temp = Paths.get(backupDir, fileName + ".tmp");
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            long rows;
+            try (FileOutputStream file = new FileOutputStream(temp.toFile())) {
+                DigestOutputStream digest = new DigestOutputStream(new BufferedOutputStream(file, BUFFER_SIZE), sha256);
+                OutputStream out = gzip ? new GZIPOutputStream(digest, BUFFER_SIZE) : digest;
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+
+                rows = writeCsv(writer, table, since);
+
+                writer.flush();
+                if (out instanceof GZIPOutputStream gzipOut) {
+                    gzipOut.finish();
+                }
+                digest.flush();
+                file.getFD().sync();
+            } catch (IOException | RuntimeException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+            result.put("rows", rows);
+            result.put("bytes", Files.size(target));
+            result.put("sha256", HexFormat.of().formatHex(sha256.digest()));
+            logger.info("{} 백업 완료: {} ({}건)", table.listName(), fileName, rows);
+        } catch (IOException | NoSuchAlgorithmException | RuntimeException e) {
+            logger.error("{} 백업 실패", table.listName(), e);
+            result.put("error", e.getMessage());
         }
+        result.put("elapsedMs", System.currentTimeMillis() - start);
+        return result;
     }
 
     /**
-     * 재고목록 백업
+     * CSV 작성 - DB에서 한 행을 받을 때마다 바로 한 줄씩 기록
      */
-    private void backupInventory() {
-        try {
-            List<Map<String, Object>> data = incomingMapper.getCurrentInventory();
-            String fileName = generateFileName("재고목록");
-            writeCsvFile(fileName, data, new String[] {
-                    "부품번호", "부품명", "카테고리", "현재재고", "단위", "총입고",
-                    "총출고", "입고횟수"
-            }, new String[] {
-                    "part_number", "part_name", "category_name", "current_stock", "unit",
-                    "total_incoming", "total_used", "incoming_count"
-            });
-            logger.info("재고목록 백업 완료: {}", fileName);
-        } catch (Exception e) {
-            logger.error("재고목록 백업 실패", e);
-        }
+    private <T> long writeCsv(Writer writer, BackupTable<T> table, LocalDateTime since) throws IOException {
+        // UTF-8 BOM 추가 (Excel에서 한글 깨짐 방지)
+        writer.write('\ufeff');
+
+        // 헤더 작성
+        writer.write(String.join(",", table.headers()));
+        writer.write(System.lineSeparator());
+
+        // 데이터 작성
+        long[] rows = { 0 };
+        StringBuilder line = new StringBuilder(256);
+        table.source().accept(since, context -> {
+            Object[] values = table.row().apply(context.getResultObject());
+            line.setLength(0);
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    line.append(",");
+                }
+                line.append(values[i] != null ? escapeCsv(values[i].toString()) : "");
+            }
+            line.append(System.lineSeparator());
+            try {
+                writer.append(line);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            rows[0]++;
+        });
+        return rows[0];
     }
 
     /**
-     * 위치정보 백업
+     * 마지막 성공 백업의 워터마크 (없으면 null → 전체 백업)
      */
-    private void backupLocation() {
+    private LocalDateTime readWatermark() {
+        Path state = Paths.get(backupDir, STATE_FILE);
+        if (!Files.exists(state)) {
+            return null;
+        }
         try {
-            List<PartLocationDTO> dtoList = locationMapper.selectAllLocations();
-            List<Map<String, Object>> data = dtoList.stream()
-                    .map(dto -> {
-                        Map<String, Object> map = new HashMap<>();
-                        map.put("location_id", dto.getLocationId());
-                        map.put("incoming_id", dto.getIncomingId());
-                        map.put("location_code", dto.getLocationCode());
-                        map.put("part_number", dto.getPartNumber());
-                        map.put("part_name", dto.getPartName());
-                        map.put("pos_x", dto.getPosX());
-                        map.put("pos_y", dto.getPosY());
-                        map.put("note", dto.getNote());
-                        map.put("updated_at", dto.getUpdatedAt());
-                        return map;
-                    })
-                    .collect(Collectors.toList());
-
-            String fileName = generateFileName("위치정보");
-            writeCsvFile(fileName, data, new String[] {
-                    "위치ID", "입고번호", "위치코드", "부품번호", "부품명", "위치X", "위치Y", "비고", "수정일시"
-            }, new String[] {
-                    "location_id", "incoming_id", "location_code", "part_number", "part_name",
-                    "pos_x", "pos_y", "note", "updated_at"
-            });
-            logger.info("위치정보 백업 완료: {}", fileName);
+            Map<?, ?> values = objectMapper.readValue(state.toFile(), Map.class);
+            Object watermark = values.get("watermark");
+            return watermark != null ? LocalDateTime.parse(watermark.toString()) : null;
         } catch (Exception e) {
-            logger.error("위치정보 백업 실패", e);
+            logger.warn("백업 워터마크 읽기 실패 - 전체 백업으로 진행: {}", e.getMessage());
+            return null;
         }
     }
 
-    /**
-     * 파일명 생성: [리스트이름]_YYYY-MM-DD_backup.csv
-     */
-    private String generateFileName(String listName) {
-        String date = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-        return listName + "_" + date + "_backup.csv";
+    private void writeJson(String fileName, Object value) {
+        Path target = Paths.get(backupDir, fileName);
+        Path temp = Paths.get(backupDir, fileName + ".tmp");
+        try {
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(temp.toFile(), value);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("백업 파일 저장 실패: " + target, e);
+        }
     }
 
     /**
-     * CSV 파일 작성
+     * 파일명 생성: [리스트이름]_YYYY-MM-DD_HHmmss_backup.csv(.gz) / 증분은 _incremental.csv(.gz)
      */
-    private void writeCsvFile(String fileName, List<Map<String, Object>> data,
-            String[] headers, String[] fields) throws IOException {
-        Path filePath = Paths.get(backupDir, fileName);
-
-        try (BufferedWriter writer = Files.newBufferedWriter(filePath)) {
-            // UTF-8 BOM 추가 (Excel에서 한글 깨짐 방지)
-            writer.write('\ufeff');
-
-            // 헤더 작성
-            writer.write(String.join(",", headers));
-            writer.newLine();
-
-            // 데이터 작성
-            for (Map<String, Object> row : data) {
-                StringBuilder line = new StringBuilder();
-                for (int i = 0; i < fields.length; i++) {
-                    if (i > 0) {
-                        line.append(",");
-                    }
-                    Object value = row.get(fields[i]);
-                    String cellValue = value != null ? escapeCsv(value.toString()) : "";
-                    line.append(cellValue);
-                }
-                writer.write(line.toString());
-                writer.newLine();
-            }
-        }
+    private String generateFileName(String listName, String date, String time, String mode) {
+        String suffix = "full".equals(mode) ? "_backup.csv" : "_incremental.csv";
+        return listName + "_" + date + "_" + time + suffix + (gzip ? ".gz" : "");
     }
 
     /**
@@ -0,0 +1,647 @@
+package com.example.part.service;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+
+import com.example.part.dto.CategoryDTO;
+import com.example.part.dto.PartIncomingDTO;
+import com.example.part.dto.PartLocationDTO;
+import com.example.part.dto.PartUsageDTO;
+import com.example.part.exception.ValidationException;
+import com.example.part.mapper.CategoryMapper;
+import com.example.part.mapper.PartIncomingMapper;
+import com.example.part.mapper.PartLocationMapper;
+import com.example.part.mapper.PartUsageMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * CSV 백업 복원
+ * manifest 기준으로 전체 백업 1개와 그 이후 증분 백업들을 시작 시각 순으로 적용한다.
+ * 모든 파일의 SHA-256을 먼저 확인한 뒤, 파일을 한 행씩 읽어 batch-size 건마다 원래 PK를 유지한 다중 행 INSERT로 넣는다
+ * (이미 있는 PK는 백업 값으로 덮어쓰므로 중단 후 다시 실행해도 된다).
+ * 적재 순서는 입고 → 출고/위치(병렬)이며, 재고 원장·재고 캐시·검색 색인은 적재가 끝난 뒤 한 번에 다시 만든다.
+ * 묶음이 실패하면 건별로 다시 넣어 문제 행만 제외하고, 파일별 처리량(행/초, MB/초)을 결과로 돌려준다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CsvRestoreService {
+
+    // 시작 시각(HHmmss)이 없는 이전 형식의 manifest도 복원 대상으로 인정
+    private static final Pattern MANIFEST_NAME =
+            Pattern.compile("backup_\\d{4}-\\d{2}-\\d{2}(_\\d{6})?_(full|incremental)_manifest\\.json");
+    private static final int MAX_ERRORS = 50;
+
+    private final PartIncomingMapper incomingMapper;
+    private final PartUsageMapper usageMapper;
+    private final PartLocationMapper locationMapper;
+    private final CategoryMapper categoryMapper;
+    private final PartStockService partStockService;
+    private final InventoryCache inventoryCache;
+    private final SearchIndex searchIndex;
+    private final ObjectMapper objectMapper;
+
+    @Value("${file.backup-dir:/var/livewalk/backups/csv}")
+    private String backupDir;
+
+    @Value("${restore.batch-size:1000}")
+    private int batchSize;
+
+    /**
+     * 복원 대상 목록 정의 (목록 이름, 필수 헤더, 행 → DTO 변환, PK, 일괄 INSERT)
+     */
+    private record RestoreTable<T>(String listName, String[] headers, Function<CsvRow, T> parser,
+            Function<T, Object> id, Consumer<List<T>> insert) {
+    }
+
+    /**
+     * 복원 가능한 백업 목록 (최근 순)
+     */
+    public List<Map<String, Object>> listManifests() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Map<String, Object> manifest : readManifests()) {
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("manifest", manifest.get("name"));
+            summary.put("mode", manifest.get("mode"));
+            summary.put("startedAt", manifest.get("startedAt"));
+            summary.put("success", manifest.get("success"));
+            result.add(summary);
+        }
+        result.sort(Comparator.comparing((Map<String, Object> m) -> String.valueOf(m.get("startedAt"))).reversed());
+        return result;
+    }
+
+    /**
+     * 복원 실행
+     * @param manifestName 복원 시점 manifest (증분이면 직전 전체 백업부터 이어서 적용)
+     * @param dryRun true면 체크섬·행 검증만 하고 DB에는 쓰지 않음
+     */
+    public synchronized Map<String, Object> restore(String manifestName, boolean dryRun) {
+        long start = System.currentTimeMillis();
+        List<Map<String, Object>> chain = resolveChain(manifestName);
+        List<String> names = chain.stream().map(m -> (String) m.get("name")).toList();
+        log.info("CSV 복원 시작: {} (dryRun={})", names, dryRun);
+
+        // DB에 쓰기 전에 전체 파일 체크섬 확인
+        for (Map<String, Object> manifest : chain) {
+            for (String listName : List.of("입고목록", "출고목록", "위치정보")) {
+                verifyChecksum(manifest, listName);
+            }
+        }
+
+        Set<Integer> categoryIds = categoryMapper.selectAllCategoriesForManagement().stream()
+                .map(CategoryDTO::getCategoryId)
+                .collect(Collectors.toSet());
+
+        long loadStart = System.currentTimeMillis();
+        List<String> errors = new ArrayList<>();
+        List<Map<String, Object>> files = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(2, r -> {
+            Thread t = new Thread(r, "csv-restore");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            for (Map<String, Object> manifest : chain) {
+                // 출고/위치가 입고를 참조하므로 입고를 먼저 모두 적재
+                files.add(loadFile(manifest, incomingTable(categoryIds), dryRun, errors));
+
+                CompletableFuture<Map<String, Object>> usage = CompletableFuture
+                        .supplyAsync(() -> loadFile(manifest, usageTable(), dryRun, errors), pool);
+                CompletableFuture<Map<String, Object>> location = CompletableFuture
+                        .supplyAsync(() -> loadFile(manifest, locationTable(), dryRun, errors), pool);
+                files.add(usage.join());
+                files.add(location.join());
+            }
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long loadMs = System.currentTimeMillis() - loadStart;
+        long rows = files.stream().mapToLong(f -> (Long) f.get("rows")).sum();
+        long rejected = files.stream().mapToLong(f -> (Long) f.get("rejected")).sum();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("manifests", names);
+        result.put("dryRun", dryRun);
+        result.put("batchSize", batchSize);
+        result.put("files", files);
+        result.put("rows", rows);
+        result.put("rejected", rejected);
+        result.put("loadMs", loadMs);
+        result.put("rowsPerSec", perSecond(rows, loadMs));
+        // 복구 시간 산정용 - 이 처리량으로 100만 행 적재에 걸리는 시간
+        result.put("secondsPerMillionRows", rows > 0 ? Math.round(loadMs * 1_000_000.0 / rows / 1000.0) : null);
+
+        if (!dryRun) {
+            long rebuildStart = System.currentTimeMillis();
+            result.put("stock", partStockService.reconcile());
+            inventoryCache.rebuild();
+            searchIndex.rebuild();
+            result.put("rebuildMs", System.currentTimeMillis() - rebuildStart);
+        }
+
+        result.put("elapsedMs", System.currentTimeMillis() - start);
+        result.put("errors", errors);
+        log.info("CSV 복원 완료: {}행 (제외 {}행), 적재 {}ms, {}행/초", rows, rejected, loadMs, result.get("rowsPerSec"));
+        return result;
+    }
+
+    private RestoreTable<PartIncomingDTO> incomingTable(Set<Integer> categoryIds) {
+        return new RestoreTable<>("입고목록", new String[] {
+                "입고번호", "부품번호", "카테고리ID", "부품명", "설명", "프로젝트명", "단위", "결제방법ID",
+                "입고수량", "구매단가", "통화", "환율", "원화금액", "구매일시", "공급업체", "구매자",
+                "송장번호", "비고", "등록자", "등록일시"
+        }, row -> {
+            PartIncomingDTO dto = new PartIncomingDTO();
+            dto.setIncomingId(row.requiredInt("입고번호"));
+            dto.setPartNumber(row.required("부품번호"));
+            dto.setCategoryId(row.requiredInt("카테고리ID"));
+            dto.setPartName(row.required("부품명"));
+            dto.setDescription(row.get("설명"));
+            dto.setProjectName(row.get("프로젝트명"));
+            dto.setUnit(row.get("단위"));
+            dto.setPaymentMethodId(row.getInt("결제방법ID"));
+            dto.setIncomingQuantity(row.requiredInt("입고수량"));
+            dto.setPurchasePrice(row.requiredDecimal("구매단가"));
+            dto.setCurrency(row.get("통화"));
+            dto.setExchangeRate(row.getDecimal("환율"));
+            dto.setOriginalPrice(row.getDecimal("원화금액"));
+            dto.setPurchaseDatetime(row.requiredDate("구매일시"));
+            dto.setSupplier(row.get("공급업체"));
+            dto.setPurchaser(row.get("구매자"));
+            dto.setInvoiceNumber(row.get("송장번호"));
+            dto.setNote(row.get("비고"));
+            dto.setCreatedBy(row.get("등록자"));
+            dto.setCreatedAt(row.getDateTime("등록일시"));
+
+            if (!categoryIds.contains(dto.getCategoryId())) {
+                throw new ValidationException("존재하지 않는 카테고리입니다: " + dto.getCategoryId());
+            }
+            if (dto.getPaymentMethodId() != null && !categoryIds.contains(dto.getPaymentMethodId())) {
+                throw new ValidationException("존재하지 않는 결제수단입니다: " + dto.getPaymentMethodId());
+            }
+            return dto;
+        }, PartIncomingDTO::getIncomingId, incomingMapper::restoreIncomingBatch);
+    }
+
+    private RestoreTable<PartUsageDTO> usageTable() {
+        return new RestoreTable<>("출고목록", new String[] {
+                "출고번호", "입고번호", "부품번호", "출고수량", "사용위치", "사용일시", "비고", "등록자", "등록일시"
+        }, row -> {
+            PartUsageDTO dto = new PartUsageDTO();
+            dto.setUsageId(row.requiredInt("출고번호"));
+            dto.setIncomingId(row.requiredInt("입고번호"));
+            dto.setPartNumber(row.required("부품번호"));
+            dto.setQuantityUsed(row.requiredInt("출고수량"));
+            dto.setUsageLocation(row.required("사용위치"));
+            dto.setUsedDatetime(row.requiredDate("사용일시"));
+            dto.setNote(row.get("비고"));
+            dto.setCreatedBy(row.get("등록자"));
+            dto.setCreatedAt(row.getDateTime("등록일시"));
+            return dto;
+        }, PartUsageDTO::getUsageId, usageMapper::restoreUsageBatch);
+    }
+
+    private RestoreTable<PartLocationDTO> locationTable() {
+        return new RestoreTable<>("위치정보", new String[] {
+                "위치ID", "입고번호", "위치코드", "부품번호", "부품명", "위치X", "위치Y", "비고", "수정일시"
+        }, row -> {
+            PartLocationDTO dto = new PartLocationDTO();
+            dto.setLocationId(row.requiredInt("위치ID"));
+            dto.setIncomingId(row.requiredInt("입고번호"));
+            dto.setLocationCode(row.get("위치코드"));
+            dto.setPartNumber(row.get("부품번호"));
+            dto.setPartName(row.get("부품명"));
+            dto.setPosX(row.get("위치X"));
+            dto.setPosY(row.getInt("위치Y"));
+            dto.setNote(row.get("비고"));
+            dto.setUpdatedAt(row.get("수정일시"));
+            return dto;
+        }, PartLocationDTO::getLocationId, locationMapper::restoreLocationBatch);
+    }
+
+    /**
+     * 파일 하나를 스트리밍으로 읽으면서 batchSize 건씩 적재
+     */
+    private <T> Map<String, Object> loadFile(Map<String, Object> manifest, RestoreTable<T> table,
+            boolean dryRun, List<String> errors) {
+        long start = System.currentTimeMillis();
+        Map<String, Object> entry = fileEntry(manifest, table.listName());
+        Path path = resolveFile(entry);
+
+        long rows = 0;
+        long[] rejected = { 0 };
+        List<T> batch = new ArrayList<>(batchSize);
+
+        try (CsvReader reader = new CsvReader(open(path, Boolean.TRUE.equals(manifest.get("gzip"))))) {
+            Map<String, Integer> header = readHeader(reader, table, path);
+
+            String[] values;
+            while ((values = reader.next()) != null) {
+                rows++;
+                long line = reader.getRecordLine();
+                T dto;
+                try {
+                    dto = table.parser().apply(new CsvRow(header, values));
+                } catch (ValidationException e) {
+                    rejected[0]++;
+                    addError(errors, path.getFileName() + " " + line + "행: " + e.getMessage());
+                    continue;
+                }
+                if (dryRun) {
+                    continue;
+                }
+                batch.add(dto);
+                if (batch.size() >= batchSize) {
+                    insertBatch(table, batch, path, rejected, errors);
+                    batch.clear();
+                }
+            }
+            if (!batch.isEmpty()) {
+                insertBatch(table, batch, path, rejected, errors);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("백업 파일 읽기 실패: " + path.getFileName(), e);
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        long bytes = ((Number) entry.get("bytes")).longValue();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("manifest", manifest.get("name"));
+        result.put("list", table.listName());
+        result.put("file", entry.get("file"));
+        result.put("rows", rows);
+        result.put("restored", dryRun ? 0L : rows - rejected[0]);
+        result.put("rejected", rejected[0]);
+        result.put("bytes", bytes);
+        result.put("elapsedMs", elapsed);
+        result.put("rowsPerSec", perSecond(rows, elapsed));
+        result.put("mbPerSec", elapsed > 0 ? Math.round(bytes / 1048.576 / elapsed * 100) / 100.0 : null);
+        log.info("{} 복원: {}행 (제외 {}행, {}ms, {}행/초)", entry.get("file"), rows, rejected[0], elapsed,
+                result.get("rowsPerSec"));
+        return result;
+    }
+
+    // 묶음 INSERT 실패 시 건별 재시도로 문제 행(참조 입고 없음 등)만 제외
+    private <T> void insertBatch(RestoreTable<T> table, List<T> batch, Path path, long[] rejected,
+            List<String> errors) {
+        try {
+            table.insert().accept(batch);
+        } catch (RuntimeException e) {
+            log.warn("{} 일괄 복원 실패 - 건별 재시도 ({}건): {}", path.getFileName(), batch.size(), e.getMessage());
+            for (T dto : batch) {
+                try {
+                    table.insert().accept(List.of(dto));
+                } catch (RuntimeException rowError) {
+                    rejected[0]++;
+                    addError(errors, path.getFileName() + " ID " + table.id().apply(dto) + ": "
+                            + NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                }
+            }
+        }
+    }
+
+    private Map<String, Integer> readHeader(CsvReader reader, RestoreTable<?> table, Path path) throws IOException {
+        String[] names = reader.next();
+        if (names == null) {
+            throw new ValidationException("빈 백업 파일입니다: " + path.getFileName());
+        }
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            header.put(names[i].trim(), i);
+        }
+        for (String required : table.headers()) {
+            if (!header.containsKey(required)) {
+                throw new ValidationException(path.getFileName() + " 파일에 '" + required + "' 열이 없습니다");
+            }
+        }
+        return header;
+    }
+
+    /**
+     * 복원 순서 결정 - 대상 manifest 이전의 마지막 전체 백업 + 그 사이 증분 백업 (시작 시각 순)
+     */
+    private List<Map<String, Object>> resolveChain(String manifestName) {
+        if (manifestName == null || !MANIFEST_NAME.matcher(manifestName).matches()) {
+            throw new ValidationException("올바르지 않은 manifest 이름입니다: " + manifestName);
+        }
+
+        List<Map<String, Object>> manifests = readManifests().stream()
+                .filter(m -> Boolean.TRUE.equals(m.get("success")))
+                .sorted(Comparator.comparing(m -> String.valueOf(m.get("startedAt"))))
+                .toList();
+        Map<String, Object> target = manifests.stream()
+                .filter(m -> manifestName.equals(m.get("name")))
+                .findFirst()
+                .orElseThrow(() -> new ValidationException("복원할 수 있는 백업이 아닙니다: " + manifestName));
+        String targetStartedAt = String.valueOf(target.get("startedAt"));
+
+        int fullIndex = -1;
+        for (int i = 0; i < manifests.size(); i++) {
+            Map<String, Object> m = manifests.get(i);
+            if (String.valueOf(m.get("startedAt")).compareTo(targetStartedAt) > 0) {
+                break;
+            }
+            if ("full".equals(m.get("mode"))) {
+                fullIndex = i;
+            }
+        }
+        if (fullIndex < 0) {
+            throw new ValidationException("기준이 되는 전체 백업이 없습니다: " + manifestName);
+        }
+
+        List<Map<String, Object>> chain = new ArrayList<>();
+        for (int i = fullIndex; i < manifests.size(); i++) {
+            Map<String, Object> m = manifests.get(i);
+            if (String.valueOf(m.get("startedAt")).compareTo(targetStartedAt) > 0) {
+                break;
+            }
+            if (i == fullIndex || "incremental".equals(m.get("mode"))) {
+                chain.add(m);
+            }
+        }
+        return chain;
+    }
+
+    private List<Map<String, Object>> readManifests() {
+        Path dir = Paths.get(backupDir);
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> paths = Files.list(dir)) {
+            List<Map<String, Object>> manifests = new ArrayList<>();
+            for (Path path : paths.toList()) {
+                String name = path.getFileName().toString();
+                if (!MANIFEST_NAME.matcher(name).matches()) {
+                    continue;
+                }
+                try {
+                    @SuppressWarnings("unchecked")
+                    Map<String, Object> manifest = objectMapper.readValue(path.toFile(), Map.class);
+                    manifest.put("name", name);
+                    manifests.add(manifest);
+                } catch (IOException e) {
+                    log.warn("manifest 읽기 실패: {} ({})", name, e.getMessage());
+                }
+            }
+            return manifests;
+        } catch (IOException e) {
+            throw new UncheckedIOException("백업 디렉토리 조회 실패: " + dir, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> fileEntry(Map<String, Object> manifest, String listName) {
+        List<Map<String, Object>> files = (List<Map<String, Object>>) manifest.get("files");
+        return files.stream()
+                .filter(f -> listName.equals(f.get("list")))
+                .findFirst()
+                .orElseThrow(() -> new ValidationException(manifest.get("name") + "에 " + listName + " 파일이 없습니다"));
+    }
+
+    private Path resolveFile(Map<String, Object> entry) {
+        Path dir = Paths.get(backupDir).toAbsolutePath().normalize();
+        Path path = dir.resolve(String.valueOf(entry.get("file"))).normalize();
+        if (!path.startsWith(dir) || !Files.isRegularFile(path)) {
+            throw new ValidationException("백업 파일이 없습니다: " + entry.get("file"));
+        }
+        return path;
+    }
+
+    private void verifyChecksum(Map<String, Object> manifest, String listName) {
+        Map<String, Object> entry = fileEntry(manifest, listName);
+        Path path = resolveFile(entry);
+        try (DigestInputStream in = new DigestInputStream(Files.newInputStream(path),
+                MessageDigest.getInstance("SHA-256"))) {
+            in.transferTo(OutputStream.nullOutputStream());
+            String actual = HexFormat.of().formatHex(in.getMessageDigest().digest());
+            if (!actual.equalsIgnoreCase(String.valueOf(entry.get("sha256")))) {
+                throw new ValidationException("백업 파일 체크섬이 일치하지 않습니다: " + entry.get("file"));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("백업 파일 읽기 실패: " + entry.get("file"), e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Reader open(Path path, boolean gzip) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(path), 64 * 1024);
+        if (gzip) {
+            in = new GZIPInputStream(in, 64 * 1024);
+        }
+        return new InputStreamReader(in, StandardCharsets.UTF_8);
+    }
+
+    private static void addError(List<String> errors, String message) {
+        synchronized (errors) {
+            if (errors.size() < MAX_ERRORS) {
+                errors.add(message);
+            }
+        }
+    }
+
+    private static Long perSecond(long rows, long elapsedMs) {
+        return elapsedMs > 0 ? rows * 1000 / elapsedMs : null;
+    }
+
+    /**
+     * CSV 한 행 (헤더 이름으로 값 조회, 빈 값은 null)
+     */
+    private static final class CsvRow {
+        private final Map<String, Integer> header;
+        private final String[] values;
+
+        private CsvRow(Map<String, Integer> header, String[] values) {
+            this.header = header;
+            this.values = values;
+        }
+
+        String get(String name) {
+            int index = header.get(name);
+            if (index >= values.length || values[index].isEmpty()) {
+                return null;
+            }
+            return values[index];
+        }
+
+        String required(String name) {
+            String value = get(name);
+            if (value == null) {
+                throw new ValidationException(name + " 값이 없습니다");
+            }
+            return value;
+        }
+
+        Integer getInt(String name) {
+            String value = get(name);
+            return value != null ? parse(name, value, Integer::valueOf) : null;
+        }
+
+        Integer requiredInt(String name) {
+            return parse(name, required(name), Integer::valueOf);
+        }
+
+        BigDecimal getDecimal(String name) {
+            String value = get(name);
+            return value != null ? parse(name, value, BigDecimal::new) : null;
+        }
+
+        BigDecimal requiredDecimal(String name) {
+            return parse(name, required(name), BigDecimal::new);
+        }
+
+        LocalDate requiredDate(String name) {
+            return parse(name, required(name), LocalDate::parse);
+        }
+
+        LocalDateTime getDateTime(String name) {
+            String value = get(name);
+            return value != null ? parse(name, value, v -> LocalDateTime.parse(v.replace(' ', 'T'))) : null;
+        }
+
+        private static <V> V parse(String name, String value, Function<String, V> parser) {
+            try {
+                return parser.apply(value.trim());
+            } catch (RuntimeException e) {
+                throw new ValidationException(name + " 값이 올바르지 않습니다: " + value);
+            }
+        }
+    }
+
+    /**
+     * 스트리밍 CSV 파서 (RFC 4180 - 따옴표 안의 쉼표/줄바꿈/"" 처리, 선두 BOM 무시)
+     */
+    static final class CsvReader implements AutoCloseable {
+        private final Reader in;
+        private final char[] buffer = new char[64 * 1024];
+        private int position;
+        private int length;
+        private long line = 1;
+        private long recordLine;
+
+        CsvReader(Reader in) throws IOException {
+            this.in = in;
+            if (read() != '\ufeff' && length > 0) {
+                position--;
+            }
+        }
+
+        /**
+         * 다음 행 (파일 끝이면 null)
+         */
+        String[] next() throws IOException {
+            int c = read();
+            if (c == -1) {
+                return null;
+            }
+            recordLine = line;
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder cell = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new ValidationException(recordLine + "행: 따옴표가 닫히지 않았습니다");
+                    }
+                    if (c == '"') {
+                        c = read();
+                        if (c != '"') {
+                            quoted = false;
+                            continue;
+                        }
+                    } else if (c == '\n') {
+                        line++;
+                    }
+                    cell.append((char) c);
+                } else if (c == '"' && cell.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(cell.toString());
+                    cell.setLength(0);
+                } else if (c == '\r' || c == '\n' || c == -1) {
+                    if (c == '\r' && read() != '\n' && length > 0) {
+                        position--;
+                    }
+                    if (c != -1) {
+                        line++;
+                    }
+                    fields.add(cell.toString());
+                    return fields.toArray(new String[0]);
+                } else {
+                    cell.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        /**
+         * 마지막으로 읽은 행의 시작 줄 번호
+         */
+        long getRecordLine() {
+            return recordLine;
+        }
+
+        private int read() throws IOException {
+            if (position == length) {
+                length = in.read(buffer, 0, buffer.length);
+                position = 0;
+                if (length <= 0) {
+                    length = 0;
+                    return -1;
+                }
+            }
+            return buffer[position++];
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
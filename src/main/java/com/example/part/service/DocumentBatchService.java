@@ -0,0 +1,260 @@
+package com.example.part.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.part.dto.DocumentBatchRequestDTO;
+import com.example.part.dto.DocumentItemDTO;
+import com.example.part.dto.GeneralImageDTO;
+import com.example.part.dto.GeneratedDocumentDTO;
+import com.example.part.dto.PartIncomingDTO;
+import com.example.part.exception.ValidationException;
+import com.example.part.mapper.GeneralImageMapper;
+import com.example.part.mapper.PartIncomingMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 입고 내역 일괄 문서 생성
+ * 입고 건별 PDF 렌더링은 CPU 코어 수 크기의 전용 스레드 풀에서 병렬로 하고,
+ * 요청 스레드는 끝난 순서대로 파일 저장 · generated_document 기록 · ZIP 항목 전송을 한다.
+ * 동시에 렌더링 중인 건수를 제한하므로 입고 건수와 관계없이 메모리에 쌓이는 PDF는 일정하다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DocumentBatchService {
+
+    // 부가세율 (공급가액의 10%)
+    private static final BigDecimal VAT_RATE = new BigDecimal("0.1");
+
+    private final DocumentService documentService;
+    private final GeneralImageMapper imageMapper;
+    private final PartIncomingMapper partIncomingMapper;
+
+    @Value("${document.batch.threads:0}")
+    private int threads;
+
+    @Value("${document.batch.max-items:1000}")
+    private int maxItems;
+
+    private ExecutorService renderPool;
+    private int poolSize;
+
+    @PostConstruct
+    public void start() {
+        poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger seq = new AtomicInteger();
+        renderPool = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "doc-render-" + seq.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stop() {
+        renderPool.shutdownNow();
+    }
+
+    /**
+     * 요청 검증 (응답 전송 전에 호출해 잘못된 요청은 일반 오류 응답으로 돌려줌)
+     */
+    public GeneralImageDTO validate(DocumentBatchRequestDTO request) {
+        if (request.getTemplateId() == null) {
+            throw new ValidationException("문서 양식을 선택해주세요.");
+        }
+        if (request.getIncomingIds() == null || request.getIncomingIds().isEmpty()) {
+            throw new ValidationException("문서를 만들 입고 내역을 선택해주세요.");
+        }
+        if (request.getIncomingIds().size() > maxItems) {
+            throw new ValidationException("한 번에 생성할 수 있는 문서는 최대 " + maxItems + "건입니다.");
+        }
+
+        GeneralImageDTO template = imageMapper.selectImageById(request.getTemplateId());
+        if (template == null) {
+            throw new ValidationException("템플릿을 찾을 수 없습니다.");
+        }
+        return template;
+    }
+
+    /**
+     * 문서를 렌더링하면서 끝난 순서대로 ZIP으로 전송
+     * 실패한 입고 건은 건너뛰고 마지막에 errors.txt로 사유를 함께 담는다.
+     */
+    public void generateZip(GeneralImageDTO template, DocumentBatchRequestDTO request, Integer createdBy,
+            OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        Set<Integer> incomingIds = new LinkedHashSet<>(request.getIncomingIds());
+        List<String> errors = new ArrayList<>();
+        int written = 0;
+        long bytes = 0;
+
+        CompletionService<Rendered> completion = new ExecutorCompletionService<>(renderPool);
+        // 완료된 작업은 바로 빼서 렌더링 결과(PDF)를 붙잡고 있지 않게 함
+        Set<Future<Rendered>> pending = new HashSet<>();
+        // 렌더링 중 + 스레드당 1건 대기까지만 제출
+        int maxInFlight = poolSize * 2;
+
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        // PDF 내용은 이미 압축되어 있으므로 빠른 압축만 적용
+        zip.setLevel(Deflater.BEST_SPEED);
+
+        try {
+            Iterator<Integer> remaining = incomingIds.iterator();
+            int inFlight = 0;
+            while (remaining.hasNext() || inFlight > 0) {
+                while (inFlight < maxInFlight && remaining.hasNext()) {
+                    Integer incomingId = remaining.next();
+                    // 조회는 요청 스레드에서 해 렌더링 스레드가 DB 커넥션을 잡지 않게 함
+                    PartIncomingDTO incoming = partIncomingMapper.findById(incomingId);
+                    if (incoming == null) {
+                        errors.add(incomingId + ": 입고 내역을 찾을 수 없습니다.");
+                        continue;
+                    }
+                    pending.add(completion.submit(() -> render(template, request, incoming)));
+                    inFlight++;
+                }
+                if (inFlight == 0) {
+                    break;
+                }
+
+                Rendered rendered = take(completion, pending);
+                inFlight--;
+                if (rendered.error() != null) {
+                    errors.add(rendered.incomingId() + ": " + rendered.error());
+                    continue;
+                }
+
+                // 파일 저장과 DB 기록은 요청 스레드에서 순서대로 (커넥션 1개만 사용)
+                GeneratedDocumentDTO saved;
+                try {
+                    saved = documentService.saveDocument(rendered.data(), rendered.pdf(), createdBy);
+                } catch (RuntimeException e) {
+                    log.warn("일괄 문서 저장 실패: 입고 {} - {}", rendered.incomingId(), e.getMessage());
+                    errors.add(rendered.incomingId() + ": " + e.getMessage());
+                    continue;
+                }
+
+                zip.putNextEntry(new ZipEntry(rendered.entryName()));
+                zip.write(rendered.pdf());
+                zip.closeEntry();
+                zip.flush();
+
+                written++;
+                bytes += rendered.pdf().length;
+                log.debug("일괄 문서 전송: 입고 {} → 문서 {}", rendered.incomingId(), saved.getDocumentId());
+            }
+
+            if (!errors.isEmpty()) {
+                zip.putNextEntry(new ZipEntry("errors.txt"));
+                zip.write(String.join("\r\n", errors).getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+            zip.finish();
+            zip.flush();
+        } finally {
+            // 전송이 끊긴 경우 남은 렌더링 작업 취소
+            pending.forEach(future -> future.cancel(true));
+        }
+
+        long elapsedMs = Math.max(System.currentTimeMillis() - start, 1);
+        log.info("일괄 문서 생성 완료: 템플릿 {}, 성공 {}건 / 실패 {}건, {}KB, {}ms ({}건/초)",
+                template.getImageId(), written, errors.size(), bytes / 1024, elapsedMs,
+                String.format("%.1f", written * 1000.0 / elapsedMs));
+    }
+
+    private record Rendered(Integer incomingId, GeneratedDocumentDTO data, byte[] pdf, String entryName,
+            String error) {
+    }
+
+    private Rendered take(CompletionService<Rendered> completion, Set<Future<Rendered>> pending)
+            throws IOException {
+        try {
+            Future<Rendered> done = completion.take();
+            pending.remove(done);
+            return done.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("일괄 문서 생성이 중단되었습니다.", e);
+        } catch (ExecutionException e) {
+            // render()는 오류를 결과로 돌려주므로 여기까지 오지 않음
+            throw new IOException("문서 렌더링 실패: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    // 렌더링 스레드 - 입고 내역을 표 형식 문서로 그림 (오류는 결과로 반환)
+    private Rendered render(GeneralImageDTO template, DocumentBatchRequestDTO request, PartIncomingDTO incoming) {
+        Integer incomingId = incoming.getIncomingId();
+        try {
+            GeneratedDocumentDTO data = toDocumentData(template, request, incoming);
+            byte[] pdf = documentService.renderDocument(template, data);
+            String entryName = incomingId + "_" + safeName(incoming.getPartNumber()) + ".pdf";
+            return new Rendered(incomingId, data, pdf, entryName, null);
+        } catch (RuntimeException e) {
+            log.warn("일괄 문서 렌더링 실패: 입고 {} - {}", incomingId, e.getMessage());
+            return new Rendered(incomingId, null, null, null, e.getMessage());
+        }
+    }
+
+    private GeneratedDocumentDTO toDocumentData(GeneralImageDTO template, DocumentBatchRequestDTO request,
+            PartIncomingDTO incoming) {
+        DocumentItemDTO item = new DocumentItemDTO();
+        item.setItemName(incoming.getPartName());
+        item.setSpec(incoming.getPartNumber());
+        item.setQuantity(incoming.getIncomingQuantity());
+        item.setNotes(incoming.getNote());
+
+        // 구매금액(purchase_price)은 입고 건 전체의 원화 금액 → 공급가액 = 구매금액, 단가 = 구매금액 ÷ 수량, 세액 = 공급가액의 10%
+        if (incoming.getPurchasePrice() != null) {
+            BigDecimal supplyPrice = incoming.getPurchasePrice();
+            Integer quantity = incoming.getIncomingQuantity();
+            // 수량이 없으면 단가를 나눌 수 없으므로 비워 둠
+            if (quantity != null && quantity > 0) {
+                item.setUnitPrice(supplyPrice.divide(BigDecimal.valueOf(quantity), 2, RoundingMode.HALF_UP).doubleValue());
+            }
+            item.setSupplyPrice(supplyPrice.doubleValue());
+            item.setTax(supplyPrice.multiply(VAT_RATE).doubleValue());
+        }
+
+        GeneratedDocumentDTO data = new GeneratedDocumentDTO();
+        data.setTemplateId(template.getImageId());
+        data.setIncomingId(incoming.getIncomingId());
+        String title = request.getTitle() != null && !request.getTitle().isBlank() ? request.getTitle().trim() : "납품서";
+        data.setTitle(title + " - " + incoming.getPartNumber());
+        data.setItems(List.of(item));
+        data.setTableX(request.getTableX());
+        data.setTableY(request.getTableY());
+        return data;
+    }
+
+    // ZIP 항목 이름에 쓸 수 없는 문자 치환
+    private static String safeName(String value) {
+        return value == null ? "" : value.replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_");
+    }
+}
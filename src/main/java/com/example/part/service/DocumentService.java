@@ -5,12 +5,19 @@ import java.util.List;
 import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.example.part.dto.GeneralImageDTO;
 import com.example.part.dto.GeneratedDocumentDTO;
 
 public interface DocumentService {
 
     GeneratedDocumentDTO generateDocument(GeneratedDocumentDTO documentData, Integer createdBy);
 
+    // 템플릿에 문서 데이터를 그린 PDF (저장하지 않음, 여러 스레드에서 동시 호출 가능)
+    byte[] renderDocument(GeneralImageDTO template, GeneratedDocumentDTO documentData);
+
+    // 렌더링된 PDF를 문서 폴더에 저장하고 generated_document에 기록
+    GeneratedDocumentDTO saveDocument(GeneratedDocumentDTO documentData, byte[] pdf, Integer createdBy);
+
     GeneratedDocumentDTO generateCanvasDocument(Long templateId, String title, Integer incomingId,
                                                  MultipartFile image, Integer createdBy);
 
@@ -1,18 +1,26 @@
 package com.example.part.service;
 
 import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
-import java.util.UUID;
 
+import javax.imageio.ImageIO;
+
+import org.apache.pdfbox.io.MemoryUsageSetting;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDPage;
 import org.apache.pdfbox.pdmodel.PDPageContentStream;
 import org.apache.pdfbox.pdmodel.common.PDRectangle;
 import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.graphics.image.JPEGFactory;
+import org.apache.pdfbox.pdmodel.graphics.image.LosslessFactory;
 import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
@@ -29,13 +37,17 @@ import com.example.part.mapper.GeneratedDocumentMapper;
 
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class DocumentServiceImpl implements DocumentService {
 
     private final GeneratedDocumentMapper documentMapper;
     private final GeneralImageMapper imageMapper;
+    private final DocumentTemplateCache templateCache;
+    private final ContentStore contentStore;
 
     @Value("${file.upload-dir:/var/livewalk/uploads/images}")
     private String templateDir;
@@ -43,6 +55,12 @@ public class DocumentServiceImpl implements DocumentService {
     @Value("${file.document-dir:/var/livewalk/uploads/documents}")
     private String documentDir;
 
+    @Value("${document.canvas.compression:flate}")
+    private String canvasCompression;
+
+    @Value("${document.canvas.jpeg-quality:0.85}")
+    private float canvasJpegQuality;
+
     @PostConstruct
     public void init() {
         try {
@@ -53,68 +71,40 @@ public class DocumentServiceImpl implements DocumentService {
         } catch (IOException e) {
             throw new RuntimeException("문서 디렉토리 생성 실패: " + documentDir, e);
         }
+
+        if (!"flate".equals(canvasCompression) && !"jpeg".equals(canvasCompression)) {
+            throw new IllegalStateException("document.canvas.compression은 flate 또는 jpeg만 가능합니다: " + canvasCompression);
+        }
     }
 
     @Override
     @Transactional
     public GeneratedDocumentDTO generateDocument(GeneratedDocumentDTO documentData, Integer createdBy) {
-        try {
-            // 템플릿 정보 조회
-            GeneralImageDTO template = imageMapper.selectImageById(documentData.getTemplateId());
-            if (template == null) {
-                throw new RuntimeException("템플릿을 찾을 수 없습니다.");
-            }
-
-            // PDF 파일명 생성
-            String pdfFileName = UUID.randomUUID().toString() + ".pdf";
-            Path pdfPath = Paths.get(documentDir, pdfFileName);
-            Path templatePath = Paths.get(template.getFilePath());
-
-            boolean isPdfTemplate = "pdf".equals(template.getFileType());
-
-            // PDF 생성
-            PDDocument document;
-            if (isPdfTemplate) {
-                // PDF 템플릿 로드
-                document = PDDocument.load(templatePath.toFile());
-            } else {
-                // 이미지 템플릿: 새 PDF 생성
-                document = new PDDocument();
-                PDPage page = new PDPage(PDRectangle.A4);
-                document.addPage(page);
-
-                // 템플릿 이미지 로드 및 배치
-                PDImageXObject templateImage = PDImageXObject.createFromFile(templatePath.toString(), document);
-
-                try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-                    // 템플릿 이미지 그리기 (페이지 크기에 맞춤)
-                    float pageWidth = page.getMediaBox().getWidth();
-                    float pageHeight = page.getMediaBox().getHeight();
+        // 템플릿 정보 조회
+        GeneralImageDTO template = imageMapper.selectImageById(documentData.getTemplateId());
+        if (template == null) {
+            throw new RuntimeException("템플릿을 찾을 수 없습니다.");
+        }
 
-                    // 이미지 비율 유지하면서 페이지에 맞춤
-                    float imageWidth = templateImage.getWidth();
-                    float imageHeight = templateImage.getHeight();
-                    float scale = Math.min(pageWidth / imageWidth, pageHeight / imageHeight);
+        return saveDocument(documentData, renderDocument(template, documentData), createdBy);
+    }
 
-                    float scaledWidth = imageWidth * scale;
-                    float scaledHeight = imageHeight * scale;
-                    float x = (pageWidth - scaledWidth) / 2;
-                    float y = (pageHeight - scaledHeight) / 2;
+    @Override
+    public byte[] renderDocument(GeneralImageDTO template, GeneratedDocumentDTO documentData) {
+        long start = System.currentTimeMillis();
 
-                    contentStream.drawImage(templateImage, x, y, scaledWidth, scaledHeight);
-                }
-            }
+        // 캐시된 템플릿 페이지를 복제한 새 문서 (PDF 파싱 / 이미지 디코딩은 템플릿별 최초 1회만)
+        try (PDDocument document = templateCache.newDocument(template)) {
 
-            // 한글 폰트 로드 (시스템 폰트 사용)
-            PDType0Font font = loadKoreanFont(document);
+            // 한글 폰트 (파싱된 폰트 재사용, 사용한 글자만 서브셋으로 포함)
+            PDType0Font font = templateCache.loadKoreanFont(document);
 
             // 첫 페이지에 데이터 추가
             PDPage page = document.getPage(0);
 
-            // PDF 템플릿인 경우 append 모드로, 이미지 템플릿인 경우 일반 모드로
+            // 템플릿 내용 위에 덧붙여 그림 (템플릿이 남긴 그래픽 상태는 초기화)
             try (PDPageContentStream contentStream = new PDPageContentStream(document, page,
-                    isPdfTemplate ? PDPageContentStream.AppendMode.APPEND : PDPageContentStream.AppendMode.OVERWRITE,
-                    true)) {
+                    PDPageContentStream.AppendMode.APPEND, true, true)) {
 
                 float pageWidth = page.getMediaBox().getWidth();
                 float pageHeight = page.getMediaBox().getHeight();
@@ -283,44 +273,38 @@ public class DocumentServiceImpl implements DocumentService {
                 }
             }
 
-            // PDF 저장
-            document.save(pdfPath.toFile());
-            document.close();
-
-            // DTO 업데이트
-            documentData.setFileName(pdfFileName);
-            documentData.setFilePath(pdfPath.toString());
-            documentData.setFileSize(Files.size(pdfPath));
-            documentData.setCreatedBy(createdBy);
-
-            // DB 저장
-            documentMapper.insertDocument(documentData);
-
-            return documentData;
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            document.save(out);
+            log.debug("문서 렌더링: 템플릿 {} ({}ms, {}bytes)", template.getImageId(),
+                    System.currentTimeMillis() - start, out.size());
+            return out.toByteArray();
 
         } catch (IOException e) {
             throw new RuntimeException("PDF 생성 실패: " + e.getMessage(), e);
         }
     }
 
-    private PDType0Font loadKoreanFont(PDDocument document) throws IOException {
-        // Windows 기준 한글 폰트 로드
-        String[] fontPaths = {
-                "C:\\Windows\\Fonts\\malgun.ttf", // 맑은 고딕
-                "C:\\Windows\\Fonts\\gulim.ttc", // 굴림
-                "C:\\Windows\\Fonts\\batang.ttc", // 바탕
-                "/usr/share/fonts/truetype/nanum/NanumGothic.ttf", // Linux
-                "/System/Library/Fonts/AppleSDGothicNeo.ttc" // macOS
-        };
-
-        for (String fontPath : fontPaths) {
-            Path path = Paths.get(fontPath);
-            if (Files.exists(path)) {
-                return PDType0Font.load(document, path.toFile());
-            }
+    @Override
+    @Transactional
+    public GeneratedDocumentDTO saveDocument(GeneratedDocumentDTO documentData, byte[] pdf, Integer createdBy) {
+        // PDF 저장 (같은 내용의 문서가 이미 있으면 기존 파일 공유, 파일명은 저장소 키)
+        ContentStore.StoredFile stored;
+        try {
+            stored = contentStore.put(pdf, ".pdf");
+        } catch (IOException e) {
+            throw new RuntimeException("PDF 저장 실패: " + e.getMessage(), e);
         }
 
-        throw new RuntimeException("한글 폰트를 찾을 수 없습니다. 시스템에 한글 폰트가 설치되어 있는지 확인하세요.");
+        // DTO 업데이트
+        documentData.setFileName(stored.key());
+        documentData.setFilePath(stored.path().toString());
+        documentData.setFileSize((long) pdf.length);
+        documentData.setCreatedBy(createdBy);
+
+        // DB 저장
+        documentMapper.insertDocument(documentData);
+
+        return documentData;
     }
 
     @Override
@@ -338,23 +322,26 @@ public class DocumentServiceImpl implements DocumentService {
     public void deleteDocument(Long documentId) {
         GeneratedDocumentDTO document = documentMapper.selectDocumentById(documentId);
         if (document != null) {
-            // 실제 파일 삭제
-            try {
-                Path filePath = Paths.get(document.getFilePath());
-                Files.deleteIfExists(filePath);
-            } catch (IOException e) {
-                System.err.println("파일 삭제 실패: " + e.getMessage());
+            // 실제 파일 삭제 (저장소 파일은 DB 삭제 후 참조 해제)
+            if (!contentStore.isKey(document.getFileName())) {
+                try {
+                    Path filePath = Paths.get(document.getFilePath());
+                    Files.deleteIfExists(filePath);
+                } catch (IOException e) {
+                    log.warn("문서 파일 삭제 실패: {} - {}", document.getFilePath(), e.getMessage());
+                }
             }
 
             // DB에서 삭제
             documentMapper.deleteDocument(documentId);
+            contentStore.release(document.getFileName());
         }
     }
 
     @Override
     public Resource loadDocumentAsResource(String fileName) {
         try {
-            Path filePath = Paths.get(documentDir, fileName);
+            Path filePath = contentStore.locate(documentDir, fileName);
             Resource resource = new UrlResource(filePath.toUri());
 
             if (resource.exists() && resource.isReadable()) {
@@ -373,23 +360,17 @@ public class DocumentServiceImpl implements DocumentService {
             org.springframework.web.multipart.MultipartFile image,
             Integer createdBy) {
         try {
-            // 파일명 생성
-            String timestamp = java.time.LocalDateTime.now()
-                    .format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            String fileName = "canvas_" + timestamp + ".png";
-            java.nio.file.Path imagePath = java.nio.file.Paths.get(documentDir, fileName);
-
-            // 이미지 저장
-            java.nio.file.Files.copy(image.getInputStream(), imagePath);
+            // 이미지 저장 (파일명은 저장소 키)
+            ContentStore.StoredFile stored = contentStore.put(image.getInputStream(), ".png");
 
             // DTO 생성
             GeneratedDocumentDTO documentData = new GeneratedDocumentDTO();
             documentData.setTemplateId(templateId);
             documentData.setIncomingId(incomingId);
             documentData.setTitle(title);
-            documentData.setFileName(fileName);
-            documentData.setFilePath(imagePath.toString());
-            documentData.setFileSize(java.nio.file.Files.size(imagePath));
+            documentData.setFileName(stored.key());
+            documentData.setFilePath(stored.path().toString());
+            documentData.setFileSize(stored.size());
             documentData.setCreatedBy(createdBy);
 
             // DB 저장
@@ -407,71 +388,77 @@ public class DocumentServiceImpl implements DocumentService {
             org.springframework.web.multipart.MultipartFile image,
             Integer createdBy) {
         try {
-            // PDF 파일명 생성
-            String timestamp = java.time.LocalDateTime.now()
-                    .format(java.time.format.DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss"));
-            String pdfFileName = "canvas_" + timestamp + ".pdf";
-            java.nio.file.Path pdfPath = java.nio.file.Paths.get(documentDir, pdfFileName);
-
-            // Canvas 이미지를 임시 저장
-            String tempImageName = "temp_" + timestamp + ".png";
-            java.nio.file.Path tempImagePath = java.nio.file.Paths.get(documentDir, tempImageName);
-            java.nio.file.Files.copy(image.getInputStream(), tempImagePath,
-                    java.nio.file.StandardCopyOption.REPLACE_EXISTING);
+            // 업로드 스트림에서 바로 디코딩 (중간 PNG 파일 없음)
+            BufferedImage canvas;
+            try (InputStream in = image.getInputStream()) {
+                canvas = ImageIO.read(in);
+            }
+            if (canvas == null) {
+                throw new RuntimeException("이미지 형식을 읽을 수 없습니다.");
+            }
 
             // PDF 문서 생성 (A4 크기)
-            PDDocument document = new PDDocument();
-            PDPage page = new PDPage(PDRectangle.A4);
-            document.addPage(page);
-
-            // 이미지를 PDF에 삽입
-            PDImageXObject canvasImage = PDImageXObject.createFromFile(tempImagePath.toString(), document);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (PDDocument document = new PDDocument(MemoryUsageSetting.setupMainMemoryOnly())) {
+                PDPage page = new PDPage(PDRectangle.A4);
+                document.addPage(page);
 
-            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
-                float pageHeight = page.getMediaBox().getHeight();
+                // 이미지를 PDF에 삽입
+                PDImageXObject canvasImage = createCanvasImage(document, canvas);
 
-                // Canvas 이미지 원본 크기 (픽셀)
-                float imageWidth = canvasImage.getWidth();
-                float imageHeight = canvasImage.getHeight();
+                try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                    float pageHeight = page.getMediaBox().getHeight();
 
-                // 이미지를 원본 크기 그대로 PDF에 삽입
-                // 픽셀 크기를 포인트로 직접 사용 (1픽셀 = 1포인트)
-                float pdfWidth = imageWidth;
-                float pdfHeight = imageHeight;
+                    // Canvas 이미지 원본 크기 (픽셀)
+                    float imageWidth = canvasImage.getWidth();
+                    float imageHeight = canvasImage.getHeight();
 
-                // 좌상단 기준 (0, 0)부터 시작
-                // PDF 좌표계는 좌하단이 원점이므로 y 좌표 조정
-                float x = 0;
-                float y = pageHeight - pdfHeight;
+                    // 이미지를 원본 크기 그대로 PDF에 삽입
+                    // 픽셀 크기를 포인트로 직접 사용 (1픽셀 = 1포인트)
+                    float pdfWidth = imageWidth;
+                    float pdfHeight = imageHeight;
 
-                // 이미지 그리기 (원본 크기 그대로)
-                contentStream.drawImage(canvasImage, x, y, pdfWidth, pdfHeight);
-            }
+                    // 좌상단 기준 (0, 0)부터 시작
+                    // PDF 좌표계는 좌하단이 원점이므로 y 좌표 조정
+                    float x = 0;
+                    float y = pageHeight - pdfHeight;
 
-            // PDF 저장
-            document.save(pdfPath.toFile());
-            document.close();
+                    // 이미지 그리기 (원본 크기 그대로)
+                    contentStream.drawImage(canvasImage, x, y, pdfWidth, pdfHeight);
+                }
 
-            // 임시 이미지 삭제
-            java.nio.file.Files.deleteIfExists(tempImagePath);
+                document.save(out);
+            }
 
             // DTO 생성
             GeneratedDocumentDTO documentData = new GeneratedDocumentDTO();
             documentData.setTemplateId(templateId);
             documentData.setIncomingId(incomingId);
             documentData.setTitle(title);
-            documentData.setFileName(pdfFileName);
-            documentData.setFilePath(pdfPath.toString());
-            documentData.setFileSize(java.nio.file.Files.size(pdfPath));
-            documentData.setCreatedBy(createdBy);
 
-            // DB 저장
-            documentMapper.insertDocument(documentData);
-
-            return documentData;
+            // 최종 PDF 한 번만 디스크에 기록 후 DB 저장
+            return saveDocument(documentData, out.toByteArray(), createdBy);
 
         } catch (Exception e) {
             throw new RuntimeException("Canvas PDF 생성 실패: " + e.getMessage(), e);
         }
     }
+
+    // 캔버스 이미지 압축 방식 (flate: 무손실, jpeg: 손실 압축으로 용량 축소)
+    private PDImageXObject createCanvasImage(PDDocument document, BufferedImage canvas) throws IOException {
+        if ("jpeg".equals(canvasCompression)) {
+            // JPEG은 투명도를 지원하지 않으므로 흰 배경에 합성
+            BufferedImage rgb = new BufferedImage(canvas.getWidth(), canvas.getHeight(), BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = rgb.createGraphics();
+            try {
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, rgb.getWidth(), rgb.getHeight());
+                graphics.drawImage(canvas, 0, 0, null);
+            } finally {
+                graphics.dispose();
+            }
+            return JPEGFactory.createFromImage(document, rgb, canvasJpegQuality);
+        }
+        return LosslessFactory.createFromImage(document, canvas);
+    }
 }
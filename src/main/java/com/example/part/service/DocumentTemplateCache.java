@@ -0,0 +1,328 @@
+package com.example.part.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.fontbox.ttf.TTFParser;
+import org.apache.fontbox.ttf.TrueTypeCollection;
+import org.apache.fontbox.ttf.TrueTypeFont;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.io.MemoryUsageSetting;
+import org.apache.pdfbox.multipdf.PDFCloneUtility;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObject;
+import org.apache.pdfbox.pdmodel.interactive.annotation.PDAnnotation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.example.part.dto.GeneralImageDTO;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 문서 템플릿 / 한글 폰트 캐시
+ * 템플릿은 처음 사용할 때 한 번만 읽어(PDF 파싱, 이미지 디코딩·A4 배치) 원본 문서로 보관하고,
+ * 문서 생성 시에는 원본 페이지를 새 문서로 복제만 한다. 템플릿 ID와 파일 수정 시각이 키이므로 파일이 바뀌면 다시 읽는다.
+ * 한글 폰트도 한 번만 파싱해 두고 문서마다 사용한 글자만 서브셋으로 포함한다.
+ */
+@Slf4j
+@Component
+public class DocumentTemplateCache {
+
+    // Windows / Linux / macOS 기준 한글 폰트 탐색 순서
+    private static final List<String> FONT_PATHS = List.of(
+            "C:\\Windows\\Fonts\\malgun.ttf", // 맑은 고딕
+            "C:\\Windows\\Fonts\\gulim.ttc", // 굴림
+            "C:\\Windows\\Fonts\\batang.ttc", // 바탕
+            "/usr/share/fonts/truetype/nanum/NanumGothic.ttf", // Linux
+            "/System/Library/Fonts/AppleSDGothicNeo.ttc" // macOS
+    );
+
+    @Value("${document.font-path:}")
+    private String fontPath;
+
+    @Value("${document.template-cache.max-entries:32}")
+    private int maxEntries;
+
+    private final Map<Long, CachedTemplate> templates = new ConcurrentHashMap<>();
+    private volatile CachedFont font;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong fontLoadCount = new AtomicLong();
+    private volatile long lastLoadMs = -1;
+
+    /**
+     * 파싱된 템플릿 원본 (복제 전용, 직접 수정하지 않음)
+     * 복제와 닫기는 이 객체로 잠그므로 복제 중인 원본은 복제가 끝난 뒤에 닫힌다.
+     */
+    private static final class CachedTemplate {
+        private final Path path;
+        private final long modified;
+        private final PDDocument source;
+        private volatile long lastUsed = System.nanoTime();
+        private boolean closed;
+
+        private CachedTemplate(Path path, long modified, PDDocument source) {
+            this.path = path;
+            this.modified = modified;
+            this.source = source;
+        }
+
+        private synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                source.close();
+            } catch (IOException e) {
+                log.warn("문서 템플릿 원본 닫기 실패: {} - {}", path, e.getMessage());
+            }
+        }
+    }
+
+    private record CachedFont(Path path, long modified, TrueTypeFont ttf) {
+    }
+
+    /**
+     * 템플릿 페이지를 복제한 새 문서 (호출한 쪽에서 닫아야 함)
+     */
+    public PDDocument newDocument(GeneralImageDTO template) throws IOException {
+        PDDocument document = new PDDocument(MemoryUsageSetting.setupMainMemoryOnly());
+        try {
+            while (true) {
+                CachedTemplate cached = getTemplate(template);
+                boolean copied;
+                try {
+                    copied = copyPages(cached, document);
+                } finally {
+                    // ID가 없는 템플릿은 캐시에 넣지 않으므로 바로 닫음
+                    if (template.getImageId() == null) {
+                        cached.close();
+                    }
+                }
+                // 복제 직전에 캐시에서 밀려나 닫힌 원본이면 다시 읽어 옴
+                if (copied) {
+                    return document;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            document.close();
+            throw e;
+        }
+    }
+
+    /**
+     * 한글 폰트 (서브셋 포함) - 파싱된 폰트는 공유하고 문서마다 사용한 글자만 포함
+     */
+    public PDType0Font loadKoreanFont(PDDocument document) throws IOException {
+        return PDType0Font.load(document, getFont().ttf(), true);
+    }
+
+    /**
+     * 종료 시 캐시된 원본 닫기
+     */
+    @PreDestroy
+    public void clear() {
+        templates.values().forEach(CachedTemplate::close);
+        templates.clear();
+    }
+
+    /**
+     * 캐시 지표
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("templates", templates.size());
+        stats.put("maxEntries", maxEntries);
+        stats.put("hits", hitCount.get());
+        stats.put("misses", missCount.get());
+        stats.put("lastLoadMs", lastLoadMs);
+        CachedFont current = font;
+        stats.put("font", current != null ? current.path().toString() : null);
+        stats.put("fontLoads", fontLoadCount.get());
+        return stats;
+    }
+
+    private CachedTemplate getTemplate(GeneralImageDTO template) throws IOException {
+        Long templateId = template.getImageId();
+        Path path = Paths.get(template.getFilePath());
+        long modified = Files.getLastModifiedTime(path).toMillis();
+
+        CachedTemplate cached = templateId != null ? templates.get(templateId) : null;
+        if (cached != null && cached.modified == modified && cached.path.equals(path)) {
+            hitCount.incrementAndGet();
+            return cached;
+        }
+
+        missCount.incrementAndGet();
+        long start = System.currentTimeMillis();
+        // 파일 핸들을 잡아 두지 않도록 메모리로 읽어서 파싱
+        PDDocument source = "pdf".equals(template.getFileType())
+                ? PDDocument.load(Files.readAllBytes(path))
+                : renderImageTemplate(path);
+        CachedTemplate loaded = new CachedTemplate(path, modified, source);
+        lastLoadMs = System.currentTimeMillis() - start;
+        log.info("문서 템플릿 캐시 적재: ID {} ({}ms)", templateId, lastLoadMs);
+
+        if (templateId != null) {
+            // 교체된 원본은 복제 중인 요청이 끝난 뒤 닫힘
+            CachedTemplate previous = templates.put(templateId, loaded);
+            if (previous != null) {
+                previous.close();
+            }
+            evictIfFull();
+        }
+        return loaded;
+    }
+
+    // 원본 페이지를 새 문서로 복제 (원본이 이미 닫혔으면 false)
+    private boolean copyPages(CachedTemplate cached, PDDocument document) throws IOException {
+        // 원본은 객체를 지연 로딩하므로 동시에 복제하지 않도록 잠금
+        synchronized (cached) {
+            if (cached.closed) {
+                return false;
+            }
+            PDFCloneUtility cloner = new PDFCloneUtility(document);
+            for (PDPage sourcePage : cached.source.getPages()) {
+                document.addPage(clonePage(cloner, sourcePage));
+            }
+        }
+        cached.lastUsed = System.nanoTime();
+        return true;
+    }
+
+    // 이미지 템플릿: A4 한 장에 비율을 유지해 가운데 배치한 원본 문서
+    private PDDocument renderImageTemplate(Path path) throws IOException {
+        PDDocument document = new PDDocument(MemoryUsageSetting.setupMainMemoryOnly());
+        try {
+            PDPage page = new PDPage(PDRectangle.A4);
+            document.addPage(page);
+
+            PDImageXObject templateImage = PDImageXObject.createFromByteArray(document, Files.readAllBytes(path),
+                    path.getFileName().toString());
+
+            try (PDPageContentStream contentStream = new PDPageContentStream(document, page)) {
+                float pageWidth = page.getMediaBox().getWidth();
+                float pageHeight = page.getMediaBox().getHeight();
+
+                // 이미지 비율 유지하면서 페이지에 맞춤
+                float imageWidth = templateImage.getWidth();
+                float imageHeight = templateImage.getHeight();
+                float scale = Math.min(pageWidth / imageWidth, pageHeight / imageHeight);
+
+                float scaledWidth = imageWidth * scale;
+                float scaledHeight = imageHeight * scale;
+                float x = (pageWidth - scaledWidth) / 2;
+                float y = (pageHeight - scaledHeight) / 2;
+
+                contentStream.drawImage(templateImage, x, y, scaledWidth, scaledHeight);
+            }
+            return document;
+        } catch (IOException | RuntimeException e) {
+            document.close();
+            throw e;
+        }
+    }
+
+    // 페이지 트리(Parent)는 복제하지 않고, 상속 속성은 페이지에 직접 넣어 복제
+    private PDPage clonePage(PDFCloneUtility cloner, PDPage sourcePage) throws IOException {
+        COSDictionary pageDict = new COSDictionary(sourcePage.getCOSObject());
+        pageDict.removeItem(COSName.PARENT);
+        pageDict.setItem(COSName.RESOURCES, sourcePage.getResources());
+        pageDict.setItem(COSName.MEDIA_BOX, sourcePage.getMediaBox());
+        pageDict.setItem(COSName.CROP_BOX, sourcePage.getCropBox());
+        pageDict.setInt(COSName.ROTATE, sourcePage.getRotation());
+
+        PDPage page = new PDPage((COSDictionary) cloner.cloneForNewDocument(pageDict));
+        // 주석의 페이지 참조(/P)가 원본 페이지를 가리키면 원본 페이지 트리까지 저장되므로 새 페이지로 교체
+        for (PDAnnotation annotation : page.getAnnotations()) {
+            annotation.setPage(page);
+        }
+        return page;
+    }
+
+    private void evictIfFull() {
+        while (templates.size() > Math.max(maxEntries, 1)) {
+            templates.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().lastUsed))
+                    .ifPresent(eldest -> {
+                        if (templates.remove(eldest.getKey(), eldest.getValue())) {
+                            eldest.getValue().close();
+                        }
+                    });
+        }
+    }
+
+    private CachedFont getFont() throws IOException {
+        CachedFont current = font;
+        Path path = current != null ? current.path() : findFontPath();
+        long modified = Files.getLastModifiedTime(path).toMillis();
+        if (current != null && current.modified() == modified) {
+            return current;
+        }
+
+        synchronized (this) {
+            current = font;
+            if (current != null && current.path().equals(path) && current.modified() == modified) {
+                return current;
+            }
+
+            long start = System.currentTimeMillis();
+            CachedFont loaded = new CachedFont(path, modified, parseFont(path));
+            font = loaded;
+            fontLoadCount.incrementAndGet();
+            log.info("한글 폰트 캐시 적재: {} ({}ms)", path, System.currentTimeMillis() - start);
+            return loaded;
+        }
+    }
+
+    private Path findFontPath() {
+        if (fontPath != null && !fontPath.isBlank()) {
+            return Paths.get(fontPath);
+        }
+        for (String candidate : FONT_PATHS) {
+            Path path = Paths.get(candidate);
+            if (Files.exists(path)) {
+                return path;
+            }
+        }
+        throw new RuntimeException("한글 폰트를 찾을 수 없습니다. 시스템에 한글 폰트가 설치되어 있는지 확인하세요.");
+    }
+
+    // TTC(글꼴 모음)는 첫 번째 글꼴 사용
+    private TrueTypeFont parseFont(Path path) throws IOException {
+        byte[] data = Files.readAllBytes(path);
+        if (!path.getFileName().toString().toLowerCase().endsWith(".ttc")) {
+            return new TTFParser().parse(new ByteArrayInputStream(data));
+        }
+
+        TrueTypeCollection collection = new TrueTypeCollection(new ByteArrayInputStream(data));
+        TrueTypeFont[] first = new TrueTypeFont[1];
+        collection.processAllFonts(ttf -> {
+            if (first[0] == null) {
+                first[0] = ttf;
+            }
+        });
+        if (first[0] == null) {
+            throw new IOException("글꼴 모음에 글꼴이 없습니다: " + path);
+        }
+        return first[0];
+    }
+}
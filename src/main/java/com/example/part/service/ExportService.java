@@ -0,0 +1,280 @@
+package com.example.part.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.part.dto.PartIncomingDTO;
+import com.example.part.dto.PartUsageDTO;
+import com.example.part.exception.ValidationException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 목록 내보내기 (CSV / XLSX)
+ * 검색 조건으로 DB를 행 단위 스트리밍 조회하면서 선택한 컬럼만 바로 응답에 쓰므로
+ * 목록 크기와 관계없이 서버/브라우저 메모리를 쌓아 두지 않는다.
+ */
+@Slf4j
+@Service
+public class ExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final DateTimeFormatter DATETIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /**
+     * 내보내기 형식
+     */
+    public enum Format {
+        CSV("csv", "text/csv; charset=UTF-8"),
+        XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+        private final String extension;
+        private final String contentType;
+
+        Format(String extension, String contentType) {
+            this.extension = extension;
+            this.contentType = contentType;
+        }
+
+        public static Format of(String value) {
+            if (value == null || value.isBlank()) {
+                return CSV;
+            }
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value.trim())) {
+                    return format;
+                }
+            }
+            throw new ValidationException("지원하지 않는 내보내기 형식입니다: " + value);
+        }
+    }
+
+    /**
+     * 내보내기 컬럼 (화면 머리글 이름 + 행에서 값을 꺼내는 함수)
+     */
+    public record Column<T>(String label, Function<T, Object> value) {
+    }
+
+    /**
+     * 내보내기 결과 (응답 헤더는 컨트롤러에서 구성)
+     *
+     * @param fileName    다운로드 파일명 (확장자 포함)
+     * @param contentType 응답 Content-Type
+     * @param body        응답 본문 스트리밍
+     */
+    public record Export(String fileName, String contentType, StreamingResponseBody body) {
+    }
+
+    public static final List<Column<PartIncomingDTO>> INCOMING_COLUMNS = List.of(
+            new Column<>("입고ID", PartIncomingDTO::getIncomingId),
+            new Column<>("카테고리", PartIncomingDTO::getCategoryName),
+            new Column<>("부품번호", PartIncomingDTO::getPartNumber),
+            new Column<>("부품명", PartIncomingDTO::getPartName),
+            new Column<>("설명", PartIncomingDTO::getDescription),
+            new Column<>("프로젝트명", PartIncomingDTO::getProjectName),
+            new Column<>("입고수량", PartIncomingDTO::getIncomingQuantity),
+            new Column<>("단위", PartIncomingDTO::getUnit),
+            new Column<>("결제수단", PartIncomingDTO::getPaymentMethodName),
+            new Column<>("통화", PartIncomingDTO::getCurrency),
+            new Column<>("외화단가", PartIncomingDTO::getOriginalPrice),
+            new Column<>("환율", PartIncomingDTO::getExchangeRate),
+            new Column<>("구매금액", PartIncomingDTO::getPurchasePrice),
+            new Column<>("공급업체", PartIncomingDTO::getSupplier),
+            new Column<>("입고일", PartIncomingDTO::getPurchaseDatetime),
+            new Column<>("등록일시", PartIncomingDTO::getCreatedAt),
+            new Column<>("비고", PartIncomingDTO::getNote));
+
+    public static final List<Column<PartUsageDTO>> USAGE_COLUMNS = List.of(
+            new Column<>("출고ID", PartUsageDTO::getUsageId),
+            new Column<>("카테고리", PartUsageDTO::getCategoryName),
+            new Column<>("부품번호", PartUsageDTO::getPartNumber),
+            new Column<>("부품명", PartUsageDTO::getPartName),
+            new Column<>("출고수량", PartUsageDTO::getQuantityUsed),
+            new Column<>("단위", PartUsageDTO::getUnit),
+            new Column<>("사용처", PartUsageDTO::getUsageLocation),
+            new Column<>("출고일", PartUsageDTO::getUsedDatetime),
+            new Column<>("비고", PartUsageDTO::getNote));
+
+    public static final List<Column<Map<String, Object>>> INVENTORY_COLUMNS = List.of(
+            new Column<>("카테고리", row -> row.get("category_name")),
+            new Column<>("부품번호", row -> row.get("part_number")),
+            new Column<>("부품명", row -> row.get("part_name")),
+            new Column<>("단위", row -> row.get("unit")),
+            new Column<>("총입고", row -> row.get("total_incoming")),
+            new Column<>("총출고", row -> row.get("total_used")),
+            new Column<>("현재고", row -> row.get("current_stock")),
+            new Column<>("입고횟수", row -> row.get("incoming_count")));
+
+    public static final List<Column<Map<String, Object>>> LOW_STOCK_COLUMNS = List.of(
+            new Column<>("카테고리", row -> row.get("category_name")),
+            new Column<>("부품번호", row -> row.get("part_number")),
+            new Column<>("부품명", row -> row.get("part_name")),
+            new Column<>("단위", row -> row.get("unit")),
+            new Column<>("현재고", row -> row.get("current_stock")),
+            new Column<>("적정재고", row -> row.get("reorder_point")));
+
+    /**
+     * 내보내기 준비 (컬럼/형식/파일명 확정, 본문은 응답을 쓸 때 조회)
+     *
+     * @param baseName 기본 파일명 / 시트 이름 (예: 입고목록)
+     * @param fileName 사용자가 입력한 파일명 (없으면 baseName_오늘날짜)
+     * @param format   csv | xlsx (없으면 csv)
+     * @param selected 선택한 컬럼 머리글 (없으면 전체, 선택 순서대로 출력)
+     * @param all      내보낼 수 있는 전체 컬럼
+     * @param source   행을 하나씩 넘겨주는 스트리밍 조회
+     */
+    public <T> Export export(String baseName, String fileName, String format,
+            List<String> selected, List<Column<T>> all, Consumer<Consumer<T>> source) {
+
+        Format exportFormat = Format.of(format);
+        List<Column<T>> columns = selectColumns(selected, all);
+        String downloadName = resolveFileName(fileName, baseName, exportFormat);
+
+        StreamingResponseBody body = out -> {
+            long start = System.currentTimeMillis();
+            int rows = exportFormat == Format.XLSX
+                    ? writeXlsx(out, baseName, columns, source)
+                    : writeCsv(out, columns, source);
+            log.info("{} 내보내기 완료: {} ({}행, {}ms)", baseName, downloadName, rows,
+                    System.currentTimeMillis() - start);
+        };
+
+        return new Export(downloadName, exportFormat.contentType, body);
+    }
+
+    private <T> int writeCsv(OutputStream out, List<Column<T>> columns, Consumer<Consumer<T>> source)
+            throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        int[] rows = { 0 };
+
+        // 엑셀에서 한글이 깨지지 않도록 BOM 추가
+        writer.write('\ufeff');
+        writer.write(String.join(",", columns.stream().map(column -> escapeCsv(column.label())).toList()));
+        writer.write("\r\n");
+
+        try {
+            source.accept(row -> {
+                try {
+                    for (int i = 0; i < columns.size(); i++) {
+                        if (i > 0) {
+                            writer.write(',');
+                        }
+                        writer.write(escapeCsv(formatValue(columns.get(i).value().apply(row))));
+                    }
+                    writer.write("\r\n");
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        writer.flush();
+        return rows[0];
+    }
+
+    private <T> int writeXlsx(OutputStream out, String sheetName, List<Column<T>> columns,
+            Consumer<Consumer<T>> source) throws IOException {
+        XlsxStreamWriter xlsx = new XlsxStreamWriter(out, sheetName);
+        xlsx.writeHeader(columns.stream().map(Column::label).toList());
+
+        List<Object> values = new ArrayList<>(columns.size());
+        try {
+            source.accept(row -> {
+                values.clear();
+                for (Column<T> column : columns) {
+                    Object value = column.value().apply(row);
+                    values.add(value instanceof Number ? value : formatValue(value));
+                }
+                try {
+                    xlsx.writeRow(values);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        xlsx.close();
+        // 머리글 제외
+        return xlsx.getRowCount() - 1;
+    }
+
+    /**
+     * 선택 컬럼 확인 - 알 수 없는 머리글이 있으면 거부
+     */
+    private <T> List<Column<T>> selectColumns(List<String> selected, List<Column<T>> all) {
+        if (selected == null || selected.isEmpty()) {
+            return all;
+        }
+
+        List<Column<T>> columns = new ArrayList<>(selected.size());
+        for (String label : selected) {
+            Column<T> column = all.stream()
+                    .filter(c -> c.label().equals(label.trim()))
+                    .findFirst()
+                    .orElseThrow(() -> new ValidationException("알 수 없는 컬럼입니다: " + label));
+            if (!columns.contains(column)) {
+                columns.add(column);
+            }
+        }
+        return columns;
+    }
+
+    private String resolveFileName(String fileName, String baseName, Format format) {
+        String name = fileName == null ? "" : fileName.trim()
+                // 경로 구분자와 헤더에 쓸 수 없는 제어문자 제거
+                .replaceAll("[\\\\/:*?\"<>|\\p{Cntrl}]", "_");
+        if (name.isEmpty()) {
+            name = baseName + "_" + LocalDate.now();
+        }
+        String extension = "." + format.extension;
+        return name.toLowerCase().endsWith(extension) ? name : name + extension;
+    }
+
+    private String formatValue(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.format(DATETIME_FORMAT);
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toPlainString();
+        }
+        return value.toString();
+    }
+
+    private String escapeCsv(String value) {
+        if (value == null) {
+            return "";
+        }
+
+        // 쉼표, 따옴표, 줄바꿈이 포함되어 있으면 따옴표로 감싸기
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+
+        return value;
+    }
+}
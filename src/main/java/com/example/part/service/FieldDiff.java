@@ -0,0 +1,175 @@
+package com.example.part.service;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 감사 로그 changed_fields 생성기
+ * DTO별 비교 대상 필드의 getter를 MethodHandle로 한 번만 컴파일해 두고(Spec),
+ * 수정 전/후 객체를 비교한 결과를 {"필드명": {"변경전": .., "변경후": ..}} JSON으로 만든다.
+ * 필드명 한글 변환 결과는 엔티티별로 캐시하고, 직렬화는 스프링 공용 ObjectMapper를 사용한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FieldDiff {
+
+    private final AuditLogger auditLogger;
+    private final ObjectMapper objectMapper;
+
+    // "엔티티:필드" → 한글 필드명
+    private final Map<String, String> labels = new ConcurrentHashMap<>();
+
+    /**
+     * null 값 처리 방식
+     */
+    public enum NullPolicy {
+        // null도 하나의 값으로 비교 (전체 컬럼을 덮어쓰는 수정)
+        COMPARE,
+        // 변경후 값이 null이면 비교하지 않음 (null = 미입력인 부분 수정)
+        IGNORE_NULL_AFTER,
+        // 어느 한쪽이라도 null이면 비교하지 않음
+        IGNORE_NULL_EITHER
+    }
+
+    /**
+     * 비교 대상 필드 정의 - 클래스 초기화 시 getter를 컴파일해 static 필드로 재사용
+     */
+    public static <T> Spec<T> spec(Class<T> type, NullPolicy nullPolicy, String... fields) {
+        return new Spec<>(type, nullPolicy, fields, Set.of());
+    }
+
+    /**
+     * 변경 필드 JSON (변경 없으면 null)
+     */
+    public <T> String changedFields(String entityType, Spec<T> spec, T before, T after) {
+        if (before == null || after == null) {
+            return null;
+        }
+
+        Map<String, Map<String, Object>> diff = new LinkedHashMap<>();
+        for (int i = 0; i < spec.fields.length; i++) {
+            Object oldValue = spec.read(i, before);
+            Object newValue = spec.read(i, after);
+            if (!spec.changed(oldValue, newValue)) {
+                continue;
+            }
+
+            String field = spec.fields[i];
+            boolean masked = spec.masked.contains(field);
+            Map<String, Object> change = new LinkedHashMap<>(4);
+            change.put("변경전", masked ? "****" : oldValue);
+            change.put("변경후", masked ? "****" : newValue);
+            diff.put(label(entityType, field), change);
+        }
+
+        if (diff.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return objectMapper.writeValueAsString(diff);
+        } catch (Exception e) {
+            log.warn("changed_fields 직렬화 실패: {}", e.getMessage(), e);
+            return null;
+        }
+    }
+
+    private String label(String entityType, String field) {
+        return labels.computeIfAbsent(entityType + ":" + field, k -> auditLogger.translateFieldName(entityType, field));
+    }
+
+    /**
+     * 컴파일된 필드 접근자 묶음 (불변, 스레드 안전)
+     */
+    public static final class Spec<T> {
+
+        private final String[] fields;
+        private final MethodHandle[] getters;
+        private final NullPolicy nullPolicy;
+        private final Set<String> masked;
+
+        private Spec(Class<T> type, NullPolicy nullPolicy, String[] fields, Set<String> masked) {
+            this.fields = fields.clone();
+            this.getters = new MethodHandle[fields.length];
+            this.nullPolicy = nullPolicy;
+            this.masked = masked;
+
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            for (int i = 0; i < fields.length; i++) {
+                getters[i] = compile(lookup, type, fields[i]);
+            }
+        }
+
+        /**
+         * 값 대신 "****"로 기록할 필드 (비밀번호 등)
+         */
+        public Spec<T> mask(String... maskedFields) {
+            Set<String> merged = new HashSet<>(masked);
+            merged.addAll(Arrays.asList(maskedFields));
+            return new Spec<>(this, Set.copyOf(merged));
+        }
+
+        private Spec(Spec<T> source, Set<String> masked) {
+            this.fields = source.fields;
+            this.getters = source.getters;
+            this.nullPolicy = source.nullPolicy;
+            this.masked = masked;
+        }
+
+        private Object read(int index, T target) {
+            try {
+                return getters[index].invokeExact((Object) target);
+            } catch (Throwable e) {
+                throw new IllegalStateException("필드 값을 읽을 수 없습니다: " + fields[index], e);
+            }
+        }
+
+        private boolean changed(Object before, Object after) {
+            if (after == null && nullPolicy != NullPolicy.COMPARE) {
+                return false;
+            }
+            if (before == null && nullPolicy == NullPolicy.IGNORE_NULL_EITHER) {
+                return false;
+            }
+            // DECIMAL 컬럼은 scale이 달라도(1.5 / 1.50) 같은 값으로 취급
+            if (before instanceof BigDecimal && after instanceof BigDecimal) {
+                return ((BigDecimal) before).compareTo((BigDecimal) after) != 0;
+            }
+            return !Objects.equals(before, after);
+        }
+
+        // getXxx() / isXxx() 를 (Object)Object 시그니처로 맞춰 invokeExact 가능하게 변환
+        private static MethodHandle compile(MethodHandles.Lookup lookup, Class<?> type, String field) {
+            String suffix = Character.toUpperCase(field.charAt(0)) + field.substring(1);
+            for (String prefix : new String[] { "get", "is" }) {
+                try {
+                    Class<?> returnType = type.getMethod(prefix + suffix).getReturnType();
+                    MethodHandle getter = lookup.findVirtual(type, prefix + suffix, MethodType.methodType(returnType));
+                    return getter.asType(MethodType.methodType(Object.class, Object.class));
+                } catch (NoSuchMethodException e) {
+                    // 다음 접두사 시도
+                } catch (IllegalAccessException e) {
+                    throw new IllegalArgumentException("접근할 수 없는 필드입니다: " + type.getSimpleName() + "." + field, e);
+                }
+            }
+            throw new IllegalArgumentException("존재하지 않는 필드입니다: " + type.getSimpleName() + "." + field);
+        }
+    }
+}
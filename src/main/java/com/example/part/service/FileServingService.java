@@ -0,0 +1,252 @@
+package com.example.part.service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Pattern;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import com.example.part.exception.ResourceNotFoundException;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 업로드 파일 / 생성 문서 응답
+ * 강한 ETag와 Last-Modified로 조건부 요청(If-None-Match, If-Modified-Since)에 304로 답하고,
+ * Range 요청(단일 구간)은 206으로 필요한 부분만 보낸다. 본문은 Tomcat sendfile을 쓸 수 있으면 커널에서 바로 보내고,
+ * 아니면 FileChannel.transferTo로 사용자 공간 버퍼 복사 없이 전송한다.
+ */
+@Service
+@RequiredArgsConstructor
+public class FileServingService {
+
+    // 내용 기반 키 또는 UUID 파일명 - 같은 이름으로 내용이 바뀌지 않으므로 오래 캐시해도 됨
+    private static final Pattern UUID_NAME = Pattern.compile(
+            "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}.*");
+    // 로그인 사용자만 보는 파일이므로 공유 캐시에는 저장하지 않음
+    private static final String IMMUTABLE_CACHE = CacheControl.maxAge(java.time.Duration.ofDays(365))
+            .cachePrivate().immutable().getHeaderValue();
+    private static final String REVALIDATE_CACHE = CacheControl.noCache().cachePrivate().getHeaderValue();
+
+    // Tomcat sendfile 사용 여부 / 대상 (Tomcat 기본 sendfileSize와 같은 48KB 이상만)
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+    private static final long SENDFILE_MIN_SIZE = 48 * 1024;
+
+    private final ContentStore contentStore;
+
+    /**
+     * 파일 응답
+     *
+     * @param resource     서비스에서 찾은 파일
+     * @param contentType  응답 형식 (null이면 파일명으로 추정)
+     * @param disposition  inline / attachment (null이면 헤더 생략)
+     * @param downloadName 저장될 파일명 (null이면 실제 파일명)
+     */
+    public void serve(Resource resource, MediaType contentType, String disposition, String downloadName,
+            HttpServletRequest request, HttpServletResponse response) throws IOException {
+        File source = resource.isFile() ? resource.getFile() : null;
+        if (source == null || !source.isFile()) {
+            throw new ResourceNotFoundException("파일을 찾을 수 없습니다: " + resource.getFilename());
+        }
+        Path file = source.toPath();
+        long length = Files.size(file);
+        // HTTP 날짜는 초 단위
+        long lastModified = Files.getLastModifiedTime(file).toMillis() / 1000 * 1000;
+        String fileName = file.getFileName().toString();
+        String etag = etag(file);
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, isImmutable(fileName) ? IMMUTABLE_CACHE : REVALIDATE_CACHE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        if (isNotModified(request, etag, lastModified)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        MediaType type = contentType != null ? contentType
+                : MediaTypeFactory.getMediaType(fileName).orElse(MediaType.APPLICATION_OCTET_STREAM);
+        response.setContentType(type.toString());
+        if (disposition != null) {
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.builder(disposition)
+                    .filename(downloadName != null ? downloadName : fileName, StandardCharsets.UTF_8)
+                    .build().toString());
+        }
+
+        long start = 0;
+        long count = length;
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range != null && length > 0 && ifRangeMatches(request, etag, lastModified)) {
+            long[] bounds = parseRange(range, length);
+            if (bounds != null && bounds.length == 0) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                return;
+            }
+            if (bounds != null) {
+                start = bounds[0];
+                count = bounds[1] - bounds[0] + 1;
+                response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + bounds[0] + "-" + bounds[1] + "/" + length);
+            }
+        }
+
+        response.setContentLengthLong(count);
+        if ("HEAD".equalsIgnoreCase(request.getMethod()) || count == 0) {
+            return;
+        }
+        transfer(file, start, count, request, response);
+    }
+
+    /**
+     * 강한 ETag - 저장소 파일은 내용 해시, 그 외에는 크기 + 수정 시각
+     */
+    public String etag(Path file) throws IOException {
+        String fileName = file.getFileName().toString();
+        if (contentStore.isKey(fileName)) {
+            int dot = fileName.indexOf('.');
+            return "\"" + (dot > 0 ? fileName.substring(0, dot) : fileName) + "\"";
+        }
+        return "\"" + Long.toHexString(Files.size(file)) + "-"
+                + Long.toHexString(Files.getLastModifiedTime(file).toMillis() / 1000) + "\"";
+    }
+
+    /**
+     * 이름이 같으면 내용도 같은 파일 (저장소 키 / UUID 파일명)
+     */
+    public boolean isImmutable(String fileName) {
+        return contentStore.isKey(fileName) || UUID_NAME.matcher(fileName).matches();
+    }
+
+    private void transfer(Path file, long start, long count, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        if (count >= SENDFILE_MIN_SIZE && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // 본문은 응답을 마친 뒤 Tomcat이 sendfile로 전송 (끝 위치는 미포함)
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = count;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                if (sent <= 0) {
+                    // 전송 중 파일이 줄어듦
+                    break;
+                }
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    // If-None-Match가 있으면 그것만, 없으면 If-Modified-Since로 판단 (GET/HEAD만)
+    private boolean isNotModified(HttpServletRequest request, String etag, long lastModified) {
+        String method = request.getMethod();
+        if (!"GET".equalsIgnoreCase(method) && !"HEAD".equalsIgnoreCase(method)) {
+            return false;
+        }
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String value = candidate.trim();
+                // If-None-Match는 약한 비교
+                if (value.startsWith("W/")) {
+                    value = value.substring(2);
+                }
+                if (value.equals("*") || value.equals(etag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        long ifModifiedSince = dateHeader(request, HttpHeaders.IF_MODIFIED_SINCE);
+        return ifModifiedSince >= 0 && lastModified <= ifModifiedSince;
+    }
+
+    // If-Range가 현재 파일과 다르면 Range를 무시하고 전체 전송 (강한 비교)
+    private boolean ifRangeMatches(HttpServletRequest request, String etag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        ifRange = ifRange.trim();
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(etag);
+        }
+        return dateHeader(request, HttpHeaders.IF_RANGE) == lastModified;
+    }
+
+    /**
+     * Range 해석 - 단일 구간만 지원
+     *
+     * @return {시작, 끝(포함)}, 만족할 수 없으면 빈 배열, 형식이 다르거나 여러 구간이면 null (전체 전송)
+     */
+    static long[] parseRange(String header, long length) {
+        if (!header.startsWith("bytes=") || header.indexOf(',') >= 0) {
+            return null;
+        }
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash < 0) {
+            return null;
+        }
+        try {
+            String first = spec.substring(0, dash).trim();
+            String last = spec.substring(dash + 1).trim();
+            if (first.isEmpty()) {
+                // 마지막 N바이트
+                long suffix = Long.parseLong(last);
+                if (suffix <= 0) {
+                    return new long[0];
+                }
+                return new long[] { Math.max(length - suffix, 0), length - 1 };
+            }
+            long start = Long.parseLong(first);
+            long end = last.isEmpty() ? Long.MAX_VALUE : Long.parseLong(last);
+            if (start < 0 || end < start) {
+                // 잘못된 구간은 무시
+                return null;
+            }
+            if (start >= length) {
+                return new long[0];
+            }
+            return new long[] { start, Math.min(end, length - 1) };
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static long dateHeader(HttpServletRequest request, String name) {
+        try {
+            return request.getDateHeader(name);
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+}
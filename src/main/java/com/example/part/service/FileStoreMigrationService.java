@@ -0,0 +1,253 @@
+package com.example.part.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.example.part.dto.GeneralImageDTO;
+import com.example.part.dto.GeneratedDocumentDTO;
+import com.example.part.dto.PartImageDTO;
+import com.example.part.exception.ValidationException;
+import com.example.part.mapper.GeneralImageMapper;
+import com.example.part.mapper.GeneratedDocumentMapper;
+import com.example.part.mapper.PartImageMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 기존 업로드 파일을 내용 기반 저장소로 이전 (중복 제거)
+ * UUID 파일명으로 저장된 부품 사진 / 자료실 / 생성 문서를 한 건씩 해시해 저장소에 편입하고 DB 경로를 바꾼 뒤 기존 파일을 지운다.
+ * 같은 내용이 이미 저장소에 있으면 참조만 늘리므로 그만큼 디스크가 줄어든다. 이미 이전된 행은 건너뛰므로 여러 번 실행해도 된다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FileStoreMigrationService {
+
+    private static final String URL_PREFIX = "/uploads/images/";
+    private static final int PAGE_SIZE = 200;
+
+    private final ContentStore contentStore;
+    private final PartImageMapper partImageMapper;
+    private final GeneralImageMapper generalImageMapper;
+    private final GeneratedDocumentMapper documentMapper;
+
+    @Value("${file.upload-dir:/var/livewalk/uploads/images}")
+    private String uploadDir;
+
+    @Value("${file.document-dir:/var/livewalk/uploads/documents}")
+    private String documentDir;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile Map<String, Object> lastResult;
+
+    /**
+     * 이전 결과 집계
+     */
+    private static final class Progress {
+        private int rows;
+        private int files;
+        private int deduplicated;
+        private long reclaimedBytes;
+        private int missing;
+        private final List<String> errors = new ArrayList<>();
+    }
+
+    /**
+     * 이전 실행 (동시에 한 번만)
+     */
+    public Map<String, Object> migrate() {
+        if (!running.compareAndSet(false, true)) {
+            throw new ValidationException("이미 저장소 이전이 진행 중입니다.");
+        }
+        long start = System.currentTimeMillis();
+        try {
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("partImages", toMap(migratePartImages()));
+            result.put("generalImages", toMap(migrateGeneralImages()));
+            result.put("documents", toMap(migrateDocuments()));
+            result.put("elapsedMs", System.currentTimeMillis() - start);
+            lastResult = result;
+            log.info("파일 저장소 이전 완료: {}", result);
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public Map<String, Object> getLastResult() {
+        return lastResult;
+    }
+
+    private Progress migratePartImages() {
+        Progress progress = new Progress();
+        Integer afterId = 0;
+        while (true) {
+            List<PartImageDTO> page = partImageMapper.selectLocalImagesAfter(afterId, PAGE_SIZE);
+            for (PartImageDTO image : page) {
+                List<ContentStore.StoredFile> adopted = new ArrayList<>();
+                List<Path> legacy = new ArrayList<>();
+                try {
+                    String imageUrl = adoptUrl(image.getImageUrl(), adopted, legacy, progress);
+                    String thumbUrl = adoptUrl(image.getThumbUrl(), adopted, legacy, progress);
+                    String mediumUrl = adoptUrl(image.getMediumUrl(), adopted, legacy, progress);
+                    if (adopted.isEmpty()) {
+                        continue;
+                    }
+                    boolean updated = partImageMapper.updateImageFiles(image.getImageId(), imageUrl, thumbUrl,
+                            mediumUrl) > 0;
+                    finish(updated, adopted, legacy, progress);
+                } catch (IOException | RuntimeException e) {
+                    fail("부품 사진 " + image.getImageId(), e, adopted, progress);
+                }
+            }
+            if (page.size() < PAGE_SIZE) {
+                return progress;
+            }
+            afterId = page.get(page.size() - 1).getImageId();
+        }
+    }
+
+    private Progress migrateGeneralImages() {
+        Progress progress = new Progress();
+        Long afterId = 0L;
+        while (true) {
+            List<GeneralImageDTO> page = generalImageMapper.selectImagesAfter(afterId, PAGE_SIZE);
+            for (GeneralImageDTO image : page) {
+                List<ContentStore.StoredFile> adopted = new ArrayList<>();
+                List<Path> legacy = new ArrayList<>();
+                try {
+                    Path file = legacyPath(image.getFileName(), image.getFilePath(), uploadDir, progress);
+                    if (file == null) {
+                        continue;
+                    }
+                    ContentStore.StoredFile stored = adopt(file, image.getFileName(), adopted, legacy, progress);
+                    boolean updated = generalImageMapper.updateFile(image.getImageId(), stored.key(),
+                            stored.path().toString()) > 0;
+                    finish(updated, adopted, legacy, progress);
+                } catch (IOException | RuntimeException e) {
+                    fail("자료실 " + image.getImageId(), e, adopted, progress);
+                }
+            }
+            if (page.size() < PAGE_SIZE) {
+                return progress;
+            }
+            afterId = page.get(page.size() - 1).getImageId();
+        }
+    }
+
+    private Progress migrateDocuments() {
+        Progress progress = new Progress();
+        Long afterId = 0L;
+        while (true) {
+            List<GeneratedDocumentDTO> page = documentMapper.selectDocumentsAfter(afterId, PAGE_SIZE);
+            for (GeneratedDocumentDTO document : page) {
+                List<ContentStore.StoredFile> adopted = new ArrayList<>();
+                List<Path> legacy = new ArrayList<>();
+                try {
+                    Path file = legacyPath(document.getFileName(), document.getFilePath(), documentDir, progress);
+                    if (file == null) {
+                        continue;
+                    }
+                    ContentStore.StoredFile stored = adopt(file, document.getFileName(), adopted, legacy, progress);
+                    boolean updated = documentMapper.updateFile(document.getDocumentId(), stored.key(),
+                            stored.path().toString()) > 0;
+                    finish(updated, adopted, legacy, progress);
+                } catch (IOException | RuntimeException e) {
+                    fail("문서 " + document.getDocumentId(), e, adopted, progress);
+                }
+            }
+            if (page.size() < PAGE_SIZE) {
+                return progress;
+            }
+            afterId = page.get(page.size() - 1).getDocumentId();
+        }
+    }
+
+    // 부품 사진 URL → 저장소 키 URL (이미 이전됐거나 파일이 없으면 그대로)
+    private String adoptUrl(String url, List<ContentStore.StoredFile> adopted, List<Path> legacy,
+            Progress progress) throws IOException {
+        if (url == null || !url.startsWith(URL_PREFIX)) {
+            return url;
+        }
+        String fileName = url.substring(URL_PREFIX.length());
+        Path file = legacyPath(fileName, null, uploadDir, progress);
+        if (file == null) {
+            return url;
+        }
+        return URL_PREFIX + adopt(file, fileName, adopted, legacy, progress).key();
+    }
+
+    // 이전 대상 기존 파일 (이미 저장소 키이거나 파일이 없으면 null)
+    private Path legacyPath(String fileName, String filePath, String legacyDir, Progress progress) {
+        if (fileName == null || contentStore.isKey(fileName)) {
+            return null;
+        }
+        Path file = filePath != null ? Paths.get(filePath) : Paths.get(legacyDir, fileName);
+        if (!Files.isRegularFile(file)) {
+            file = Paths.get(legacyDir, fileName);
+        }
+        if (!Files.isRegularFile(file)) {
+            progress.missing++;
+            return null;
+        }
+        return file;
+    }
+
+    private ContentStore.StoredFile adopt(Path file, String fileName, List<ContentStore.StoredFile> adopted,
+            List<Path> legacy, Progress progress) throws IOException {
+        ContentStore.StoredFile stored = contentStore.adopt(file, ContentStore.extensionOf(fileName));
+        adopted.add(stored);
+        legacy.add(file);
+        progress.files++;
+        if (stored.deduplicated()) {
+            progress.deduplicated++;
+            progress.reclaimedBytes += stored.size();
+        }
+        return stored;
+    }
+
+    // DB 경로를 바꾼 뒤에만 기존 파일 삭제 (행이 그사이 삭제됐으면 참조 반납)
+    private void finish(boolean updated, List<ContentStore.StoredFile> adopted, List<Path> legacy,
+            Progress progress) {
+        if (!updated) {
+            adopted.forEach(stored -> contentStore.release(stored.key()));
+            return;
+        }
+        progress.rows++;
+        for (Path file : legacy) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("기존 파일 삭제 실패: {} - {}", file, e.getMessage());
+            }
+        }
+    }
+
+    private void fail(String target, Exception e, List<ContentStore.StoredFile> adopted, Progress progress) {
+        adopted.forEach(stored -> contentStore.release(stored.key()));
+        progress.errors.add(target + ": " + e.getMessage());
+        log.warn("파일 저장소 이전 실패: {} - {}", target, e.getMessage());
+    }
+
+    private Map<String, Object> toMap(Progress progress) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("rows", progress.rows);
+        map.put("files", progress.files);
+        map.put("deduplicated", progress.deduplicated);
+        map.put("reclaimedBytes", progress.reclaimedBytes);
+        map.put("missing", progress.missing);
+        map.put("errors", progress.errors);
+        return map;
+    }
+}
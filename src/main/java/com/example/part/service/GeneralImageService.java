@@ -1,18 +1,25 @@
 package com.example.part.service;
 
+import java.io.InputStream;
 import java.util.List;
 
 import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.example.part.dto.GeneralImageDTO;
+import com.example.part.dto.PageResponseDTO;
 
 public interface GeneralImageService {
 
     GeneralImageDTO uploadImage(String title, String description, MultipartFile file, Integer uploadedBy);
 
+    GeneralImageDTO uploadImageStream(String title, String description, String fileName, InputStream in,
+            long contentLength, Integer uploadedBy);
+
     List<GeneralImageDTO> getAllImages();
 
+    PageResponseDTO<GeneralImageDTO> getImagePage(Integer limit, String after);
+
     GeneralImageDTO getImageById(Long imageId);
 
     void deleteImage(Long imageId);
@@ -1,34 +1,46 @@
 package com.example.part.service;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.example.part.dto.GeneralImageDTO;
+import com.example.part.dto.PageCursor;
+import com.example.part.dto.PageResponseDTO;
+import com.example.part.exception.ValidationException;
 import com.example.part.mapper.GeneralImageMapper;
 
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class GeneralImageServiceImpl implements GeneralImageService {
 
     private final GeneralImageMapper generalImageMapper;
     private final AuditLogger auditLogger;
+    private final ContentStore contentStore;
+    private final StorageOffloadService storageOffloadService;
+    private final TransactionTemplate transactionTemplate;
 
     @Value("${file.upload-dir:/var/livewalk/uploads/images}")
     private String uploadDir;
 
+    @Value("${file.stream.max-size-mb:500}")
+    private long maxStreamSizeMb;
+
     @PostConstruct
     public void init() {
         try {
@@ -42,63 +54,122 @@ public class GeneralImageServiceImpl implements GeneralImageService {
     }
 
     @Override
-    @Transactional
     public GeneralImageDTO uploadImage(String title, String description, MultipartFile file, Integer uploadedBy) {
         try {
-            // 파일명 생성
+            // 파일 저장 (같은 내용이 이미 있으면 기존 파일 공유, 파일명은 저장소 키)
             String originalFilename = file.getOriginalFilename();
-            String extension = "";
-            if (originalFilename != null && originalFilename.contains(".")) {
-                extension = originalFilename.substring(originalFilename.lastIndexOf("."));
-            }
-
-            String savedFilename = UUID.randomUUID().toString() + extension;
-            Path filePath = Paths.get(uploadDir, savedFilename);
-
-            // 파일 저장
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+            ContentStore.StoredFile stored = contentStore.put(file.getInputStream(),
+                    ContentStore.extensionOf(originalFilename));
+            return registerImage(title, description, originalFilename, stored, uploadedBy);
+        } catch (IOException e) {
+            throw new RuntimeException("파일 업로드 실패: " + e.getMessage(), e);
+        }
+    }
 
-            // 파일 타입 감지
-            String fileType = "image";
-            if (extension.toLowerCase().equals(".pdf")) {
-                fileType = "pdf";
+    /**
+     * 요청 본문 스트리밍 업로드 (multipart 크기 제한보다 큰 도면/PDF)
+     * 본문을 저장소 임시 파일로 바로 쓰므로 크기와 관계없이 힙에 올리지 않고,
+     * 전송이 끝난 뒤에 짧은 트랜잭션으로 등록하므로 업로드 중에는 DB 연결을 잡지 않음
+     */
+    @Override
+    public GeneralImageDTO uploadImageStream(String title, String description, String fileName, InputStream in,
+            long contentLength, Integer uploadedBy) {
+        if (fileName == null || fileName.isBlank()) {
+            throw new ValidationException("파일명을 입력해주세요.");
+        }
+        long maxSize = maxStreamSizeMb * 1024 * 1024;
+        if (contentLength > maxSize) {
+            throw new ValidationException("파일 크기가 제한(" + maxStreamSizeMb + "MB)을 넘었습니다.");
+        }
+        try {
+            ContentStore.StoredFile stored = contentStore.put(in, ContentStore.extensionOf(fileName), maxSize);
+            if (stored.size() == 0) {
+                contentStore.release(stored.key());
+                throw new ValidationException("빈 파일은 업로드할 수 없습니다.");
             }
-
-            // DTO 생성
-            GeneralImageDTO dto = new GeneralImageDTO();
-            dto.setTitle(title);
-            dto.setDescription(description);
-            dto.setFileName(savedFilename);
-            dto.setOriginalName(originalFilename);
-            dto.setFilePath(filePath.toString());
-            dto.setFileSize(file.getSize());
-            dto.setFileType(fileType);
-            dto.setUploadedBy(uploadedBy);
-
-            // DB 저장
-            generalImageMapper.insertImage(dto);
-
-            // 감사로그 기록
-            auditLogger.log(
-                "library",
-                dto.getImageId(),
-                "업로드",
-                String.format("자료실 업로드: %s", title),
-                null,
-                null
-            );
-
-            return dto;
+            return registerImage(title, description, fileName, stored, uploadedBy);
         } catch (IOException e) {
             throw new RuntimeException("파일 업로드 실패: " + e.getMessage(), e);
         }
     }
 
+    // 저장소에 넣은 파일을 목록에 등록 (등록이 실패하면 저장소 참조 해제)
+    private GeneralImageDTO registerImage(String title, String description, String originalFilename,
+            ContentStore.StoredFile stored, Integer uploadedBy) {
+        try {
+            return transactionTemplate.execute(status -> insertImage(title, description, originalFilename, stored,
+                    uploadedBy));
+        } catch (RuntimeException e) {
+            contentStore.release(stored.key());
+            throw e;
+        }
+    }
+
+    private GeneralImageDTO insertImage(String title, String description, String originalFilename,
+            ContentStore.StoredFile stored, Integer uploadedBy) {
+        // 파일 타입 감지
+        String fileType = "image";
+        if (ContentStore.extensionOf(originalFilename).equals(".pdf")) {
+            fileType = "pdf";
+        }
+
+        // DTO 생성
+        GeneralImageDTO dto = new GeneralImageDTO();
+        dto.setTitle(title);
+        dto.setDescription(description);
+        dto.setFileName(stored.key());
+        dto.setOriginalName(originalFilename);
+        dto.setFilePath(stored.path().toString());
+        dto.setFileSize(stored.size());
+        dto.setFileType(fileType);
+        dto.setUploadedBy(uploadedBy);
+
+        // DB 저장
+        generalImageMapper.insertImage(dto);
+
+        // 원격 저장소 복제는 커밋 후 백그라운드에서
+        storageOffloadService.enqueue(stored.key());
+
+        // 감사로그 기록
+        auditLogger.log(
+            "library",
+            dto.getImageId(),
+            "업로드",
+            String.format("자료실 업로드: %s", title),
+            null,
+            null
+        );
+
+        return dto;
+    }
+
     @Override
     public List<GeneralImageDTO> getAllImages() {
         return generalImageMapper.selectAllImages();
     }
 
+    @Override
+    public PageResponseDTO<GeneralImageDTO> getImagePage(Integer limit, String after) {
+        int size = PageCursor.resolveLimit(limit);
+        LocalDateTime afterUploadedAt = null;
+        Long afterId = null;
+
+        if (after != null && !after.isEmpty()) {
+            String[] cursor = PageCursor.decode(after);
+            try {
+                afterUploadedAt = LocalDateTime.parse(cursor[0]);
+                afterId = Long.valueOf(cursor[1]);
+            } catch (RuntimeException e) {
+                throw new ValidationException("잘못된 페이지 커서입니다.", e);
+            }
+        }
+
+        List<GeneralImageDTO> rows = generalImageMapper.selectImagePage(afterUploadedAt, afterId, size + 1);
+        return PageResponseDTO.of(rows, size,
+                dto -> PageCursor.encode(dto.getUploadedAt(), dto.getImageId()),
+                generalImageMapper.selectApproximateCount());
+    }
+
     @Override
     public GeneralImageDTO getImageById(Long imageId) {
         return generalImageMapper.selectImageById(imageId);
@@ -113,16 +184,19 @@ public class GeneralImageServiceImpl implements GeneralImageService {
         if (image != null) {
             title = image.getTitle();
 
-            // 실제 파일 삭제
-            try {
-                Path filePath = Paths.get(uploadDir, image.getFileName());
-                Files.deleteIfExists(filePath);
-            } catch (IOException e) {
-                System.err.println("파일 삭제 실패: " + e.getMessage());
+            // 실제 파일 삭제 (저장소 파일은 DB 삭제 후 참조 해제)
+            if (!contentStore.isKey(image.getFileName())) {
+                try {
+                    Path filePath = Paths.get(uploadDir, image.getFileName());
+                    Files.deleteIfExists(filePath);
+                } catch (IOException e) {
+                    log.warn("이미지 파일 삭제 실패: {} - {}", image.getFileName(), e.getMessage());
+                }
             }
 
             // DB에서 삭제
             generalImageMapper.deleteImage(imageId);
+            contentStore.release(image.getFileName());
 
             // 감사로그 기록
             auditLogger.log(
@@ -139,7 +213,7 @@ public class GeneralImageServiceImpl implements GeneralImageService {
     @Override
     public org.springframework.core.io.Resource loadImageAsResource(String fileName) {
         try {
-            Path filePath = Paths.get(uploadDir, fileName);
+            Path filePath = contentStore.locate(uploadDir, fileName);
             org.springframework.core.io.Resource resource = new org.springframework.core.io.UrlResource(filePath.toUri());
 
             if (resource.exists() && resource.isReadable()) {
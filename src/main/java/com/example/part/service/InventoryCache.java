@@ -0,0 +1,340 @@
+package com.example.part.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.part.mapper.PartIncomingMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 현재 재고 메모리 캐시 (part_number → 재고 행)
+ * 서버 시작 시 part_stock 원장에서 적재하고, 입고/출고로 원장이 바뀌면 커밋 후 해당 부품 행만 다시 읽는다.
+ * 재고 목록/고급 검색/재고 부족 조회는 DB 대신 이 캐시에서 필터링·정렬한다.
+ *
+ * 문자열 비교는 DB 정렬 규칙(utf8mb4_unicode_ci)에 맞춰 대소문자·악센트·전각/반각을 접은 값으로 한다.
+ * java.text.Collator(ROOT)는 '-'와 공백을 무시하고 한글 음절을 같은 값으로 보는 경우가 있어 쓰지 않는다.
+ * 영문/숫자/한글로 된 부품번호·부품명은 DB와 같은 순서가 되지만, 기호끼리의 순서('_'와 숫자 등)와
+ * 'ß' = 'ss' 같은 확장 문자, 끝 공백 무시(PAD SPACE)는 DB와 다를 수 있다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class InventoryCache {
+
+    // 검색/정렬 허용 컬럼 - PartIncomingMapper.inventoryAdvancedQuery 와 동일 (그 외 컬럼은 SQL처럼 무시)
+    private static final Set<String> COLUMNS = Set.of(
+            "part_number", "part_name", "category_name", "current_stock", "total_incoming", "total_used",
+            "incoming_count");
+
+    // DB 정렬 순서 - 접은 값이 같으면 원래 문자열 순 (서로 다른 부품번호가 같은 키로 합쳐지지 않게)
+    private static final Comparator<String> KEY_ORDER = Comparator.comparing(InventoryCache::fold)
+            .thenComparing(Comparator.naturalOrder());
+
+    private final PartIncomingMapper partIncomingMapper;
+
+    // 부품번호 순으로 정렬된 상태 유지 (전체 목록 조회 시 별도 정렬 불필요)
+    private volatile ConcurrentSkipListMap<String, Map<String, Object>> rows = new ConcurrentSkipListMap<>(KEY_ORDER);
+    private volatile boolean ready = false;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong reloadCount = new AtomicLong();
+    private final AtomicLong rebuildCount = new AtomicLong();
+    private volatile long lastRebuildMs = -1;
+    private volatile long lastRebuildAt = 0;
+
+    /**
+     * 서버 시작 시 캐시 적재 (재고 원장 정합성 점검 이후 실행)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void loadOnStartup() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("재고 캐시 초기 적재 실패 - DB 조회로 대체", e);
+        }
+    }
+
+    /**
+     * 갱신 실패로 비활성화된 캐시 재적재 재시도
+     */
+    @Scheduled(fixedDelayString = "${inventory.cache.retry-ms:60000}")
+    public void retryIfNotReady() {
+        if (!ready) {
+            rebuildQuietly();
+        }
+    }
+
+    /**
+     * 전체 재적재
+     */
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        ConcurrentSkipListMap<String, Map<String, Object>> fresh = new ConcurrentSkipListMap<>(KEY_ORDER);
+        for (Map<String, Object> row : partIncomingMapper.getCurrentInventory()) {
+            Object partNumber = row.get("part_number");
+            if (partNumber != null) {
+                fresh.put(partNumber.toString(), Collections.unmodifiableMap(row));
+            }
+        }
+        rows = fresh;
+        ready = true;
+        lastRebuildMs = System.currentTimeMillis() - start;
+        lastRebuildAt = System.currentTimeMillis();
+        rebuildCount.incrementAndGet();
+        log.info("재고 캐시 적재 완료: {}건 ({}ms)", fresh.size(), lastRebuildMs);
+    }
+
+    /**
+     * 부품 재고 변경 알림 - 트랜잭션 커밋 후 해당 부품 행만 다시 읽음
+     */
+    public void invalidate(String partNumber) {
+        if (partNumber == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload(partNumber);
+                }
+            });
+        } else {
+            reload(partNumber);
+        }
+    }
+
+    /**
+     * 전체 무효화 - 트랜잭션 커밋 후 재적재 (카테고리명 변경 등)
+     */
+    public void invalidateAll() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    rebuildQuietly();
+                }
+            });
+        } else {
+            rebuildQuietly();
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            ready = false;
+            log.warn("재고 캐시 재적재 실패 - DB 조회로 대체: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void reload(String partNumber) {
+        if (!ready) {
+            return;
+        }
+        try {
+            Map<String, Object> row = partIncomingMapper.selectInventoryByPartNumber(partNumber);
+            if (row == null) {
+                rows.remove(partNumber);
+            } else {
+                rows.put(partNumber, Collections.unmodifiableMap(row));
+            }
+            reloadCount.incrementAndGet();
+        } catch (Exception e) {
+            // 부분 갱신 실패 시 캐시를 신뢰할 수 없으므로 다음 재적재 전까지 DB 조회
+            ready = false;
+            log.warn("재고 캐시 갱신 실패 - 캐시 비활성화: partNumber={}, 오류={}", partNumber, e.getMessage());
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public void recordMiss() {
+        missCount.incrementAndGet();
+    }
+
+    /**
+     * 전체 재고 목록 (부품번호 오름차순)
+     */
+    public List<Map<String, Object>> getAll() {
+        hitCount.incrementAndGet();
+        return new ArrayList<>(rows.values());
+    }
+
+    /**
+     * 부품번호 기준 키셋 페이지 (after 다음 부품부터 limit 건)
+     */
+    public List<Map<String, Object>> page(String after, int limit) {
+        hitCount.incrementAndGet();
+        Map<String, Map<String, Object>> view = after != null ? rows.tailMap(after, false) : rows;
+        List<Map<String, Object>> result = new ArrayList<>(Math.min(limit, rows.size()));
+        for (Map<String, Object> row : view.values()) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(row);
+        }
+        return result;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * 현재 재고 고급 검색 - PartIncomingMapper.searchInventoryAdvanced 와 동일한 조건
+     */
+    public List<Map<String, Object>> search(Map<String, Object> params) {
+        hitCount.incrementAndGet();
+
+        String columnKey = asText(params.get("columnKey"));
+        String keyword = asText(params.get("keyword"));
+        // 검색어는 컬럼 미지정이면 부품번호, 허용 목록 밖의 컬럼이면 조건 없음 (SQL과 동일)
+        String target = columnKey == null ? "part_number" : COLUMNS.contains(columnKey) ? columnKey : null;
+        List<String> includeList = asList(params.get("includeList"));
+        List<String> excludeList = asList(params.get("excludeList"));
+
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Map<String, Object> row : rows.values()) {
+            if (keyword != null && target != null) {
+                if (!contains(row.get(target), keyword)) {
+                    continue;
+                }
+            }
+
+            boolean matched = true;
+            for (String kw : includeList) {
+                if (!contains(row.get("part_number"), kw) || !contains(row.get("part_name"), kw)) {
+                    matched = false;
+                    break;
+                }
+            }
+            if (!matched) {
+                continue;
+            }
+            for (String kw : excludeList) {
+                if (contains(row.get("part_number"), kw) || contains(row.get("part_name"), kw)) {
+                    matched = false;
+                    break;
+                }
+            }
+            if (matched) {
+                result.add(row);
+            }
+        }
+
+        String orderColumn = asText(params.get("orderColumn"));
+        if (orderColumn != null && COLUMNS.contains(orderColumn)) {
+            Comparator<Map<String, Object>> comparator = Comparator.comparing(row -> row.get(orderColumn),
+                    InventoryCache::compareValues);
+            if ("desc".equalsIgnoreCase(asText(params.get("order")))) {
+                comparator = comparator.reversed();
+            }
+            result.sort(comparator);
+        }
+        return result;
+    }
+
+    /**
+     * 재고 부족 목록 (현재 재고 오름차순)
+     */
+    public List<Map<String, Object>> getLowStock(int threshold) {
+        hitCount.incrementAndGet();
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (Map<String, Object> row : rows.values()) {
+            Object stock = row.get("current_stock");
+            if (stock instanceof Number && ((Number) stock).intValue() <= threshold) {
+                result.add(row);
+            }
+        }
+        result.sort(Comparator.comparing(row -> row.get("current_stock"), InventoryCache::compareValues));
+        return result;
+    }
+
+    /**
+     * 캐시 지표
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", ready);
+        stats.put("size", rows.size());
+        stats.put("hits", hitCount.get());
+        stats.put("misses", missCount.get());
+        stats.put("partialReloads", reloadCount.get());
+        stats.put("rebuilds", rebuildCount.get());
+        stats.put("lastRebuildMs", lastRebuildMs);
+        stats.put("lastRebuildAt", lastRebuildAt);
+        return stats;
+    }
+
+    // LIKE '%kw%' 와 동일하게 대소문자·악센트 무시 부분 일치
+    private static boolean contains(Object value, String keyword) {
+        if (value == null) {
+            return false;
+        }
+        return fold(value.toString()).contains(fold(keyword));
+    }
+
+    // ORDER BY 와 동일하게 NULL 우선, 숫자는 수치 비교
+    static int compareValues(Object a, Object b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : -1) : 1;
+        }
+        if (a instanceof Number && b instanceof Number) {
+            return Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue());
+        }
+        return fold(a.toString()).compareTo(fold(b.toString()));
+    }
+
+    /**
+     * utf8mb4_unicode_ci 비교용 값 - 전각/호환 문자 분해 후 결합 악센트 제거, 한글은 다시 음절로 합치고 소문자로
+     */
+    static String fold(String value) {
+        boolean ascii = true;
+        for (int i = 0; i < value.length() && ascii; i++) {
+            ascii = value.charAt(i) < 0x80;
+        }
+        if (ascii) {
+            return value.toLowerCase(Locale.ROOT);
+        }
+        String stripped = Normalizer.normalize(value, Normalizer.Form.NFKD).replaceAll("\\p{Mn}+", "");
+        return Normalizer.normalize(stripped, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+
+    private static String asText(Object value) {
+        if (value == null) {
+            return null;
+        }
+        String text = value.toString();
+        return text.isEmpty() ? null : text;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> asList(Object value) {
+        return value instanceof List ? (List<String>) value : Collections.emptyList();
+    }
+}
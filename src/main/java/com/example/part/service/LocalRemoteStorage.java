@@ -0,0 +1,74 @@
+package com.example.part.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.example.part.exception.ValidationException;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 로컬 디렉터리를 원격 저장소 대신 쓰는 구현 (개발 / 테스트용, storage.remote.type=local)
+ * Cloudinary 계정 없이 복제 큐와 재시도 동작을 확인할 수 있다.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = "storage.remote.type", havingValue = "local")
+public class LocalRemoteStorage implements RemoteStorage {
+
+    @Value("${storage.remote.local-dir:/var/livewalk/remote}")
+    private String localDir;
+
+    private Path root;
+
+    @PostConstruct
+    public void init() {
+        root = Paths.get(localDir).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(root);
+        } catch (IOException e) {
+            throw new RuntimeException("원격 저장소(local) 디렉토리 생성 실패: " + localDir, e);
+        }
+        log.info("원격 저장소(local) 경로: {}", root);
+    }
+
+    @Override
+    public String getType() {
+        return "local";
+    }
+
+    @Override
+    public RemoteObject upload(Path file, String objectName) throws IOException {
+        Path target = resolve(objectName);
+        // 임시 파일에 복사한 뒤 옮겨 중간에 실패해도 쓰다 만 파일이 남지 않게 함
+        Path temp = Files.createTempFile(root, "upload-", ".tmp");
+        try {
+            Files.copy(file, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return new RemoteObject(objectName, target.toUri().toString());
+    }
+
+    @Override
+    public void delete(String objectId) throws IOException {
+        Files.deleteIfExists(resolve(objectId));
+    }
+
+    private Path resolve(String objectName) {
+        Path target = root.resolve(objectName).normalize();
+        if (!target.getParent().equals(root)) {
+            throw new ValidationException("잘못된 원격 파일 이름입니다: " + objectName);
+        }
+        return target;
+    }
+}
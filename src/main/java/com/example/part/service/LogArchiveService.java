@@ -0,0 +1,328 @@
+package com.example.part.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.part.dto.AccessLogDTO;
+import com.example.part.dto.ActionAuditDTO;
+import com.example.part.exception.ValidationException;
+import com.example.part.mapper.AccessLogMapper;
+import com.example.part.mapper.ActionAuditMapper;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 감사 로그 / 접속 로그 보관(archive)
+ * 보관 기간(retention-days)이 지난 행을 오래된 순으로 batch-size 건씩 읽어 gzip NDJSON 파일로 쓰고, 파일이 확정된 뒤 PK로 삭제한다.
+ * 파일은 {archive-dir}/{테이블}/{yyyy}/{MM}/{yyyy-MM-dd}-{첫 PK}.ndjson.gz 로 일자별로 나뉘며,
+ * 같은 묶음을 다시 옮기면 같은 파일을 덮어쓰므로 쓰기 후 삭제 전에 중단돼도 중복이 남지 않는다.
+ * 보관 기간을 넘는 기간 조회는 scan()으로 일자 파일만 골라 읽는다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LogArchiveService {
+
+    public static final String AUDIT_TABLE = "action_audit";
+    public static final String ACCESS_TABLE = "user_access_logs";
+
+    private static final String FILE_SUFFIX = ".ndjson.gz";
+
+    private final ActionAuditMapper actionAuditMapper;
+    private final AccessLogMapper accessLogMapper;
+    private final ObjectMapper objectMapper;
+
+    @Value("${archive.dir:${file.backup-dir:/var/livewalk/backups/csv}/archive}")
+    private String archiveDir;
+
+    @Value("${archive.retention-days:180}")
+    private int retentionDays;
+
+    @Value("${archive.batch-size:2000}")
+    private int batchSize;
+
+    @Value("${archive.batch-pause-ms:200}")
+    private long batchPauseMs;
+
+    private final AtomicLong archivedAudits = new AtomicLong();
+    private final AtomicLong archivedAccessLogs = new AtomicLong();
+    private final AtomicLong filesWritten = new AtomicLong();
+    private final AtomicLong archiveScans = new AtomicLong();
+    private volatile long lastRunMs = -1;
+    private volatile long lastRunAt = 0;
+    private volatile String lastError;
+
+    /**
+     * 매일 새벽 보관 작업 실행
+     */
+    @Scheduled(cron = "${archive.cron:0 0 3 * * *}")
+    public void scheduledArchive() {
+        try {
+            archive();
+        } catch (Exception e) {
+            log.error("로그 보관 작업 실패", e);
+        }
+    }
+
+    /**
+     * 보관 기간이 지난 감사 로그/접속 로그를 파일로 이동
+     */
+    public synchronized Map<String, Object> archive() {
+        long start = System.currentTimeMillis();
+        LocalDateTime cutoff = hotWindowStart();
+        lastError = null;
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("cutoff", cutoff);
+        try {
+            result.put(AUDIT_TABLE, archiveTable(AUDIT_TABLE,
+                    () -> actionAuditMapper.selectArchiveBatch(cutoff, batchSize),
+                    ActionAuditDTO::getAuditId, dto -> dto.getCreatedAt().toLocalDate(),
+                    actionAuditMapper::deleteByIds, archivedAudits));
+            result.put(ACCESS_TABLE, archiveTable(ACCESS_TABLE,
+                    () -> accessLogMapper.selectArchiveBatch(cutoff, batchSize),
+                    AccessLogDTO::getLogId, dto -> dto.getLoginTime().toLocalDate(),
+                    accessLogMapper::deleteByIds, archivedAccessLogs));
+        } catch (RuntimeException e) {
+            lastError = e.getMessage();
+            throw e;
+        } finally {
+            lastRunMs = System.currentTimeMillis() - start;
+            lastRunAt = System.currentTimeMillis();
+        }
+
+        result.put("elapsedMs", lastRunMs);
+        log.info("로그 보관 완료: {}", result);
+        return result;
+    }
+
+    /**
+     * DB에 남아 있는 기간의 시작 (이보다 이전은 보관 파일에 있을 수 있음)
+     */
+    public LocalDateTime hotWindowStart() {
+        return LocalDate.now().minusDays(retentionDays).atStartOfDay();
+    }
+
+    /**
+     * 보관 파일까지 조회할지 - 시작일시를 보관 기간 이전으로 명시했거나 includeArchive로 요청한 경우만
+     * (시작 제한 없는 조회마다 보관 파일 전체를 풀지 않도록 from이 없으면 DB만 조회)
+     */
+    public boolean reachesArchive(LocalDateTime from, boolean includeArchive) {
+        return includeArchive || (from != null && from.isBefore(hotWindowStart()));
+    }
+
+    /**
+     * 기간 조회 파라미터 변환 - yyyy-MM-dd 또는 ISO 일시, 종료일을 날짜로만 주면 그날 끝까지 포함 ([from, to))
+     */
+    public static LocalDateTime parseRangeTime(String value, boolean endExclusive) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String text = value.trim();
+        try {
+            if (text.length() == 10) {
+                LocalDate date = LocalDate.parse(text);
+                return endExclusive ? date.plusDays(1).atStartOfDay() : date.atStartOfDay();
+            }
+            return LocalDateTime.parse(text.replace(' ', 'T'));
+        } catch (DateTimeParseException e) {
+            throw new ValidationException("잘못된 일시 형식입니다: " + value, e);
+        }
+    }
+
+    /**
+     * 보관 파일 조회 - [fromDate, toDate] 일자 파일만 최신 일자부터 읽어 filter를 통과한 행을 order 순으로 limit 건 반환
+     */
+    public <T> List<T> scan(String table, Class<T> type, LocalDate fromDate, LocalDate toDate, Predicate<T> filter,
+            Comparator<T> order, int limit) {
+        archiveScans.incrementAndGet();
+        List<T> result = new ArrayList<>();
+        if (limit <= 0) {
+            return result;
+        }
+
+        for (Map.Entry<LocalDate, List<Path>> day : listArchiveFiles(table, fromDate, toDate).entrySet()) {
+            List<T> rows = new ArrayList<>();
+            for (Path file : day.getValue()) {
+                readFile(file, type, filter, rows);
+            }
+            rows.sort(order);
+            for (T row : rows) {
+                result.add(row);
+                if (result.size() >= limit) {
+                    return result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 보관 지표
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("archiveDir", archiveDir);
+        stats.put("retentionDays", retentionDays);
+        stats.put("hotWindowStart", hotWindowStart());
+        stats.put("archivedAudits", archivedAudits.get());
+        stats.put("archivedAccessLogs", archivedAccessLogs.get());
+        stats.put("filesWritten", filesWritten.get());
+        stats.put("archiveScans", archiveScans.get());
+        stats.put("lastRunMs", lastRunMs);
+        stats.put("lastRunAt", lastRunAt);
+        stats.put("lastError", lastError);
+        return stats;
+    }
+
+    private <T> long archiveTable(String table, Supplier<List<T>> nextBatch,
+            Function<T, Long> idOf, Function<T, LocalDate> dateOf, Function<List<Long>, Integer> delete,
+            AtomicLong counter) {
+        long moved = 0;
+        while (true) {
+            List<T> batch = nextBatch.get();
+            if (batch.isEmpty()) {
+                break;
+            }
+
+            // 일자별 파일로 먼저 확정한 뒤 DB에서 삭제 (자동 커밋 - 묶음 단위로 짧게 잠금)
+            Map<LocalDate, List<T>> byDate = batch.stream()
+                    .collect(Collectors.groupingBy(dateOf, TreeMap::new, Collectors.toList()));
+            for (Map.Entry<LocalDate, List<T>> entry : byDate.entrySet()) {
+                writeFile(table, entry.getKey(), idOf.apply(entry.getValue().get(0)), entry.getValue());
+            }
+
+            List<Long> ids = batch.stream().map(idOf).collect(Collectors.toList());
+            delete.apply(ids);
+            moved += batch.size();
+            counter.addAndGet(batch.size());
+
+            if (batch.size() < batchSize) {
+                break;
+            }
+            pause();
+        }
+        if (moved > 0) {
+            log.info("{} 보관 이동: {}건", table, moved);
+        }
+        return moved;
+    }
+
+    private void writeFile(String table, LocalDate date, Long firstId, List<?> rows) {
+        Path dir = Paths.get(archiveDir, table, String.format("%04d", date.getYear()),
+                String.format("%02d", date.getMonthValue()));
+        Path target = dir.resolve(date + "-" + firstId + FILE_SUFFIX);
+        Path temp = dir.resolve(target.getFileName() + ".tmp");
+
+        try {
+            Files.createDirectories(dir);
+            try (FileOutputStream file = new FileOutputStream(temp.toFile())) {
+                GZIPOutputStream out = new GZIPOutputStream(new BufferedOutputStream(file, 64 * 1024), 64 * 1024);
+                for (Object row : rows) {
+                    out.write(objectMapper.writeValueAsBytes(row));
+                    out.write('\n');
+                }
+                out.finish();
+                out.flush();
+                // 삭제 전에 파일 내용이 디스크에 남도록 동기화
+                file.getFD().sync();
+            } catch (IOException e) {
+                Files.deleteIfExists(temp);
+                throw e;
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            filesWritten.incrementAndGet();
+        } catch (IOException e) {
+            throw new UncheckedIOException("보관 파일 저장 실패: " + target, e);
+        }
+    }
+
+    // 일자 내림차순 (같은 일자 파일 묶음)
+    private TreeMap<LocalDate, List<Path>> listArchiveFiles(String table, LocalDate fromDate, LocalDate toDate) {
+        TreeMap<LocalDate, List<Path>> files = new TreeMap<>(Comparator.reverseOrder());
+        Path root = Paths.get(archiveDir, table);
+        if (!Files.isDirectory(root)) {
+            return files;
+        }
+
+        try (Stream<Path> paths = Files.walk(root, 3)) {
+            paths.filter(path -> path.getFileName().toString().endsWith(FILE_SUFFIX)).forEach(path -> {
+                LocalDate date = parseFileDate(path);
+                if (date == null || (fromDate != null && date.isBefore(fromDate))
+                        || (toDate != null && date.isAfter(toDate))) {
+                    return;
+                }
+                files.computeIfAbsent(date, k -> new ArrayList<>()).add(path);
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("보관 파일 목록 조회 실패: " + root, e);
+        }
+        return files;
+    }
+
+    private static LocalDate parseFileDate(Path path) {
+        String name = path.getFileName().toString();
+        try {
+            return LocalDate.parse(name.substring(0, 10));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private <T> void readFile(Path file, Class<T> type, Predicate<T> filter, List<T> sink) {
+        try (InputStream in = new GZIPInputStream(new BufferedInputStream(Files.newInputStream(file), 64 * 1024));
+                MappingIterator<T> rows = objectMapper.readerFor(type).readValues(in)) {
+            while (rows.hasNext()) {
+                T row = rows.next();
+                if (filter.test(row)) {
+                    sink.add(row);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("보관 파일 읽기 실패: " + file, e);
+        }
+    }
+
+    private void pause() {
+        if (batchPauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(batchPauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
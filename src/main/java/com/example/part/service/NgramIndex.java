@@ -0,0 +1,252 @@
+package com.example.part.service;
+
+import java.text.Normalizer;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 문자 n-gram 역색인 (문서ID → 필드별 텍스트)
+ * 한 글자는 unigram, 두 글자 이상은 bigram 게시 목록을 교집합해 후보를 좁힌 뒤 원문 포함 여부로 확정한다.
+ * 한글은 음절 단위 코드포인트로 자르므로 "저항", "센서" 같은 2음절 검색어도 색인으로 바로 찾는다.
+ */
+public class NgramIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // 문서ID → (필드 → 정규화된 텍스트)
+    private final Map<Integer, Map<String, String>> documents = new HashMap<>();
+
+    // gram → 해당 gram을 포함하는 문서ID
+    private final Map<String, Set<Integer>> postings = new HashMap<>();
+
+    /**
+     * 문서 추가/교체
+     */
+    public void put(int id, Map<String, ?> fields) {
+        Map<String, String> normalized = new LinkedHashMap<>();
+        for (Map.Entry<String, ?> entry : fields.entrySet()) {
+            if (entry.getValue() != null) {
+                normalized.put(entry.getKey(), normalize(entry.getValue().toString()));
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            Map<String, String> previous = documents.put(id, normalized);
+            if (previous != null) {
+                unlink(id, previous);
+            }
+            for (String text : normalized.values()) {
+                for (String gram : indexGrams(text)) {
+                    postings.computeIfAbsent(gram, k -> new HashSet<>()).add(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 문서 삭제
+     */
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            Map<String, String> previous = documents.remove(id);
+            if (previous != null) {
+                unlink(id, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 전체 삭제
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 지정 필드 중 하나라도 keyword를 포함하는 문서ID (LIKE '%keyword%' 와 동일, 대소문자 무시)
+     */
+    public Set<Integer> match(String keyword, Collection<String> fields) {
+        String needle = normalize(keyword);
+
+        lock.readLock().lock();
+        try {
+            Set<Integer> result = new HashSet<>();
+            for (Integer id : candidates(needle)) {
+                if (containsIn(documents.get(id), needle, fields)) {
+                    result.add(id);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 단일 문서가 keyword를 포함하는지 여부 (제외 검색용)
+     */
+    public boolean matches(int id, String keyword, Collection<String> fields) {
+        String needle = normalize(keyword);
+
+        lock.readLock().lock();
+        try {
+            return containsIn(documents.get(id), needle, fields);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 전체 문서ID
+     */
+    public Set<Integer> ids() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(documents.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 색인된 문서 (정합성 점검용)
+     */
+    public Map<String, String> get(int id) {
+        lock.readLock().lock();
+        try {
+            Map<String, String> document = documents.get(id);
+            return document != null ? Collections.unmodifiableMap(document) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int gramCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 색인·검색 공통 정규화 (NFC 조합형 + 소문자) - 자모 분리 입력도 완성형 음절과 같게 취급
+     */
+    public static String normalize(String text) {
+        return Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+    }
+
+    // 게시 목록 교집합 (가장 짧은 목록부터 줄여 나감)
+    private Collection<Integer> candidates(String needle) {
+        Set<String> needleGrams = queryGrams(needle);
+        if (needleGrams.isEmpty()) {
+            return documents.keySet();
+        }
+
+        Set<Integer> smallest = null;
+        for (String gram : needleGrams) {
+            Set<Integer> posting = postings.get(gram);
+            if (posting == null) {
+                return Collections.emptySet();
+            }
+            if (smallest == null || posting.size() < smallest.size()) {
+                smallest = posting;
+            }
+        }
+
+        Set<Integer> result = new HashSet<>(smallest);
+        for (String gram : needleGrams) {
+            Set<Integer> posting = postings.get(gram);
+            if (posting != smallest) {
+                result.retainAll(posting);
+                if (result.isEmpty()) {
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private void unlink(int id, Map<String, String> document) {
+        for (String text : document.values()) {
+            for (String gram : indexGrams(text)) {
+                Set<Integer> posting = postings.get(gram);
+                if (posting != null) {
+                    posting.remove(id);
+                    if (posting.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean containsIn(Map<String, String> document, String needle, Collection<String> fields) {
+        if (document == null) {
+            return false;
+        }
+        for (String field : fields) {
+            String text = document.get(field);
+            if (text != null && text.contains(needle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 색인용 gram: 모든 unigram + 인접 코드포인트 bigram (필드 경계를 넘지 않음)
+    private static Set<String> indexGrams(String text) {
+        int[] codePoints = text.codePoints().toArray();
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i < codePoints.length; i++) {
+            result.add(new String(codePoints, i, 1));
+            if (i + 1 < codePoints.length) {
+                result.add(new String(codePoints, i, 2));
+            }
+        }
+        return result;
+    }
+
+    // 검색용 gram: 한 글자 검색어는 unigram, 그 외에는 bigram만 사용
+    private static Set<String> queryGrams(String needle) {
+        int[] codePoints = needle.codePoints().toArray();
+        Set<String> result = new HashSet<>();
+        if (codePoints.length == 1) {
+            result.add(new String(codePoints, 0, 1));
+            return result;
+        }
+        for (int i = 0; i + 1 < codePoints.length; i++) {
+            result.add(new String(codePoints, i, 2));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,522 @@
+package com.example.part.service;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.part.dto.PartImageDTO;
+import com.example.part.mapper.PartImageMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 부품 사진 파생 이미지 생성 (썸네일 / 중간 크기)
+ * 업로드 요청은 원본 저장 후 바로 끝나고, 전용 스레드가 EXIF 방향을 반영해 축소·JPEG 재압축한 파일을 저장소(ContentStore)에 넣어
+ * part_images에 기록한다. 같은 원본을 가진 사진이 이미 있으면 그 파생 이미지를 공유한다.
+ * 큐가 가득 찼거나 서버가 재시작되어 처리하지 못한 사진(pending)과 기능 도입 전 사진(NULL)은 백필 작업이 이어서 처리한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PartImageDerivativeService {
+
+    public static final String STATUS_PENDING = "pending";
+    public static final String STATUS_READY = "ready";
+    public static final String STATUS_FAILED = "failed";
+
+    private static final String URL_PREFIX = "/uploads/images/";
+    private static final int BACKFILL_PAGE_SIZE = 200;
+
+    private final PartImageMapper partImageMapper;
+    private final ContentStore contentStore;
+
+    @Value("${file.upload-dir:/var/livewalk/uploads/images}")
+    private String uploadDir;
+
+    @Value("${image.derivative.threads:2}")
+    private int threads;
+
+    @Value("${image.derivative.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${image.derivative.thumb-size:400}")
+    private int thumbSize;
+
+    @Value("${image.derivative.medium-size:1600}")
+    private int mediumSize;
+
+    @Value("${image.derivative.jpeg-quality:0.8}")
+    private float jpegQuality;
+
+    private ExecutorService pool;
+    // 대기 + 처리 중 건수 제한 (업로드는 자리가 없으면 건너뛰고, 백필은 자리가 날 때까지 대기)
+    private Semaphore slots;
+    // 같은 사진이 업로드 직후와 백필에서 중복 처리되지 않게 함
+    private final Set<Integer> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean backfillRunning = new AtomicBoolean(false);
+
+    private final AtomicLong readyCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong skippedCount = new AtomicLong();
+    private final AtomicLong savedBytes = new AtomicLong();
+    private volatile long lastProcessMs = -1;
+    private volatile long lastBackfillAt = 0;
+    private volatile int lastBackfillQueued = 0;
+
+    @PostConstruct
+    public void start() {
+        int poolSize = Math.max(threads, 1);
+        AtomicInteger seq = new AtomicInteger();
+        pool = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-derivative-" + seq.incrementAndGet());
+                    thread.setDaemon(true);
+                    // 업로드/조회 요청보다 낮은 우선순위
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+        slots = new Semaphore(Math.max(queueCapacity, 1) + poolSize);
+    }
+
+    @PreDestroy
+    public void stop() {
+        // 처리 중이던 사진은 pending으로 남아 다음 백필에서 다시 생성
+        pool.shutdownNow();
+    }
+
+    /**
+     * 업로드 직후 파생 이미지 생성 요청 - 큐가 가득 차면 pending으로 두고 백필에 맡김
+     */
+    public void submit(PartImageDTO image) {
+        if (!slots.tryAcquire()) {
+            skippedCount.incrementAndGet();
+            log.warn("파생 이미지 큐 포화 - 백필에서 처리: 이미지 {}", image.getImageId());
+            return;
+        }
+        dispatch(image);
+    }
+
+    /**
+     * 요청한 크기의 파일 경로 (thumb / medium / original) - 파생 이미지가 없으면 원본
+     */
+    public String resolveUrl(PartImageDTO image, String size) {
+        if ("thumb".equals(size) && image.getThumbUrl() != null) {
+            return image.getThumbUrl();
+        }
+        if (("medium".equals(size) || "thumb".equals(size)) && image.getMediumUrl() != null) {
+            return image.getMediumUrl();
+        }
+        return image.getImageUrl();
+    }
+
+    /**
+     * 파생 이미지 파일 삭제 (사진 삭제 시)
+     */
+    public void deleteDerivatives(PartImageDTO image) {
+        for (String url : new String[] { image.getThumbUrl(), image.getMediumUrl() }) {
+            if (url == null || !url.startsWith(URL_PREFIX)) {
+                continue;
+            }
+            String name = url.substring(URL_PREFIX.length());
+            if (contentStore.isKey(name)) {
+                // 같은 원본을 올린 다른 사진과 공유 중일 수 있으므로 참조만 해제
+                contentStore.release(name);
+                continue;
+            }
+            // 저장소 도입 전에 만든 파생 이미지
+            try {
+                Files.deleteIfExists(toPath(url));
+            } catch (IOException e) {
+                log.warn("파생 이미지 삭제 실패: {} - {}", url, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 백필 - 파생 이미지가 없는 사진을 키셋 페이지로 읽어 큐에 넣음 (이미 실행 중이면 무시)
+     *
+     * @return 새로 시작했으면 true
+     */
+    public boolean startBackfill() {
+        if (!backfillRunning.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread thread = new Thread(this::runBackfill, "image-derivative-backfill");
+        thread.setDaemon(true);
+        thread.start();
+        return true;
+    }
+
+    /**
+     * 주기 백필 (서버 시작 직후 포함) - 큐 포화·재시작으로 남은 pending 사진과 기존 사진 처리
+     */
+    @Scheduled(initialDelayString = "${image.derivative.backfill-initial-delay-ms:60000}",
+            fixedDelayString = "${image.derivative.backfill-interval-ms:3600000}")
+    public void scheduledBackfill() {
+        startBackfill();
+    }
+
+    /**
+     * 파생 이미지 지표
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("inFlight", inFlight.size());
+        stats.put("ready", readyCount.get());
+        stats.put("failed", failedCount.get());
+        stats.put("queueFullSkipped", skippedCount.get());
+        stats.put("savedBytes", savedBytes.get());
+        stats.put("lastProcessMs", lastProcessMs);
+        stats.put("backfillRunning", backfillRunning.get());
+        stats.put("lastBackfillAt", lastBackfillAt);
+        stats.put("lastBackfillQueued", lastBackfillQueued);
+        return stats;
+    }
+
+    private void runBackfill() {
+        long start = System.currentTimeMillis();
+        int queued = 0;
+        try {
+            Integer afterId = 0;
+            while (true) {
+                List<PartImageDTO> page = partImageMapper.selectMissingDerivatives(afterId, BACKFILL_PAGE_SIZE);
+                for (PartImageDTO image : page) {
+                    // 두 자리가 빌 때까지 기다렸다가 한 자리만 사용 - 업로드 요청용 자리를 항상 남겨 둠
+                    slots.acquire(2);
+                    slots.release();
+                    if (dispatch(image)) {
+                        queued++;
+                    }
+                }
+                if (page.size() < BACKFILL_PAGE_SIZE) {
+                    break;
+                }
+                afterId = page.get(page.size() - 1).getImageId();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.error("파생 이미지 백필 실패: {}", e.getMessage(), e);
+        } finally {
+            lastBackfillAt = System.currentTimeMillis();
+            lastBackfillQueued = queued;
+            backfillRunning.set(false);
+        }
+        if (queued > 0) {
+            log.info("파생 이미지 백필: {}건 요청 ({}ms)", queued, System.currentTimeMillis() - start);
+        }
+    }
+
+    // 자리(slot)를 이미 확보한 상태에서 호출 - 처리하지 않으면 여기서 반납
+    private boolean dispatch(PartImageDTO image) {
+        if (!inFlight.add(image.getImageId())) {
+            slots.release();
+            return false;
+        }
+        try {
+            pool.execute(() -> {
+                try {
+                    process(image);
+                } finally {
+                    inFlight.remove(image.getImageId());
+                    slots.release();
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            // 종료 중 (pending으로 남음)
+            inFlight.remove(image.getImageId());
+            slots.release();
+            return false;
+        }
+    }
+
+    private void process(PartImageDTO image) {
+        long start = System.currentTimeMillis();
+        Path original = toPath(image.getImageUrl());
+        try {
+            if (original == null || !Files.exists(original)) {
+                throw new IOException("원본 파일이 없습니다: " + image.getImageUrl());
+            }
+            if (reuseSiblingDerivatives(image)) {
+                return;
+            }
+
+            // 중간 크기 기준으로 디코딩한 뒤 썸네일은 중간 크기에서 다시 축소 (원본은 한 번만 읽음)
+            BufferedImage medium = readOriented(original, mediumSize);
+            BufferedImage thumb = scaleDown(medium, thumbSize);
+
+            ContentStore.StoredFile mediumFile = contentStore.put(encodeJpeg(medium), ".jpg");
+            ContentStore.StoredFile thumbFile = contentStore.put(encodeJpeg(thumb), ".jpg");
+            long written = mediumFile.size() + thumbFile.size();
+
+            int updated = partImageMapper.updateDerivatives(image.getImageId(), URL_PREFIX + thumbFile.key(),
+                    URL_PREFIX + mediumFile.key(), STATUS_READY);
+            if (updated == 0) {
+                // 처리 중에 사진이 삭제됨
+                contentStore.release(thumbFile.key());
+                contentStore.release(mediumFile.key());
+                return;
+            }
+            readyCount.incrementAndGet();
+            long originalSize = Files.size(original);
+            savedBytes.addAndGet(Math.max(originalSize - written, 0));
+            lastProcessMs = System.currentTimeMillis() - start;
+            log.debug("파생 이미지 생성: 이미지 {} ({}KB → {}KB, {}ms)", image.getImageId(), originalSize / 1024,
+                    written / 1024, lastProcessMs);
+        } catch (IOException | RuntimeException e) {
+            // 읽을 수 없는 형식(HEIC 등)은 원본을 그대로 사용
+            failedCount.incrementAndGet();
+            log.warn("파생 이미지 생성 실패: 이미지 {} - {}", image.getImageId(), e.getMessage());
+            try {
+                partImageMapper.updateDerivatives(image.getImageId(), null, null, STATUS_FAILED);
+            } catch (RuntimeException updateError) {
+                log.warn("파생 이미지 상태 기록 실패: 이미지 {} - {}", image.getImageId(), updateError.getMessage());
+            }
+        }
+    }
+
+    // 같은 원본(같은 저장소 키)을 가진 사진의 파생 이미지가 있으면 참조만 추가해 재사용
+    private boolean reuseSiblingDerivatives(PartImageDTO image) {
+        PartImageDTO sibling = partImageMapper.selectReadySibling(image.getImageUrl(), image.getImageId());
+        if (sibling == null) {
+            return false;
+        }
+        String thumbKey = sibling.getThumbUrl().substring(URL_PREFIX.length());
+        String mediumKey = sibling.getMediumUrl().substring(URL_PREFIX.length());
+        if (!contentStore.retain(thumbKey)) {
+            return false;
+        }
+        if (!contentStore.retain(mediumKey)) {
+            contentStore.release(thumbKey);
+            return false;
+        }
+        if (partImageMapper.updateDerivatives(image.getImageId(), sibling.getThumbUrl(), sibling.getMediumUrl(),
+                STATUS_READY) == 0) {
+            contentStore.release(thumbKey);
+            contentStore.release(mediumKey);
+            return true;
+        }
+        readyCount.incrementAndGet();
+        log.debug("파생 이미지 재사용: 이미지 {} ← 이미지 {}", image.getImageId(), sibling.getImageId());
+        return true;
+    }
+
+    /**
+     * 원본을 긴 변 maxSize 이하로 읽고 EXIF 방향대로 회전
+     * 큰 사진은 디코딩 단계에서 서브샘플링해 전체 해상도 이미지를 메모리에 올리지 않는다.
+     */
+    private BufferedImage readOriented(Path original, int maxSize) throws IOException {
+        int orientation = readExifOrientation(original);
+
+        BufferedImage decoded;
+        try (ImageInputStream input = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("지원하지 않는 이미지 형식입니다.");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int longSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                ImageReadParam param = reader.getDefaultReadParam();
+                // 서브샘플링 후에도 긴 변이 maxSize 이상 남도록 (품질은 이후 단계 축소로 맞춤)
+                int step = Math.max(longSide / maxSize, 1);
+                param.setSourceSubsampling(step, step, 0, 0);
+                decoded = reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+
+        // 긴 변 기준으로 줄이므로 회전은 축소한 뒤에 적용
+        return rotate(scaleDown(toRgb(decoded), maxSize), orientation);
+    }
+
+    // JPEG은 투명도를 지원하지 않으므로 흰 배경에 합성
+    private BufferedImage toRgb(BufferedImage image) {
+        if (image.getType() == BufferedImage.TYPE_INT_RGB || image.getType() == BufferedImage.TYPE_3BYTE_BGR) {
+            return image;
+        }
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        try {
+            graphics.setColor(Color.WHITE);
+            graphics.fillRect(0, 0, rgb.getWidth(), rgb.getHeight());
+            graphics.drawImage(image, 0, 0, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rgb;
+    }
+
+    // 긴 변이 maxSize 이하가 될 때까지 절반씩 축소 (한 번에 크게 줄이면 계단 현상)
+    private BufferedImage scaleDown(BufferedImage image, int maxSize) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double scale = Math.min(1.0, (double) maxSize / Math.max(width, height));
+        int targetWidth = Math.max((int) Math.round(width * scale), 1);
+        int targetHeight = Math.max((int) Math.round(height * scale), 1);
+
+        BufferedImage current = image;
+        while (current.getWidth() != targetWidth || current.getHeight() != targetHeight) {
+            int nextWidth = Math.max(current.getWidth() / 2, targetWidth);
+            int nextHeight = Math.max(current.getHeight() / 2, targetHeight);
+            BufferedImage next = new BufferedImage(nextWidth, nextHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.drawImage(current, 0, 0, nextWidth, nextHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        }
+        return current;
+    }
+
+    // EXIF Orientation(1~8)에 맞춰 회전/반전 - 결과 파일에는 EXIF가 없으므로 픽셀에 반영
+    private BufferedImage rotate(BufferedImage image, int orientation) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        // AffineTransform(m00, m10, m01, m11, m02, m12)
+        AffineTransform transform = switch (orientation) {
+            case 2 -> new AffineTransform(-1, 0, 0, 1, width, 0); // 좌우 반전
+            case 3 -> new AffineTransform(-1, 0, 0, -1, width, height); // 180도
+            case 4 -> new AffineTransform(1, 0, 0, -1, 0, height); // 상하 반전
+            case 5 -> new AffineTransform(0, 1, 1, 0, 0, 0); // 대각 반전
+            case 6 -> new AffineTransform(0, 1, -1, 0, height, 0); // 시계 방향 90도
+            case 7 -> new AffineTransform(0, -1, -1, 0, height, width); // 반대 대각 반전
+            case 8 -> new AffineTransform(0, -1, 1, 0, 0, width); // 반시계 방향 90도
+            default -> null;
+        };
+        if (transform == null) {
+            return image;
+        }
+
+        boolean swap = orientation >= 5;
+        BufferedImage rotated = new BufferedImage(swap ? height : width, swap ? width : height,
+                BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rotated.createGraphics();
+        try {
+            graphics.drawImage(image, transform, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rotated;
+    }
+
+    private byte[] encodeJpeg(BufferedImage image) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(out)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * JPEG APP1(Exif)의 IFD0에서 Orientation(0x0112) 값 - 없거나 JPEG이 아니면 1
+     */
+    static int readExifOrientation(Path path) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readUnsignedShort() != 0xFFD8) {
+                return 1;
+            }
+            while (true) {
+                int marker = in.readUnsignedShort();
+                // SOS 이후는 이미지 데이터 - Exif가 없음
+                if ((marker & 0xFF00) != 0xFF00 || marker == 0xFFDA || marker == 0xFFD9) {
+                    return 1;
+                }
+                int length = in.readUnsignedShort() - 2;
+                if (length < 0) {
+                    return 1;
+                }
+                if (marker != 0xFFE1) {
+                    in.skipNBytes(length);
+                    continue;
+                }
+
+                byte[] segment = in.readNBytes(length);
+                if (segment.length < 14 || !"Exif".equals(new String(segment, 0, 4, StandardCharsets.US_ASCII))) {
+                    continue;
+                }
+                return parseOrientation(ByteBuffer.wrap(segment, 6, segment.length - 6).slice());
+            }
+        } catch (IOException | RuntimeException e) {
+            // 잘린 파일, 잘못된 오프셋 등은 방향 정보 없음으로 처리
+            return 1;
+        }
+    }
+
+    // TIFF 헤더(바이트 순서 + IFD0 오프셋) 다음 IFD0 항목(12바이트씩)에서 Orientation 검색
+    private static int parseOrientation(ByteBuffer tiff) {
+        tiff.order(tiff.getShort(0) == 0x4949 ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+        int ifd = tiff.getInt(4);
+        int count = Short.toUnsignedInt(tiff.getShort(ifd));
+        for (int i = 0; i < count; i++) {
+            int entry = ifd + 2 + i * 12;
+            if (Short.toUnsignedInt(tiff.getShort(entry)) == 0x0112) {
+                return Short.toUnsignedInt(tiff.getShort(entry + 8));
+            }
+        }
+        return 1;
+    }
+
+    private Path toPath(String url) {
+        if (url == null || !url.startsWith(URL_PREFIX)) {
+            return null;
+        }
+        return contentStore.locate(uploadDir, url.substring(URL_PREFIX.length()));
+    }
+}
@@ -2,6 +2,7 @@ package com.example.part.service;
 
 import java.util.List;
 
+import org.springframework.core.io.Resource;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.example.part.dto.PartImageDTO;
@@ -17,6 +18,9 @@ public interface PartImageService {
     // 이미지 타입별 조회
     List<PartImageDTO> getImagesByType(Integer incomingId, String imageType);
 
+    // 요청한 크기의 이미지 파일 (thumb / medium / original, 파생 이미지가 없으면 원본)
+    Resource loadImageAsResource(Integer imageId, String size);
+
     // 이미지 삭제
     void deleteImage(Integer imageId) throws Exception;
 
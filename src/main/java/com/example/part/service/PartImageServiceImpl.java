@@ -4,20 +4,24 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.List;
-import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
 import com.example.part.dto.PartImageDTO;
+import com.example.part.exception.ResourceNotFoundException;
+import com.example.part.exception.ValidationException;
 import com.example.part.mapper.PartImageMapper;
 
 import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Service
 public class PartImageServiceImpl implements PartImageService {
 
@@ -27,6 +31,15 @@ public class PartImageServiceImpl implements PartImageService {
     @Autowired
     private AuditLogger auditLogger;
 
+    @Autowired
+    private PartImageDerivativeService derivativeService;
+
+    @Autowired
+    private ContentStore contentStore;
+
+    @Autowired
+    private StorageOffloadService storageOffloadService;
+
     @Value("${file.upload-dir:/var/livewalk/uploads/images}")
     private String uploadDir;
 
@@ -47,27 +60,16 @@ public class PartImageServiceImpl implements PartImageService {
 
     @Override
     public PartImageDTO uploadImage(MultipartFile file, Integer incomingId, String imageType) throws Exception {
-        // 파일 저장
+        // 파일 저장 (같은 내용이 이미 있으면 기존 파일 공유)
         String originalFilename = file.getOriginalFilename();
-        String extension = "";
-        if (originalFilename != null && originalFilename.contains(".")) {
-            extension = originalFilename.substring(originalFilename.lastIndexOf("."));
-        }
-
-        // UUID로 고유한 파일명 생성
-        String savedFilename = UUID.randomUUID().toString() + extension;
-        Path filePath = Paths.get(uploadDir, savedFilename);
-
-        // 파일 저장
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+        ContentStore.StoredFile stored = contentStore.put(file.getInputStream(),
+                ContentStore.extensionOf(originalFilename));
 
         // URL 생성 (상대 경로)
-        String imageUrl = "/uploads/images/" + savedFilename;
+        String imageUrl = "/uploads/images/" + stored.key();
 
-        System.out.println("=== 이미지 업로드 ===");
-        System.out.println("파일 저장 경로: " + filePath.toAbsolutePath());
-        System.out.println("생성된 URL: " + imageUrl);
-        System.out.println("==================");
+        log.debug("이미지 업로드: {}{} → {}", stored.path(), stored.deduplicated() ? " (중복 - 기존 파일 사용)" : "",
+                imageUrl);
 
         // DTO 생성
         PartImageDTO dto = new PartImageDTO();
@@ -79,9 +81,19 @@ public class PartImageServiceImpl implements PartImageService {
         dto.setFileSize(file.getSize());
         dto.setMimeType(file.getContentType());
         dto.setDisplayOrder(0);
+        dto.setDerivativeStatus(PartImageDerivativeService.STATUS_PENDING);
 
         // DB 저장
-        partImageMapper.insertImage(dto);
+        try {
+            partImageMapper.insertImage(dto);
+        } catch (RuntimeException e) {
+            contentStore.release(stored.key());
+            throw e;
+        }
+
+        // 썸네일/중간 크기 생성과 원격 저장소 복제는 백그라운드에서 (응답은 원본 저장 직후 반환)
+        derivativeService.submit(dto);
+        storageOffloadService.enqueue(stored.key());
 
         // 감사로그 기록
         auditLogger.log(
@@ -106,6 +118,34 @@ public class PartImageServiceImpl implements PartImageService {
         return partImageMapper.selectByIncomingIdAndType(incomingId, imageType);
     }
 
+    @Override
+    public Resource loadImageAsResource(Integer imageId, String size) {
+        if (size != null && !size.equals("thumb") && !size.equals("medium") && !size.equals("original")) {
+            throw new ValidationException("size는 thumb, medium, original 중 하나여야 합니다: " + size);
+        }
+
+        PartImageDTO image = partImageMapper.selectById(imageId);
+        if (image == null) {
+            throw new ResourceNotFoundException("이미지를 찾을 수 없습니다: " + imageId);
+        }
+
+        String imageUrl = derivativeService.resolveUrl(image, size);
+        if (imageUrl == null || !imageUrl.startsWith("/uploads/images/")) {
+            throw new ResourceNotFoundException("로컬에 저장된 이미지가 아닙니다: " + imageId);
+        }
+
+        try {
+            Path filePath = contentStore.locate(uploadDir, imageUrl.substring("/uploads/images/".length())).normalize();
+            Resource resource = new UrlResource(filePath.toUri());
+            if (!resource.exists() || !resource.isReadable()) {
+                throw new ResourceNotFoundException("이미지 파일을 찾을 수 없습니다: " + imageId);
+            }
+            return resource;
+        } catch (java.net.MalformedURLException e) {
+            throw new RuntimeException("이미지 로딩 실패: " + imageId, e);
+        }
+    }
+
     @Override
     public void deleteImage(Integer imageId) throws Exception {
         // DB에서 이미지 정보 조회
@@ -118,16 +158,18 @@ public class PartImageServiceImpl implements PartImageService {
             imageType = image.getImageType();
 
             if ("local".equals(image.getStorageType())) {
-                // 로컬 파일 삭제
+                // 로컬 파일 삭제 (저장소 파일은 DB 삭제 후 참조 해제)
                 String imageUrl = image.getImageUrl();
                 if (imageUrl != null && imageUrl.startsWith("/uploads/images/")) {
                     String filename = imageUrl.substring("/uploads/images/".length());
-                    Path filePath = Paths.get(uploadDir, filename);
-                    try {
-                        Files.deleteIfExists(filePath);
-                    } catch (IOException e) {
-                        // 파일 삭제 실패해도 DB는 삭제
-                        e.printStackTrace();
+                    if (!contentStore.isKey(filename)) {
+                        Path filePath = Paths.get(uploadDir, filename);
+                        try {
+                            Files.deleteIfExists(filePath);
+                        } catch (IOException e) {
+                            // 파일 삭제 실패해도 DB는 삭제
+                            log.warn("이미지 파일 삭제 실패: {} - {}", filePath, e.getMessage());
+                        }
                     }
                 }
             }
@@ -136,6 +178,14 @@ public class PartImageServiceImpl implements PartImageService {
         // DB에서 삭제
         partImageMapper.deleteImage(imageId);
 
+        if (image != null && "local".equals(image.getStorageType())) {
+            String imageUrl = image.getImageUrl();
+            if (imageUrl != null && imageUrl.startsWith("/uploads/images/")) {
+                contentStore.release(imageUrl.substring("/uploads/images/".length()));
+            }
+            derivativeService.deleteDerivatives(image);
+        }
+
         // 감사로그 기록
         auditLogger.log(
             "part_image",
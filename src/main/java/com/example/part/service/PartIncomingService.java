@@ -2,7 +2,9 @@ package com.example.part.service;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
+import com.example.part.dto.PageResponseDTO;
 import com.example.part.dto.PartIncomingDTO;
 
 public interface PartIncomingService {
@@ -13,9 +15,15 @@ public interface PartIncomingService {
     // 입고 등록 (부품번호 수동 입력)
     void registerIncomingWithPartNumber(PartIncomingDTO partIncomingDTO);
 
+    // 입고 일괄 등록 (청크 단위 커밋, 성공/실패/건너뜀 행 번호 보고)
+    Map<String, Object> registerIncomingBulk(List<PartIncomingDTO> incomingList);
+
     // 전체 입고 내역 조회
     List<PartIncomingDTO> getAllIncoming();
 
+    // 전체 입고 내역 스트리밍 (행 단위로 consumer 호출, 목록을 메모리에 만들지 않음)
+    void streamAllIncoming(Consumer<PartIncomingDTO> consumer);
+
     // incoming_id로 단건 조회
     PartIncomingDTO getIncomingById(int incomingId);
 
@@ -36,6 +44,12 @@ public interface PartIncomingService {
 
     List<Map<String, Object>> searchInventoryAdvanced(Map<String, Object> params);
 
+    // 현재 재고 고급 검색 스트리밍 (내보내기용)
+    void streamInventoryAdvanced(Map<String, Object> params, Consumer<Map<String, Object>> consumer);
+
+    // 재고 부족 스트리밍 (내보내기용)
+    void streamLowStock(int threshold, Consumer<Map<String, Object>> consumer);
+
     // 입고 정보 수정
     void updateIncoming(PartIncomingDTO partIncomingDTO);
 
@@ -46,4 +60,13 @@ public interface PartIncomingService {
     List<PartIncomingDTO> searchWithSort(String keyword, String column, String order);
 
     List<PartIncomingDTO> searchAdvanced(Map<String, Object> params);
+
+    // 고급 검색 스트리밍 (내보내기용, 목록을 메모리에 만들지 않음)
+    void streamSearchAdvanced(Map<String, Object> params, Consumer<PartIncomingDTO> consumer);
+
+    // 키셋 페이지 조회 (고급 검색 조건 + created_at DESC, incoming_id DESC)
+    PageResponseDTO<PartIncomingDTO> getIncomingPage(Map<String, Object> params, Integer limit, String after);
+
+    // 현재 재고 키셋 페이지 조회 (part_number 오름차순)
+    PageResponseDTO<Map<String, Object>> getInventoryPage(Integer limit, String after);
 }
@@ -1,22 +1,32 @@
 package com.example.part.service;
 
 import java.math.BigDecimal;
-import java.util.LinkedHashMap;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.regex.Pattern;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 
 import com.example.part.dto.CategoryDTO;
+import com.example.part.dto.PageCursor;
+import com.example.part.dto.PageResponseDTO;
 import com.example.part.dto.PartIncomingDTO;
 import com.example.part.dto.PartLocationDTO;
+import com.example.part.exception.ValidationException;
 import com.example.part.mapper.PartIncomingMapper;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -31,6 +41,13 @@ public class PartIncomingServiceImpl implements PartIncomingService {
 
     private static final Pattern CABINET_LOC_PATTERN = Pattern.compile("^([A-Z]{1,2})-(\\d{1,2})$");
 
+    // 감사 로그 비교 필드 (updateIncoming이 갱신하는 컬럼 + 위치 입력 필드)
+    private static final FieldDiff.Spec<PartIncomingDTO> AUDIT_FIELDS = FieldDiff.spec(PartIncomingDTO.class,
+            FieldDiff.NullPolicy.COMPARE, "partNumber", "categoryId", "partName", "description", "projectName",
+            "unit", "paymentMethodId", "cabinetLocation", "mapLocation", "location", "overrideCabinet",
+            "incomingQuantity", "purchasePrice", "currency", "exchangeRate", "originalPrice", "purchaseDatetime",
+            "supplier", "purchaser", "invoiceNumber", "note");
+
     private final PartIncomingMapper partIncomingMapper;
 
     private final CategoryService categoryService;
@@ -39,7 +56,19 @@ public class PartIncomingServiceImpl implements PartIncomingService {
 
     private final AuditLogger auditLogger;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final FieldDiff fieldDiff;
+
+    private final PartStockService partStockService;
+
+    private final InventoryCache inventoryCache;
+
+    private final SearchIndex searchIndex;
+
+    private final TransactionTemplate transactionTemplate;
+
+    // 일괄 등록 시 한 번에 커밋할 행 수
+    @Value("${incoming.bulk.chunk-size:500}")
+    private int bulkChunkSize;
 
     @Override
 
@@ -105,6 +134,10 @@ public class PartIncomingServiceImpl implements PartIncomingService {
 
             }
 
+            // 재고 원장 반영 (같은 트랜잭션)
+            partStockService.applyIncoming(partIncomingDTO);
+            searchIndex.indexIncoming(partIncomingDTO.getIncomingId());
+
             // 5. 부품 위치 정보 저장
             log.info("5단계: 부품 위치 정보 저장 시작");
             String cabinetLoc = partIncomingDTO.getCabinetLocation();
@@ -174,6 +207,9 @@ public class PartIncomingServiceImpl implements PartIncomingService {
 
         }
 
+        partStockService.applyIncoming(partIncomingDTO);
+        searchIndex.indexIncoming(partIncomingDTO.getIncomingId());
+
         log.info("입고 등록 완료: 부품번호 {}, 수량 {}", partNumber, partIncomingDTO.getIncomingQuantity());
 
         logAudit("CREATE",
@@ -184,6 +220,167 @@ public class PartIncomingServiceImpl implements PartIncomingService {
 
     }
 
+    /**
+     * 입고 일괄 등록 (엑셀 붙여넣기)
+     * 카테고리는 이름별로 한 번만 조회/생성하고, 청크 단위로 다중 행 INSERT 후 커밋한다.
+     * 청크 INSERT가 실패하면 해당 청크만 한 행씩 다시 넣어 실패 행을 찾아낸다.
+     */
+    @Override
+    public Map<String, Object> registerIncomingBulk(List<PartIncomingDTO> incomingList) {
+        long start = System.currentTimeMillis();
+
+        List<Integer> successIndices = new ArrayList<>();
+        List<Integer> failIndices = new ArrayList<>();
+        List<Integer> skippedIndices = new ArrayList<>();
+        List<Map<String, Object>> failDetails = new ArrayList<>();
+
+        // 1. 검증 및 전처리 (카테고리 이름 → ID 는 일괄 등록 동안 재사용)
+        Map<String, Integer> categoryIds = new HashMap<>();
+        List<BulkRow> rows = new ArrayList<>();
+
+        for (int i = 0; i < incomingList.size(); i++) {
+            PartIncomingDTO dto = incomingList.get(i);
+
+            // 필수 필드 체크: 부품명과 카테고리가 없으면 건너뛰기 (입력하다 만 행)
+            if (isEmptyOrIncomplete(dto)) {
+                skippedIndices.add(i);
+                continue;
+            }
+
+            try {
+                rows.add(prepareBulkRow(i, dto, categoryIds));
+            } catch (RuntimeException e) {
+                failIndices.add(i);
+                failDetails.add(bulkFailDetail(i, dto, e));
+            }
+        }
+
+        // 2. 청크 단위 INSERT + 커밋
+        for (int from = 0; from < rows.size(); from += bulkChunkSize) {
+            List<BulkRow> chunk = rows.subList(from, Math.min(from + bulkChunkSize, rows.size()));
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> insertBulkChunk(chunk));
+                chunk.forEach(row -> successIndices.add(row.index()));
+            } catch (RuntimeException e) {
+                log.warn("입고 일괄 등록 청크 실패 - 행 단위로 재시도: {}건, 오류={}", chunk.size(), e.getMessage());
+
+                for (BulkRow row : chunk) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> insertBulkChunk(List.of(row)));
+                        successIndices.add(row.index());
+                    } catch (RuntimeException rowError) {
+                        failIndices.add(row.index());
+                        failDetails.add(bulkFailDetail(row.index(), row.dto(), rowError));
+                    }
+                }
+            }
+        }
+
+        Collections.sort(successIndices);
+        Collections.sort(failIndices);
+        failDetails.sort(Comparator.comparing(detail -> (Integer) detail.get("index")));
+
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("입고 일괄 등록 완료: 전체 {}건, 성공 {}건, 실패 {}건, 건너뜀 {}건 ({}ms)",
+                incomingList.size(), successIndices.size(), failIndices.size(), skippedIndices.size(), elapsed);
+
+        if (!successIndices.isEmpty()) {
+            logAudit("CREATE", null, "part_incoming 일괄 등록: " + successIndices.size() + "건", null,
+                    resolveActor(incomingList.get(successIndices.get(0))));
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("success", successIndices.size());
+        result.put("fail", failIndices.size());
+        result.put("skipped", skippedIndices.size());
+        result.put("successIndices", successIndices);
+        result.put("failIndices", failIndices);
+        result.put("skippedIndices", skippedIndices);
+        result.put("failDetails", failDetails);
+        result.put("elapsedMs", elapsed);
+        return result;
+    }
+
+    // 일괄 등록 1행 (원본 순번, 입고 DTO, 위치 - 없으면 null)
+    private record BulkRow(int index, PartIncomingDTO dto, PartLocationDTO location) {
+    }
+
+    private BulkRow prepareBulkRow(int index, PartIncomingDTO dto, Map<String, Integer> categoryIds) {
+        if (StringUtils.hasText(dto.getCategoryName())) {
+            Integer categoryId = categoryIds.computeIfAbsent(dto.getCategoryName(),
+                    name -> categoryService.findOrCreateCategoryByName(name).getCategoryId());
+            dto.setCategoryId(categoryId);
+        }
+
+        if (!StringUtils.hasText(dto.getPartNumber())) {
+            throw new RuntimeException("부품번호는 필수 입력 항목입니다.");
+        }
+
+        calculateExchangeRate(dto);
+
+        PartLocationDTO location = buildPartLocation(null, dto.getPartNumber(), dto.getPartName(),
+                dto.getCabinetLocation(), dto.getMapLocation(), dto.getLocation());
+
+        return new BulkRow(index, dto, location);
+    }
+
+    // 청크 INSERT (입고 → 위치 → 재고 원장, 같은 트랜잭션)
+    private void insertBulkChunk(List<BulkRow> chunk) {
+        List<PartIncomingDTO> dtos = new ArrayList<>(chunk.size());
+        for (BulkRow row : chunk) {
+            // 이전 청크 시도에서 채워진 ID 초기화 (롤백된 값)
+            row.dto().setIncomingId(null);
+            dtos.add(row.dto());
+        }
+
+        partIncomingMapper.insertIncomingBatch(dtos);
+
+        List<PartLocationDTO> locations = new ArrayList<>();
+        List<Integer> incomingIds = new ArrayList<>(chunk.size());
+        for (BulkRow row : chunk) {
+            incomingIds.add(row.dto().getIncomingId());
+            if (row.location() != null) {
+                row.location().setIncomingId(row.dto().getIncomingId());
+                locations.add(row.location());
+            }
+        }
+        partLocationService.insertBatchByIncomingId(locations);
+
+        partStockService.applyIncomingBatch(dtos);
+        searchIndex.indexNewIncomings(incomingIds);
+    }
+
+    private Map<String, Object> bulkFailDetail(int index, PartIncomingDTO dto, RuntimeException e) {
+        String errorMessage = e.getMessage();
+
+        // 중복 키 오류 감지
+        Throwable cause = e.getCause() != null ? e.getCause() : e;
+        if (cause.getMessage() != null && cause.getMessage().contains("Duplicate entry")
+                && cause.getMessage().contains("uniq_part_purchase")) {
+            errorMessage = "동일한 부품번호가 같은 시간에 이미 등록되어 있습니다. 잠시 후 다시 시도하거나 구매일자를 변경하세요.";
+        }
+
+        Map<String, Object> failDetail = new HashMap<>();
+        failDetail.put("index", index);
+        failDetail.put("partNumber", dto.getPartNumber());
+        failDetail.put("partName", dto.getPartName());
+        failDetail.put("error", errorMessage);
+        return failDetail;
+    }
+
+    /**
+     * 빈 행이거나 필수 데이터가 없는 불완전한 행인지 체크
+     */
+    private boolean isEmptyOrIncomplete(PartIncomingDTO dto) {
+        // 부품명이 없으면 불완전한 행으로 간주
+        if (dto.getPartName() == null || dto.getPartName().trim().isEmpty()) {
+            return true;
+        }
+        // 카테고리가 없으면 불완전한 행으로 간주
+        return dto.getCategoryId() == null;
+    }
+
     /**
      *
      *
@@ -200,7 +397,13 @@ public class PartIncomingServiceImpl implements PartIncomingService {
 
             // 외화인 경우: 원화 환산
 
-            BigDecimal calculatedPrice = dto.getOriginalPrice().multiply(dto.getExchangeRate());
+            // 컬럼 자릿수(original_price 15,2 / exchange_rate 10,4 / purchase_price 15,2)로 먼저 맞춰
+            // 저장되는 값과 요청 DTO 값이 같게 함 (수정 감사 로그가 DTO 기준으로 비교)
+            dto.setOriginalPrice(dto.getOriginalPrice().setScale(2, RoundingMode.HALF_UP));
+            dto.setExchangeRate(dto.getExchangeRate().setScale(4, RoundingMode.HALF_UP));
+
+            BigDecimal calculatedPrice = dto.getOriginalPrice().multiply(dto.getExchangeRate())
+                    .setScale(2, RoundingMode.HALF_UP);
 
             dto.setPurchasePrice(calculatedPrice);
 
@@ -214,6 +417,8 @@ public class PartIncomingServiceImpl implements PartIncomingService {
 
             if (dto.getPurchasePrice() != null) {
 
+                dto.setPurchasePrice(dto.getPurchasePrice().setScale(2, RoundingMode.HALF_UP));
+
                 dto.setOriginalPrice(dto.getPurchasePrice());
 
                 dto.setExchangeRate(BigDecimal.ONE);
@@ -279,6 +484,28 @@ public class PartIncomingServiceImpl implements PartIncomingService {
     private void savePartLocation(Integer incomingId, String partNumber, String partName, String cabinetLocation,
             String mapLocation, String oldLocation, boolean overrideCabinet) {
 
+        PartLocationDTO locationDTO = buildPartLocation(incomingId, partNumber, partName, cabinetLocation, mapLocation,
+                oldLocation);
+
+        if (locationDTO == null) {
+            log.warn("위치 정보가 없어 위치 저장을 건너뜁니다. partNumber={}, cabinet={}, map={}", partNumber, cabinetLocation,
+                    mapLocation);
+            return;
+        }
+
+        // 🔥 입고 등록 시에는 INSERT만 수행
+        partLocationService.insertByIncomingId(locationDTO);
+
+        log.info("부품 위치 저장 완료: {} -> 캐비넷:{}, 도면:{}", partNumber, cabinetLocation, mapLocation);
+
+    }
+
+    /**
+     * 위치 입력값을 part_location 행으로 변환 (캐비넷 형식 오류 시 예외, 위치가 없으면 null)
+     */
+    private PartLocationDTO buildPartLocation(Integer incomingId, String partNumber, String partName,
+            String cabinetLocation, String mapLocation, String oldLocation) {
+
         PartLocationDTO locationDTO = new PartLocationDTO();
 
         locationDTO.setIncomingId(incomingId); // FK 설정
@@ -312,15 +539,10 @@ public class PartIncomingServiceImpl implements PartIncomingService {
         // location_code 또는 posX/posY 중 하나라도 있으면 저장
         if (!StringUtils.hasText(locationDTO.getLocationCode()) &&
                 (locationDTO.getPosX() == null || locationDTO.getPosY() == null)) {
-            log.warn("위치 정보가 없어 위치 저장을 건너뜁니다. partNumber={}, cabinet={}, map={}", partNumber, cabinetLocation,
-                    mapLocation);
-            return;
+            return null;
         }
 
-        // 🔥 입고 등록 시에는 INSERT만 수행
-        partLocationService.insertByIncomingId(locationDTO);
-
-        log.info("부품 위치 저장 완료: {} -> 캐비넷:{}, 도면:{}", partNumber, cabinetLocation, mapLocation);
+        return locationDTO;
 
     }
 
@@ -334,6 +556,14 @@ public class PartIncomingServiceImpl implements PartIncomingService {
 
     @Override
 
+    public void streamAllIncoming(Consumer<PartIncomingDTO> consumer) {
+
+        partIncomingMapper.streamAllIncoming(context -> consumer.accept(context.getResultObject()));
+
+    }
+
+    @Override
+
     public PartIncomingDTO getIncomingById(int incomingId) {
 
         PartIncomingDTO incoming = partIncomingMapper.findById(incomingId);
@@ -376,6 +606,11 @@ public class PartIncomingServiceImpl implements PartIncomingService {
 
     public List<Map<String, Object>> getCurrentInventory() {
 
+        if (inventoryCache.isReady()) {
+            return inventoryCache.getAll();
+        }
+
+        inventoryCache.recordMiss();
         return partIncomingMapper.getCurrentInventory();
 
     }
@@ -384,14 +619,53 @@ public class PartIncomingServiceImpl implements PartIncomingService {
 
     public List<Map<String, Object>> searchInventoryAdvanced(Map<String, Object> params) {
 
+        if (inventoryCache.isReady()) {
+            return inventoryCache.search(params);
+        }
+
+        inventoryCache.recordMiss();
         return partIncomingMapper.searchInventoryAdvanced(params);
 
     }
 
     @Override
 
+    public void streamInventoryAdvanced(Map<String, Object> params, Consumer<Map<String, Object>> consumer) {
+
+        // 캐시 검색 결과는 이미 메모리에 있는 행을 참조하므로 그대로 흘려보냄
+        if (inventoryCache.isReady()) {
+            inventoryCache.search(params).forEach(consumer);
+            return;
+        }
+
+        inventoryCache.recordMiss();
+        partIncomingMapper.streamInventoryAdvanced(params, context -> consumer.accept(context.getResultObject()));
+
+    }
+
+    @Override
+
+    public void streamLowStock(int threshold, Consumer<Map<String, Object>> consumer) {
+
+        if (inventoryCache.isReady()) {
+            inventoryCache.getLowStock(threshold).forEach(consumer);
+            return;
+        }
+
+        inventoryCache.recordMiss();
+        partIncomingMapper.streamLowStock(threshold, context -> consumer.accept(context.getResultObject()));
+
+    }
+
+    @Override
+
     public List<Map<String, Object>> getLowStock(int threshold) {
 
+        if (inventoryCache.isReady()) {
+            return inventoryCache.getLowStock(threshold);
+        }
+
+        inventoryCache.recordMiss();
         return partIncomingMapper.selectLowStock(threshold);
 
     }
@@ -415,6 +689,15 @@ public class PartIncomingServiceImpl implements PartIncomingService {
 
         log.info("입고 정보 수정 완료: ID {}", partIncomingDTO.getIncomingId());
 
+        // 재고 원장 재계산 (부품번호 변경 시 이전 부품번호도 함께)
+        partStockService.refreshStock(partIncomingDTO.getPartNumber());
+        if (!before.getPartNumber().equals(partIncomingDTO.getPartNumber())) {
+            partStockService.refreshStock(before.getPartNumber());
+        }
+
+        // 검색 색인 갱신 (연결된 출고 내역 포함)
+        searchIndex.indexIncoming(partIncomingDTO.getIncomingId());
+
         // 🔥 부품번호 또는 부품명이 변경되었으면 part_location도 업데이트
         if (!before.getPartNumber().equals(partIncomingDTO.getPartNumber()) ||
                 !before.getPartName().equals(partIncomingDTO.getPartName())) {
@@ -423,8 +706,8 @@ public class PartIncomingServiceImpl implements PartIncomingService {
                     partIncomingDTO.getPartName());
         }
 
-        PartIncomingDTO after = partIncomingMapper.findById(partIncomingDTO.getIncomingId());
-        String changedFieldsJson = buildChangedFields(before, after);
+        // 금액/환율은 calculateExchangeRate에서 컬럼 자릿수로 맞췄으므로 다시 조회하지 않고 요청 값과 비교
+        String changedFieldsJson = fieldDiff.changedFields("part_incoming", AUDIT_FIELDS, before, partIncomingDTO);
 
         // 변경 사항이 있을 때만 감사 로그 적재 (빈 수정 요청 시 중복 로그 방지)
         if (changedFieldsJson != null) {
@@ -465,10 +748,118 @@ public class PartIncomingServiceImpl implements PartIncomingService {
 
         }
 
+        applySearchIndex(params);
+
         return partIncomingMapper.searchAdvanced(params);
 
     }
 
+    @Override
+
+    public void streamSearchAdvanced(Map<String, Object> params, Consumer<PartIncomingDTO> consumer) {
+
+        if (params.get("column") != null && !params.get("column").toString().isEmpty()) {
+
+            params.put("column", mapColumnName(params.get("column").toString()));
+
+        }
+
+        applySearchIndex(params);
+
+        partIncomingMapper.streamSearchAdvanced(params, context -> consumer.accept(context.getResultObject()));
+
+    }
+
+    @Override
+
+    public PageResponseDTO<PartIncomingDTO> getIncomingPage(Map<String, Object> params, Integer limit, String after) {
+
+        int size = PageCursor.resolveLimit(limit);
+
+        if (params.get("column") != null && !params.get("column").toString().isEmpty()) {
+
+            params.put("column", mapColumnName(params.get("column").toString()));
+
+        }
+
+        applySearchIndex(params);
+
+        if (StringUtils.hasText(after)) {
+
+            String[] cursor = PageCursor.decode(after);
+
+            try {
+                params.put("afterCreatedAt", LocalDateTime.parse(cursor[0]));
+                params.put("afterId", Integer.valueOf(cursor[1]));
+            } catch (RuntimeException e) {
+                throw new ValidationException("잘못된 페이지 커서입니다.", e);
+            }
+
+        }
+
+        // 다음 페이지 존재 여부 확인용으로 1건 더 조회
+        params.put("limit", size + 1);
+
+        List<PartIncomingDTO> rows = partIncomingMapper.selectIncomingPage(params);
+
+        Long approximateTotal = hasSearchFilter(params) ? null : partIncomingMapper.selectApproximateCount();
+
+        return PageResponseDTO.of(rows, size,
+                dto -> PageCursor.encode(dto.getCreatedAt(), dto.getIncomingId()), approximateTotal);
+
+    }
+
+    @Override
+
+    public PageResponseDTO<Map<String, Object>> getInventoryPage(Integer limit, String after) {
+
+        int size = PageCursor.resolveLimit(limit);
+
+        String afterPartNumber = StringUtils.hasText(after) ? PageCursor.decode(after)[0] : null;
+
+        List<Map<String, Object>> rows;
+
+        Long approximateTotal;
+
+        if (inventoryCache.isReady()) {
+            rows = inventoryCache.page(afterPartNumber, size + 1);
+            approximateTotal = (long) inventoryCache.size();
+        } else {
+            inventoryCache.recordMiss();
+            rows = partIncomingMapper.selectInventoryPage(afterPartNumber, size + 1);
+            approximateTotal = null;
+        }
+
+        return PageResponseDTO.of(rows, size,
+                row -> PageCursor.encode(row.get("part_number"), null), approximateTotal);
+
+    }
+
+    // 검색 색인으로 일치하는 입고ID를 먼저 구해 LIKE 전체 스캔 대신 ID 조건으로 조회
+    private void applySearchIndex(Map<String, Object> params) {
+
+        if (!hasSearchFilter(params)) {
+            return;
+        }
+
+        List<Integer> ids = searchIndex.searchIncoming(params);
+
+        if (ids != null) {
+            params.put("idList", ids);
+        }
+
+    }
+
+    private boolean hasSearchFilter(Map<String, Object> params) {
+
+        Object keyword = params.get("keyword");
+
+        return (keyword != null && !keyword.toString().isEmpty())
+                || !((List<?>) params.getOrDefault("includeList", List.of())).isEmpty()
+                || !((List<?>) params.getOrDefault("excludeList", List.of())).isEmpty();
+
+    }
+
     private String mapColumnName(String column) {
 
         switch (column) {
@@ -537,62 +928,6 @@ public class PartIncomingServiceImpl implements PartIncomingService {
         auditLogger.log("part_incoming", entityId, action, summary, changedFields, performedBy);
     }
 
-    private String buildChangedFields(PartIncomingDTO before, PartIncomingDTO after) {
-        if (before == null || after == null) {
-            return null;
-        }
-
-        Map<String, Map<String, Object>> diff = new LinkedHashMap<>();
-
-        compare(diff, "partNumber", before.getPartNumber(), after.getPartNumber());
-        compare(diff, "categoryId", before.getCategoryId(), after.getCategoryId());
-        compare(diff, "partName", before.getPartName(), after.getPartName());
-        compare(diff, "description", before.getDescription(), after.getDescription());
-        compare(diff, "projectName", before.getProjectName(), after.getProjectName());
-        compare(diff, "unit", before.getUnit(), after.getUnit());
-        compare(diff, "paymentMethodId", before.getPaymentMethodId(), after.getPaymentMethodId());
-        compare(diff, "cabinetLocation", before.getCabinetLocation(), after.getCabinetLocation());
-        compare(diff, "mapLocation", before.getMapLocation(), after.getMapLocation());
-        compare(diff, "location", before.getLocation(), after.getLocation());
-        compare(diff, "overrideCabinet", before.getOverrideCabinet(), after.getOverrideCabinet());
-        compare(diff, "incomingQuantity", before.getIncomingQuantity(), after.getIncomingQuantity());
-        compare(diff, "purchasePrice", before.getPurchasePrice(), after.getPurchasePrice());
-        compare(diff, "currency", before.getCurrency(), after.getCurrency());
-        compare(diff, "exchangeRate", before.getExchangeRate(), after.getExchangeRate());
-        compare(diff, "originalPrice", before.getOriginalPrice(), after.getOriginalPrice());
-        compare(diff, "purchaseDatetime", before.getPurchaseDatetime(), after.getPurchaseDatetime());
-        compare(diff, "supplier", before.getSupplier(), after.getSupplier());
-        compare(diff, "purchaser", before.getPurchaser(), after.getPurchaser());
-        compare(diff, "invoiceNumber", before.getInvoiceNumber(), after.getInvoiceNumber());
-        compare(diff, "note", before.getNote(), after.getNote());
-
-        if (diff.isEmpty()) {
-            return null;
-        }
-
-        try {
-            return objectMapper.writeValueAsString(diff);
-        } catch (Exception e) {
-            log.warn("changed_fields 직렬화 실패: {}", e.getMessage(), e);
-            return null;
-        }
-    }
-
-    private void compare(Map<String, Map<String, Object>> diff, String field, Object before, Object after) {
-        if (before == null && after == null) {
-            return;
-        }
-        if (before != null && before.equals(after)) {
-            return;
-        }
-        Map<String, Object> changes = new LinkedHashMap<>();
-        changes.put("변경전", before);
-        changes.put("변경후", after);
-        // 필드명을 한글로 변환
-        String koreanFieldName = auditLogger.translateFieldName("part_incoming", field);
-        diff.put(koreanFieldName, changes);
-    }
-
     private String resolveActor(PartIncomingDTO dto) {
         // 1) 명시 값 우선
         if (StringUtils.hasText(dto.getCreatedBy())) {
@@ -21,6 +21,9 @@ public interface PartLocationService {
 
     boolean insertByIncomingId(PartLocationDTO dto);
 
+    // 입고 일괄 등록용 다중 행 INSERT (검색 색인은 호출 측에서 입고 단위로 갱신)
+    int insertBatchByIncomingId(List<PartLocationDTO> dtos);
+
     boolean updateByIncomingId(PartLocationDTO dto);
 
     boolean deleteByCode(String code);
@@ -13,8 +13,16 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class PartLocationServiceImpl implements PartLocationService {
 
+    // 감사 로그 비교 필드 (위치코드 기준 수정 / 입고ID 기준 수정)
+    private static final FieldDiff.Spec<PartLocationDTO> CODE_AUDIT_FIELDS = FieldDiff.spec(PartLocationDTO.class,
+            FieldDiff.NullPolicy.IGNORE_NULL_EITHER, "partNumber", "partName", "posX", "posY");
+    private static final FieldDiff.Spec<PartLocationDTO> INCOMING_AUDIT_FIELDS = FieldDiff.spec(PartLocationDTO.class,
+            FieldDiff.NullPolicy.IGNORE_NULL_EITHER, "locationCode", "posX", "posY");
+
     private final PartLocationMapper partLocationMapper;
     private final AuditLogger auditLogger;
+    private final FieldDiff fieldDiff;
+    private final SearchIndex searchIndex;
 
     @Override
     public List<PartLocationDTO> getAllLocations() {
@@ -47,6 +55,8 @@ public class PartLocationServiceImpl implements PartLocationService {
         if (existing == null) {
             boolean inserted = partLocationMapper.insertLocation(dto) > 0;
             if (inserted) {
+                searchIndex.indexIncoming(dto.getIncomingId());
+
                 // 캐비넷 위치인지 도면 위치인지 구분
                 String locationType = (dto.getPosX() != null && dto.getPosY() != null)
                     ? "캐비넷" : "도면";
@@ -65,53 +75,7 @@ public class PartLocationServiceImpl implements PartLocationService {
         } else {
             boolean updated = partLocationMapper.updateLocation(dto) > 0;
             if (updated) {
-                // 변경 필드 추적
-                StringBuilder changedFields = new StringBuilder("{");
-                boolean hasChanges = false;
-
-                if (existing.getPartNumber() != null && dto.getPartNumber() != null
-                        && !existing.getPartNumber().equals(dto.getPartNumber())) {
-                    changedFields.append(String.format("\"%s\": {\"변경전\": \"%s\", \"변경후\": \"%s\"}",
-                            auditLogger.translateFieldName("part_location", "partNumber"),
-                            existing.getPartNumber(),
-                            dto.getPartNumber()));
-                    hasChanges = true;
-                }
-
-                if (existing.getPartName() != null && dto.getPartName() != null
-                        && !existing.getPartName().equals(dto.getPartName())) {
-                    if (hasChanges)
-                        changedFields.append(", ");
-                    changedFields.append(String.format("\"%s\": {\"변경전\": \"%s\", \"변경후\": \"%s\"}",
-                            auditLogger.translateFieldName("part_location", "partName"),
-                            existing.getPartName(),
-                            dto.getPartName()));
-                    hasChanges = true;
-                }
-
-                if (existing.getPosX() != null && dto.getPosX() != null
-                        && !existing.getPosX().equals(dto.getPosX())) {
-                    if (hasChanges)
-                        changedFields.append(", ");
-                    changedFields.append(String.format("\"%s\": {\"변경전\": \"%s\", \"변경후\": \"%s\"}",
-                            "행",
-                            existing.getPosX(),
-                            dto.getPosX()));
-                    hasChanges = true;
-                }
-
-                if (existing.getPosY() != null && dto.getPosY() != null
-                        && !existing.getPosY().equals(dto.getPosY())) {
-                    if (hasChanges)
-                        changedFields.append(", ");
-                    changedFields.append(String.format("\"%s\": {\"변경전\": %d, \"변경후\": %d}",
-                            "열",
-                            existing.getPosY(),
-                            dto.getPosY()));
-                    hasChanges = true;
-                }
-
-                changedFields.append("}");
+                searchIndex.indexIncoming(existing.getIncomingId());
 
                 // 캐비넷 위치인지 도면 위치인지 구분
                 String locationType = (dto.getPosX() != null && dto.getPosY() != null)
@@ -124,7 +88,7 @@ public class PartLocationServiceImpl implements PartLocationService {
                         null,
                         "UPDATE",
                         locationType + " 수정 [" + locationInfo + "]",
-                        hasChanges ? changedFields.toString() : null,
+                        fieldDiff.changedFields("part_location", CODE_AUDIT_FIELDS, existing, dto),
                         null);
             }
             return updated;
@@ -144,6 +108,8 @@ public class PartLocationServiceImpl implements PartLocationService {
             // INSERT
             boolean inserted = partLocationMapper.insertLocation(dto) > 0;
             if (inserted) {
+                searchIndex.indexIncoming(dto.getIncomingId());
+
                 // 캐비넷 위치인지 도면 위치인지 구분
                 String locationType = (dto.getPosX() != null && dto.getPosY() != null)
                     ? "캐비넷" : "도면";
@@ -163,42 +129,7 @@ public class PartLocationServiceImpl implements PartLocationService {
             // UPDATE (incoming_id 기준)
             boolean updated = partLocationMapper.updateLocationByIncomingId(dto) > 0;
             if (updated) {
-                // 변경 필드 추적
-                StringBuilder changedFields = new StringBuilder("{");
-                boolean hasChanges = false;
-
-                if (existing.getLocationCode() != null && dto.getLocationCode() != null
-                        && !existing.getLocationCode().equals(dto.getLocationCode())) {
-                    changedFields.append(String.format("\"%s\": {\"변경전\": \"%s\", \"변경후\": \"%s\"}",
-                            "위치코드",
-                            existing.getLocationCode(),
-                            dto.getLocationCode()));
-                    hasChanges = true;
-                }
-
-                if (existing.getPosX() != null && dto.getPosX() != null
-                        && !existing.getPosX().equals(dto.getPosX())) {
-                    if (hasChanges)
-                        changedFields.append(", ");
-                    changedFields.append(String.format("\"%s\": {\"변경전\": \"%s\", \"변경후\": \"%s\"}",
-                            "행",
-                            existing.getPosX(),
-                            dto.getPosX()));
-                    hasChanges = true;
-                }
-
-                if (existing.getPosY() != null && dto.getPosY() != null
-                        && !existing.getPosY().equals(dto.getPosY())) {
-                    if (hasChanges)
-                        changedFields.append(", ");
-                    changedFields.append(String.format("\"%s\": {\"변경전\": %d, \"변경후\": %d}",
-                            "열",
-                            existing.getPosY(),
-                            dto.getPosY()));
-                    hasChanges = true;
-                }
-
-                changedFields.append("}");
+                searchIndex.indexIncoming(dto.getIncomingId());
 
                 // 캐비넷 위치인지 도면 위치인지 구분
                 String locationType = (dto.getPosX() != null && dto.getPosY() != null)
@@ -211,7 +142,7 @@ public class PartLocationServiceImpl implements PartLocationService {
                         null,
                         "UPDATE",
                         locationType + " 수정 [" + locationInfo + "] (입고ID: " + dto.getIncomingId() + ")",
-                        hasChanges ? changedFields.toString() : null,
+                        fieldDiff.changedFields("part_location", INCOMING_AUDIT_FIELDS, existing, dto),
                         null);
             }
             return updated;
@@ -227,23 +158,42 @@ public class PartLocationServiceImpl implements PartLocationService {
         // INSERT만 수행
         boolean inserted = partLocationMapper.insertLocation(dto) > 0;
         if (inserted) {
-            // 캐비넷 위치인지 도면 위치인지 구분
-            String locationType = (dto.getPosX() != null && dto.getPosY() != null)
-                ? "캐비넷" : "도면";
-            String locationInfo = (dto.getPosX() != null && dto.getPosY() != null)
-                ? dto.getPosX() + "-" + dto.getPosY()
-                : (dto.getLocationCode() != null ? dto.getLocationCode() : "미지정");
+            searchIndex.indexIncoming(dto.getIncomingId());
+            logCreate(dto);
+        }
+        return inserted;
+    }
 
-            auditLogger.log("part_location",
-                    null,
-                    "CREATE",
-                    locationType + " 등록 [" + locationInfo + "] (입고ID: " + dto.getIncomingId() + ")",
-                    null,
-                    null);
+    @Override
+    public int insertBatchByIncomingId(List<PartLocationDTO> dtos) {
+        if (dtos.isEmpty()) {
+            return 0;
+        }
+        int inserted = partLocationMapper.insertLocationBatch(dtos);
+
+        // 단건 등록과 같은 감사 로그 (커밋 후 감사 기록기가 모아서 다중 행 INSERT)
+        for (PartLocationDTO dto : dtos) {
+            logCreate(dto);
         }
         return inserted;
     }
 
+    private void logCreate(PartLocationDTO dto) {
+        // 캐비넷 위치인지 도면 위치인지 구분
+        String locationType = (dto.getPosX() != null && dto.getPosY() != null)
+            ? "캐비넷" : "도면";
+        String locationInfo = (dto.getPosX() != null && dto.getPosY() != null)
+            ? dto.getPosX() + "-" + dto.getPosY()
+            : (dto.getLocationCode() != null ? dto.getLocationCode() : "미지정");
+
+        auditLogger.log("part_location",
+                null,
+                "CREATE",
+                locationType + " 등록 [" + locationInfo + "] (입고ID: " + dto.getIncomingId() + ")",
+                null,
+                null);
+    }
+
     @Override
     public boolean updateByIncomingId(PartLocationDTO dto) {
         if (dto.getIncomingId() == null) {
@@ -258,42 +208,7 @@ public class PartLocationServiceImpl implements PartLocationService {
         // UPDATE만 수행
         boolean updated = partLocationMapper.updateLocationByIncomingId(dto) > 0;
         if (updated) {
-            // 변경 필드 추적
-            StringBuilder changedFields = new StringBuilder("{");
-            boolean hasChanges = false;
-
-            if (existing.getLocationCode() != null && dto.getLocationCode() != null
-                    && !existing.getLocationCode().equals(dto.getLocationCode())) {
-                changedFields.append(String.format("\"%s\": {\"변경전\": \"%s\", \"변경후\": \"%s\"}",
-                        "위치코드",
-                        existing.getLocationCode(),
-                        dto.getLocationCode()));
-                hasChanges = true;
-            }
-
-            if (existing.getPosX() != null && dto.getPosX() != null
-                    && !existing.getPosX().equals(dto.getPosX())) {
-                if (hasChanges)
-                    changedFields.append(", ");
-                changedFields.append(String.format("\"%s\": {\"변경전\": \"%s\", \"변경후\": \"%s\"}",
-                        "행",
-                        existing.getPosX(),
-                        dto.getPosX()));
-                hasChanges = true;
-            }
-
-            if (existing.getPosY() != null && dto.getPosY() != null
-                    && !existing.getPosY().equals(dto.getPosY())) {
-                if (hasChanges)
-                    changedFields.append(", ");
-                changedFields.append(String.format("\"%s\": {\"변경전\": %d, \"변경후\": %d}",
-                        "열",
-                        existing.getPosY(),
-                        dto.getPosY()));
-                hasChanges = true;
-            }
-
-            changedFields.append("}");
+            searchIndex.indexIncoming(dto.getIncomingId());
 
             // 캐비넷 위치인지 도면 위치인지 구분
             String locationType = (dto.getPosX() != null && dto.getPosY() != null)
@@ -306,7 +221,7 @@ public class PartLocationServiceImpl implements PartLocationService {
                     null,
                     "UPDATE",
                     locationType + " 수정 [" + locationInfo + "] (입고ID: " + dto.getIncomingId() + ")",
-                    hasChanges ? changedFields.toString() : null,
+                    fieldDiff.changedFields("part_location", INCOMING_AUDIT_FIELDS, existing, dto),
                     null);
         }
         return updated;
@@ -314,8 +229,13 @@ public class PartLocationServiceImpl implements PartLocationService {
 
     @Override
     public boolean deleteByCode(String code) {
+        PartLocationDTO existing = partLocationMapper.findByCode(code);
         boolean deleted = partLocationMapper.deleteLocation(code) > 0;
         if (deleted) {
+            if (existing != null) {
+                searchIndex.indexIncoming(existing.getIncomingId());
+            }
+
             auditLogger.log("part_location",
                     null,
                     "DELETE",
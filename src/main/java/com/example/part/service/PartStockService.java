@@ -0,0 +1,27 @@
+package com.example.part.service;
+
+import java.util.List;
+import java.util.Map;
+
+import com.example.part.dto.PartIncomingDTO;
+
+public interface PartStockService {
+
+    // 입고 등록분 원장 반영
+    void applyIncoming(PartIncomingDTO partIncomingDTO);
+
+    // 일괄 등록분 원장 반영 (부품번호별로 합산해 한 번에 반영)
+    void applyIncomingBatch(List<PartIncomingDTO> incomingList);
+
+    // 출고 수량 증감 반영
+    void applyUsage(String partNumber, int delta);
+
+    // 단일 부품 현재 재고 조회 (트랜잭션 종료까지 원장 행 잠금)
+    int lockCurrentStock(String partNumber);
+
+    // 단일 부품 원장 재계산
+    void refreshStock(String partNumber);
+
+    // 원장 정합성 점검 및 보정
+    Map<String, Object> reconcile();
+}
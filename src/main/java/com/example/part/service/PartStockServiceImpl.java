@@ -0,0 +1,173 @@
+package com.example.part.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.part.dto.PartIncomingDTO;
+import com.example.part.mapper.PartStockMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 부품별 재고 원장(part_stock) 관리
+ * 입고/출고 트랜잭션 안에서 증분 갱신하고, 주기적으로 원본 테이블과 대조해 보정한다.
+ * 원장이 바뀔 때마다 해당 부품의 재고 부족 알림도 같은 트랜잭션에서 평가한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PartStockServiceImpl implements PartStockService {
+
+    private final PartStockMapper partStockMapper;
+    private final InventoryCache inventoryCache;
+    private final StockAlertService stockAlertService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Override
+    @Transactional
+    public void applyIncoming(PartIncomingDTO partIncomingDTO) {
+        partStockMapper.applyIncoming(partIncomingDTO);
+        inventoryCache.invalidate(partIncomingDTO.getPartNumber());
+        stockAlertService.evaluate(partIncomingDTO.getPartNumber());
+    }
+
+    @Override
+    @Transactional
+    public void applyIncomingBatch(List<PartIncomingDTO> incomingList) {
+        Map<String, Map<String, Object>> byPart = new LinkedHashMap<>();
+        for (PartIncomingDTO dto : incomingList) {
+            Map<String, Object> row = byPart.computeIfAbsent(dto.getPartNumber(), partNumber -> {
+                // 부품명/카테고리/단위는 최초 입고 기준 (applyIncoming 과 동일)
+                Map<String, Object> first = new HashMap<>();
+                first.put("partNumber", partNumber);
+                first.put("partName", dto.getPartName());
+                first.put("categoryId", dto.getCategoryId());
+                first.put("unit", dto.getUnit());
+                first.put("quantity", 0);
+                first.put("count", 0);
+                return first;
+            });
+            int quantity = dto.getIncomingQuantity() != null ? dto.getIncomingQuantity() : 0;
+            row.put("quantity", (Integer) row.get("quantity") + quantity);
+            row.put("count", (Integer) row.get("count") + 1);
+        }
+        if (byPart.isEmpty()) {
+            return;
+        }
+
+        partStockMapper.applyIncomingBatch(new ArrayList<>(byPart.values()));
+        for (String partNumber : byPart.keySet()) {
+            inventoryCache.invalidate(partNumber);
+            stockAlertService.evaluate(partNumber);
+        }
+    }
+
+    @Override
+    @Transactional
+    public void applyUsage(String partNumber, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        int updated = partStockMapper.applyUsageDelta(partNumber, delta);
+        if (updated == 0) {
+            // 원장 행이 아직 없으면 원본 기준으로 생성
+            refreshStock(partNumber);
+        } else {
+            inventoryCache.invalidate(partNumber);
+            stockAlertService.evaluate(partNumber);
+        }
+    }
+
+    @Override
+    @Transactional
+    public int lockCurrentStock(String partNumber) {
+        Integer currentStock = partStockMapper.selectCurrentStockForUpdate(partNumber);
+        if (currentStock == null) {
+            // 원장 행이 아직 없으면 원본 기준으로 생성 후 다시 잠금
+            refreshStock(partNumber);
+            currentStock = partStockMapper.selectCurrentStockForUpdate(partNumber);
+        }
+        return currentStock != null ? currentStock : 0;
+    }
+
+    @Override
+    @Transactional
+    public void refreshStock(String partNumber) {
+        if (partNumber == null) {
+            return;
+        }
+        partStockMapper.refreshStock(partNumber);
+        partStockMapper.deleteOrphanStock(partNumber);
+        inventoryCache.invalidate(partNumber);
+        stockAlertService.evaluate(partNumber);
+    }
+
+    /**
+     * 서버 시작 시 원장 정합성 점검 (최초 배포 시 원장 초기 적재 포함)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void reconcileOnStartup() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("재고 원장 초기 점검 실패", e);
+        }
+    }
+
+    /**
+     * 매일 재고 원장 정합성 점검
+     * cron: 초 분 시 일 월 요일
+     */
+    @Scheduled(cron = "${inventory.stock.reconcile-cron:0 30 0 * * *}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("재고 원장 정합성 점검 중 오류 발생", e);
+        }
+    }
+
+    @Override
+    public Map<String, Object> reconcile() {
+        long start = System.currentTimeMillis();
+        List<String> drifted = partStockMapper.selectDriftedPartNumbers();
+
+        int repaired = 0;
+        for (String partNumber : drifted) {
+            try {
+                // 자기 호출은 @Transactional 프록시를 거치지 않으므로 부품별로 트랜잭션을 직접 엶 (한 부품 실패가 다른 보정을 되돌리지 않음)
+                transactionTemplate.executeWithoutResult(status -> refreshStock(partNumber));
+                repaired++;
+            } catch (Exception e) {
+                log.warn("재고 원장 보정 실패: partNumber={}, 오류={}", partNumber, e.getMessage());
+            }
+        }
+
+        long elapsed = System.currentTimeMillis() - start;
+        if (drifted.isEmpty()) {
+            log.info("재고 원장 정합성 점검 완료 - 불일치 없음 ({}ms)", elapsed);
+        } else {
+            log.warn("재고 원장 불일치 {}건 발견, {}건 보정 ({}ms)", drifted.size(), repaired, elapsed);
+        }
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("drifted", drifted.size());
+        result.put("repaired", repaired);
+        result.put("elapsedMs", elapsed);
+        return result;
+    }
+}
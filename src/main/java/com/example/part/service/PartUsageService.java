@@ -3,7 +3,9 @@ package com.example.part.service;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
+import com.example.part.dto.PageResponseDTO;
 import com.example.part.dto.PartUsageDTO;
 
 public interface PartUsageService {
@@ -20,6 +22,9 @@ public interface PartUsageService {
     // 전체 사용 내역
     List<PartUsageDTO> getAllUsage();
 
+    // 전체 사용 내역 스트리밍 (행 단위로 consumer 호출, 목록을 메모리에 만들지 않음)
+    void streamAllUsage(Consumer<PartUsageDTO> consumer);
+
     // 검색 (부품명, 사용처, 부품번호)
     List<PartUsageDTO> searchUsage(String keyword);
 
@@ -46,4 +51,10 @@ public interface PartUsageService {
 
     // 고급 검??
     List<PartUsageDTO> searchAdvanced(Map<String, Object> params);
+
+    // 고급 검색 스트리밍 (내보내기용, 목록을 메모리에 만들지 않음)
+    void streamSearchAdvanced(Map<String, Object> params, Consumer<PartUsageDTO> consumer);
+
+    // 키셋 페이지 조회 (고급 검색 조건 + used_datetime DESC, usage_id DESC)
+    PageResponseDTO<PartUsageDTO> getUsagePage(Map<String, Object> params, Integer limit, String after);
 }
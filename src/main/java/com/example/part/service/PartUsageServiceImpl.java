@@ -3,12 +3,16 @@ package com.example.part.service;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.part.dto.PageCursor;
+import com.example.part.dto.PageResponseDTO;
 import com.example.part.dto.PartIncomingDTO;
 import com.example.part.dto.PartUsageDTO;
+import com.example.part.exception.ValidationException;
 import com.example.part.mapper.PartUsageMapper;
 
 import lombok.RequiredArgsConstructor;
@@ -19,9 +23,16 @@ import lombok.extern.slf4j.Slf4j;
 @RequiredArgsConstructor
 public class PartUsageServiceImpl implements PartUsageService {
 
+    // 감사 로그 비교 필드
+    private static final FieldDiff.Spec<PartUsageDTO> AUDIT_FIELDS = FieldDiff.spec(PartUsageDTO.class,
+            FieldDiff.NullPolicy.IGNORE_NULL_AFTER, "quantityUsed", "usageLocation", "usedDatetime", "note");
+
     private final PartUsageMapper partUsageMapper;
     private final PartIncomingService partIncomingService;
     private final AuditLogger auditLogger;
+    private final FieldDiff fieldDiff;
+    private final PartStockService partStockService;
+    private final SearchIndex searchIndex;
 
     @Override
     @Transactional
@@ -29,22 +40,10 @@ public class PartUsageServiceImpl implements PartUsageService {
         // 1. incoming_id 유효성 검증
         PartIncomingDTO incoming = partIncomingService.getIncomingById(partUsageDTO.getIncomingId());
 
-        // 2. 재고 확인 (현재 재고 계산)
-        List<Map<String, Object>> inventory = partIncomingService.getCurrentInventory();
-        boolean hasStock = false;
-        int currentStock = 0;
-
-        for (Map<String, Object> item : inventory) {
-            if (incoming.getPartNumber().equals(item.get("part_number"))) {
-                currentStock = ((Number) item.get("current_stock")).intValue();
-                if (currentStock >= partUsageDTO.getQuantityUsed()) {
-                    hasStock = true;
-                }
-                break;
-            }
-        }
+        // 2. 재고 확인 (해당 부품 원장 행만 조회 + 잠금 → 동시 출고 시 초과 출고 방지)
+        int currentStock = partStockService.lockCurrentStock(incoming.getPartNumber());
 
-        if (!hasStock) {
+        if (currentStock < partUsageDTO.getQuantityUsed()) {
             throw new RuntimeException(
                     String.format("재고가 부족합니다. (현재 재고: %d, 요청 수량: %d)",
                             currentStock, partUsageDTO.getQuantityUsed()));
@@ -56,6 +55,10 @@ public class PartUsageServiceImpl implements PartUsageService {
             throw new RuntimeException("출고 등록에 실패했습니다.");
         }
 
+        // 재고 원장 반영 (같은 트랜잭션)
+        partStockService.applyUsage(incoming.getPartNumber(), partUsageDTO.getQuantityUsed());
+        searchIndex.indexUsage(partUsageDTO.getUsageId());
+
         log.info("출고 등록 완료: 부품번호 {}, 수량 {}, 사용처 {}",
                 partUsageDTO.getPartNumber(),
                 partUsageDTO.getQuantityUsed(),
@@ -76,23 +79,17 @@ public class PartUsageServiceImpl implements PartUsageService {
         PartUsageDTO existing = getUsageById(partUsageDTO.getUsageId());
 
         Integer requestedQuantity = partUsageDTO.getQuantityUsed();
+        String stockPartNumber = null;
         if (requestedQuantity == null) {
             partUsageDTO.setQuantityUsed(existing.getQuantityUsed());
         } else if (!existing.getQuantityUsed().equals(requestedQuantity)) {
             int difference = requestedQuantity - existing.getQuantityUsed();
 
-            if (difference > 0) {
-                // 수량 증가: 재고 확인 필요
-                List<Map<String, Object>> inventory = partIncomingService.getCurrentInventory();
-                for (Map<String, Object> item : inventory) {
-                    if (existing.getPartNumber().equals(item.get("part_number"))) {
-                        int currentStock = ((Number) item.get("current_stock")).intValue();
-                        if (currentStock < difference) {
-                            throw new RuntimeException("재고가 부족하여 수량을 증가시킬 수 없습니다.");
-                        }
-                        break;
-                    }
-                }
+            // 수량 변경: 해당 부품 원장 행만 잠금 후 확인
+            stockPartNumber = partIncomingService.getIncomingById(existing.getIncomingId()).getPartNumber();
+            int currentStock = partStockService.lockCurrentStock(stockPartNumber);
+            if (difference > 0 && currentStock < difference) {
+                throw new RuntimeException("재고가 부족하여 수량을 증가시킬 수 없습니다.");
             }
         }
 
@@ -115,48 +112,20 @@ public class PartUsageServiceImpl implements PartUsageService {
 
         log.info("출고 정보 수정 완료: ID {}", partUsageDTO.getUsageId());
 
-        // 변경 필드 추적
-        StringBuilder changedFields = new StringBuilder("{");
-        boolean hasChanges = false;
-
-        if (requestedQuantity != null && !existing.getQuantityUsed().equals(requestedQuantity)) {
-            changedFields.append(String.format("\"%s\": {\"변경전\": %d, \"변경후\": %d}",
-                    auditLogger.translateFieldName("part_usage", "quantityUsed"),
-                    existing.getQuantityUsed(),
-                    requestedQuantity));
-            hasChanges = true;
+        // 재고 원장 반영 (수량 변경분만)
+        if (stockPartNumber != null) {
+            partStockService.applyUsage(stockPartNumber, requestedQuantity - existing.getQuantityUsed());
         }
 
-        if (partUsageDTO.getUsageLocation() != null
-                && !existing.getUsageLocation().equals(partUsageDTO.getUsageLocation())) {
-            if (hasChanges)
-                changedFields.append(", ");
-            changedFields.append(String.format("\"%s\": {\"변경전\": \"%s\", \"변경후\": \"%s\"}",
-                    auditLogger.translateFieldName("part_usage", "usageLocation"),
-                    existing.getUsageLocation(),
-                    partUsageDTO.getUsageLocation()));
-            hasChanges = true;
-        }
-
-        if (partUsageDTO.getUsedDatetime() != null
-                && !existing.getUsedDatetime().equals(partUsageDTO.getUsedDatetime())) {
-            if (hasChanges)
-                changedFields.append(", ");
-            changedFields.append(String.format("\"%s\": {\"변경전\": \"%s\", \"변경후\": \"%s\"}",
-                    auditLogger.translateFieldName("part_usage", "usedDate"),
-                    existing.getUsedDatetime(),
-                    partUsageDTO.getUsedDatetime()));
-            hasChanges = true;
-        }
-
-        changedFields.append("}");
+        // 검색 색인 갱신
+        searchIndex.indexUsage(partUsageDTO.getUsageId());
 
         auditLogger.log("part_usage",
                 partUsageDTO.getUsageId() != null ? partUsageDTO.getUsageId().longValue() : null,
                 "UPDATE",
                 "출고 수정: " + (partUsageDTO.getPartNumber() != null ? partUsageDTO.getPartNumber()
                         : existing.getPartNumber()),
-                hasChanges ? changedFields.toString() : null,
+                fieldDiff.changedFields("part_usage", AUDIT_FIELDS, existing, partUsageDTO),
                 null);
     }
 
@@ -174,6 +143,11 @@ public class PartUsageServiceImpl implements PartUsageService {
         return partUsageMapper.selectAllUsage();
     }
 
+    @Override
+    public void streamAllUsage(Consumer<PartUsageDTO> consumer) {
+        partUsageMapper.streamAllUsage(context -> consumer.accept(context.getResultObject()));
+    }
+
     @Override
     public List<PartUsageDTO> searchUsage(String keyword) {
         return partUsageMapper.searchUsage(keyword);
@@ -206,6 +180,17 @@ public class PartUsageServiceImpl implements PartUsageService {
         return partUsageMapper.sortUsage(mappedColumn, order);
     }
 
+    // 검색 색인으로 일치하는 출고ID를 먼저 구해 LIKE 전체 스캔 대신 ID 조건으로 조회
+    private void applySearchIndex(Map<String, Object> params) {
+        if (!hasSearchFilter(params)) {
+            return;
+        }
+        List<Integer> ids = searchIndex.searchUsage(params);
+        if (ids != null) {
+            params.put("idList", ids);
+        }
+    }
+
     private String mapColumnName(String column) {
         switch (column) {
             case "part_number":
@@ -245,6 +230,69 @@ public class PartUsageServiceImpl implements PartUsageService {
             String column = params.get("column").toString();
             params.put("column", mapColumnName(column));
         }
+        applySearchIndex(params);
         return partUsageMapper.searchAdvanced(params);
     }
+
+    @Override
+    public void streamSearchAdvanced(Map<String, Object> params, Consumer<PartUsageDTO> consumer) {
+        if (params.get("column") != null && !params.get("column").toString().isEmpty()) {
+            params.put("column", mapColumnName(params.get("column").toString()));
+        }
+        applySearchIndex(params);
+        partUsageMapper.streamSearchAdvanced(params, context -> consumer.accept(context.getResultObject()));
+    }
+
+    @Override
+    public PageResponseDTO<PartUsageDTO> getUsagePage(Map<String, Object> params, Integer limit, String after) {
+        int size = PageCursor.resolveLimit(limit);
+
+        if (params.get("column") != null && !params.get("column").toString().isEmpty()) {
+            params.put("column", mapColumnName(params.get("column").toString()));
+        }
+
+        applySearchIndex(params);
+
+        if (after != null && !after.isEmpty()) {
+            String[] cursor = PageCursor.decode(after);
+            try {
+                params.put("afterUsedDatetime", LocalDate.parse(cursor[0]));
+                params.put("afterId", Integer.valueOf(cursor[1]));
+            } catch (RuntimeException e) {
+                throw new ValidationException("잘못된 페이지 커서입니다.", e);
+            }
+        }
+
+        // 다음 페이지 존재 여부 확인용으로 1건 더 조회
+        params.put("limit", size + 1);
+
+        List<PartUsageDTO> rows = partUsageMapper.selectUsagePage(params);
+
+        Long approximateTotal = hasSearchFilter(params) ? null : partUsageMapper.selectApproximateCount();
+
+        return PageResponseDTO.of(rows, size,
+                dto -> PageCursor.encode(dto.getUsedDatetime(), dto.getUsageId()), approximateTotal);
+    }
+
+    private static boolean hasSearchFilter(Map<String, Object> params) {
+        // 검색어가 있어도 두 목록 모두 확인 (매퍼가 그대로 foreach로 읽음)
+        List<?> includeList = searchTerms(params, "includeList");
+        List<?> excludeList = searchTerms(params, "excludeList");
+        return params.get("keyword") != null || !includeList.isEmpty() || !excludeList.isEmpty();
+    }
+
+    /**
+     * +포함 / -제외 검색어 목록 확인 - 없으면 빈 목록으로 채우고(매퍼 foreach용), 문자열 목록이 아니면 거부
+     */
+    private static List<?> searchTerms(Map<String, Object> params, String key) {
+        Object value = params.get(key);
+        if (value == null) {
+            params.put(key, List.of());
+            return List.of();
+        }
+        if (!(value instanceof List<?> terms) || terms.stream().anyMatch(term -> !(term instanceof String))) {
+            throw new ValidationException("검색어 목록 형식이 올바르지 않습니다: " + key);
+        }
+        return terms;
+    }
 }
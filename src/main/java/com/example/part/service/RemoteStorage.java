@@ -0,0 +1,29 @@
+package com.example.part.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * 원격 저장소 (업로드 파일을 백그라운드에서 복제하는 대상)
+ * storage.remote.type으로 구현을 고른다 (cloudinary / local). 설정하지 않으면 빈이 없고 복제하지 않는다.
+ */
+public interface RemoteStorage {
+
+    /**
+     * 원격 저장 결과
+     *
+     * @param objectId 원격 저장소의 식별자 (삭제에 사용)
+     * @param url      원격 파일 URL
+     */
+    record RemoteObject(String objectId, String url) {
+    }
+
+    // 저장소 종류 (cloudinary, local)
+    String getType();
+
+    // 파일 업로드 - 같은 이름으로 다시 올리면 덮어씀 (재시도해도 같은 결과)
+    RemoteObject upload(Path file, String objectName) throws IOException;
+
+    // 원격 파일 삭제
+    void delete(String objectId) throws IOException;
+}
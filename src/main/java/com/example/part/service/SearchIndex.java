@@ -0,0 +1,564 @@
+package com.example.part.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.part.mapper.PartIncomingMapper;
+import com.example.part.mapper.PartUsageMapper;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 입고/출고 고급 검색용 메모리 색인
+ * 서버 시작 시 전체 적재하고, 입고·출고·위치 변경은 커밋 후 해당 행만 다시 읽어 반영한다.
+ * 검색 결과는 ID 목록으로 돌려주고, 실제 행 조회와 정렬은 기존 고급 검색 SQL(idList 조건)이 담당한다.
+ * 일치하는 ID가 상한(search.index.max-ids)을 넘으면 IN 목록이 너무 커지므로 색인을 쓰지 않고 SQL LIKE 검색으로 넘긴다.
+ * 전체 재색인은 새 색인을 따로 만든 뒤 바꿔 끼우므로 적재 중에도 기존 색인으로 검색하고, 적재 중에 커밋된 변경은 교체 직전에 다시 반영한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SearchIndex {
+
+    private final PartIncomingMapper partIncomingMapper;
+    private final PartUsageMapper partUsageMapper;
+
+    // 고급 검색 컬럼 → 색인 필드 (PartIncomingServiceImpl.mapColumnName 결과 기준)
+    private static final Map<String, String> INCOMING_COLUMNS = Map.ofEntries(
+            Map.entry("pi.part_number", "part_number"),
+            Map.entry("pi.part_name", "part_name"),
+            Map.entry("pi.description", "description"),
+            Map.entry("pi.project_name", "project_name"),
+            Map.entry("pi.note", "note"),
+            Map.entry("pi.supplier", "supplier"),
+            Map.entry("pi.purchaser", "purchaser"),
+            Map.entry("c.category_name", "category_name"),
+            Map.entry("pm.category_name", "payment_method_name"),
+            Map.entry("pi.incoming_quantity", "incoming_quantity"),
+            Map.entry("pi.purchase_price", "purchase_price"),
+            Map.entry("pi.purchase_datetime", "purchase_datetime"));
+
+    // 전체 검색(기본 검색어) 대상 필드
+    private static final List<String> INCOMING_KEYWORD_FIELDS = List.of(
+            "part_number", "part_name", "description", "project_name",
+            "category_name", "payment_method_name", "location");
+
+    // 전체 검색(+포함 / -제외) 대상 필드
+    private static final List<String> INCOMING_TOKEN_FIELDS = List.of(
+            "part_number", "part_name", "description", "project_name",
+            "category_name", "payment_method_name",
+            "incoming_quantity", "purchase_price", "purchase_datetime", "location");
+
+    // 고급 검색 컬럼 → 색인 필드 (PartUsageServiceImpl.mapColumnName 결과 기준)
+    private static final Map<String, String> USAGE_COLUMNS = Map.of(
+            "pu.part_number", "part_number",
+            "pi.part_name", "part_name",
+            "c.category_name", "category_name",
+            "pu.usage_location", "usage_location",
+            "pu.quantity_used", "quantity_used");
+
+    private static final List<String> USAGE_KEYWORD_FIELDS = List.of(
+            "part_number", "part_name", "usage_location");
+
+    private static final List<String> USAGE_EXCLUDE_FIELDS = List.of(
+            "part_number", "part_name", "usage_location", "quantity_used");
+
+    private static final int NEW_INCOMING_CHUNK = 1000;
+
+    // IN (...) 목록으로 넘길 최대 ID 수 (넘으면 SQL 검색 - 제외어만 있거나 넓은 검색어일 때)
+    @Value("${search.index.max-ids:2000}")
+    private int maxIds;
+
+    private volatile NgramIndex incomingIndex = new NgramIndex();
+    private volatile NgramIndex usageIndex = new NgramIndex();
+
+    private volatile boolean ready = false;
+
+    // 전체 재색인은 한 번에 하나씩 (관리자 요청 / 백그라운드 요청 공용)
+    private final Object rebuildLock = new Object();
+    // 재색인 중에 커밋된 변경 (this 잠금으로 보호, 재색인 중이 아니면 null) - 새 색인 교체 전에 다시 반영
+    private Set<Integer> changedIncomings;
+    private Set<Integer> addedIncomings;
+    private Set<Integer> changedUsages;
+
+    // 실행 중 1건 + 대기 1건 - 재색인 중에 들어온 요청은 대기 건 하나로 합침
+    private final ThreadPoolExecutor rebuildWorker = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(1), runnable -> {
+                Thread thread = new Thread(runnable, "search-index-rebuild");
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.DiscardPolicy());
+
+    private final AtomicLong queryCount = new AtomicLong();
+    private final AtomicLong fallbackCount = new AtomicLong();
+    private final AtomicLong overflowCount = new AtomicLong();
+    private final AtomicLong updateCount = new AtomicLong();
+    private volatile long lastRebuildMs = -1;
+    private volatile long lastRebuildAt = 0;
+
+    /**
+     * 서버 시작 시 색인 적재
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("검색 색인 초기 적재 실패 - SQL 검색으로 대체", e);
+        }
+    }
+
+    /**
+     * 갱신 실패로 비활성화된 색인 재적재 재시도
+     */
+    @Scheduled(fixedDelayString = "${search.index.retry-ms:60000}")
+    public void retryIfNotReady() {
+        if (!ready) {
+            rebuildQuietly();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        rebuildWorker.shutdownNow();
+    }
+
+    /**
+     * 전체 재색인 (호출 스레드에서 실행, 끝날 때까지 기존 색인으로 검색)
+     */
+    public Map<String, Object> rebuild() {
+        synchronized (rebuildLock) {
+            long start = System.currentTimeMillis();
+            synchronized (this) {
+                changedIncomings = new HashSet<>();
+                addedIncomings = new HashSet<>();
+                changedUsages = new HashSet<>();
+            }
+            try {
+                NgramIndex freshIncoming = new NgramIndex();
+                NgramIndex freshUsage = new NgramIndex();
+                partIncomingMapper.streamSearchSource(context -> putDocument(freshIncoming, context.getResultObject()));
+                partUsageMapper.streamSearchSource(context -> putDocument(freshUsage, context.getResultObject()));
+
+                synchronized (this) {
+                    // 스트림이 이미 지나간 뒤 커밋된 변경은 새 색인에 없을 수 있으므로 다시 읽어 반영
+                    applyNewIncomings(freshIncoming, new ArrayList<>(addedIncomings));
+                    for (Integer incomingId : changedIncomings) {
+                        applyIncoming(freshIncoming, freshUsage, incomingId);
+                    }
+                    for (Integer usageId : changedUsages) {
+                        applyUsage(freshUsage, usageId);
+                    }
+                    incomingIndex = freshIncoming;
+                    usageIndex = freshUsage;
+                    ready = true;
+                }
+            } finally {
+                synchronized (this) {
+                    changedIncomings = null;
+                    addedIncomings = null;
+                    changedUsages = null;
+                }
+            }
+
+            lastRebuildMs = System.currentTimeMillis() - start;
+            lastRebuildAt = System.currentTimeMillis();
+            log.info("검색 색인 적재 완료: 입고 {}건, 출고 {}건 ({}ms)",
+                    incomingIndex.size(), usageIndex.size(), lastRebuildMs);
+            return getStats();
+        }
+    }
+
+    /**
+     * 전체 재색인 요청 - 백그라운드 스레드에서 실행 (실행 중이면 끝난 뒤 한 번만 더 실행)
+     */
+    public void requestRebuild() {
+        rebuildWorker.execute(this::rebuildQuietly);
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            // 기존 색인은 커밋마다 갱신되어 왔으므로 그대로 사용 (이미 비활성화된 상태면 SQL 검색 유지)
+            log.warn("검색 색인 재적재 실패 - {}: {}", ready ? "기존 색인 유지" : "SQL 검색으로 대체", e.getMessage());
+        }
+    }
+
+    /**
+     * 입고 변경 알림 - 커밋 후 해당 입고와 연결된 출고 색인 갱신
+     */
+    public void indexIncoming(Integer incomingId) {
+        if (incomingId != null) {
+            afterCommit(() -> reloadIncoming(incomingId));
+        }
+    }
+
+    /**
+     * 입고 일괄 등록 알림 - 커밋 후 한 번의 조회로 색인 추가 (신규 입고라 연결된 출고 없음)
+     */
+    public void indexNewIncomings(List<Integer> incomingIds) {
+        if (incomingIds != null && !incomingIds.isEmpty()) {
+            List<Integer> ids = new ArrayList<>(incomingIds);
+            afterCommit(() -> reloadNewIncomings(ids));
+        }
+    }
+
+    /**
+     * 출고 변경 알림 - 커밋 후 해당 출고 색인 갱신
+     */
+    public void indexUsage(Integer usageId) {
+        if (usageId != null) {
+            afterCommit(() -> reloadUsage(usageId));
+        }
+    }
+
+    /**
+     * 전체 무효화 - 커밋 후 백그라운드 재색인 요청 (카테고리명 변경 등 다수 문서에 걸친 변경)
+     */
+    public void invalidateAll() {
+        afterCommit(this::requestRebuild);
+    }
+
+    private void afterCommit(Runnable task) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+        } else {
+            task.run();
+        }
+    }
+
+    private synchronized void reloadIncoming(int incomingId) {
+        if (changedIncomings != null) {
+            changedIncomings.add(incomingId);
+        }
+        if (!ready) {
+            return;
+        }
+        try {
+            applyIncoming(incomingIndex, usageIndex, incomingId);
+            updateCount.incrementAndGet();
+        } catch (Exception e) {
+            // 부분 갱신 실패 시 색인을 신뢰할 수 없으므로 다음 재적재 전까지 SQL 검색
+            ready = false;
+            log.warn("검색 색인 갱신 실패 - 색인 비활성화: incomingId={}, 오류={}", incomingId, e.getMessage());
+        }
+    }
+
+    private synchronized void reloadNewIncomings(List<Integer> incomingIds) {
+        if (addedIncomings != null) {
+            addedIncomings.addAll(incomingIds);
+        }
+        if (!ready) {
+            return;
+        }
+        try {
+            applyNewIncomings(incomingIndex, incomingIds);
+            updateCount.incrementAndGet();
+        } catch (Exception e) {
+            ready = false;
+            log.warn("검색 색인 일괄 갱신 실패 - 색인 비활성화: {}건, 오류={}", incomingIds.size(), e.getMessage());
+        }
+    }
+
+    private synchronized void reloadUsage(int usageId) {
+        if (changedUsages != null) {
+            changedUsages.add(usageId);
+        }
+        if (!ready) {
+            return;
+        }
+        try {
+            applyUsage(usageIndex, usageId);
+            updateCount.incrementAndGet();
+        } catch (Exception e) {
+            ready = false;
+            log.warn("검색 색인 갱신 실패 - 색인 비활성화: usageId={}, 오류={}", usageId, e.getMessage());
+        }
+    }
+
+    private void applyIncoming(NgramIndex incomings, NgramIndex usages, int incomingId) {
+        replaceDocument(incomings, incomingId, partIncomingMapper.selectSearchSourceById(incomingId));
+        for (Map<String, Object> usage : partUsageMapper.selectSearchSourceByIncomingId(incomingId)) {
+            putDocument(usages, usage);
+        }
+    }
+
+    private void applyNewIncomings(NgramIndex incomings, List<Integer> incomingIds) {
+        // IN 목록이 너무 길어지지 않게 나눠 조회
+        for (int from = 0; from < incomingIds.size(); from += NEW_INCOMING_CHUNK) {
+            List<Integer> chunk = incomingIds.subList(from, Math.min(from + NEW_INCOMING_CHUNK, incomingIds.size()));
+            for (Map<String, Object> row : partIncomingMapper.selectSearchSourceByIds(chunk)) {
+                putDocument(incomings, row);
+            }
+        }
+    }
+
+    private void applyUsage(NgramIndex usages, int usageId) {
+        replaceDocument(usages, usageId, partUsageMapper.selectSearchSourceById(usageId));
+    }
+
+    /**
+     * 입고 고급 검색 - 일치하는 입고ID 목록, 색인으로 처리할 수 없으면 null (SQL 검색 사용)
+     */
+    public List<Integer> searchIncoming(Map<String, Object> params) {
+        String column = asText(params.get("column"));
+        if (column == null) {
+            return search(incomingIndex, params, INCOMING_KEYWORD_FIELDS, INCOMING_TOKEN_FIELDS, INCOMING_TOKEN_FIELDS);
+        }
+        String field = INCOMING_COLUMNS.get(column);
+        if (field == null) {
+            fallbackCount.incrementAndGet();
+            return null;
+        }
+        List<String> fields = List.of(field);
+        return search(incomingIndex, params, fields, fields, fields);
+    }
+
+    /**
+     * 출고 고급 검색 - 일치하는 출고ID 목록, 색인으로 처리할 수 없으면 null (SQL 검색 사용)
+     */
+    public List<Integer> searchUsage(Map<String, Object> params) {
+        String column = asText(params.get("column"));
+        if (column == null) {
+            return search(usageIndex, params, USAGE_KEYWORD_FIELDS, USAGE_KEYWORD_FIELDS, USAGE_EXCLUDE_FIELDS);
+        }
+        String field = USAGE_COLUMNS.get(column);
+        if (field == null) {
+            fallbackCount.incrementAndGet();
+            return null;
+        }
+        List<String> fields = List.of(field);
+        return search(usageIndex, params, fields, fields, fields);
+    }
+
+    // keyword → +포함 교집합 → -제외 차집합 (SQL 고급 검색 조건과 같은 순서)
+    private List<Integer> search(NgramIndex index, Map<String, Object> params,
+            List<String> keywordFields, List<String> includeFields, List<String> excludeFields) {
+        String keyword = asText(params.get("keyword"));
+        List<String> includeList = asList(params.get("includeList"));
+        List<String> excludeList = asList(params.get("excludeList"));
+
+        if (!ready || hasWildcard(keyword) || includeList.stream().anyMatch(SearchIndex::hasWildcard)
+                || excludeList.stream().anyMatch(SearchIndex::hasWildcard)) {
+            fallbackCount.incrementAndGet();
+            return null;
+        }
+        queryCount.incrementAndGet();
+
+        Set<Integer> result = keyword != null ? index.match(keyword, keywordFields) : null;
+        for (String kw : includeList) {
+            if (result != null && result.isEmpty()) {
+                break;
+            }
+            Set<Integer> matched = index.match(kw, includeFields);
+            if (result == null) {
+                result = matched;
+            } else {
+                result.retainAll(matched);
+            }
+        }
+        if (result == null) {
+            result = index.ids();
+        }
+        for (String kw : excludeList) {
+            result.removeIf(id -> index.matches(id, kw, excludeFields));
+        }
+        if (result.size() > maxIds) {
+            overflowCount.incrementAndGet();
+            fallbackCount.incrementAndGet();
+            return null;
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * 색인과 DB 원본 비교 (repair=true 이면 어긋난 문서를 바로 고침)
+     * 전체 스트리밍 비교는 잠금 없이 하고, 어긋난 후보만 this 잠금 안에서 한 건씩 다시 읽어 확정/수리한다.
+     * (스트리밍 중에도 커밋 후 색인 갱신이 막히지 않고, 그 사이 갱신된 문서를 옛 행으로 덮어쓰지 않음)
+     */
+    public Map<String, Object> check(boolean repair) {
+        // 재색인과 겹치면 비교 중에 색인이 교체되므로 재색인 잠금 공유
+        synchronized (rebuildLock) {
+            long start = System.currentTimeMillis();
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("incoming", compare(incomingIndex, partIncomingMapper::streamSearchSource,
+                    partIncomingMapper::selectSearchSourceById, repair));
+            report.put("usage", compare(usageIndex, partUsageMapper::streamSearchSource,
+                    partUsageMapper::selectSearchSourceById, repair));
+            report.put("repaired", repair);
+            report.put("elapsedMs", System.currentTimeMillis() - start);
+
+            log.info("검색 색인 정합성 점검 완료: {}", report);
+            return report;
+        }
+    }
+
+    private Map<String, Object> compare(NgramIndex index,
+            Consumer<ResultHandler<Map<String, Object>>> source,
+            IntFunction<Map<String, Object>> reload,
+            boolean repair) {
+        // 1) 잠금 없이 스트리밍 비교 - 어긋난 문서와 DB에 없는 문서를 후보로 모음
+        Set<Integer> remaining = index.ids();
+        Set<Integer> candidates = new LinkedHashSet<>();
+        source.accept(context -> {
+            Map<String, Object> row = context.getResultObject();
+            int id = ((Number) row.get("id")).intValue();
+            remaining.remove(id);
+
+            Map<String, String> indexed = index.get(id);
+            if (indexed == null || !indexed.equals(normalizedFields(row))) {
+                candidates.add(id);
+            }
+        });
+        candidates.addAll(remaining);
+
+        // 2) 후보만 한 건씩 다시 읽어 확정 - 스트리밍 중 커밋된 변경으로 생긴 차이는 제외
+        List<Integer> missing = new ArrayList<>();
+        List<Integer> stale = new ArrayList<>();
+        List<Integer> extra = new ArrayList<>();
+        for (Integer id : candidates) {
+            synchronized (this) {
+                Map<String, Object> row = reload.apply(id);
+                Map<String, String> indexed = index.get(id);
+                if (row == null && indexed == null) {
+                    continue;
+                }
+                if (row == null) {
+                    extra.add(id);
+                } else if (indexed == null) {
+                    missing.add(id);
+                } else if (!indexed.equals(normalizedFields(row))) {
+                    stale.add(id);
+                } else {
+                    continue;
+                }
+                if (repair) {
+                    replaceDocument(index, id, row);
+                }
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("indexed", index.size());
+        result.put("missing", missing.size());
+        result.put("stale", stale.size());
+        result.put("extra", extra.size());
+        result.put("sampleIds", sample(missing, stale, extra));
+        return result;
+    }
+
+    /**
+     * 색인 지표
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("ready", ready);
+        stats.put("rebuildQueued", rebuildWorker.getActiveCount() + rebuildWorker.getQueue().size());
+        stats.put("incomingDocuments", incomingIndex.size());
+        stats.put("incomingGrams", incomingIndex.gramCount());
+        stats.put("usageDocuments", usageIndex.size());
+        stats.put("usageGrams", usageIndex.gramCount());
+        stats.put("queries", queryCount.get());
+        stats.put("fallbacks", fallbackCount.get());
+        stats.put("overflows", overflowCount.get());
+        stats.put("maxIds", maxIds);
+        stats.put("updates", updateCount.get());
+        stats.put("lastRebuildMs", lastRebuildMs);
+        stats.put("lastRebuildAt", lastRebuildAt);
+        return stats;
+    }
+
+    private static void putDocument(NgramIndex index, Map<String, Object> row) {
+        index.put(((Number) row.get("id")).intValue(), documentFields(row));
+    }
+
+    private static void replaceDocument(NgramIndex index, int id, Map<String, Object> row) {
+        if (row == null) {
+            index.remove(id);
+        } else {
+            putDocument(index, row);
+        }
+    }
+
+    // id / incoming_id 는 검색 대상이 아니므로 제외
+    private static Map<String, Object> documentFields(Map<String, Object> row) {
+        Map<String, Object> fields = new HashMap<>(row);
+        fields.remove("id");
+        fields.remove("incoming_id");
+        return fields;
+    }
+
+    private static Map<String, String> normalizedFields(Map<String, Object> row) {
+        Map<String, String> fields = new HashMap<>();
+        for (Map.Entry<String, Object> entry : documentFields(row).entrySet()) {
+            if (entry.getValue() != null) {
+                fields.put(entry.getKey(), NgramIndex.normalize(entry.getValue().toString()));
+            }
+        }
+        return fields;
+    }
+
+    @SafeVarargs
+    private static List<Integer> sample(Collection<Integer>... groups) {
+        List<Integer> ids = new ArrayList<>();
+        for (Collection<Integer> group : groups) {
+            for (Integer id : group) {
+                if (ids.size() >= 20) {
+                    return ids;
+                }
+                ids.add(id);
+            }
+        }
+        return ids;
+    }
+
+    // LIKE 와일드카드(%, _)나 이스케이프 문자가 섞인 검색어는 SQL로 처리
+    private static boolean hasWildcard(String keyword) {
+        return keyword != null && (keyword.indexOf('%') >= 0 || keyword.indexOf('_') >= 0 || keyword.indexOf('\\') >= 0);
+    }
+
+    private static String asText(Object value) {
+        if (value == null) {
+            return null;
+        }
+        String text = value.toString();
+        return text.isEmpty() ? null : text;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> asList(Object value) {
+        return value instanceof List ? (List<String>) value : Collections.emptyList();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.part.service;
+
+import java.util.List;
+import java.util.Map;
+
+import com.example.part.dto.ReorderPointDTO;
+import com.example.part.dto.StockAlertDTO;
+
+public interface StockAlertService {
+
+    // 단일 부품 재고 변경 후 적정재고 교차 여부 평가 (재고 원장 갱신과 같은 트랜잭션)
+    void evaluate(String partNumber);
+
+    // 전체 부품 평가 (카테고리 기본값 변경, 서버 시작 시)
+    Map<String, Object> evaluateAll();
+
+    // 알림 목록 (openOnly=false 이면 해제된 알림 포함 최근 순)
+    List<StockAlertDTO> getAlerts(boolean openOnly, Integer limit);
+
+    // 진행 중 알림 수
+    int countOpenAlerts();
+
+    // 진행 중 알림 부품의 재고 행 (재고 부족 목록)
+    List<Map<String, Object>> getOpenAlertInventory();
+
+    // 부품별 적정재고 목록
+    List<ReorderPointDTO> getReorderPoints();
+
+    // 부품별 적정재고 설정 (reorderPoint가 null이면 해제)
+    void setPartReorderPoint(String partNumber, Integer reorderPoint, String updatedBy);
+
+    // 카테고리 기본 적정재고 설정 (reorderPoint가 null이면 해제)
+    void setCategoryReorderPoint(int categoryId, Integer reorderPoint);
+}
@@ -0,0 +1,175 @@
+package com.example.part.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.part.dto.ReorderPointDTO;
+import com.example.part.dto.StockAlertDTO;
+import com.example.part.exception.ValidationException;
+import com.example.part.mapper.StockAlertMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 재고 부족 알림 관리
+ * 재고 원장이 바뀔 때마다 해당 부품만 적정재고(부품별 설정 → 카테고리 기본값)와 비교해
+ * 이하로 내려가면 알림을 열고, 다시 올라가면 닫는다. 화면은 stock_alert만 조회한다.
+ * 적정재고를 설정하지 않은 부품은 전체 기본값(stock.alert.default-reorder-point, 예전 재고 부족 화면 기준 10개)을 쓴다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StockAlertServiceImpl implements StockAlertService {
+
+    private static final int DEFAULT_LIMIT = 200;
+    private static final int MAX_LIMIT = 1000;
+
+    private final StockAlertMapper stockAlertMapper;
+    private final AuditLogger auditLogger;
+    private final TransactionTemplate transactionTemplate;
+
+    // 부품/카테고리 적정재고가 없는 부품의 기준 (음수면 설정한 부품만 알림)
+    @Value("${stock.alert.default-reorder-point:10}")
+    private int defaultReorderPoint;
+
+    @Override
+    @Transactional
+    public void evaluate(String partNumber) {
+        if (partNumber == null) {
+            return;
+        }
+
+        Map<String, Object> state = stockAlertMapper.selectStockState(partNumber, defaultReorderPoint());
+
+        if (state == null) {
+            // 원장 행이 없어진 부품은 진행 중 알림만 해제
+            Long openAlertId = stockAlertMapper.selectOpenAlertId(partNumber);
+            if (openAlertId != null) {
+                stockAlertMapper.resolveAlert(openAlertId, null);
+            }
+            return;
+        }
+
+        int currentStock = ((Number) state.get("current_stock")).intValue();
+        Number reorderPoint = (Number) state.get("reorder_point");
+        Number openAlertId = (Number) state.get("open_alert_id");
+
+        boolean below = reorderPoint != null && currentStock <= reorderPoint.intValue();
+
+        if (below && openAlertId == null) {
+            stockAlertMapper.insertAlert(partNumber, reorderPoint.intValue(), currentStock);
+            log.info("재고 부족 알림 발생: 부품번호 {}, 현재고 {}, 적정재고 {}", partNumber, currentStock, reorderPoint);
+        } else if (!below && openAlertId != null) {
+            stockAlertMapper.resolveAlert(openAlertId.longValue(), currentStock);
+            log.info("재고 부족 알림 해제: 부품번호 {}, 현재고 {}", partNumber, currentStock);
+        }
+    }
+
+    /**
+     * 서버 시작 시 전체 평가 (재고 원장 정합성 점검 이후, 설정 변경이 반영되지 않은 부품 보정)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void evaluateOnStartup() {
+        try {
+            // 자기 호출은 프록시를 거치지 않아 @Transactional이 적용되지 않으므로 직접 트랜잭션으로 감쌈
+            transactionTemplate.execute(status -> evaluateAll());
+        } catch (Exception e) {
+            log.error("재고 부족 알림 초기 평가 실패", e);
+        }
+    }
+
+    @Override
+    @Transactional
+    public Map<String, Object> evaluateAll() {
+        long start = System.currentTimeMillis();
+
+        int resolved = stockAlertMapper.resolveRecoveredAll(defaultReorderPoint());
+        int opened = stockAlertMapper.openAlertsForAll(defaultReorderPoint());
+
+        long elapsed = System.currentTimeMillis() - start;
+        log.info("재고 부족 알림 전체 평가 완료: 발생 {}건, 해제 {}건 ({}ms)", opened, resolved, elapsed);
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("opened", opened);
+        result.put("resolved", resolved);
+        result.put("elapsedMs", elapsed);
+        return result;
+    }
+
+    @Override
+    public List<StockAlertDTO> getAlerts(boolean openOnly, Integer limit) {
+        int size = limit == null || limit <= 0 ? DEFAULT_LIMIT : Math.min(limit, MAX_LIMIT);
+        return stockAlertMapper.selectAlerts(openOnly, size);
+    }
+
+    @Override
+    public int countOpenAlerts() {
+        return stockAlertMapper.countOpenAlerts();
+    }
+
+    @Override
+    public List<Map<String, Object>> getOpenAlertInventory() {
+        return stockAlertMapper.selectOpenAlertInventory();
+    }
+
+    @Override
+    public List<ReorderPointDTO> getReorderPoints() {
+        return stockAlertMapper.selectReorderPoints();
+    }
+
+    @Override
+    @Transactional
+    public void setPartReorderPoint(String partNumber, Integer reorderPoint, String updatedBy) {
+        if (partNumber == null || partNumber.isBlank()) {
+            throw new ValidationException("부품번호가 필요합니다.");
+        }
+        if (reorderPoint != null && reorderPoint < 0) {
+            throw new ValidationException("적정재고는 0 이상이어야 합니다.");
+        }
+
+        if (reorderPoint == null) {
+            stockAlertMapper.deleteReorderPoint(partNumber);
+        } else {
+            stockAlertMapper.upsertReorderPoint(partNumber, reorderPoint, updatedBy);
+        }
+
+        evaluate(partNumber);
+
+        auditLogger.log("part_reorder_point", null, reorderPoint == null ? "DELETE" : "UPDATE",
+                "적정재고 " + (reorderPoint == null ? "해제" : "설정 [" + reorderPoint + "]") + ": " + partNumber,
+                null, updatedBy);
+    }
+
+    @Override
+    @Transactional
+    public void setCategoryReorderPoint(int categoryId, Integer reorderPoint) {
+        if (reorderPoint != null && reorderPoint < 0) {
+            throw new ValidationException("적정재고는 0 이상이어야 합니다.");
+        }
+
+        int result = stockAlertMapper.updateCategoryReorderPoint(categoryId, reorderPoint);
+        if (result == 0) {
+            throw new ValidationException("존재하지 않는 카테고리입니다: " + categoryId);
+        }
+
+        // 카테고리에 속한 부품 전체가 영향을 받으므로 집합 단위로 재평가
+        evaluateAll();
+
+        auditLogger.log("category", (long) categoryId, "UPDATE",
+                "카테고리 기본 적정재고 " + (reorderPoint == null ? "해제" : "설정 [" + reorderPoint + "]"),
+                null, null);
+    }
+
+    private Integer defaultReorderPoint() {
+        return defaultReorderPoint >= 0 ? defaultReorderPoint : null;
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.part.service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.part.dto.StorageOffloadDTO;
+import com.example.part.exception.ValidationException;
+import com.example.part.mapper.StorageOffloadMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 저장소 파일 원격 복제 (Cloudinary 등)
+ * 업로드 요청은 로컬 저장소(ContentStore)에 저장하고 커밋된 뒤 storage_offload에 등록만 하고 끝나며,
+ * 전용 스레드 하나가 대기 건을 원격 저장소(RemoteStorage)로 올린다. 실패하면 1분부터 간격을 두 배씩 늘려(최대 6시간) 재시도하고,
+ * 재시도 횟수를 넘기면 failed로 두어 관리자가 다시 시도하게 한다. 큐가 DB에 있으므로 서버가 재시작돼도 이어서 처리한다.
+ * 로컬 파일은 썸네일 생성 / ETag 응답 / 중복 제거에 계속 쓰므로 지우지 않고, 저장소에서 삭제된 내용은 원격 파일도 지운다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StorageOffloadService {
+
+    public static final String STATUS_PENDING = "pending";
+    public static final String STATUS_FAILED = "failed";
+
+    private static final long BASE_DELAY_SECONDS = 60;
+    private static final long MAX_DELAY_SECONDS = 6 * 60 * 60;
+
+    private final StorageOffloadMapper offloadMapper;
+    private final ContentStore contentStore;
+    private final ObjectProvider<RemoteStorage> remoteStorageProvider;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${storage.offload.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${storage.offload.batch-size:20}")
+    private int batchSize;
+
+    private RemoteStorage remoteStorage;
+    // 실행 중 1건 + 대기 1건 - 처리 중에 들어온 요청은 대기 건 하나로 합쳐 다시 조회
+    private ThreadPoolExecutor worker;
+
+    private final AtomicLong uploadedCount = new AtomicLong();
+    private final AtomicLong uploadedBytes = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong removedCount = new AtomicLong();
+    private volatile String lastError;
+
+    @PostConstruct
+    public void start() {
+        remoteStorage = remoteStorageProvider.getIfAvailable();
+        if (remoteStorage == null) {
+            log.info("원격 저장소 미설정 - 업로드 파일을 로컬에만 보관");
+            return;
+        }
+        worker = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "storage-offload");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+
+        int interrupted = offloadMapper.resetInterrupted();
+        log.info("원격 저장소 복제 사용: {} (전송 중 중단된 {}건 재시도)", remoteStorage.getType(), interrupted);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (worker != null) {
+            // 전송 중이던 건은 uploading으로 남고 다음 시작 시 대기로 돌아감
+            worker.shutdownNow();
+        }
+    }
+
+    /**
+     * 복제 대기 등록 (업로드 직후, 트랜잭션 안이면 커밋 후 등록하고 전송 시작)
+     * 업로드 트랜잭션에서 storage_offload 행을 잠그지 않고, 롤백된 업로드는 등록하지 않음
+     */
+    public void enqueue(String blobKey) {
+        if (remoteStorage == null || !contentStore.isKey(blobKey)) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    register(blobKey);
+                }
+            });
+        } else {
+            register(blobKey);
+        }
+    }
+
+    /**
+     * 주기 작업 - 재시도 시각이 된 건과 큐에 없는 내용 처리
+     */
+    @Scheduled(initialDelayString = "${storage.offload.poll-initial-delay-ms:30000}",
+            fixedDelayString = "${storage.offload.poll-interval-ms:60000}")
+    public void poll() {
+        if (remoteStorage != null) {
+            trigger();
+        }
+    }
+
+    /**
+     * 재시도 횟수를 넘긴 건 다시 시도 (관리자)
+     */
+    public int retryFailed() {
+        if (remoteStorage == null) {
+            throw new ValidationException("원격 저장소가 설정되지 않았습니다.");
+        }
+        int count = offloadMapper.retryFailed();
+        trigger();
+        return count;
+    }
+
+    /**
+     * 복제 지표
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", remoteStorage != null);
+        stats.put("remoteType", remoteStorage != null ? remoteStorage.getType() : null);
+        Map<String, Object> statusCounts = new LinkedHashMap<>();
+        for (Map<String, Object> row : offloadMapper.selectStatusCounts()) {
+            statusCounts.put(String.valueOf(row.get("status")), row.get("count"));
+        }
+        stats.put("status", statusCounts);
+        stats.put("uploaded", uploadedCount.get());
+        stats.put("uploadedBytes", uploadedBytes.get());
+        stats.put("failedAttempts", failedCount.get());
+        stats.put("removed", removedCount.get());
+        stats.put("lastError", lastError);
+        return stats;
+    }
+
+    // 등록 후 전송 시작 - 커밋 후 호출되면 끝난 트랜잭션에 섞이지 않도록 별도 트랜잭션으로 실행
+    // 등록에 실패해도 주기 작업이 큐에 없는 내용을 찾아 등록하므로 업로드는 계속 진행
+    private void register(String blobKey) {
+        TransactionTemplate requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            requiresNew.executeWithoutResult(status -> offloadMapper.enqueue(blobKey));
+        } catch (RuntimeException e) {
+            log.warn("원격 복제 등록 실패 - 주기 작업에서 등록: {} - {}", blobKey, e.getMessage());
+            return;
+        }
+        trigger();
+    }
+
+    private void trigger() {
+        worker.execute(this::drain);
+    }
+
+    // 복제 스레드 - 대기 건 전송 → 큐에 없는 내용 등록 → 삭제된 내용의 원격 파일 정리
+    private void drain() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                List<StorageOffloadDTO> due = offloadMapper.selectDue(batchSize);
+                for (StorageOffloadDTO job : due) {
+                    if (offloadMapper.claim(job.getBlobKey()) > 0) {
+                        upload(job);
+                    }
+                }
+                if (due.size() < batchSize && offloadMapper.enqueueMissing(batchSize) == 0) {
+                    break;
+                }
+            }
+            removeOrphans();
+        } catch (RuntimeException e) {
+            // DB 오류 등 - 다음 주기에 다시 시도
+            lastError = e.getMessage();
+            log.warn("원격 복제 작업 실패: {}", e.getMessage());
+        }
+    }
+
+    private void upload(StorageOffloadDTO job) {
+        String key = job.getBlobKey();
+        try {
+            Path file = contentStore.resolve(key);
+            if (!Files.isRegularFile(file)) {
+                throw new IOException("저장소 파일이 없습니다.");
+            }
+            long size = Files.size(file);
+            RemoteStorage.RemoteObject remote = remoteStorage.upload(file, key);
+            offloadMapper.markDone(key, remoteStorage.getType(), remote.objectId(), remote.url());
+            uploadedCount.incrementAndGet();
+            uploadedBytes.addAndGet(size);
+            log.debug("원격 복제 완료: {} → {}", key, remote.url());
+        } catch (IOException | RuntimeException e) {
+            int attempts = (job.getAttempts() != null ? job.getAttempts() : 0) + 1;
+            String status = attempts >= maxAttempts ? STATUS_FAILED : STATUS_PENDING;
+            long delay = Math.min(BASE_DELAY_SECONDS << Math.min(attempts - 1, 20), MAX_DELAY_SECONDS);
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            offloadMapper.markFailed(key, status, attempts, delay,
+                    message.length() > 500 ? message.substring(0, 500) : message);
+            failedCount.incrementAndGet();
+            lastError = key + ": " + message;
+            log.warn("원격 복제 실패 ({}회, {}): {} - {}", attempts,
+                    STATUS_FAILED.equals(status) ? "재시도 중단" : delay + "초 후 재시도", key, message);
+        }
+    }
+
+    // 참조가 모두 해제되어 저장소에서 지워진 내용 - 복제 건을 먼저 지운 경우에만 원격 파일 삭제
+    private void removeOrphans() {
+        List<StorageOffloadDTO> orphans;
+        do {
+            orphans = offloadMapper.selectOrphans(batchSize);
+            for (StorageOffloadDTO orphan : orphans) {
+                if (offloadMapper.deleteOrphan(orphan.getBlobKey()) == 0) {
+                    continue;
+                }
+                // 복제 전에 지워졌거나 다른 원격 저장소에 올린 건은 지울 원격 파일이 없음
+                if (orphan.getRemoteId() == null || !remoteStorage.getType().equals(orphan.getRemoteType())) {
+                    continue;
+                }
+                try {
+                    remoteStorage.delete(orphan.getRemoteId());
+                    removedCount.incrementAndGet();
+                } catch (IOException | RuntimeException e) {
+                    log.warn("원격 파일 삭제 실패: {} - {}", orphan.getRemoteId(), e.getMessage());
+                }
+            }
+        } while (orphans.size() == batchSize && !Thread.currentThread().isInterrupted());
+    }
+}
@@ -0,0 +1,507 @@
+package com.example.part.service;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.FileSystemUtils;
+
+import com.example.part.dto.GeneralImageDTO;
+import com.example.part.dto.GeneratedDocumentDTO;
+import com.example.part.dto.PartImageDTO;
+import com.example.part.exception.ValidationException;
+import com.example.part.mapper.GeneralImageMapper;
+import com.example.part.mapper.GeneratedDocumentMapper;
+import com.example.part.mapper.PartImageMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 업로드 / 문서 디렉토리와 DB 참조 대조 (고아 파일 정리)
+ * part_images / general_images / generated_documents가 가리키는 파일명을 해시 집합으로 모은 뒤 저장소와 기존 디렉토리를 훑어
+ * 어떤 행도 가리키지 않는 파일을 격리 디렉토리(날짜별)로 옮기고, 보관 기간이 지난 격리 파일은 지운다.
+ * 업로드 중인 파일을 건드리지 않도록 유예 시간 안에 바뀐 파일은 건너뛰고, 옮기기 직전에 참조를 한 번 더 모아 확인한다.
+ * 저장소(내용 기반) 파일은 file_blob 참조 수로 판단해 행을 잠근 채 옮기고 행도 지우므로, 같은 내용의 업로드(중복 제거)와
+ * 겹치지 않고 저장소 지표와 원격 복제 큐도 격리 결과와 맞는다.
+ * 반대로 파일이 없는 행은 보고하고, 격리 디렉토리에 같은 파일이 있으면 제자리로 되돌린다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StorageReconcileService {
+
+    private static final String URL_PREFIX = "/uploads/images/";
+    private static final int PAGE_SIZE = 500;
+    private static final int SAMPLE_LIMIT = 50;
+    private static final DateTimeFormatter DAY_FORMAT = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private static final String AREA_STORE = "store";
+    private static final String AREA_IMAGES = "images";
+    private static final String AREA_DOCUMENTS = "documents";
+
+    // 이 서비스가 만든 적 있는 파일명만 정리 대상 (UUID 업로드, 캔버스 문서, 캔버스 임시 PNG) - 그 외 파일은 건드리지 않음
+    private static final Pattern LEGACY_NAME = Pattern.compile(
+            "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}(\\.[A-Za-z0-9]{1,10})?"
+                    + "|canvas_\\d+\\.(png|pdf)");
+    // 예전 캔버스 PDF 생성이 지우지 못한 임시 PNG (격리 없이 삭제)
+    private static final Pattern CANVAS_TEMP_NAME = Pattern.compile("temp_\\d+\\.png");
+
+    private final ContentStore contentStore;
+    private final PartImageMapper partImageMapper;
+    private final GeneralImageMapper generalImageMapper;
+    private final GeneratedDocumentMapper documentMapper;
+
+    @Value("${file.upload-dir:/var/livewalk/uploads/images}")
+    private String uploadDir;
+
+    @Value("${file.document-dir:/var/livewalk/uploads/documents}")
+    private String documentDir;
+
+    @Value("${file.quarantine-dir:/var/livewalk/uploads/quarantine}")
+    private String quarantineDir;
+
+    @Value("${file.reconcile.grace-hours:24}")
+    private int graceHours;
+
+    @Value("${file.reconcile.quarantine-days:14}")
+    private int quarantineDays;
+
+    @Value("${file.reconcile.dry-run:false}")
+    private boolean scheduledDryRun;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private volatile Map<String, Object> lastResult;
+
+    /**
+     * 대조 결과 집계
+     */
+    private static final class Run {
+        private final boolean dryRun;
+        private final long graceCutoff;
+        private final String day;
+        private int referencedFiles;
+        private int scannedFiles;
+        private int skippedRecent;
+        private int skippedUnmanaged;
+        private int referencedOnRecheck;
+        private int quarantined;
+        private long quarantinedBytes;
+        private int tempDeleted;
+        private long tempDeletedBytes;
+        private int purgedDays;
+        private long purgedBytes;
+        private int missingRows;
+        private int restored;
+        private final List<Map<String, Object>> missing = new ArrayList<>();
+        private final List<String> errors = new ArrayList<>();
+        // 격리 후보 - 참조를 다시 모은 뒤 옮김
+        private final List<Candidate> candidates = new ArrayList<>();
+
+        private Run(boolean dryRun, long graceCutoff) {
+            this.dryRun = dryRun;
+            this.graceCutoff = graceCutoff;
+            this.day = LocalDate.now().format(DAY_FORMAT);
+        }
+
+        private void error(String message) {
+            if (errors.size() < SAMPLE_LIMIT) {
+                errors.add(message);
+            }
+        }
+    }
+
+    private record Candidate(Path file, String area) {
+    }
+
+    /**
+     * 매일 새벽 대조 실행 (업로드가 적은 시간)
+     */
+    @Scheduled(cron = "${file.reconcile.cron:0 30 4 * * *}")
+    public void scheduledReconcile() {
+        try {
+            reconcile(scheduledDryRun);
+        } catch (Exception e) {
+            log.error("파일 대조 작업 실패", e);
+        }
+    }
+
+    /**
+     * 대조 실행 (동시에 한 번만)
+     *
+     * @param dryRun true면 옮기거나 지우지 않고 대상만 집계
+     */
+    public Map<String, Object> reconcile(boolean dryRun) {
+        if (!running.compareAndSet(false, true)) {
+            throw new ValidationException("이미 파일 대조가 진행 중입니다.");
+        }
+        long start = System.currentTimeMillis();
+        try {
+            Run run = new Run(dryRun, start - graceHours * 3600_000L);
+
+            // 1. DB 참조 수집 + 파일이 없는 행 확인
+            Set<String> referenced = collectReferences(run, true);
+            run.referencedFiles = referenced.size();
+
+            // 2. 디렉토리 탐색 - 참조되지 않는 파일을 후보로
+            scanStore(run, referenced);
+            Set<Path> scannedDirs = new HashSet<>();
+            for (Path dir : new Path[] { Paths.get(uploadDir), Paths.get(documentDir) }) {
+                Path normalized = dir.toAbsolutePath().normalize();
+                if (scannedDirs.add(normalized)) {
+                    scanFlat(run, normalized, referenced,
+                            normalized.equals(Paths.get(documentDir).toAbsolutePath().normalize())
+                                    ? AREA_DOCUMENTS : AREA_IMAGES);
+                }
+            }
+
+            // 3. 탐색 중에 등록된 행이 있을 수 있으므로 참조를 다시 모아 확인한 뒤 격리
+            if (!run.candidates.isEmpty()) {
+                Set<String> recheck = collectReferences(run, false);
+                quarantineCandidates(run, recheck);
+            }
+
+            // 4. 보관 기간이 지난 격리 파일 삭제
+            purgeQuarantine(run);
+
+            Map<String, Object> result = toMap(run);
+            result.put("elapsedMs", System.currentTimeMillis() - start);
+            lastResult = result;
+            log.info("파일 대조 완료: 격리 {}건({}KB), 임시 파일 삭제 {}건, 격리 만료 삭제 {}일치, 파일 없는 행 {}건, 복원 {}건{}",
+                    run.quarantined, run.quarantinedBytes / 1024, run.tempDeleted, run.purgedDays,
+                    run.missingRows, run.restored, dryRun ? " (dry-run)" : "");
+            if (run.missingRows > 0) {
+                log.warn("파일이 없는 행: {}", run.missing);
+            }
+            return result;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    public Map<String, Object> getLastResult() {
+        return lastResult;
+    }
+
+    // 세 테이블이 가리키는 파일명 (checkFiles면 파일 존재 여부도 확인)
+    private Set<String> collectReferences(Run run, boolean checkFiles) {
+        Set<String> referenced = new HashSet<>();
+
+        Integer afterImageId = 0;
+        while (true) {
+            List<PartImageDTO> page = partImageMapper.selectLocalImagesAfter(afterImageId, PAGE_SIZE);
+            for (PartImageDTO image : page) {
+                for (String url : new String[] { image.getImageUrl(), image.getThumbUrl(), image.getMediumUrl() }) {
+                    if (url == null || !url.startsWith(URL_PREFIX)) {
+                        continue;
+                    }
+                    String name = url.substring(URL_PREFIX.length());
+                    if (referenced.add(name) && checkFiles) {
+                        checkFile(run, "part_images", image.getImageId(), name, null, uploadDir, AREA_IMAGES);
+                    }
+                }
+            }
+            if (page.size() < PAGE_SIZE) {
+                break;
+            }
+            afterImageId = page.get(page.size() - 1).getImageId();
+        }
+
+        Long afterLibraryId = 0L;
+        while (true) {
+            List<GeneralImageDTO> page = generalImageMapper.selectImagesAfter(afterLibraryId, PAGE_SIZE);
+            for (GeneralImageDTO image : page) {
+                String name = image.getFileName();
+                if (name != null && referenced.add(name) && checkFiles) {
+                    checkFile(run, "general_images", image.getImageId(), name, image.getFilePath(), uploadDir,
+                            AREA_IMAGES);
+                }
+            }
+            if (page.size() < PAGE_SIZE) {
+                break;
+            }
+            afterLibraryId = page.get(page.size() - 1).getImageId();
+        }
+
+        Long afterDocumentId = 0L;
+        while (true) {
+            List<GeneratedDocumentDTO> page = documentMapper.selectDocumentsAfter(afterDocumentId, PAGE_SIZE);
+            for (GeneratedDocumentDTO document : page) {
+                String name = document.getFileName();
+                if (name != null && referenced.add(name) && checkFiles) {
+                    checkFile(run, "generated_documents", document.getDocumentId(), name, document.getFilePath(),
+                            documentDir, AREA_DOCUMENTS);
+                }
+            }
+            if (page.size() < PAGE_SIZE) {
+                break;
+            }
+            afterDocumentId = page.get(page.size() - 1).getDocumentId();
+        }
+        return referenced;
+    }
+
+    // 행이 가리키는 파일이 없으면 보고 (격리돼 있으면 제자리로 복원)
+    private void checkFile(Run run, String table, Object id, String name, String recordedPath, String legacyDir,
+            String legacyArea) {
+        boolean isKey = contentStore.isKey(name);
+        Path expected = isKey ? contentStore.resolve(name) : Paths.get(legacyDir, name);
+        if (Files.isRegularFile(expected)
+                || (!isKey && recordedPath != null && Files.isRegularFile(Paths.get(recordedPath)))) {
+            return;
+        }
+
+        Path quarantined = findQuarantined(isKey ? AREA_STORE : legacyArea, name);
+        if (quarantined != null && !run.dryRun) {
+            try {
+                if (isKey) {
+                    // 격리하면서 지운 file_blob 참조도 되돌림
+                    contentStore.restore(name, quarantined);
+                } else {
+                    Files.createDirectories(expected.getParent());
+                    Files.move(quarantined, expected);
+                }
+                run.restored++;
+                log.info("격리 파일 복원: {} {} → {}", table, id, expected);
+                return;
+            } catch (IOException | RuntimeException e) {
+                run.error("복원 실패 " + name + ": " + e.getMessage());
+            }
+        }
+
+        run.missingRows++;
+        if (run.missing.size() < SAMPLE_LIMIT) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("table", table);
+            row.put("id", id);
+            row.put("fileName", name);
+            row.put("inQuarantine", quarantined != null);
+            run.missing.add(row);
+        }
+    }
+
+    // 저장소 - 앞2자리/다음2자리 디렉토리의 파일 (임시 디렉토리는 오래된 파일만 삭제)
+    private void scanStore(Run run, Set<String> referenced) {
+        Path root = contentStore.getRoot();
+        Path tempDir = contentStore.getTempDir();
+        try (DirectoryStream<Path> level1 = Files.newDirectoryStream(root)) {
+            for (Path dir1 : level1) {
+                if (dir1.equals(tempDir)) {
+                    deleteStaleTemp(run, dir1);
+                    continue;
+                }
+                if (!Files.isDirectory(dir1, LinkOption.NOFOLLOW_LINKS)) {
+                    continue;
+                }
+                try (DirectoryStream<Path> level2 = Files.newDirectoryStream(dir1)) {
+                    for (Path dir2 : level2) {
+                        if (Files.isDirectory(dir2, LinkOption.NOFOLLOW_LINKS)) {
+                            scanFlat(run, dir2, referenced, AREA_STORE);
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            run.error("저장소 탐색 실패: " + e.getMessage());
+        }
+    }
+
+    // 한 디렉토리의 파일만 (하위 디렉토리는 다른 용도일 수 있으므로 들어가지 않음)
+    private void scanFlat(Run run, Path dir, Set<String> referenced, String area) {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                try {
+                    inspect(run, file, referenced, area);
+                } catch (IOException e) {
+                    run.error(file + ": " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            run.error("디렉토리 탐색 실패 " + dir + ": " + e.getMessage());
+        }
+    }
+
+    private void inspect(Run run, Path file, Set<String> referenced, String area) throws IOException {
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+        if (!attrs.isRegularFile()) {
+            return;
+        }
+        run.scannedFiles++;
+        String name = file.getFileName().toString();
+        if (referenced.contains(name)) {
+            return;
+        }
+        boolean canvasTemp = AREA_DOCUMENTS.equals(area) && CANVAS_TEMP_NAME.matcher(name).matches();
+        boolean managed = AREA_STORE.equals(area) ? contentStore.isKey(name) : LEGACY_NAME.matcher(name).matches();
+        if (!managed && !canvasTemp) {
+            run.skippedUnmanaged++;
+            return;
+        }
+        if (attrs.lastModifiedTime().toMillis() > run.graceCutoff) {
+            run.skippedRecent++;
+            return;
+        }
+        if (canvasTemp) {
+            deleteTemp(run, file, attrs.size());
+            return;
+        }
+        run.candidates.add(new Candidate(file, area));
+    }
+
+    private void quarantineCandidates(Run run, Set<String> recheck) {
+        Path dayDir = Paths.get(quarantineDir).resolve(run.day);
+        for (Candidate candidate : run.candidates) {
+            Path file = candidate.file();
+            String name = file.getFileName().toString();
+            if (recheck.contains(name)) {
+                run.referencedOnRecheck++;
+                continue;
+            }
+            try {
+                long size = Files.size(file);
+                Path target = dayDir.resolve(candidate.area()).resolve(name);
+                if (AREA_STORE.equals(candidate.area())) {
+                    // 저장소 파일은 file_blob 참조가 없을 때만 (행을 잠근 채 옮기고 행도 삭제)
+                    boolean orphan = run.dryRun ? contentStore.refCount(name) <= 0
+                            : contentStore.quarantine(name, target);
+                    if (!orphan) {
+                        run.referencedOnRecheck++;
+                        continue;
+                    }
+                } else if (!run.dryRun) {
+                    Files.createDirectories(target.getParent());
+                    Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+                run.quarantined++;
+                run.quarantinedBytes += size;
+            } catch (IOException | RuntimeException e) {
+                run.error("격리 실패 " + file + ": " + e.getMessage());
+            }
+        }
+        run.candidates.clear();
+    }
+
+    // 격리 디렉토리에서 파일 찾기 (최근 날짜부터)
+    private Path findQuarantined(String area, String name) {
+        Path root = Paths.get(quarantineDir);
+        if (!Files.isDirectory(root)) {
+            return null;
+        }
+        try (Stream<Path> days = Files.list(root)) {
+            return days.filter(Files::isDirectory)
+                    .sorted((a, b) -> b.getFileName().compareTo(a.getFileName()))
+                    .map(day -> day.resolve(area).resolve(name))
+                    .filter(Files::isRegularFile)
+                    .findFirst()
+                    .orElse(null);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void purgeQuarantine(Run run) {
+        Path root = Paths.get(quarantineDir);
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        LocalDate cutoff = LocalDate.now().minusDays(quarantineDays);
+        try (DirectoryStream<Path> days = Files.newDirectoryStream(root)) {
+            for (Path day : days) {
+                LocalDate date;
+                try {
+                    date = LocalDate.parse(day.getFileName().toString(), DAY_FORMAT);
+                } catch (DateTimeParseException e) {
+                    continue;
+                }
+                if (!date.isBefore(cutoff)) {
+                    continue;
+                }
+                long bytes = sizeOf(day);
+                if (!run.dryRun) {
+                    FileSystemUtils.deleteRecursively(day);
+                }
+                run.purgedDays++;
+                run.purgedBytes += bytes;
+            }
+        } catch (IOException e) {
+            run.error("격리 디렉토리 정리 실패: " + e.getMessage());
+        }
+    }
+
+    // 저장 도중 멈춘 임시 파일 (유예 시간이 지난 것만)
+    private void deleteStaleTemp(Run run, Path tempDir) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(tempDir)) {
+            for (Path file : files) {
+                BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class,
+                        LinkOption.NOFOLLOW_LINKS);
+                if (attrs.isRegularFile() && attrs.lastModifiedTime().toMillis() <= run.graceCutoff) {
+                    deleteTemp(run, file, attrs.size());
+                }
+            }
+        } catch (IOException e) {
+            run.error("임시 파일 정리 실패: " + e.getMessage());
+        }
+    }
+
+    private void deleteTemp(Run run, Path file, long size) {
+        try {
+            if (!run.dryRun) {
+                Files.deleteIfExists(file);
+            }
+            run.tempDeleted++;
+            run.tempDeletedBytes += size;
+        } catch (IOException e) {
+            run.error("임시 파일 삭제 실패 " + file + ": " + e.getMessage());
+        }
+    }
+
+    private static long sizeOf(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            return files.filter(Files::isRegularFile).mapToLong(file -> file.toFile().length()).sum();
+        }
+    }
+
+    private Map<String, Object> toMap(Run run) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("dryRun", run.dryRun);
+        map.put("referencedFiles", run.referencedFiles);
+        map.put("scannedFiles", run.scannedFiles);
+        map.put("quarantined", run.quarantined);
+        map.put("quarantinedBytes", run.quarantinedBytes);
+        map.put("skippedRecent", run.skippedRecent);
+        map.put("skippedUnmanaged", run.skippedUnmanaged);
+        map.put("referencedOnRecheck", run.referencedOnRecheck);
+        map.put("tempDeleted", run.tempDeleted);
+        map.put("tempDeletedBytes", run.tempDeletedBytes);
+        map.put("purgedDays", run.purgedDays);
+        map.put("purgedBytes", run.purgedBytes);
+        map.put("missingRows", run.missingRows);
+        map.put("restored", run.restored);
+        map.put("missing", run.missing);
+        map.put("errors", run.errors);
+        return map;
+    }
+}
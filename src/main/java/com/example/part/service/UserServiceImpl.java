@@ -15,9 +15,15 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    // 감사 로그 비교 필드 (updateUser가 갱신하는 컬럼, null은 미입력) - 비밀번호는 값 대신 **** 기록
+    private static final FieldDiff.Spec<UserDTO> AUDIT_FIELDS = FieldDiff.spec(UserDTO.class,
+            FieldDiff.NullPolicy.IGNORE_NULL_AFTER, "fullName", "position", "department", "email", "userRole",
+            "password").mask("password");
+
     private final UserMapper userMapper;
     private final PasswordEncoder passwordEncoder;
     private final AuditLogger auditLogger;
+    private final FieldDiff fieldDiff;
 
     @Override
     public UserDTO findByUsername(String username) {
@@ -58,7 +64,6 @@ public class UserServiceImpl implements UserService {
         UserDTO before = userMapper.findById(user.getUserId());
 
         // 비밀번호 변경이 있는 경우 현재 비밀번호 검증
-        boolean passwordChanged = false;
         if (user.getPassword() != null && !user.getPassword().trim().isEmpty()) {
             // 현재 비밀번호가 제공된 경우 검증
             if (user.getCurrentPassword() != null && !user.getCurrentPassword().trim().isEmpty()) {
@@ -74,73 +79,15 @@ public class UserServiceImpl implements UserService {
 
             // 새 비밀번호 인코딩
             user.setPassword(passwordEncoder.encode(user.getPassword()));
-            passwordChanged = true;
         }
 
         userMapper.updateUser(user);
 
-        // 변경 필드 추적
-        StringBuilder changedFields = new StringBuilder("{");
-        boolean hasChanges = false;
-
-        if (user.getUsername() != null && !before.getUsername().equals(user.getUsername())) {
-            changedFields.append(String.format("\"%s\": {\"변경전\": \"%s\", \"변경후\": \"%s\"}",
-                    auditLogger.translateFieldName("user", "username"),
-                    before.getUsername(),
-                    user.getUsername()));
-            hasChanges = true;
-        }
-
-        if (passwordChanged) {
-            if (hasChanges) changedFields.append(", ");
-            changedFields.append(String.format("\"%s\": {\"변경전\": \"****\", \"변경후\": \"****\"}",
-                    auditLogger.translateFieldName("user", "password")));
-            hasChanges = true;
-        }
-
-        if (user.getUserRole() != null && !before.getUserRole().equals(user.getUserRole())) {
-            if (hasChanges) changedFields.append(", ");
-            changedFields.append(String.format("\"%s\": {\"변경전\": \"%s\", \"변경후\": \"%s\"}",
-                    auditLogger.translateFieldName("user", "role"),
-                    before.getUserRole(),
-                    user.getUserRole()));
-            hasChanges = true;
-        }
-
-        if (user.getFullName() != null && (before.getFullName() == null || !before.getFullName().equals(user.getFullName()))) {
-            if (hasChanges) changedFields.append(", ");
-            changedFields.append(String.format("\"%s\": {\"변경전\": \"%s\", \"변경후\": \"%s\"}",
-                    auditLogger.translateFieldName("user", "fullName"),
-                    before.getFullName() != null ? before.getFullName() : "",
-                    user.getFullName()));
-            hasChanges = true;
-        }
-
-        if (user.getPosition() != null && (before.getPosition() == null || !before.getPosition().equals(user.getPosition()))) {
-            if (hasChanges) changedFields.append(", ");
-            changedFields.append(String.format("\"%s\": {\"변경전\": \"%s\", \"변경후\": \"%s\"}",
-                    auditLogger.translateFieldName("user", "position"),
-                    before.getPosition() != null ? before.getPosition() : "",
-                    user.getPosition()));
-            hasChanges = true;
-        }
-
-        if (user.getDepartment() != null && (before.getDepartment() == null || !before.getDepartment().equals(user.getDepartment()))) {
-            if (hasChanges) changedFields.append(", ");
-            changedFields.append(String.format("\"%s\": {\"변경전\": \"%s\", \"변경후\": \"%s\"}",
-                    auditLogger.translateFieldName("user", "department"),
-                    before.getDepartment() != null ? before.getDepartment() : "",
-                    user.getDepartment()));
-            hasChanges = true;
-        }
-
-        changedFields.append("}");
-
         auditLogger.log("user",
                 user.getUserId() != null ? user.getUserId().longValue() : null,
                 "UPDATE",
                 "사용자 수정: " + (user.getUsername() != null ? user.getUsername() : before.getUsername()),
-                hasChanges ? changedFields.toString() : null,
+                fieldDiff.changedFields("user", AUDIT_FIELDS, before, user),
                 null);
     }
 
@@ -0,0 +1,201 @@
+package com.example.part.service;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * XLSX 스트리밍 작성기 (단일 시트)
+ * 고정 파트(콘텐츠 형식, 관계, 통합문서, 스타일)를 먼저 쓰고 시트 XML은 행을 받는 즉시 ZIP 항목에 이어 쓴다.
+ * 문자열은 공유 문자열 표 없이 inlineStr 셀로 기록하므로 행 수와 관계없이 메모리를 쌓아 두지 않는다.
+ */
+public class XlsxStreamWriter implements Closeable {
+
+    // 시트 하나에 들어갈 수 있는 최대 행 수 (머리글 포함)
+    public static final int MAX_ROWS = 1_048_576;
+
+    private static final String CONTENT_TYPES = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">\
+            <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>\
+            <Default Extension="xml" ContentType="application/xml"/>\
+            <Override PartName="/xl/workbook.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml"/>\
+            <Override PartName="/xl/worksheets/sheet1.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml"/>\
+            <Override PartName="/xl/styles.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.styles+xml"/>\
+            </Types>""";
+
+    private static final String ROOT_RELS = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" Target="xl/workbook.xml"/>\
+            </Relationships>""";
+
+    private static final String WORKBOOK_RELS = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">\
+            <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet" Target="worksheets/sheet1.xml"/>\
+            <Relationship Id="rId2" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/styles" Target="styles.xml"/>\
+            </Relationships>""";
+
+    // 스타일 0: 기본, 스타일 1: 굵게 (머리글)
+    private static final String STYLES = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <styleSheet xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main">\
+            <fonts count="2"><font><sz val="11"/><name val="맑은 고딕"/></font><font><b/><sz val="11"/><name val="맑은 고딕"/></font></fonts>\
+            <fills count="2"><fill><patternFill patternType="none"/></fill><fill><patternFill patternType="gray125"/></fill></fills>\
+            <borders count="1"><border><left/><right/><top/><bottom/><diagonal/></border></borders>\
+            <cellStyleXfs count="1"><xf numFmtId="0" fontId="0" fillId="0" borderId="0"/></cellStyleXfs>\
+            <cellXfs count="2"><xf numFmtId="0" fontId="0" fillId="0" borderId="0" xfId="0"/>\
+            <xf numFmtId="0" fontId="1" fillId="0" borderId="0" xfId="0" applyFont="1"/></cellXfs>\
+            </styleSheet>""";
+
+    private final ZipOutputStream zip;
+    private final Writer sheet;
+    private int rowCount = 0;
+
+    public XlsxStreamWriter(OutputStream out, String sheetName) throws IOException {
+        this.zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+
+        writeEntry("[Content_Types].xml", CONTENT_TYPES);
+        writeEntry("_rels/.rels", ROOT_RELS);
+        writeEntry("xl/workbook.xml", """
+                <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+                <workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main" \
+                xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">\
+                <sheets><sheet name="%s" sheetId="1" r:id="rId1"/></sheets></workbook>"""
+                .formatted(escapeXml(sheetName(sheetName))));
+        writeEntry("xl/_rels/workbook.xml.rels", WORKBOOK_RELS);
+        writeEntry("xl/styles.xml", STYLES);
+
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+        // 닫기 전까지 ZIP 항목을 열어 둔 채 시트 XML을 이어 씀
+        this.sheet = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 64 * 1024);
+        sheet.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n");
+        sheet.write("<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">");
+        // 머리글 행 고정
+        sheet.write("<sheetViews><sheetView workbookViewId=\"0\"><pane ySplit=\"1\" topLeftCell=\"A2\" "
+                + "activePane=\"bottomLeft\" state=\"frozen\"/></sheetView></sheetViews>");
+        sheet.write("<sheetData>");
+    }
+
+    /**
+     * 머리글 행 (굵게)
+     */
+    public void writeHeader(List<String> labels) throws IOException {
+        writeRow(List.copyOf(labels), 1);
+    }
+
+    /**
+     * 데이터 행 - 숫자는 숫자 셀, 그 외 값은 문자열 셀로 기록
+     */
+    public void writeRow(List<?> values) throws IOException {
+        writeRow(values, 0);
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    private void writeRow(List<?> values, int style) throws IOException {
+        if (rowCount >= MAX_ROWS) {
+            throw new IllegalStateException("XLSX 시트 최대 행 수(" + MAX_ROWS + ")를 초과했습니다.");
+        }
+        int rowNum = ++rowCount;
+
+        sheet.write("<row r=\"");
+        sheet.write(Integer.toString(rowNum));
+        sheet.write("\">");
+        for (int col = 0; col < values.size(); col++) {
+            Object value = values.get(col);
+            if (value == null) {
+                continue;
+            }
+
+            sheet.write("<c r=\"");
+            sheet.write(columnName(col));
+            sheet.write(Integer.toString(rowNum));
+            if (style != 0) {
+                sheet.write("\" s=\"");
+                sheet.write(Integer.toString(style));
+            }
+
+            if (value instanceof Number number) {
+                sheet.write("\"><v>");
+                sheet.write(number instanceof BigDecimal decimal ? decimal.toPlainString() : number.toString());
+                sheet.write("</v></c>");
+            } else {
+                sheet.write("\" t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+                sheet.write(escapeXml(value.toString()));
+                sheet.write("</t></is></c>");
+            }
+        }
+        sheet.write("</row>");
+    }
+
+    @Override
+    public void close() throws IOException {
+        sheet.write("</sheetData></worksheet>");
+        sheet.flush();
+        zip.closeEntry();
+        zip.finish();
+        zip.flush();
+    }
+
+    private void writeEntry(String name, String content) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(content.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    // 0 → A, 25 → Z, 26 → AA
+    private static String columnName(int index) {
+        StringBuilder name = new StringBuilder();
+        for (int n = index + 1; n > 0; n = (n - 1) / 26) {
+            name.insert(0, (char) ('A' + (n - 1) % 26));
+        }
+        return name.toString();
+    }
+
+    // 시트 이름 제약 (31자, []:*?/\ 사용 불가)
+    private static String sheetName(String name) {
+        String cleaned = name == null ? "" : name.replaceAll("[\\[\\]:*?/\\\\]", "_");
+        if (cleaned.isBlank()) {
+            return "Sheet1";
+        }
+        return cleaned.length() > 31 ? cleaned.substring(0, 31) : cleaned;
+    }
+
+    // XML 특수문자 치환, XML 1.0에서 허용되지 않는 제어문자는 제거
+    private static String escapeXml(String value) {
+        StringBuilder escaped = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String replacement = switch (c) {
+                case '&' -> "&amp;";
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '"' -> "&quot;";
+                default -> (c < 0x20 && c != '\t' && c != '\n' && c != '\r') || c == 0xFFFE || c == 0xFFFF ? "" : null;
+            };
+            if (replacement != null && escaped == null) {
+                escaped = new StringBuilder(value.length() + 16).append(value, 0, i);
+            }
+            if (escaped != null) {
+                if (replacement != null) {
+                    escaped.append(replacement);
+                } else {
+                    escaped.append(c);
+                }
+            }
+        }
+        return escaped != null ? escaped.toString() : value;
+    }
+}
@@ -242,3 +242,121 @@ CREATE TABLE `action_audit` (
 -- 회원 정보에 직위와 부서 필드 추가
 ALTER TABLE `users` ADD COLUMN `position` varchar(100) DEFAULT NULL COMMENT '직위' AFTER `full_name`;
 ALTER TABLE `users` ADD COLUMN `department` varchar(100) DEFAULT NULL COMMENT '부서' AFTER `position`;
+
+-- 부품별 재고 원장 (part_incoming / part_usage 변경 시 같은 트랜잭션에서 증분 갱신)
+CREATE TABLE `part_stock` (
+   `part_number` varchar(50) COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '부품번호',
+   `part_name` varchar(100) COLLATE utf8mb4_unicode_ci DEFAULT NULL COMMENT '부품명 (최초 입고 기준)',
+   `category_id` int DEFAULT NULL COMMENT '카테고리 ID (최초 입고 기준)',
+   `unit` varchar(20) COLLATE utf8mb4_unicode_ci DEFAULT NULL COMMENT '단위 (최초 입고 기준)',
+   `total_incoming` int NOT NULL DEFAULT '0' COMMENT '총 입고 수량',
+   `total_used` int NOT NULL DEFAULT '0' COMMENT '총 출고 수량',
+   `current_stock` int GENERATED ALWAYS AS (`total_incoming` - `total_used`) STORED COMMENT '현재 재고',
+   `incoming_count` int NOT NULL DEFAULT '0' COMMENT '입고 횟수',
+   `updated_at` timestamp NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '최근 갱신일',
+   PRIMARY KEY (`part_number`),
+   KEY `idx_part_stock_current` (`current_stock`),
+   KEY `idx_part_stock_category` (`category_id`)
+ ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='부품별 재고 원장';
+
+-- 입고 내역 키셋 페이지 조회용 인덱스 (created_at DESC, incoming_id DESC)
+-- part_usage(used_datetime), action_audit(created_at), general_images(uploaded_at) 인덱스는 PK가 묵시적으로 포함되어 그대로 사용
+ALTER TABLE `part_incoming` ADD KEY `idx_incoming_created` (`created_at`, `incoming_id`);
+
+-- 카테고리 기본 적정재고 (부품별 설정이 없을 때 적용)
+ALTER TABLE `category` ADD COLUMN `default_reorder_point` int DEFAULT NULL COMMENT '기본 적정재고 (NULL이면 알림 없음)' AFTER `last_number`;
+
+-- 부품별 적정재고 (카테고리 기본값보다 우선)
+CREATE TABLE `part_reorder_point` (
+   `part_number` varchar(50) COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '부품번호',
+   `reorder_point` int NOT NULL COMMENT '적정재고 (현재 재고가 이 값 이하이면 알림)',
+   `updated_by` varchar(100) COLLATE utf8mb4_unicode_ci DEFAULT NULL COMMENT '설정자',
+   `updated_at` timestamp NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '최근 수정일',
+   PRIMARY KEY (`part_number`)
+ ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='부품별 적정재고';
+
+-- 재고 부족 알림 (적정재고 이하로 내려갈 때 생성, 다시 올라가면 해제)
+CREATE TABLE `stock_alert` (
+   `alert_id` bigint NOT NULL AUTO_INCREMENT COMMENT '알림 ID',
+   `part_number` varchar(50) COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '부품번호',
+   `reorder_point` int NOT NULL COMMENT '알림 발생 시 적정재고',
+   `stock_at_alert` int NOT NULL COMMENT '알림 발생 시 재고',
+   `opened_at` timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '알림 발생일',
+   `resolved_at` timestamp NULL DEFAULT NULL COMMENT '알림 해제일 (NULL이면 진행 중)',
+   `resolved_stock` int DEFAULT NULL COMMENT '알림 해제 시 재고',
+   -- 진행 중인 알림은 부품당 1건만 허용 (해제된 알림은 NULL이라 중복 허용)
+   `open_part_number` varchar(50) COLLATE utf8mb4_unicode_ci GENERATED ALWAYS AS (IF(`resolved_at` IS NULL, `part_number`, NULL)) STORED,
+   PRIMARY KEY (`alert_id`),
+   UNIQUE KEY `uniq_stock_alert_open` (`open_part_number`),
+   KEY `idx_stock_alert_part` (`part_number`, `opened_at`),
+   KEY `idx_stock_alert_opened` (`opened_at`)
+ ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='재고 부족 알림';
+
+-- 감사 로그 조건 검색용 복합 인덱스 (조건 컬럼 + created_at, PK가 묵시적으로 포함되어 키셋 정렬까지 인덱스로 처리)
+-- 기존 (entity_type, entity_id) / (action) 인덱스는 새 인덱스의 접두어이므로 교체
+ALTER TABLE `action_audit`
+   DROP KEY `idx_action_audit_entity`,
+   DROP KEY `idx_action_audit_action`,
+   ADD KEY `idx_action_audit_entity_time` (`entity_type`, `entity_id`, `created_at`),
+   ADD KEY `idx_action_audit_type_time` (`entity_type`, `created_at`),
+   ADD KEY `idx_action_audit_user_time` (`performed_by`, `created_at`),
+   ADD KEY `idx_action_audit_action_time` (`action`, `created_at`);
+
+-- 접속 로그 기간 조회·보관(archive) 대상 선별용 인덱스
+ALTER TABLE `user_access_logs` ADD KEY `idx_access_login_time` (`login_time`);
+
+-- 접속 로그: 로그인을 처리한 서버 구분 (서버 종료 시 해당 서버의 열린 세션만 일괄 종료)
+ALTER TABLE `user_access_logs` ADD COLUMN `server_node` varchar(100) DEFAULT NULL COMMENT '로그인 처리 서버' AFTER `session_id`;
+-- 로그아웃 반영(session_id) / 열린 세션 일괄 종료(logout_time IS NULL) 조회용 인덱스
+ALTER TABLE `user_access_logs` ADD KEY `idx_access_session` (`session_id`);
+ALTER TABLE `user_access_logs` ADD KEY `idx_access_open_sessions` (`logout_time`, `server_node`);
+
+-- CSV 증분 백업용 수정일시 (마지막 백업 이후 등록/수정된 행만 백업)
+ALTER TABLE `part_incoming`
+    ADD COLUMN `updated_at` timestamp NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '최근 수정일' AFTER `created_at`,
+    ADD KEY `idx_incoming_updated` (`updated_at`);
+ALTER TABLE `part_usage`
+    ADD COLUMN `updated_at` timestamp NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '최근 수정일' AFTER `created_at`,
+    ADD KEY `idx_usage_updated` (`updated_at`);
+ALTER TABLE `part_location` ADD KEY `idx_location_updated` (`updated_at`);
+ALTER TABLE `part_stock` ADD KEY `idx_part_stock_updated` (`updated_at`);
+
+-- 부품 사진 파생 이미지 (목록용 썸네일 / 상세용 중간 크기, 업로드 후 백그라운드 생성)
+-- derivative_status: NULL(기존 사진, 미처리) / pending(생성 대기) / ready(생성 완료) / failed(원본을 읽을 수 없음)
+ALTER TABLE `part_images`
+    ADD COLUMN `thumb_url` varchar(500) COLLATE utf8mb4_unicode_ci DEFAULT NULL COMMENT '썸네일 경로' AFTER `image_url`,
+    ADD COLUMN `medium_url` varchar(500) COLLATE utf8mb4_unicode_ci DEFAULT NULL COMMENT '중간 크기 이미지 경로' AFTER `thumb_url`,
+    ADD COLUMN `derivative_status` varchar(20) COLLATE utf8mb4_unicode_ci DEFAULT NULL COMMENT '파생 이미지 상태 (pending, ready, failed)' AFTER `medium_url`,
+    ADD KEY `idx_image_derivative` (`derivative_status`, `image_id`);
+
+-- 내용 기반(SHA-256) 파일 저장소 - 부품 사진 / 자료실 / 생성 문서가 같은 내용이면 파일 하나를 공유
+-- blob_key = SHA-256(16진수 64자) + 확장자, 실제 파일은 {file.store-dir}/앞2자리/다음2자리/blob_key
+CREATE TABLE `file_blob` (
+   `blob_key` varchar(80) COLLATE utf8mb4_unicode_ci NOT NULL COMMENT 'SHA-256 + 확장자',
+   `file_size` bigint NOT NULL COMMENT '파일 크기 (bytes)',
+   `ref_count` int NOT NULL DEFAULT '0' COMMENT '참조 수 (part_images, general_images, generated_documents)',
+   `created_at` timestamp NULL DEFAULT CURRENT_TIMESTAMP COMMENT '최초 저장일',
+   `updated_at` timestamp NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '최근 참조 변경일',
+   PRIMARY KEY (`blob_key`),
+   KEY `idx_file_blob_ref` (`ref_count`)
+ ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='내용 기반 파일 저장소 참조 수';
+-- 같은 원본을 가진 사진의 파생 이미지 재사용 조회용
+ALTER TABLE `part_images` ADD KEY `idx_image_url` (`image_url`(191));
+
+-- 원격 저장소(Cloudinary 등) 복제 큐 - 저장소 내용(blob_key)마다 한 번만 올리고, 실패하면 간격을 늘려 재시도
+-- status: pending(대기) / uploading(전송 중) / done(완료) / failed(재시도 횟수 초과)
+-- file_blob에서 사라진 내용은 복제 작업이 원격 파일과 함께 지움
+CREATE TABLE `storage_offload` (
+   `blob_key` varchar(80) COLLATE utf8mb4_unicode_ci NOT NULL COMMENT '저장소 키 (file_blob.blob_key)',
+   `status` varchar(20) COLLATE utf8mb4_unicode_ci NOT NULL DEFAULT 'pending' COMMENT '복제 상태 (pending, uploading, done, failed)',
+   `attempts` int NOT NULL DEFAULT '0' COMMENT '실패 횟수',
+   `next_attempt_at` timestamp NULL DEFAULT CURRENT_TIMESTAMP COMMENT '다음 시도 시각',
+   `remote_type` varchar(20) COLLATE utf8mb4_unicode_ci DEFAULT NULL COMMENT '원격 저장소 종류 (cloudinary, local)',
+   `remote_id` varchar(255) COLLATE utf8mb4_unicode_ci DEFAULT NULL COMMENT '원격 파일 식별자',
+   `remote_url` varchar(1000) COLLATE utf8mb4_unicode_ci DEFAULT NULL COMMENT '원격 파일 URL',
+   `last_error` varchar(500) COLLATE utf8mb4_unicode_ci DEFAULT NULL COMMENT '마지막 실패 사유',
+   `created_at` timestamp NULL DEFAULT CURRENT_TIMESTAMP COMMENT '등록일',
+   `updated_at` timestamp NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP COMMENT '상태 변경일',
+   PRIMARY KEY (`blob_key`),
+   KEY `idx_offload_due` (`status`, `next_attempt_at`)
+ ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci COMMENT='원격 저장소 복제 큐';
@@ -2,30 +2,33 @@
 // CSV 다운로드 관련 함수
 // ============================================
 
-// CSV 다운로드 타입 및 데이터 저장
+// 내보내기 대상 및 컬럼 저장
 let currentCsvType = '';
-let currentCsvData = null;
+let currentCsvUrl = '';
 let currentCsvColumns = [];
 
+// 내보내기 대상별 기본 파일명
+const CSV_BASE_NAMES = {
+    incoming: '입고목록',
+    usage: '출고목록',
+    inventory: '재고목록',
+    lowstock: '재고부족목록'
+};
+
 /**
  * CSV 컬럼 선택 모달 열기
+ * @param csvType 내보내기 대상 (incoming / usage / inventory / lowstock)
+ * @param exportUrl 검색 조건이 포함된 서버 내보내기 주소
+ * @param allColumns 선택 가능한 컬럼 머리글
  */
-function openCsvColumnModal(csvType, data, allColumns) {
+function openCsvColumnModal(csvType, exportUrl, allColumns) {
     currentCsvType = csvType;
-    currentCsvData = data;
+    currentCsvUrl = exportUrl;
     currentCsvColumns = allColumns;
 
     // 기본 파일명 설정
     const today = new Date().toISOString().split('T')[0];
-    let defaultFileName = '';
-    if (csvType === 'incoming') {
-        defaultFileName = `입고목록_${today}`;
-    } else if (csvType === 'usage') {
-        defaultFileName = `출고목록_${today}`;
-    } else if (csvType === 'inventory') {
-        defaultFileName = `재고목록_${today}`;
-    }
-    document.getElementById('csvFileName').value = defaultFileName;
+    document.getElementById('csvFileName').value = `${CSV_BASE_NAMES[csvType] || '목록'}_${today}`;
 
     const columnList = document.getElementById('csvColumnList');
     columnList.innerHTML = '';
@@ -52,7 +55,7 @@ function openCsvColumnModal(csvType, data, allColumns) {
 function closeCsvColumnModal() {
     document.getElementById('csvColumnModal').style.display = 'none';
     currentCsvType = '';
-    currentCsvData = null;
+    currentCsvUrl = '';
     currentCsvColumns = [];
 }
 
@@ -75,7 +78,8 @@ function deselectAllColumns() {
 }
 
 /**
- * 선택된 컬럼으로 CSV 다운로드 확정
+ * 선택된 컬럼으로 다운로드 확정
+ * 서버가 DB에서 읽는 즉시 파일로 내려주므로 브라우저에서 목록 전체를 받아 만들지 않음
  */
 function confirmCsvDownload() {
     const selectedColumns = [];
@@ -88,62 +92,31 @@ function confirmCsvDownload() {
         return;
     }
 
-    // 선택된 컬럼만 포함하여 CSV 생성
-    const filteredData = currentCsvData.map(row => {
-        const filteredRow = {};
-        selectedColumns.forEach(col => {
-            filteredRow[col] = row[col];
-        });
-        return filteredRow;
-    });
-
-    const csvContent = convertToCSV(selectedColumns, filteredData);
-
-    // 사용자가 입력한 파일명 사용
-    let filename = document.getElementById('csvFileName').value.trim();
+    // 사용자가 입력한 파일명 사용 (확장자는 서버에서 형식에 맞게 추가)
+    const filename = document.getElementById('csvFileName').value.trim();
     if (!filename) {
         showMessage('파일명을 입력하세요.', 'error');
         return;
     }
 
-    // .csv 확장자가 없으면 추가
-    if (!filename.endsWith('.csv')) {
-        filename += '.csv';
-    }
+    const format = document.getElementById('csvFormat').value;
 
-    downloadCSV(filename, csvContent);
-    showMessage('CSV 다운로드 완료', 'success');
-    closeCsvColumnModal();
-}
+    const url = new URL(currentCsvUrl, window.location.origin);
+    url.searchParams.set('format', format);
+    url.searchParams.set('columns', selectedColumns.join(','));
+    url.searchParams.set('fileName', filename);
 
-/**
- * 데이터를 CSV 형식으로 변환 (UTF-8 BOM 포함)
- */
-function convertToCSV(headers, data) {
-    const BOM = '\uFEFF';
-    const headerRow = headers.join(',');
-    const dataRows = data.map(row => {
-        return headers.map(header => {
-            const value = row[header] || '';
-            const stringValue = String(value);
-            if (stringValue.includes(',') || stringValue.includes('"') || stringValue.includes('\n')) {
-                return '"' + stringValue.replace(/"/g, '""') + '"';
-            }
-            return stringValue;
-        }).join(',');
-    });
-    return BOM + headerRow + '\n' + dataRows.join('\n');
+    downloadExport(url.toString());
+    showMessage(`${format.toUpperCase()} 다운로드를 시작합니다.`, 'success');
+    closeCsvColumnModal();
 }
 
 /**
- * CSV 파일 다운로드 트리거
+ * 내보내기 주소로 파일 다운로드 트리거 (응답의 Content-Disposition 파일명 사용)
  */
-function downloadCSV(filename, csvContent) {
-    const blob = new Blob([csvContent], { type: 'text/csv;charset=utf-8;' });
+function downloadExport(url) {
     const link = document.createElement('a');
-    const url = URL.createObjectURL(blob);
     link.setAttribute('href', url);
-    link.setAttribute('download', filename);
     link.style.visibility = 'hidden';
     document.body.appendChild(link);
     link.click();
@@ -151,128 +124,79 @@ function downloadCSV(filename, csvContent) {
 }
 
 /**
- * 입고 리스트 CSV 다운로드
+ * 검색 조건 → 쿼리 문자열 (빈 값 제외)
  */
-async function downloadIncomingCSV() {
-    try {
-        const response = await fetch(INCOMING_API);
-        if (!response.ok) throw new Error('데이터 조회 실패');
-
-        const data = await response.json();
+function buildExportQuery(params) {
+    const query = new URLSearchParams();
+    Object.entries(params).forEach(([key, value]) => {
+        if (value !== null && value !== undefined && String(value).trim() !== '') {
+            query.append(key, value);
+        }
+    });
+    const text = query.toString();
+    return text ? `?${text}` : '';
+}
 
-        const csvData = data.map(item => ({
-            '입고ID': item.incomingId,
-            '카테고리': item.categoryName,
-            '부품번호': item.partNumber,
-            '부품명': item.partName,
-            '설명': item.description,
-            '프로젝트명': item.projectName || '',
-            '입고수량': item.incomingQuantity,
-            '단위': item.unit,
-            '결제수단': item.paymentMethodName || '',
-            '통화': item.currency,
-            '외화단가': item.originalPrice,
-            '환율': item.exchangeRate,
-            '구매금액': item.purchasePrice,
-            '공급업체': item.supplier,
-            '입고일': item.incomingDate,
-            '등록일시': item.createdAt,
-            '비고': item.remarks
-        }));
+/**
+ * 입고 리스트 CSV 다운로드 (현재 검색/정렬 조건 적용)
+ */
+function downloadIncomingCSV() {
+    const url = `${INCOMING_API}/export` + buildExportQuery({
+        keyword: currentIncomingSearchKeyword,
+        column: currentIncomingSearchColumn,
+        sortColumn: currentIncomingSortColumn,
+        order: currentIncomingSortOrder
+    });
 
-        const headers = ['입고ID', '카테고리', '부품번호', '부품명', '설명', '프로젝트명', '입고수량', '단위', '결제수단', '통화', '외화단가', '환율', '구매금액', '공급업체', '입고일', '등록일시', '비고'];
+    const headers = ['입고ID', '카테고리', '부품번호', '부품명', '설명', '프로젝트명', '입고수량', '단위', '결제수단', '통화', '외화단가', '환율', '구매금액', '공급업체', '입고일', '등록일시', '비고'];
 
-        // 컬럼 선택 모달 열기
-        openCsvColumnModal('incoming', csvData, headers);
-    } catch (error) {
-        showMessage('CSV 다운로드 오류: ' + error.message, 'error');
-    }
+    // 컬럼 선택 모달 열기
+    openCsvColumnModal('incoming', url, headers);
 }
 
 /**
- * 재고 현황 CSV 다운로드
+ * 재고 현황 CSV 다운로드 (현재 검색/정렬 조건 적용)
  */
-async function downloadInventoryCSV() {
-    try {
-        const response = await fetch(`${INCOMING_API}/inventory`);
-        if (!response.ok) throw new Error('데이터 조회 실패');
-
-        const data = await response.json();
-
-        const csvData = data.map(item => ({
-            '카테고리': item.category_name,
-            '부품번호': item.part_number,
-            '부품명': item.part_name,
-            '총입고': item.total_incoming,
-            '총출고': item.total_outgoing || 0,
-            '현재고': item.current_stock,
-            '평균단가': item.avg_price,
-            '재고금액': item.stock_value
-        }));
+function downloadInventoryCSV() {
+    const url = `${INCOMING_API}/inventory/export` + buildExportQuery({
+        keyword: currentInventorySearchKeyword,
+        column: currentInventorySearchColumn || currentInventorySortColumn,
+        order: currentInventorySortOrder
+    });
 
-        const headers = ['카테고리', '부품번호', '부품명', '총입고', '총출고', '현재고', '평균단가', '재고금액'];
+    const headers = ['카테고리', '부품번호', '부품명', '단위', '총입고', '총출고', '현재고', '입고횟수'];
 
-        // 컬럼 선택 모달 열기
-        openCsvColumnModal('inventory', csvData, headers);
-    } catch (error) {
-        showMessage('CSV 다운로드 오류: ' + error.message, 'error');
-    }
+    // 컬럼 선택 모달 열기
+    openCsvColumnModal('inventory', url, headers);
 }
 
 /**
  * 재고 부족 CSV 다운로드
  */
-async function downloadLowStockCSV() {
-    try {
-        const threshold = parseInt(document.getElementById('lowStockThreshold').value) || 5;
-        const response = await fetch(`${INCOMING_API}/low-stock?threshold=${threshold}`);
-        if (!response.ok) throw new Error('데이터 조회 실패');
-
-        const data = await response.json();
-
-        const csvData = data.map(item => ({
-            '카테고리': item.category_name,
-            '부품번호': item.part_number,
-            '부품명': item.part_name,
-            '현재고': item.current_stock,
-            '평균단가': item.avg_price
-        }));
+function downloadLowStockCSV() {
+    const threshold = parseInt(document.getElementById('lowStockThreshold').value);
+    const url = `${INCOMING_API}/low-stock/export` + buildExportQuery({
+        threshold: threshold || null
+    });
 
-        const headers = ['카테고리', '부품번호', '부품명', '현재고', '평균단가'];
+    const headers = ['카테고리', '부품번호', '부품명', '단위', '현재고', '적정재고'];
 
-        // 컬럼 선택 모달 열기
-        openCsvColumnModal('lowstock', csvData, headers);
-    } catch (error) {
-        showMessage('CSV 다운로드 오류: ' + error.message, 'error');
-    }
+    // 컬럼 선택 모달 열기
+    openCsvColumnModal('lowstock', url, headers);
 }
 
 /**
- * 출고 내역 CSV 다운로드
+ * 출고 내역 CSV 다운로드 (현재 검색/정렬 조건 적용)
  */
-async function downloadUsageCSV() {
-    try {
-        const response = await fetch(USAGE_API);
-        if (!response.ok) throw new Error('데이터 조회 실패');
-
-        const data = await response.json();
-
-        const csvData = data.map(item => ({
-            '출고ID': item.usageId,
-            '카테고리': item.categoryName,
-            '부품번호': item.partNumber,
-            '부품명': item.partName,
-            '출고수량': item.usageQuantity,
-            '사용처': item.usagePurpose,
-            '출고일': item.usageDate,
-            '비고': item.remarks
-        }));
+function downloadUsageCSV() {
+    const url = `${USAGE_API}/export` + buildExportQuery({
+        keyword: currentUsageSearchKeyword,
+        column: currentUsageSearchColumn || currentUsageSortColumn,
+        order: currentUsageSortOrder
+    });
 
-        const headers = ['출고ID', '카테고리', '부품번호', '부품명', '출고수량', '사용처', '출고일', '비고'];
+    const headers = ['출고ID', '카테고리', '부품번호', '부품명', '출고수량', '단위', '사용처', '출고일', '비고'];
 
-        // 컬럼 선택 모달 열기
-        openCsvColumnModal('usage', csvData, headers);
-    } catch (error) {
-        showMessage('CSV 다운로드 오류: ' + error.message, 'error');
-    }
+    // 컬럼 선택 모달 열기
+    openCsvColumnModal('usage', url, headers);
 }
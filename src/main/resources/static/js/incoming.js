@@ -792,7 +792,7 @@ async function loadImages(incomingId) {
                     <div style="position: absolute; top: 8px; left: 8px; background: rgba(255,255,255,0.9); padding: 3px 8px; border-radius: 3px; font-size: 11px; font-weight: bold; z-index: 1;">
                         ${typeLabel}
                     </div>
-                    <img src="${img.imageUrl}" style="width: 200px; height: 150px; object-fit: cover; cursor: pointer;" onclick="window.open('${img.imageUrl}', '_blank')">
+                    <img src="/livewalk/part-images/${img.imageId}/content?size=thumb" loading="lazy" style="width: 200px; height: 150px; object-fit: cover; cursor: pointer;" onclick="window.open('/livewalk/part-images/${img.imageId}/content?size=medium', '_blank')">
                     <div style="display: flex; gap: 5px; margin-top: 5px;">
                         <button class="btn-small" style="flex: 1;" onclick="downloadImage('${img.imageUrl}', '${img.fileName}')">다운로드</button>
                         <button class="btn-small" style="flex: 1; background-color: #dc3545;" onclick="deleteImage(${img.imageId})">삭제</button>
@@ -346,9 +346,12 @@ function displayInventory(inventory) {
 // ==================== 재고 부족 조회 ====================
 async function loadLowStock() {
     try {
-        const threshold = document.getElementById('lowStockThreshold').value || 10;
+        // 기준 수량을 비우면 부품별/카테고리별 적정재고 기준 (진행 중 알림)
+        const threshold = document.getElementById('lowStockThreshold').value;
 
-        const response = await fetch(`${INCOMING_API}/low-stock?threshold=${threshold}`);
+        const response = await fetch(threshold
+            ? `${INCOMING_API}/low-stock?threshold=${threshold}`
+            : `${INCOMING_API}/low-stock`);
         if (!response.ok) throw new Error('재고 부족 조회 실패');
 
         lowStockData = await response.json();
@@ -360,7 +363,9 @@ async function loadLowStock() {
             : lowStockData;
 
         displayLowStock(filteredData);
-        showMessage(`${threshold}개 이하 부품: ${filteredData.length}건`, 'info');
+        showMessage(threshold
+            ? `${threshold}개 이하 부품: ${filteredData.length}건`
+            : `적정재고 미달 부품: ${filteredData.length}건`, 'info');
     } catch (error) {
         showMessage('재고 부족 조회 오류: ' + error.message, 'error');
     }
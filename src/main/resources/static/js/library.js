@@ -1371,18 +1371,21 @@ async function uploadLibraryImage() {
         return;
     }
 
-    const formData = new FormData();
-    formData.append('title', title);
-    formData.append('description', description);
-    formData.append('file', fileInput.files[0]);
+    // 파일 내용을 본문으로 그대로 전송 (multipart 크기 제한 없이 큰 도면/PDF도 업로드)
+    const file = fileInput.files[0];
+    const params = new URLSearchParams({ title, description, fileName: file.name });
 
     try {
-        const response = await fetch(LIBRARY_API, {
+        const response = await fetch(`${LIBRARY_API}/stream?${params}`, {
             method: 'POST',
-            body: formData
+            headers: { 'Content-Type': 'application/octet-stream' },
+            body: file
         });
 
-        if (!response.ok) throw new Error('업로드 실패');
+        if (!response.ok) {
+            const result = await response.json().catch(() => null);
+            throw new Error(result && result.message ? result.message : '업로드 실패');
+        }
 
         showMessage('자료가 등록되었습니다.', 'success');
         document.getElementById('libraryTitle').value = '';
@@ -0,0 +1,88 @@
+package com.example.part.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.part.dto.ActionAuditDTO;
+import com.example.part.mapper.AccessLogMapper;
+import com.example.part.mapper.ActionAuditMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class ActionAuditServiceImplTest {
+
+    @TempDir
+    Path archiveDir;
+
+    private ActionAuditMapper mapper;
+    private LogArchiveService logArchiveService;
+    private ActionAuditServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        mapper = mock(ActionAuditMapper.class);
+        logArchiveService = spy(new LogArchiveService(mapper, mock(AccessLogMapper.class), new ObjectMapper()));
+        ReflectionTestUtils.setField(logArchiveService, "archiveDir", archiveDir.toString());
+        ReflectionTestUtils.setField(logArchiveService, "retentionDays", 180);
+        service = new ActionAuditServiceImpl(mapper, new AuditLogger(mock(AuditWriter.class)), logArchiveService);
+
+        // DB에 남은 행이 페이지보다 적은 상황
+        when(mapper.selectPage(anyMap())).thenReturn(List.of());
+    }
+
+    @Test
+    void unboundedPageStaysInDatabase() {
+        service.getPage(new HashMap<>(), 50, null);
+
+        verify(logArchiveService, never()).scan(any(), any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void fromInsideRetentionStaysInDatabase() {
+        Map<String, Object> filters = new HashMap<>();
+        filters.put("from", LocalDate.now().minusDays(7).toString());
+
+        service.getPage(filters, 50, null);
+
+        verify(logArchiveService, never()).scan(any(), any(), any(), any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void fromBeforeRetentionReadsArchive() {
+        Map<String, Object> filters = new HashMap<>();
+        filters.put("from", LocalDate.now().minusDays(365).toString());
+
+        service.getPage(filters, 50, null);
+
+        verify(logArchiveService).scan(eq(LogArchiveService.AUDIT_TABLE), eq(ActionAuditDTO.class),
+                eq(LocalDate.now().minusDays(365)), any(), any(), any(), eq(51));
+    }
+
+    @Test
+    void includeArchiveReadsArchiveWithoutFrom() {
+        Map<String, Object> filters = new HashMap<>();
+        filters.put("includeArchive", true);
+
+        service.getPage(filters, 50, null);
+
+        verify(logArchiveService).scan(eq(LogArchiveService.AUDIT_TABLE), eq(ActionAuditDTO.class),
+                any(), any(), any(), any(), eq(51));
+    }
+}
@@ -0,0 +1,91 @@
+package com.example.part.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+class AsyncBatchWriterTest {
+
+    private RecordingWriter writer;
+
+    @AfterEach
+    void tearDown() {
+        if (writer != null) {
+            writer.release.countDown();
+            writer.stopWriter();
+        }
+    }
+
+    @Test
+    void fallbackWritesQueuedItemsFirst() throws Exception {
+        // 큐 1건, 배치 1건 - 전용 스레드가 첫 건 저장에서 멈춘 사이 큐가 가득 참
+        writer = new RecordingWriter(true);
+        writer.startWriter("test-writer", 1, 1, 50, mock(PlatformTransactionManager.class));
+
+        writer.enqueue("login-a");
+        assertThat(writer.writing.await(5, TimeUnit.SECONDS)).isTrue();
+        writer.enqueue("login-b");
+
+        Thread fallback = new Thread(() -> writer.enqueue("logout-b"));
+        fallback.start();
+        Thread.sleep(100);
+        writer.release.countDown();
+        fallback.join(5000);
+        writer.drain();
+
+        assertThat(writer.written).containsExactly("login-a", "login-b", "logout-b");
+    }
+
+    @Test
+    void drainDoesNotWaitForCollectingWorker() throws Exception {
+        // 배치를 채우려고 10초 기다리는 중에도 drain()은 바로 저장
+        writer = new RecordingWriter(false);
+        writer.startWriter("test-writer", 100, 10, 10_000, mock(PlatformTransactionManager.class));
+
+        writer.enqueue("a");
+        Thread.sleep(100);
+
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> writer.drain());
+        assertThat(writer.written).containsExactly("a");
+    }
+
+    private static class RecordingWriter extends AsyncBatchWriter<String> {
+
+        final List<String> written = new CopyOnWriteArrayList<>();
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        private final boolean blockFirst;
+
+        RecordingWriter(boolean blockFirst) {
+            this.blockFirst = blockFirst;
+        }
+
+        @Override
+        protected void writeBatch(List<String> batch) {
+            if (blockFirst && writing.getCount() > 0) {
+                writing.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            written.addAll(batch);
+        }
+
+        @Override
+        protected void writeOne(String item) {
+            written.add(item);
+        }
+    }
+}
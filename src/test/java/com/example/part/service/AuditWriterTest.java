@@ -0,0 +1,135 @@
+package com.example.part.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.part.dto.ActionAuditDTO;
+import com.example.part.mapper.ActionAuditMapper;
+
+class AuditWriterTest {
+
+    private BufferingTransactionManager transactionManager;
+    private AuditWriter writer;
+    private AuditLogger auditLogger;
+
+    @BeforeEach
+    void setUp() {
+        transactionManager = new BufferingTransactionManager();
+        ActionAuditMapper mapper = mock(ActionAuditMapper.class);
+        doAnswer(invocation -> {
+            transactionManager.write(invocation.getArgument(0));
+            return null;
+        }).when(mapper).insertAuditBatch(anyList());
+        doAnswer(invocation -> {
+            transactionManager.write(List.of(invocation.getArgument(0)));
+            return null;
+        }).when(mapper).insertAudit(any());
+
+        writer = new AuditWriter(mapper, transactionManager);
+        ReflectionTestUtils.setField(writer, "queueCapacity", 10);
+        ReflectionTestUtils.setField(writer, "batchSize", 10);
+        ReflectionTestUtils.setField(writer, "flushMs", 50L);
+        auditLogger = new AuditLogger(writer);
+    }
+
+    @Test
+    void fallbackAfterCommitIsCommittedInOwnTransaction() {
+        // 기록기가 멈춘 상태 - 커밋 후 콜백의 호출 스레드에서 바로 저장
+        writer.start();
+        writer.stop();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                auditLogger.log("part_incoming", 1L, "UPDATE", "수정", null, "tester"));
+
+        assertThat(transactionManager.committed).extracting(ActionAuditDTO::getEntityId).containsExactly(1L);
+    }
+
+    @Test
+    void rolledBackWorkIsNotLogged() {
+        writer.start();
+        writer.stop();
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            auditLogger.log("part_incoming", 1L, "UPDATE", "수정", null, "tester");
+            status.setRollbackOnly();
+        });
+
+        assertThat(transactionManager.committed).isEmpty();
+    }
+
+    // 트랜잭션마다 쓰기를 모아 두었다가 커밋 시에만 반영하는 관리자
+    // (커밋이 끝난 뒤 afterCommit 안에서 같은 연결에 쓴 행은 반영되지 않는 실제 동작을 재현)
+    private static class BufferingTransactionManager extends AbstractPlatformTransactionManager {
+
+        private final ThreadLocal<List<ActionAuditDTO>> bound = new ThreadLocal<>();
+        final List<ActionAuditDTO> committed = new ArrayList<>();
+
+        void write(List<ActionAuditDTO> rows) {
+            List<ActionAuditDTO> buffer = bound.get();
+            if (buffer == null) {
+                committed.addAll(rows);
+            } else {
+                buffer.addAll(rows);
+            }
+        }
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object[] { bound.get() };
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return ((Object[]) transaction)[0] != null;
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            List<ActionAuditDTO> buffer = new ArrayList<>();
+            ((Object[]) transaction)[0] = buffer;
+            bound.set(buffer);
+        }
+
+        @Override
+        protected Object doSuspend(Object transaction) {
+            List<ActionAuditDTO> suspended = bound.get();
+            bound.remove();
+            return suspended;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void doResume(Object transaction, Object suspendedResources) {
+            bound.set((List<ActionAuditDTO>) suspendedResources);
+        }
+
+        @Override
+        protected void doCleanupAfterCompletion(Object transaction) {
+            bound.remove();
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected void doCommit(DefaultTransactionStatus status) {
+            committed.addAll((List<ActionAuditDTO>) ((Object[]) status.getTransaction())[0]);
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
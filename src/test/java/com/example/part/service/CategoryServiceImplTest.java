@@ -0,0 +1,89 @@
+package com.example.part.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+
+import com.example.part.dto.CategoryDTO;
+import com.example.part.mapper.CategoryMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 입고 트랜잭션 안에서 새 카테고리명으로 등록하는 경우
+ * 호출 측 세션은 처음 조회한 "없음"을 계속 보므로, 새로 커밋된 행은 REQUIRES_NEW 트랜잭션 안에서만 보이도록 흉내 낸다.
+ */
+class CategoryServiceImplTest {
+
+    private CategoryMapper categoryMapper;
+    private CategoryServiceImpl service;
+
+    // REQUIRES_NEW 트랜잭션 안인지, 카테고리 행이 커밋되었는지
+    private final AtomicInteger newTransactions = new AtomicInteger();
+    private final AtomicBoolean committedRow = new AtomicBoolean();
+
+    @BeforeEach
+    void setUp() {
+        categoryMapper = mock(CategoryMapper.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> {
+            TransactionDefinition definition = invocation.getArgument(0);
+            if (definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW) {
+                newTransactions.incrementAndGet();
+            }
+            return mock(TransactionStatus.class);
+        });
+        doAnswer(invocation -> newTransactions.decrementAndGet()).when(transactionManager).commit(any());
+        doAnswer(invocation -> newTransactions.decrementAndGet()).when(transactionManager).rollback(any());
+
+        when(categoryMapper.findByName("신규")).thenAnswer(invocation -> {
+            if (!committedRow.get() || newTransactions.get() == 0) {
+                return null;
+            }
+            CategoryDTO category = new CategoryDTO();
+            category.setCategoryId(42);
+            category.setCategoryName("신규");
+            return category;
+        });
+
+        AuditLogger auditLogger = mock(AuditLogger.class);
+        service = new CategoryServiceImpl(categoryMapper, auditLogger, new FieldDiff(auditLogger, new ObjectMapper()),
+                mock(InventoryCache.class), mock(SearchIndex.class), transactionManager);
+    }
+
+    @Test
+    void readsNewCategoryBackInsideItsOwnTransaction() {
+        when(categoryMapper.insertCategory(any())).thenAnswer(invocation -> {
+            committedRow.set(true);
+            return 1;
+        });
+
+        assertThat(service.findOrCreateCategoryByName("신규").getCategoryId()).isEqualTo(42);
+        // 두 번째 요청은 캐시 사용
+        assertThat(service.findOrCreateCategoryByName("신규").getCategoryId()).isEqualTo(42);
+        verify(categoryMapper, times(1)).insertCategory(any());
+    }
+
+    @Test
+    void usesCategoryCreatedConcurrentlyElsewhere() {
+        when(categoryMapper.insertCategory(any())).thenAnswer(invocation -> {
+            committedRow.set(true);
+            throw new DuplicateKeyException("Duplicate entry '신규'");
+        });
+
+        assertThat(service.findOrCreateCategoryByName("신규").getCategoryId()).isEqualTo(42);
+    }
+}
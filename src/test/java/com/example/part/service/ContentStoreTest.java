@@ -0,0 +1,194 @@
+package com.example.part.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.part.mapper.FileBlobMapper;
+
+class ContentStoreTest {
+
+    @TempDir
+    Path storeDir;
+
+    private FileBlobMapper mapper;
+    private StubTransactionManager transactionManager;
+    private ContentStore store;
+
+    @BeforeEach
+    void setUp() {
+        mapper = mock(FileBlobMapper.class);
+        transactionManager = new StubTransactionManager();
+        store = new ContentStore(mapper, transactionManager);
+        ReflectionTestUtils.setField(store, "storeDir", storeDir.toString());
+        store.init();
+    }
+
+    @Test
+    void putDeduplicatesSameContent() throws IOException {
+        ContentStore.StoredFile first = store.put(stream("같은 내용"), ".txt");
+        ContentStore.StoredFile second = store.put(stream("같은 내용"), "TXT");
+
+        assertThat(second.key()).isEqualTo(first.key()).endsWith(".txt");
+        assertThat(first.deduplicated()).isFalse();
+        assertThat(second.deduplicated()).isTrue();
+        assertThat(Files.readString(first.path())).isEqualTo("같은 내용");
+        verify(mapper, times(2)).acquire(first.key(), first.size());
+    }
+
+    @Test
+    void lastReleaseDeletesFileAfterCommit() throws IOException {
+        ContentStore.StoredFile stored = store.put(stream("내용"), ".txt");
+        when(mapper.selectRefCountForUpdate(stored.key())).thenReturn(0);
+
+        store.release(stored.key());
+
+        assertThat(stored.path()).doesNotExist();
+        verify(mapper).decrementRef(stored.key());
+        verify(mapper).deleteUnreferenced(stored.key());
+        // 해제 트랜잭션 + 커밋 후 확인 트랜잭션
+        assertThat(transactionManager.commits).isEqualTo(2);
+    }
+
+    @Test
+    void rolledBackReleaseKeepsFile() throws IOException {
+        ContentStore.StoredFile stored = store.put(stream("내용"), ".txt");
+        when(mapper.selectRefCountForUpdate(stored.key())).thenReturn(0);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            store.release(stored.key());
+            status.setRollbackOnly();
+        });
+
+        assertThat(stored.path()).exists();
+        verify(mapper, never()).deleteUnreferenced(anyString());
+    }
+
+    @Test
+    void fileReacquiredBeforeCleanupIsKept() throws IOException {
+        ContentStore.StoredFile stored = store.put(stream("내용"), ".txt");
+        // 해제 시점에는 0, 커밋 후 다시 확인할 때는 다른 업로드가 참조를 올린 상태
+        when(mapper.selectRefCountForUpdate(stored.key())).thenReturn(0, 1);
+
+        store.release(stored.key());
+
+        assertThat(stored.path()).exists();
+        verify(mapper, never()).deleteUnreferenced(anyString());
+    }
+
+    @Test
+    void quarantineMovesUnreferencedFileAndDeletesRow() throws IOException {
+        ContentStore.StoredFile stored = store.put(stream("내용"), ".txt");
+        when(mapper.selectRefCountForUpdate(stored.key())).thenReturn(0);
+        Path target = storeDir.resolve("quarantine").resolve(stored.key());
+
+        assertThat(store.quarantine(stored.key(), target)).isTrue();
+
+        assertThat(stored.path()).doesNotExist();
+        assertThat(target).exists();
+        verify(mapper).deleteUnreferenced(stored.key());
+    }
+
+    @Test
+    void quarantineKeepsReferencedFile() throws IOException {
+        ContentStore.StoredFile stored = store.put(stream("내용"), ".txt");
+        when(mapper.selectRefCountForUpdate(stored.key())).thenReturn(2);
+
+        assertThat(store.quarantine(stored.key(), storeDir.resolve("quarantine").resolve(stored.key()))).isFalse();
+
+        assertThat(stored.path()).exists();
+        verify(mapper, never()).deleteUnreferenced(anyString());
+    }
+
+    @Test
+    void restoreRecreatesMissingRow() throws IOException {
+        ContentStore.StoredFile stored = store.put(stream("내용"), ".txt");
+        Path quarantined = storeDir.resolve("quarantine").resolve(stored.key());
+        Files.createDirectories(quarantined.getParent());
+        Files.move(stored.path(), quarantined);
+        when(mapper.selectRefCountForUpdate(stored.key())).thenReturn(null);
+
+        store.restore(stored.key(), quarantined);
+
+        assertThat(stored.path()).exists();
+        verify(mapper, times(2)).acquire(stored.key(), stored.size());
+    }
+
+    @Test
+    void releaseIgnoresLegacyFileNames() {
+        store.release("3f2b-uuid.jpg");
+
+        verify(mapper, never()).decrementRef(anyString());
+        assertThat(transactionManager.commits).isZero();
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 참여 / 일시 중단 / 커밋 후 동기화(afterCommit)까지 실행하는 최소 트랜잭션 관리자
+    private static class StubTransactionManager extends AbstractPlatformTransactionManager {
+
+        private final ThreadLocal<Boolean> active = ThreadLocal.withInitial(() -> false);
+        int commits;
+
+        @Override
+        protected Object doGetTransaction() {
+            return active.get();
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return (Boolean) transaction;
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+            active.set(true);
+        }
+
+        @Override
+        protected Object doSuspend(Object transaction) {
+            active.set(false);
+            return Boolean.TRUE;
+        }
+
+        @Override
+        protected void doResume(Object transaction, Object suspendedResources) {
+            active.set(true);
+        }
+
+        @Override
+        protected void doCleanupAfterCompletion(Object transaction) {
+            active.set(false);
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            commits++;
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.part.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.part.mapper.PartIncomingMapper;
+import com.example.part.mapper.PartLocationMapper;
+import com.example.part.mapper.PartStockMapper;
+import com.example.part.mapper.PartUsageMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class CsvBackupServiceTest {
+
+    @TempDir
+    Path backupDir;
+
+    private CsvBackupService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new CsvBackupService(mock(PartIncomingMapper.class), mock(PartUsageMapper.class),
+                mock(PartLocationMapper.class), mock(PartStockMapper.class), new ObjectMapper());
+        ReflectionTestUtils.setField(service, "backupDir", backupDir.toString());
+        ReflectionTestUtils.setField(service, "gzip", false);
+        ReflectionTestUtils.setField(service, "threads", 2);
+    }
+
+    @Test
+    void sameDayRunsKeepSeparateFiles() throws Exception {
+        Map<String, Object> first = service.backup(true);
+        // 파일명의 시작 시각(초 단위)이 달라지도록 대기
+        Thread.sleep(1100);
+        Map<String, Object> second = service.backup(true);
+
+        assertThat(manifestNames()).hasSize(2)
+                .allMatch(name -> name.matches("backup_\\d{4}-\\d{2}-\\d{2}_\\d{6}_full_manifest\\.json"));
+        assertThat(listFiles(first)).allMatch(name -> name.matches(".+_\\d{4}-\\d{2}-\\d{2}_\\d{6}_backup\\.csv"))
+                .doesNotContainAnyElementsOf(listFiles(second));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> listFiles(Map<String, Object> manifest) {
+        return ((List<Map<String, Object>>) manifest.get("files")).stream()
+                .map(file -> file.get("file").toString())
+                .toList();
+    }
+
+    private List<String> manifestNames() throws IOException {
+        try (Stream<Path> paths = Files.list(backupDir)) {
+            return paths.map(path -> path.getFileName().toString()).filter(name -> name.endsWith("_manifest.json")).toList();
+        }
+    }
+}
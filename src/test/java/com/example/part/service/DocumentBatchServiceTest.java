@@ -0,0 +1,89 @@
+package com.example.part.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.part.dto.DocumentBatchRequestDTO;
+import com.example.part.dto.DocumentItemDTO;
+import com.example.part.dto.GeneralImageDTO;
+import com.example.part.dto.GeneratedDocumentDTO;
+import com.example.part.dto.PartIncomingDTO;
+import com.example.part.mapper.GeneralImageMapper;
+import com.example.part.mapper.PartIncomingMapper;
+
+class DocumentBatchServiceTest {
+
+    private DocumentService documentService;
+    private PartIncomingMapper incomingMapper;
+    private DocumentBatchService service;
+
+    @BeforeEach
+    void setUp() {
+        documentService = mock(DocumentService.class);
+        incomingMapper = mock(PartIncomingMapper.class);
+        service = new DocumentBatchService(documentService, mock(GeneralImageMapper.class), incomingMapper);
+        ReflectionTestUtils.setField(service, "threads", 1);
+        service.start();
+
+        when(documentService.renderDocument(any(), any())).thenReturn(new byte[] { 1 });
+        when(documentService.saveDocument(any(), any(), any())).thenReturn(new GeneratedDocumentDTO());
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void purchasePriceIsSupplyAmount() throws Exception {
+        DocumentItemDTO item = renderItem(new BigDecimal("10000.00"), 3);
+
+        assertThat(item.getSupplyPrice()).isEqualTo(10000.0);
+        // 10000 ÷ 3 = 3333.333... → 소수 둘째 자리 반올림
+        assertThat(item.getUnitPrice()).isEqualTo(3333.33);
+        assertThat(item.getTax()).isEqualTo(1000.0);
+    }
+
+    @Test
+    void zeroQuantityLeavesUnitPriceEmpty() throws Exception {
+        DocumentItemDTO item = renderItem(new BigDecimal("5000.00"), 0);
+
+        assertThat(item.getUnitPrice()).isNull();
+        assertThat(item.getSupplyPrice()).isEqualTo(5000.0);
+    }
+
+    private DocumentItemDTO renderItem(BigDecimal purchasePrice, int quantity) throws Exception {
+        PartIncomingDTO incoming = new PartIncomingDTO();
+        incoming.setIncomingId(7);
+        incoming.setPartNumber("E-0001");
+        incoming.setPurchasePrice(purchasePrice);
+        incoming.setIncomingQuantity(quantity);
+        when(incomingMapper.findById(7)).thenReturn(incoming);
+
+        GeneralImageDTO template = new GeneralImageDTO();
+        template.setImageId(1L);
+        DocumentBatchRequestDTO request = new DocumentBatchRequestDTO();
+        request.setTemplateId(1L);
+        request.setIncomingIds(List.of(7));
+
+        service.generateZip(template, request, 1, new ByteArrayOutputStream());
+
+        ArgumentCaptor<GeneratedDocumentDTO> data = ArgumentCaptor.forClass(GeneratedDocumentDTO.class);
+        verify(documentService).renderDocument(eq(template), data.capture());
+        return data.getValue().getItems().get(0);
+    }
+}
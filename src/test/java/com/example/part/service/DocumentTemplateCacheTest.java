@@ -0,0 +1,105 @@
+package com.example.part.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Map;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.part.dto.GeneralImageDTO;
+
+class DocumentTemplateCacheTest {
+
+    @TempDir
+    Path dir;
+
+    private DocumentTemplateCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new DocumentTemplateCache();
+        ReflectionTestUtils.setField(cache, "maxEntries", 1);
+    }
+
+    @Test
+    void evictedTemplateIsClosed() throws IOException {
+        GeneralImageDTO first = pdfTemplate(1L, "first.pdf", 1);
+        GeneralImageDTO second = pdfTemplate(2L, "second.pdf", 2);
+
+        cache.newDocument(first).close();
+        PDDocument firstSource = cachedSource(1L);
+
+        try (PDDocument document = cache.newDocument(second)) {
+            assertThat(document.getNumberOfPages()).isEqualTo(2);
+        }
+
+        assertThat(firstSource.getDocument().isClosed()).isTrue();
+        assertThat(cachedSource(2L).getDocument().isClosed()).isFalse();
+
+        // 밀려난 템플릿은 다시 읽어서 복제
+        try (PDDocument document = cache.newDocument(first)) {
+            assertThat(document.getNumberOfPages()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void replacedTemplateIsClosed() throws IOException {
+        GeneralImageDTO template = pdfTemplate(1L, "template.pdf", 1);
+        cache.newDocument(template).close();
+        PDDocument oldSource = cachedSource(1L);
+
+        Path path = Path.of(template.getFilePath());
+        writePdf(path, 3);
+        Files.setLastModifiedTime(path, FileTime.fromMillis(Files.getLastModifiedTime(path).toMillis() + 5000));
+
+        try (PDDocument document = cache.newDocument(template)) {
+            assertThat(document.getNumberOfPages()).isEqualTo(3);
+        }
+        assertThat(oldSource.getDocument().isClosed()).isTrue();
+    }
+
+    @Test
+    void clearClosesCachedTemplates() throws IOException {
+        cache.newDocument(pdfTemplate(1L, "template.pdf", 1)).close();
+        PDDocument source = cachedSource(1L);
+
+        cache.clear();
+
+        assertThat(source.getDocument().isClosed()).isTrue();
+        assertThat(cache.getStats()).containsEntry("templates", 0);
+    }
+
+    private GeneralImageDTO pdfTemplate(Long id, String name, int pages) throws IOException {
+        Path path = dir.resolve(name);
+        writePdf(path, pages);
+        GeneralImageDTO template = new GeneralImageDTO();
+        template.setImageId(id);
+        template.setFilePath(path.toString());
+        template.setFileType("pdf");
+        return template;
+    }
+
+    private static void writePdf(Path path, int pages) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            for (int i = 0; i < pages; i++) {
+                document.addPage(new PDPage());
+            }
+            document.save(path.toFile());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private PDDocument cachedSource(Long id) {
+        Map<Long, Object> templates = (Map<Long, Object>) ReflectionTestUtils.getField(cache, "templates");
+        return (PDDocument) ReflectionTestUtils.getField(templates.get(id), "source");
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.part.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.part.exception.ValidationException;
+
+class ExportServiceTest {
+
+    private final ExportService exportService = new ExportService();
+
+    @Test
+    void csvExportStreamsSelectedColumnsInOrder() throws Exception {
+        ExportService.Export export = exportService.export("재고목록", "재고/3월", "csv",
+                List.of("현재고", "부품번호"), ExportService.INVENTORY_COLUMNS,
+                consumer -> {
+                    consumer.accept(Map.of("part_number", "E-0001", "current_stock", 5));
+                    consumer.accept(Map.of("part_number", "E,0002", "current_stock", 0));
+                });
+
+        assertThat(export.fileName()).isEqualTo("재고_3월.csv");
+        assertThat(export.contentType()).startsWith("text/csv");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        export.body().writeTo(out);
+        assertThat(out.toString(StandardCharsets.UTF_8))
+                .isEqualTo("\ufeff현재고,부품번호\r\n5,E-0001\r\n0,\"E,0002\"\r\n");
+    }
+
+    @Test
+    void sourceIsNotReadUntilBodyIsWritten() {
+        int[] reads = { 0 };
+        ExportService.Export export = exportService.export("출고목록", null, "xlsx", null,
+                ExportService.USAGE_COLUMNS, consumer -> reads[0]++);
+
+        assertThat(export.fileName()).startsWith("출고목록_").endsWith(".xlsx");
+        assertThat(reads[0]).isZero();
+    }
+
+    @Test
+    void unknownColumnIsRejected() {
+        assertThatThrownBy(() -> exportService.export("재고목록", null, "csv", List.of("없는컬럼"),
+                ExportService.INVENTORY_COLUMNS, consumer -> {
+                })).isInstanceOf(ValidationException.class);
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.part.service;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.part.dto.GeneralImageDTO;
+import com.example.part.exception.ValidationException;
+import com.example.part.mapper.GeneralImageMapper;
+
+class GeneralImageServiceImplTest {
+
+    private static final String KEY = "a".repeat(64) + ".pdf";
+
+    private GeneralImageMapper mapper;
+    private ContentStore contentStore;
+    private StorageOffloadService offloadService;
+    private PlatformTransactionManager transactionManager;
+    private GeneralImageServiceImpl service;
+    private final InputStream body = new ByteArrayInputStream(new byte[] { 1, 2, 3 });
+
+    @BeforeEach
+    void setUp() {
+        mapper = mock(GeneralImageMapper.class);
+        contentStore = mock(ContentStore.class);
+        offloadService = mock(StorageOffloadService.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        service = new GeneralImageServiceImpl(mapper, mock(AuditLogger.class), contentStore, offloadService,
+                new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(service, "maxStreamSizeMb", 500L);
+    }
+
+    @Test
+    void streamIsStoredBeforeTransactionStarts() throws Exception {
+        when(contentStore.put(eq(body), eq(".pdf"), anyLong())).thenReturn(stored(3));
+
+        service.uploadImageStream("도면", null, "도면.pdf", body, 3, 1);
+
+        // 업로드 중에는 DB 연결을 잡지 않고, 저장이 끝난 뒤 짧은 트랜잭션에서 등록
+        InOrder order = inOrder(contentStore, transactionManager, mapper, offloadService);
+        order.verify(contentStore).put(eq(body), eq(".pdf"), anyLong());
+        order.verify(transactionManager).getTransaction(any());
+        order.verify(mapper).insertImage(any(GeneralImageDTO.class));
+        order.verify(offloadService).enqueue(KEY);
+        order.verify(transactionManager).commit(any());
+        verify(contentStore, never()).release(anyString());
+    }
+
+    @Test
+    void failedRegistrationReleasesBlobAfterRollback() throws Exception {
+        when(contentStore.put(eq(body), eq(".pdf"), anyLong())).thenReturn(stored(3));
+        doThrow(new IllegalStateException("insert 실패")).when(mapper).insertImage(any(GeneralImageDTO.class));
+
+        assertThatThrownBy(() -> service.uploadImageStream("도면", null, "도면.pdf", body, 3, 1))
+                .isInstanceOf(IllegalStateException.class);
+
+        InOrder order = inOrder(transactionManager, contentStore);
+        order.verify(transactionManager).rollback(any());
+        order.verify(contentStore).release(KEY);
+    }
+
+    @Test
+    void emptyStreamIsReleasedWithoutTransaction() throws Exception {
+        when(contentStore.put(eq(body), eq(".pdf"), anyLong())).thenReturn(stored(0));
+
+        assertThatThrownBy(() -> service.uploadImageStream("도면", null, "도면.pdf", body, 0, 1))
+                .isInstanceOf(ValidationException.class);
+
+        verify(contentStore).release(KEY);
+        verify(transactionManager, never()).getTransaction(any());
+    }
+
+    private static ContentStore.StoredFile stored(long size) {
+        return new ContentStore.StoredFile(KEY, Path.of("/store/aa/aa", KEY), size, false);
+    }
+}
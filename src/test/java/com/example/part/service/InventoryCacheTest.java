@@ -0,0 +1,76 @@
+package com.example.part.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.part.mapper.PartIncomingMapper;
+
+class InventoryCacheTest {
+
+    private InventoryCache cache;
+
+    @BeforeEach
+    void setUp() {
+        PartIncomingMapper mapper = mock(PartIncomingMapper.class);
+        when(mapper.getCurrentInventory()).thenReturn(new ArrayList<>(List.of(
+                row("b-0002", "Résistance", 5),
+                row("A-0001", "저항 각형", 3),
+                row("C-0003", "저항 가변", 10))));
+        cache = new InventoryCache(mapper);
+        cache.rebuild();
+    }
+
+    @Test
+    void pagesInCaseInsensitivePartNumberOrder() {
+        assertThat(partNumbers(cache.getAll())).containsExactly("A-0001", "b-0002", "C-0003");
+        assertThat(partNumbers(cache.page("a-0001", 10))).containsExactly("b-0002", "C-0003");
+    }
+
+    @Test
+    void matchesLikeWithCaseAndAccentFolding() {
+        assertThat(partNumbers(cache.search(params("part_name", "RESIST", null)))).containsExactly("b-0002");
+        assertThat(partNumbers(cache.search(params("part_name", "가", null)))).containsExactly("C-0003");
+    }
+
+    @Test
+    void ignoresColumnsOutsideWhitelist() {
+        assertThat(cache.search(params("unit; DROP", "zzz", "unit"))).hasSize(3);
+        assertThat(partNumbers(cache.search(params(null, "b-", null)))).containsExactly("b-0002");
+    }
+
+    @Test
+    void sortsByWhitelistedColumn() {
+        Map<String, Object> params = params(null, null, "current_stock");
+        params.put("order", "desc");
+        assertThat(partNumbers(cache.search(params))).containsExactly("C-0003", "b-0002", "A-0001");
+    }
+
+    private static Map<String, Object> row(String partNumber, String partName, int stock) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("part_number", partNumber);
+        row.put("part_name", partName);
+        row.put("current_stock", stock);
+        return row;
+    }
+
+    private static Map<String, Object> params(String columnKey, String keyword, String orderColumn) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("columnKey", columnKey);
+        params.put("keyword", keyword);
+        params.put("orderColumn", orderColumn);
+        return params;
+    }
+
+    private static List<Object> partNumbers(List<Map<String, Object>> rows) {
+        return rows.stream().map(row -> row.get("part_number")).toList();
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.part.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.part.dto.ActionAuditDTO;
+import com.example.part.dto.PartIncomingDTO;
+import com.example.part.dto.PartLocationDTO;
+import com.example.part.mapper.PartIncomingMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class PartIncomingServiceImplTest {
+
+    private PartIncomingMapper partIncomingMapper;
+    private PartLocationService partLocationService;
+    private AuditWriter auditWriter;
+    private PartIncomingServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        partIncomingMapper = mock(PartIncomingMapper.class);
+        partLocationService = mock(PartLocationService.class);
+        auditWriter = mock(AuditWriter.class);
+        AuditLogger auditLogger = new AuditLogger(auditWriter);
+        service = new PartIncomingServiceImpl(partIncomingMapper, mock(CategoryService.class), partLocationService,
+                auditLogger, new FieldDiff(auditLogger, new ObjectMapper()), mock(PartStockService.class),
+                mock(InventoryCache.class),
+                mock(SearchIndex.class), new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(service, "bulkChunkSize", 2);
+
+        // 다중 행 INSERT가 채워 주는 입고ID 흉내
+        AtomicInteger nextId = new AtomicInteger(100);
+        doAnswer(invocation -> {
+            List<PartIncomingDTO> dtos = invocation.getArgument(0);
+            if (dtos.stream().anyMatch(dto -> "DUP".equals(dto.getPartNumber()))) {
+                throw new DuplicateKeyException("Duplicate entry");
+            }
+            dtos.forEach(dto -> dto.setIncomingId(nextId.incrementAndGet()));
+            return dtos.size();
+        }).when(partIncomingMapper).insertIncomingBatch(anyList());
+    }
+
+    @Test
+    void bulkInsertRetriesFailedChunkRowByRow() {
+        List<PartIncomingDTO> rows = List.of(
+                incoming("E-0001", "A-1"), incoming("DUP", null), incoming("E-0003", null));
+
+        Map<String, Object> result = service.registerIncomingBulk(new ArrayList<>(rows));
+
+        assertThat(result).containsEntry("success", 2).containsEntry("fail", 1);
+        assertThat(result.get("failIndices")).isEqualTo(List.of(1));
+        // 청크 1건(실패) + 행 단위 2건 + 다음 청크 1건
+        verify(partIncomingMapper, times(4)).insertIncomingBatch(anyList());
+    }
+
+    @Test
+    void bulkInsertWritesLocationsThroughLocationService() {
+        service.registerIncomingBulk(new ArrayList<>(List.of(incoming("E-0001", "A-1"), incoming("E-0002", null))));
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<PartLocationDTO>> captor = ArgumentCaptor.forClass(List.class);
+        verify(partLocationService).insertBatchByIncomingId(captor.capture());
+        assertThat(captor.getValue()).hasSize(1);
+        assertThat(captor.getValue().get(0).getIncomingId()).isNotNull();
+        assertThat(captor.getValue().get(0).getPosX()).isEqualTo("A");
+    }
+
+    @Test
+    void updateAuditIgnoresDecimalRounding() {
+        when(partIncomingMapper.findById(7)).thenReturn(storedUsdRow("old"));
+        when(partIncomingMapper.updateIncoming(any())).thenReturn(1);
+
+        // 요청 환율은 DECIMAL(10,4)보다 자릿수가 많음 - 저장 전에 컬럼 자릿수로 맞춘 값과 비교해야 변경으로 보지 않음
+        PartIncomingDTO request = incoming("E-0001", null);
+        request.setIncomingId(7);
+        request.setCurrency("USD");
+        request.setOriginalPrice(new BigDecimal("10"));
+        request.setExchangeRate(new BigDecimal("1350.12349"));
+        request.setNote("new");
+        service.updateIncoming(request);
+
+        // 수정 후 다시 조회하지 않음
+        verify(partIncomingMapper, times(1)).findById(7);
+        assertThat(request.getExchangeRate()).isEqualTo(new BigDecimal("1350.1235"));
+        assertThat(request.getPurchasePrice()).isEqualTo(new BigDecimal("13501.24"));
+
+        ArgumentCaptor<ActionAuditDTO> captor = ArgumentCaptor.forClass(ActionAuditDTO.class);
+        verify(auditWriter).enqueue(captor.capture());
+        assertThat(captor.getValue().getChangedFields()).contains("비고")
+                .doesNotContain("환율").doesNotContain("구매단가").doesNotContain("원화금액");
+    }
+
+    private static PartIncomingDTO storedUsdRow(String note) {
+        PartIncomingDTO row = incoming("E-0001", null);
+        row.setIncomingId(7);
+        row.setCurrency("USD");
+        row.setOriginalPrice(new BigDecimal("10.00"));
+        row.setExchangeRate(new BigDecimal("1350.1235"));
+        row.setPurchasePrice(new BigDecimal("13501.24"));
+        row.setNote(note);
+        return row;
+    }
+
+    private static PartIncomingDTO incoming(String partNumber, String cabinetLocation) {
+        PartIncomingDTO dto = new PartIncomingDTO();
+        dto.setPartNumber(partNumber);
+        dto.setPartName("저항");
+        dto.setCategoryId(1);
+        dto.setIncomingQuantity(10);
+        dto.setCurrency("KRW");
+        dto.setCabinetLocation(cabinetLocation);
+        dto.setCreatedBy("tester");
+        return dto;
+    }
+}
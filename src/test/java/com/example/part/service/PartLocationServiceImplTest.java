@@ -0,0 +1,45 @@
+package com.example.part.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.part.dto.PartLocationDTO;
+import com.example.part.mapper.PartLocationMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class PartLocationServiceImplTest {
+
+    @Test
+    void batchInsertWritesSameCreateAuditAsSingleInsert() {
+        PartLocationMapper mapper = mock(PartLocationMapper.class);
+        AuditLogger auditLogger = mock(AuditLogger.class);
+        PartLocationServiceImpl service = new PartLocationServiceImpl(mapper, auditLogger, new FieldDiff(auditLogger, new ObjectMapper()),
+                mock(SearchIndex.class));
+        List<PartLocationDTO> locations = List.of(location(101, "A", 1, null), location(102, null, null, "8-A"));
+        when(mapper.insertLocationBatch(locations)).thenReturn(2);
+
+        assertThat(service.insertBatchByIncomingId(locations)).isEqualTo(2);
+
+        verify(auditLogger).log(eq("part_location"), isNull(), eq("CREATE"), eq("캐비넷 등록 [A-1] (입고ID: 101)"),
+                isNull(), isNull());
+        verify(auditLogger).log(eq("part_location"), isNull(), eq("CREATE"), eq("도면 등록 [8-A] (입고ID: 102)"),
+                isNull(), isNull());
+    }
+
+    private static PartLocationDTO location(int incomingId, String posX, Integer posY, String locationCode) {
+        PartLocationDTO dto = new PartLocationDTO();
+        dto.setIncomingId(incomingId);
+        dto.setPosX(posX);
+        dto.setPosY(posY);
+        dto.setLocationCode(locationCode);
+        return dto;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.part.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.part.mapper.PartStockMapper;
+
+class PartStockServiceImplTest {
+
+    private PartStockMapper mapper;
+    private PlatformTransactionManager transactionManager;
+    private PartStockServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        mapper = mock(PartStockMapper.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        service = new PartStockServiceImpl(mapper, mock(InventoryCache.class), mock(StockAlertService.class),
+                new TransactionTemplate(transactionManager));
+    }
+
+    @Test
+    void reconcileRepairsEachPartInItsOwnTransaction() {
+        when(mapper.selectDriftedPartNumbers()).thenReturn(List.of("E-0001", "E-0002"));
+        doThrow(new IllegalStateException("잠금 대기 시간 초과")).when(mapper).refreshStock("E-0002");
+
+        Map<String, Object> result = service.reconcile();
+
+        assertThat(result).containsEntry("drifted", 2).containsEntry("repaired", 1);
+        // 부품마다 트랜잭션 - 실패한 부품만 롤백
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager).commit(any());
+        verify(transactionManager).rollback(any());
+    }
+}
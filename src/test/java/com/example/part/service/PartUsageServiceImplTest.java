@@ -0,0 +1,61 @@
+package com.example.part.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.part.exception.ValidationException;
+import com.example.part.mapper.PartUsageMapper;
+
+class PartUsageServiceImplTest {
+
+    private PartUsageMapper mapper;
+    private PartUsageServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        mapper = mock(PartUsageMapper.class);
+        service = new PartUsageServiceImpl(mapper, mock(PartIncomingService.class), mock(AuditLogger.class),
+                mock(FieldDiff.class), mock(PartStockService.class), mock(SearchIndex.class));
+        when(mapper.selectUsagePage(anyMap())).thenReturn(List.of());
+    }
+
+    @Test
+    void missingTermListsDefaultToEmpty() {
+        Map<String, Object> params = new HashMap<>();
+
+        service.getUsagePage(params, 50, null);
+
+        assertThat(params).containsEntry("includeList", List.of()).containsEntry("excludeList", List.of());
+        verify(mapper).selectApproximateCount();
+    }
+
+    @Test
+    void nonListTermsAreRejected() {
+        Map<String, Object> params = new HashMap<>();
+        params.put("keyword", "저항");
+        params.put("includeList", "+센서");
+
+        assertThatThrownBy(() -> service.getUsagePage(params, 50, null)).isInstanceOf(ValidationException.class);
+        verify(mapper, never()).selectUsagePage(anyMap());
+    }
+
+    @Test
+    void nonStringTermsAreRejected() {
+        Map<String, Object> params = new HashMap<>();
+        params.put("excludeList", List.of(1, 2));
+
+        assertThatThrownBy(() -> service.getUsagePage(params, 50, null)).isInstanceOf(ValidationException.class);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.part.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.executor.result.DefaultResultContext;
+import org.apache.ibatis.session.ResultHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.example.part.mapper.PartIncomingMapper;
+import com.example.part.mapper.PartUsageMapper;
+
+class SearchIndexTest {
+
+    private final List<Map<String, Object>> incomingRows = new ArrayList<>();
+    private PartIncomingMapper incomingMapper;
+    private SearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        for (int id = 1; id <= 5; id++) {
+            incomingRows.add(row(id, "R-000" + id, id <= 2 ? "저항" : "콘덴서"));
+        }
+        incomingMapper = mock(PartIncomingMapper.class);
+        PartUsageMapper usageMapper = mock(PartUsageMapper.class);
+        doAnswer(invocation -> stream(invocation.getArgument(0), incomingRows))
+                .when(incomingMapper).streamSearchSource(any());
+        doAnswer(invocation -> stream(invocation.getArgument(0), List.of()))
+                .when(usageMapper).streamSearchSource(any());
+
+        searchIndex = new SearchIndex(incomingMapper, usageMapper);
+        ReflectionTestUtils.setField(searchIndex, "maxIds", 3);
+        searchIndex.rebuild();
+    }
+
+    @Test
+    void returnsIdsWithinLimit() {
+        assertThat(searchIndex.searchIncoming(params("저항", List.of()))).containsExactlyInAnyOrder(1, 2);
+    }
+
+    @Test
+    void fallsBackToSqlWhenIdsExceedLimit() {
+        // 제외어만 있으면 거의 모든 ID가 남으므로 IN 목록 대신 SQL 검색
+        assertThat(searchIndex.searchIncoming(params(null, List.of("R-0001")))).isNull();
+        assertThat(searchIndex.getStats()).containsEntry("overflows", 1L);
+    }
+
+    @Test
+    void keepsServingOldIndexAndReplaysChangesCommittedDuringRebuild() {
+        List<List<Integer>> duringRebuild = new ArrayList<>();
+        doAnswer(invocation -> {
+            stream(invocation.getArgument(0), incomingRows);
+            // 스트림이 지나간 뒤 6번 입고가 커밋되고, 그 사이 검색은 기존 색인으로 처리
+            when(incomingMapper.selectSearchSourceById(6)).thenReturn(row(6, "R-0006", "저항"));
+            searchIndex.indexIncoming(6);
+            duringRebuild.add(searchIndex.searchIncoming(params("저항", List.of())));
+            return null;
+        }).when(incomingMapper).streamSearchSource(any());
+
+        searchIndex.rebuild();
+
+        assertThat(duringRebuild.get(0)).containsExactlyInAnyOrder(1, 2, 6);
+        assertThat(searchIndex.searchIncoming(params("저항", List.of()))).containsExactlyInAnyOrder(1, 2, 6);
+    }
+
+    @Test
+    void checkRepairsStaleDocumentWithoutBlockingCommitHooks() throws Exception {
+        // 3번은 색인 갱신 없이 DB만 바뀐 상태
+        Map<String, Object> changed = row(3, "R-0003", "저항");
+        incomingRows.set(2, changed);
+        when(incomingMapper.selectSearchSourceById(3)).thenReturn(changed);
+
+        boolean[] hookFinished = { false };
+        doAnswer(invocation -> {
+            stream(invocation.getArgument(0), incomingRows);
+            // 스트리밍 중 다른 스레드에서 1번 수정 커밋 - 점검이 끝나기를 기다리지 않고 바로 반영되어야 함
+            Map<String, Object> updated = row(1, "R-0001", "인덕터");
+            when(incomingMapper.selectSearchSourceById(1)).thenReturn(updated);
+            Thread commit = new Thread(() -> searchIndex.indexIncoming(1));
+            commit.start();
+            commit.join(2000);
+            hookFinished[0] = !commit.isAlive();
+            return null;
+        }).when(incomingMapper).streamSearchSource(any());
+
+        Map<String, Object> report = searchIndex.check(true);
+
+        assertThat(hookFinished[0]).isTrue();
+        @SuppressWarnings("unchecked")
+        Map<String, Object> incoming = (Map<String, Object>) report.get("incoming");
+        // 1번은 스트림의 옛 행과 다르지만 다시 읽으면 색인과 같으므로 어긋남으로 세지 않음
+        assertThat(incoming).containsEntry("stale", 1).containsEntry("missing", 0).containsEntry("extra", 0);
+        assertThat(searchIndex.searchIncoming(params("저항", List.of()))).containsExactlyInAnyOrder(2, 3);
+    }
+
+    private static Object stream(ResultHandler<Map<String, Object>> handler, List<Map<String, Object>> rows) {
+        DefaultResultContext<Map<String, Object>> context = new DefaultResultContext<>();
+        for (Map<String, Object> row : rows) {
+            context.nextResultObject(row);
+            handler.handleResult(context);
+        }
+        return null;
+    }
+
+    private static Map<String, Object> row(int id, String partNumber, String partName) {
+        Map<String, Object> row = new HashMap<>();
+        row.put("id", id);
+        row.put("part_number", partNumber);
+        row.put("part_name", partName);
+        return row;
+    }
+
+    private static Map<String, Object> params(String keyword, List<String> excludeList) {
+        Map<String, Object> params = new HashMap<>();
+        params.put("keyword", keyword);
+        params.put("includeList", List.of());
+        params.put("excludeList", excludeList);
+        return params;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.part.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.part.mapper.StockAlertMapper;
+
+class StockAlertServiceImplTest {
+
+    private StockAlertMapper mapper;
+    private PlatformTransactionManager transactionManager;
+    private StockAlertServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        mapper = mock(StockAlertMapper.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        service = new StockAlertServiceImpl(mapper, mock(AuditLogger.class), new TransactionTemplate(transactionManager));
+        ReflectionTestUtils.setField(service, "defaultReorderPoint", 10);
+    }
+
+    @Test
+    void opensAlertWithDefaultReorderPointWhenNothingConfigured() {
+        // 설정이 없으면 SQL COALESCE의 마지막 값(기본 10개)이 적용 적정재고로 돌아옴
+        when(mapper.selectStockState("E-0001", 10)).thenReturn(state(3, 10));
+
+        service.evaluate("E-0001");
+
+        verify(mapper).insertAlert("E-0001", 10, 3);
+    }
+
+    @Test
+    void passesNullWhenDefaultDisabled() {
+        ReflectionTestUtils.setField(service, "defaultReorderPoint", -1);
+        when(mapper.selectStockState(eq("E-0001"), isNull())).thenReturn(state(3, null));
+
+        service.evaluate("E-0001");
+        service.evaluateAll();
+
+        verify(mapper, never()).insertAlert(eq("E-0001"), anyInt(), anyInt());
+        verify(mapper).openAlertsForAll(null);
+        verify(mapper).resolveRecoveredAll(null);
+    }
+
+    @Test
+    void startupEvaluationRunsInTransaction() {
+        service.evaluateOnStartup();
+
+        // 자기 호출이라 @Transactional 대신 TransactionTemplate으로 커밋
+        verify(transactionManager).getTransaction(any());
+        verify(transactionManager).commit(any());
+        verify(mapper).openAlertsForAll(10);
+    }
+
+    private static Map<String, Object> state(int currentStock, Integer reorderPoint) {
+        Map<String, Object> state = new HashMap<>();
+        state.put("current_stock", currentStock);
+        state.put("reorder_point", reorderPoint);
+        return state;
+    }
+}
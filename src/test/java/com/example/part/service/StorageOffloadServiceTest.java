@@ -0,0 +1,87 @@
+package com.example.part.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.part.mapper.StorageOffloadMapper;
+
+class StorageOffloadServiceTest {
+
+    private static final String KEY = "b".repeat(64) + ".png";
+
+    private StorageOffloadMapper mapper;
+    private PlatformTransactionManager transactionManager;
+    private StorageOffloadService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        mapper = mock(StorageOffloadMapper.class);
+        ContentStore contentStore = mock(ContentStore.class);
+        when(contentStore.isKey(KEY)).thenReturn(true);
+        ObjectProvider<RemoteStorage> provider = mock(ObjectProvider.class);
+        RemoteStorage remoteStorage = mock(RemoteStorage.class);
+        when(remoteStorage.getType()).thenReturn("local");
+        when(provider.getIfAvailable()).thenReturn(remoteStorage);
+        transactionManager = mock(PlatformTransactionManager.class);
+
+        service = new StorageOffloadService(mapper, contentStore, provider, transactionManager);
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void enqueueInsideTransactionWaitsForCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.enqueue(KEY);
+
+        // 업로드 트랜잭션 안에서는 storage_offload를 건드리지 않음
+        verify(mapper, never()).enqueue(KEY);
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        verify(mapper).enqueue(KEY);
+        verify(transactionManager).getTransaction(argThat(definition ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void rolledBackUploadIsNotEnqueued() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        service.enqueue(KEY);
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(mapper, never()).enqueue(KEY);
+    }
+
+    @Test
+    void enqueueWithoutTransactionRegistersImmediately() {
+        service.enqueue(KEY);
+
+        verify(mapper).enqueue(KEY);
+    }
+}
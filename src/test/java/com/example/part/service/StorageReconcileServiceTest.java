@@ -0,0 +1,103 @@
+package com.example.part.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.example.part.mapper.FileBlobMapper;
+import com.example.part.mapper.GeneralImageMapper;
+import com.example.part.mapper.GeneratedDocumentMapper;
+import com.example.part.mapper.PartImageMapper;
+
+class StorageReconcileServiceTest {
+
+    @TempDir
+    Path dir;
+
+    private FileBlobMapper blobMapper;
+    private ContentStore contentStore;
+    private StorageReconcileService service;
+
+    @BeforeEach
+    void setUp() {
+        blobMapper = mock(FileBlobMapper.class);
+        contentStore = new ContentStore(blobMapper, mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(contentStore, "storeDir", dir.resolve("store").toString());
+        contentStore.init();
+
+        // 세 테이블 모두 참조 없음 (목 매퍼는 빈 목록 반환)
+        service = new StorageReconcileService(contentStore, mock(PartImageMapper.class),
+                mock(GeneralImageMapper.class), mock(GeneratedDocumentMapper.class));
+        ReflectionTestUtils.setField(service, "uploadDir", dir.resolve("images").toString());
+        ReflectionTestUtils.setField(service, "documentDir", dir.resolve("documents").toString());
+        ReflectionTestUtils.setField(service, "quarantineDir", dir.resolve("quarantine").toString());
+        ReflectionTestUtils.setField(service, "graceHours", 1);
+        ReflectionTestUtils.setField(service, "quarantineDays", 14);
+    }
+
+    @Test
+    void storeFileIsQuarantinedOnlyWithoutBlobReference() throws IOException {
+        Path orphan = storeFile("고아");
+        Path shared = storeFile("공유");
+        String orphanKey = orphan.getFileName().toString();
+        String sharedKey = shared.getFileName().toString();
+        when(blobMapper.selectRefCountForUpdate(orphanKey)).thenReturn(0);
+        // 어떤 테이블도 가리키지 않지만 file_blob 참조가 남은 내용은 그대로 둠
+        when(blobMapper.selectRefCountForUpdate(sharedKey)).thenReturn(1);
+
+        Map<String, Object> result = service.reconcile(false);
+
+        assertThat(result).containsEntry("quarantined", 1).containsEntry("referencedOnRecheck", 1);
+        assertThat(orphan).doesNotExist();
+        assertThat(dir.resolve("quarantine").resolve(LocalDate.now().format(DateTimeFormatter.BASIC_ISO_DATE))
+                .resolve("store").resolve(orphanKey)).exists();
+        assertThat(shared).exists();
+        verify(blobMapper).deleteUnreferenced(orphanKey);
+        verify(blobMapper, never()).deleteUnreferenced(sharedKey);
+    }
+
+    @Test
+    void dryRunReadsBlobReferenceWithoutLocking() throws IOException {
+        Path orphan = storeFile("고아");
+        String orphanKey = orphan.getFileName().toString();
+        when(blobMapper.selectRefCount(orphanKey)).thenReturn(null);
+
+        Map<String, Object> result = service.reconcile(true);
+
+        assertThat(result).containsEntry("quarantined", 1);
+        assertThat(orphan).exists();
+        verify(blobMapper, never()).selectRefCountForUpdate(anyString());
+        verify(blobMapper, never()).deleteUnreferenced(anyString());
+    }
+
+    // 유예 시간이 지난 저장소 파일
+    private Path storeFile(String content) throws IOException {
+        byte[] data = content.getBytes(StandardCharsets.UTF_8);
+        String key = HexFormat.of().formatHex(Arrays.copyOf(data, 32)) + ".txt";
+        Path file = contentStore.resolve(key);
+        Files.createDirectories(file.getParent());
+        Files.write(file, data);
+        Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - 2 * 3600_000L));
+        return file;
+    }
+}